@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryableEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures range queries on a map index, both directly on the global
+ * {@link InternalIndex} and through {@link IMap#values} with a between
+ * predicate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexRangeQueryBenchmark {
+
+    private static final String MAP_NAME = "benchmark";
+    private static final String INDEX_NAME = "value";
+
+    @Param({"SORTED", "HASH"})
+    public IndexType indexType;
+
+    @Param("100000")
+    public int entryCount;
+
+    @Param({"10", "1000"})
+    public int rangeSize;
+
+    private HazelcastInstance instance;
+    private IMap<Integer, Integer> map;
+    private InternalIndex index;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        Config config = BenchmarkSupport.newConfig();
+        config.getMapConfig(MAP_NAME).addIndexConfig(new IndexConfig(indexType, "this").setName(INDEX_NAME));
+        instance = Hazelcast.newHazelcastInstance(config);
+        map = instance.getMap(MAP_NAME);
+
+        Map<Integer, Integer> entries = new HashMap<>();
+        for (int i = 0; i < entryCount; i++) {
+            entries.put(i, i);
+        }
+        map.putAll(entries);
+
+        index = ((MapProxyImpl<Integer, Integer>) map).getService().getMapServiceContext()
+                .getMapContainer(MAP_NAME).getGlobalIndexRegistry().getIndex(INDEX_NAME);
+    }
+
+    @TearDown
+    public void tearDown() {
+        instance.shutdown();
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> indexRange() {
+        int start = nextStart();
+        return index.getRecords(start, true, start + rangeSize, false);
+    }
+
+    @Benchmark
+    public Collection<Integer> mapValuesBetween() {
+        int start = nextStart();
+        return map.values(Predicates.between("this", start, start + rangeSize - 1));
+    }
+
+    private int nextStart() {
+        // a prime step spreads the ranges over the whole key space
+        cursor = (cursor + 7919) % (entryCount - rangeSize);
+        return cursor;
+    }
+}
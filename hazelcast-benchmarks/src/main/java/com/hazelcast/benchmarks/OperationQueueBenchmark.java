@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.internal.util.concurrent.MPSCQueue;
+import com.hazelcast.spi.impl.operationexecutor.impl.ArrayOperationQueue;
+import com.hazelcast.spi.impl.operationexecutor.impl.OperationQueue;
+import com.hazelcast.spi.impl.operationexecutor.impl.OperationQueueImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of the {@link OperationQueue} implementations a
+ * partition thread can use: a number of producer threads add items while the
+ * benchmark thread takes them, like a partition thread does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperationQueueBenchmark {
+
+    private static final int PRODUCER_COUNT = 4;
+    private static final int ITEMS_PER_PRODUCER = 250_000;
+    private static final int ITEMS_PER_INVOCATION = PRODUCER_COUNT * ITEMS_PER_PRODUCER;
+    private static final Object ITEM = new Object();
+
+    @Param({"linked", "array"})
+    public String queueType;
+
+    private final Thread[] producers = new Thread[PRODUCER_COUNT];
+    private OperationQueue queue;
+    private CountDownLatch startLatch;
+
+    // the producers are started for each invocation, which is long enough
+    // for the setup not to distort the result
+    @Setup(Level.Invocation)
+    public void setup() {
+        OperationQueue queue = newQueue();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        for (int i = 0; i < producers.length; i++) {
+            producers[i] = new Thread(() -> produce(queue, startLatch));
+            producers[i].start();
+        }
+        this.queue = queue;
+        this.startLatch = startLatch;
+    }
+
+    private OperationQueue newQueue() {
+        if ("array".equals(queueType)) {
+            return new ArrayOperationQueue(1 << 16, 64, 100, 50);
+        }
+        // the same setup as the default partition thread queue
+        MPSCQueue<Object> normalQueue = new MPSCQueue<>(null);
+        normalQueue.setConsumerThread(Thread.currentThread());
+        return new OperationQueueImpl(normalQueue, new ConcurrentLinkedQueue<>());
+    }
+
+    private static void produce(OperationQueue queue, CountDownLatch startLatch) {
+        try {
+            startLatch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        for (int i = 0; i < ITEMS_PER_PRODUCER; i++) {
+            queue.add(ITEM, false);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws InterruptedException {
+        for (Thread producer : producers) {
+            producer.join();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS_PER_INVOCATION)
+    public Object take() throws InterruptedException {
+        startLatch.countDown();
+        Object item = null;
+        for (int i = 0; i < ITEMS_PER_INVOCATION; i++) {
+            item = queue.take(false);
+        }
+        return item;
+    }
+}
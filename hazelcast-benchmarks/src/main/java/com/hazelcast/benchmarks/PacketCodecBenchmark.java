@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.server.tcp.PacketDecoder;
+import com.hazelcast.internal.server.tcp.PacketEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+
+/**
+ * Measures how fast the {@link PacketEncoder} writes packets into and the
+ * {@link PacketDecoder} reads packets from a socket buffer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketCodecBenchmark {
+
+    private static final int PACKETS_PER_INVOCATION = 100;
+
+    @Param({"100", "10000"})
+    public int payloadSize;
+
+    @Param({"false", "true"})
+    public boolean directBuffer;
+
+    private final Packet[] packets = new Packet[PACKETS_PER_INVOCATION];
+    private int packetIndex;
+    private int packetsRead;
+
+    private PacketEncoder encoder;
+    private ByteBuffer encoderDst;
+    private PacketDecoder decoder;
+    private ByteBuffer decoderSrc;
+    private ByteBuffer encoded;
+
+    @Setup
+    public void setup() throws Exception {
+        for (int i = 0; i < packets.length; i++) {
+            packets[i] = new Packet(new byte[payloadSize], i);
+        }
+        int bufferSize = packets[0].getFrameLength() * PACKETS_PER_INVOCATION;
+
+        encoder = new PacketEncoder();
+        encoderDst = allocate(bufferSize);
+        encoder.dst(encoderDst);
+        encoder.src(() -> packetIndex < packets.length ? packets[packetIndex++] : null);
+
+        decoder = new PacketDecoder(null, packet -> packetsRead++);
+        decoder.setNormalPacketsRead(newSwCounter());
+        decoder.setPriorityPacketsRead(newSwCounter());
+        decoderSrc = allocate(bufferSize);
+        decoder.src(decoderSrc);
+
+        encode();
+        encoded = allocate(bufferSize);
+        encoded.put(encoderDst).flip();
+    }
+
+    private ByteBuffer allocate(int size) {
+        return directBuffer ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PACKETS_PER_INVOCATION)
+    public int encode() throws Exception {
+        packetIndex = 0;
+        // the encoder expects the buffer in reading mode; an empty one gets cleared
+        encoderDst.clear().flip();
+        encoder.onWrite();
+        return encoderDst.remaining();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PACKETS_PER_INVOCATION)
+    public int decode() throws Exception {
+        packetsRead = 0;
+        decoderSrc.clear();
+        decoderSrc.put(encoded.duplicate());
+        decoder.onRead();
+        return packetsRead;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.ProcessorMetaSupplier;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.pipeline.BatchSource;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.Sinks;
+import com.hazelcast.jet.pipeline.Sources;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of cooperative processor tasklets by running a
+ * batch job that pushes a fixed number of items through a source, a map, a
+ * filter and a no-op sink. The job submission and completion is part of
+ * every invocation, so the item count is chosen large enough to make its
+ * cost negligible.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProcessorTaskletBenchmark {
+
+    private static final long ITEM_COUNT = 10_000_000;
+
+    private HazelcastInstance instance;
+    private Pipeline pipeline;
+
+    @Setup
+    public void setup() {
+        Config config = BenchmarkSupport.newConfig();
+        config.getJetConfig().setEnabled(true);
+        instance = Hazelcast.newHazelcastInstance(config);
+
+        BatchSource<Long> source = Sources.batchFromProcessor("longs",
+                ProcessorMetaSupplier.forceTotalParallelismOne(ProcessorSupplier.of(() -> new LongSourceP(ITEM_COUNT))));
+        pipeline = Pipeline.create();
+        pipeline.readFrom(source)
+                .map(value -> value * 2)
+                .filter(value -> value % 3 != 0)
+                .writeTo(Sinks.noop());
+    }
+
+    @TearDown
+    public void tearDown() {
+        instance.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation((int) ITEM_COUNT)
+    public void mapFilterJob() {
+        instance.getJet().newJob(pipeline).join();
+    }
+
+    /**
+     * A cooperative source emitting the numbers from 0 to {@code count - 1}.
+     */
+    private static final class LongSourceP extends AbstractProcessor {
+        private final long count;
+        private long next;
+        private final Traverser<Long> traverser = () -> next < count ? next++ : null;
+
+        LongSourceP(long count) {
+            this.count = count;
+        }
+
+        @Override
+        public boolean complete() {
+            return emitFromTraverser(traverser);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.partition.IPartitionService;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.hazelcast.map.impl.record.Record.UNSET;
+
+/**
+ * Measures {@code get} and {@code put} directly on the record store of a
+ * map partition, without the invocation and operation overhead of
+ * {@code IMap}.
+ * <p>
+ * Like operations, the calls run on the partition thread that owns the
+ * partition. Each invocation hands a batch of {@value #BATCH_SIZE} calls to
+ * that thread and waits for it, so the cost of the handoff is spread over
+ * the batch. All keys belong to the same partition.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordStoreBenchmark {
+
+    private static final String MAP_NAME = "benchmark";
+    private static final int BATCH_SIZE = 1024;
+
+    @Param({"BINARY", "OBJECT"})
+    public InMemoryFormat inMemoryFormat;
+
+    // must be a power of two
+    @Param("16384")
+    public int keyCount;
+
+    @Param("100")
+    public int valueSize;
+
+    private HazelcastInstance instance;
+    private NodeEngine nodeEngine;
+    private Address thisAddress;
+    private int partitionId;
+    private RecordStore<?> recordStore;
+    private Data[] keys;
+    private Data value;
+    // only accessed by the partition thread
+    private int index;
+
+    @Setup
+    public void setup() {
+        Config config = BenchmarkSupport.newConfig();
+        config.getMapConfig(MAP_NAME).setInMemoryFormat(inMemoryFormat);
+        instance = Hazelcast.newHazelcastInstance(config);
+
+        MapProxyImpl<?, ?> proxy = (MapProxyImpl<?, ?>) instance.getMap(MAP_NAME);
+        nodeEngine = proxy.getNodeEngine();
+        MapServiceContext mapServiceContext = proxy.getService().getMapServiceContext();
+        IPartitionService partitionService = nodeEngine.getPartitionService();
+        InternalSerializationService serializationService = BenchmarkSupport.getSerializationService(instance);
+
+        thisAddress = nodeEngine.getThisAddress();
+        value = serializationService.toData(new byte[valueSize]);
+        keys = new Data[keyCount];
+        for (int i = 0, k = 0; i < keyCount; k++) {
+            Data key = serializationService.toData(k);
+            if (i == 0) {
+                partitionId = partitionService.getPartitionId(key);
+            }
+            if (partitionService.getPartitionId(key) == partitionId) {
+                keys[i++] = key;
+            }
+        }
+        recordStore = mapServiceContext.getRecordStore(partitionId, MAP_NAME);
+        runOnPartitionThread(() -> {
+            for (Data key : keys) {
+                recordStore.put(key, value, UNSET, UNSET);
+            }
+            return null;
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        instance.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Object get() {
+        return runOnPartitionThread(() -> {
+            Object result = null;
+            for (int n = 0; n < BATCH_SIZE; n++) {
+                int i = index++ & (keyCount - 1);
+                result = recordStore.get(keys[i], false, thisAddress, true);
+            }
+            return result;
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Object put() {
+        return runOnPartitionThread(() -> {
+            Object result = null;
+            for (int n = 0; n < BATCH_SIZE; n++) {
+                int i = index++ & (keyCount - 1);
+                result = recordStore.put(keys[i], value, UNSET, UNSET);
+            }
+            return result;
+        });
+    }
+
+    private Object runOnPartitionThread(Supplier<Object> batch) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        nodeEngine.getOperationService().execute(new PartitionSpecificRunnable() {
+            @Override
+            public int getPartitionId() {
+                return partitionId;
+            }
+
+            @Override
+            public void run() {
+                try {
+                    future.complete(batch.get());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            }
+        });
+        return future.join();
+    }
+}
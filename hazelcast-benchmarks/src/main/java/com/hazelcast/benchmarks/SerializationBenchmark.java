@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code toData} and {@code toObject} of the member's
+ * serialization service for the same object in different formats.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    public enum Format {
+        COMPACT,
+        IDENTIFIED_DATA_SERIALIZABLE,
+        JAVA
+    }
+
+    @Param
+    public Format format;
+
+    private HazelcastInstance instance;
+    private InternalSerializationService serializationService;
+    private Object object;
+    private Data data;
+
+    @Setup
+    public void setup() {
+        Config config = BenchmarkSupport.newConfig();
+        config.getSerializationConfig().getCompactSerializationConfig().addSerializer(new CompactPersonSerializer());
+        config.getSerializationConfig().addDataSerializableFactory(IdentifiedPerson.FACTORY_ID,
+                typeId -> new IdentifiedPerson());
+        instance = Hazelcast.newHazelcastInstance(config);
+        serializationService = BenchmarkSupport.getSerializationService(instance);
+
+        switch (format) {
+            case COMPACT:
+                object = new CompactPerson(42, "John Doe", 35, 1_000_000L);
+                break;
+            case IDENTIFIED_DATA_SERIALIZABLE:
+                object = new IdentifiedPerson(42, "John Doe", 35, 1_000_000L);
+                break;
+            case JAVA:
+                object = new JavaPerson(42, "John Doe", 35, 1_000_000L);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown format: " + format);
+        }
+        data = serializationService.toData(object);
+    }
+
+    @TearDown
+    public void tearDown() {
+        instance.shutdown();
+    }
+
+    @Benchmark
+    public Data toData() {
+        return serializationService.toData(object);
+    }
+
+    @Benchmark
+    public Object toObject() {
+        return serializationService.toObject(data);
+    }
+
+    public static final class CompactPerson {
+        final int id;
+        final String name;
+        final int age;
+        final long salary;
+
+        CompactPerson(int id, String name, int age, long salary) {
+            this.id = id;
+            this.name = name;
+            this.age = age;
+            this.salary = salary;
+        }
+    }
+
+    static final class CompactPersonSerializer implements CompactSerializer<CompactPerson> {
+
+        @Override
+        public CompactPerson read(CompactReader reader) {
+            return new CompactPerson(reader.readInt32("id"), reader.readString("name"),
+                    reader.readInt32("age"), reader.readInt64("salary"));
+        }
+
+        @Override
+        public void write(CompactWriter writer, CompactPerson person) {
+            writer.writeInt32("id", person.id);
+            writer.writeString("name", person.name);
+            writer.writeInt32("age", person.age);
+            writer.writeInt64("salary", person.salary);
+        }
+
+        @Override
+        public String getTypeName() {
+            return "person";
+        }
+
+        @Override
+        public Class<CompactPerson> getCompactClass() {
+            return CompactPerson.class;
+        }
+    }
+
+    public static final class IdentifiedPerson implements IdentifiedDataSerializable {
+        static final int FACTORY_ID = 1000;
+        static final int CLASS_ID = 1;
+
+        private int id;
+        private String name;
+        private int age;
+        private long salary;
+
+        public IdentifiedPerson() {
+        }
+
+        IdentifiedPerson(int id, String name, int age, long salary) {
+            this.id = id;
+            this.name = name;
+            this.age = age;
+            this.salary = salary;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeInt(id);
+            out.writeString(name);
+            out.writeInt(age);
+            out.writeLong(salary);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            id = in.readInt();
+            name = in.readString();
+            age = in.readInt();
+            salary = in.readLong();
+        }
+    }
+
+    public static final class JavaPerson implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final int id;
+        private final String name;
+        private final int age;
+        private final long salary;
+
+        JavaPerson(int id, String name, int age, long salary) {
+            this.id = id;
+            this.name = name;
+            this.age = age;
+            this.salary = salary;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+/**
+ * JMH benchmarks for the hot paths of Hazelcast: serialization, record
+ * stores, indexes, packet encoding and Jet tasklets. Every benchmark runs
+ * against an embedded single-node instance.
+ * <p>
+ * Build with {@code mvn package -pl hazelcast-benchmarks -am -DskipTests}
+ * and run with {@code java -jar hazelcast-benchmarks/target/benchmarks.jar},
+ * optionally followed by a regular expression selecting the benchmarks.
+ */
+package com.hazelcast.benchmarks;
@@ -51,8 +51,8 @@ public class CacheEventJournalReadResultSetImpl<K, V, T> extends ReadResultSetIm
 
     @Override
     public void addItem(long seq, Object item) {
-        // the event journal ringbuffer supports only OBJECT format for now
-        final InternalEventJournalCacheEvent e = (InternalEventJournalCacheEvent) item;
+        // the event journal ringbuffer keeps the events in OBJECT or BINARY format
+        final InternalEventJournalCacheEvent e = serializationService.toObject(item);
         final DeserializingEventJournalCacheEvent<K, V> deserialisingEvent
                 = new DeserializingEventJournalCacheEvent<>(serializationService, e);
         super.addItem(seq, deserialisingEvent);
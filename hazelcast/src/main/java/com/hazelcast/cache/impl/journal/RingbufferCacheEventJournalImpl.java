@@ -36,6 +36,7 @@ import com.hazelcast.internal.services.ObjectNamespace;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.operationparker.OperationParker;
 import com.hazelcast.spi.impl.operationservice.WaitNotifyKey;
+import com.hazelcast.spi.properties.ClusterProperty;
 
 import static com.hazelcast.cache.CacheEventType.CREATED;
 import static com.hazelcast.cache.CacheEventType.EVICTED;
@@ -197,11 +198,21 @@ public class RingbufferCacheEventJournalImpl implements CacheEventJournal {
         return new RingbufferConfig()
                 .setAsyncBackupCount(cacheConfig.getAsyncBackupCount())
                 .setBackupCount(cacheConfig.getBackupCount())
-                .setInMemoryFormat(InMemoryFormat.OBJECT)
+                .setInMemoryFormat(getJournalInMemoryFormat())
                 .setCapacity(config.getCapacity() / partitionCount)
                 .setTimeToLiveSeconds(config.getTimeToLiveSeconds());
     }
 
+    /**
+     * The journal events are kept in binary format when the ringbuffer arena
+     * storage is enabled, otherwise they are kept as objects.
+     */
+    private InMemoryFormat getJournalInMemoryFormat() {
+        return nodeEngine.getProperties().getBoolean(ClusterProperty.RINGBUFFER_ARENA_STORAGE_ENABLED)
+                ? InMemoryFormat.BINARY
+                : InMemoryFormat.OBJECT;
+    }
+
     private void addToEventRingbuffer(EventJournalConfig journalConfig, ObjectNamespace namespace, int partitionId,
                                       CacheEventType eventType, Data key, Object oldValue, Object newValue) {
         if (journalConfig == null || !journalConfig.isEnabled()) {
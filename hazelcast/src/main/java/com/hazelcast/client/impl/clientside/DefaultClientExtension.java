@@ -35,6 +35,7 @@ import com.hazelcast.config.InstanceTrackingConfig;
 import com.hazelcast.config.InstanceTrackingConfig.InstanceMode;
 import com.hazelcast.config.InstanceTrackingConfig.InstanceProductName;
 import com.hazelcast.config.InvalidConfigurationException;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.config.SSLConfig;
 import com.hazelcast.config.SerializationConfig;
@@ -239,8 +240,9 @@ public class DefaultClientExtension implements ClientExtension {
         TaskScheduler taskScheduler = client.getTaskScheduler();
         ClassLoader classLoader = client.getClientConfig().getClassLoader();
         HazelcastProperties properties = client.getProperties();
+        NativeMemoryConfig nativeMemoryConfig = client.getClientConfig().getNativeMemoryConfig();
 
-        return new DefaultNearCacheManager(ss, taskScheduler, classLoader, properties);
+        return new DefaultNearCacheManager(ss, taskScheduler, classLoader, properties, nativeMemoryConfig);
     }
 
     @Override
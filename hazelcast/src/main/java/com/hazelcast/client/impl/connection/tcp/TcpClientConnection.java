@@ -35,6 +35,7 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.Socket;
 import java.nio.channels.CancelledKeyException;
 import java.util.Collections;
 import java.util.Map;
@@ -134,7 +135,13 @@ public class TcpClientConnection implements ClientConnection {
 
     @Override
     public InetAddress getInetAddress() {
-        return channel.socket().getInetAddress();
+        Socket socket = channel.socket();
+        if (socket == null) {
+            // a channel without a socket, e.g. a shared memory channel
+            InetSocketAddress remoteSocketAddress = (InetSocketAddress) channel.remoteSocketAddress();
+            return remoteSocketAddress == null ? null : remoteSocketAddress.getAddress();
+        }
+        return socket.getInetAddress();
     }
 
     @Override
@@ -62,6 +62,7 @@ import com.hazelcast.internal.networking.Channel;
 import com.hazelcast.internal.networking.ChannelErrorHandler;
 import com.hazelcast.internal.networking.ChannelInitializer;
 import com.hazelcast.internal.networking.nio.NioNetworking;
+import com.hazelcast.internal.networking.shm.SharedMemoryConnector;
 import com.hazelcast.internal.nio.ConnectionListener;
 import com.hazelcast.internal.nio.ConnectionType;
 import com.hazelcast.internal.serialization.InternalSerializationService;
@@ -70,6 +71,7 @@ import com.hazelcast.internal.util.EmptyStatement;
 import com.hazelcast.internal.util.IterableUtil;
 import com.hazelcast.internal.util.RuntimeAvailableProcessors;
 import com.hazelcast.internal.util.UuidUtil;
+import com.hazelcast.internal.util.concurrent.IdleStrategy;
 import com.hazelcast.internal.util.executor.LoggingScheduledExecutor;
 import com.hazelcast.internal.util.executor.PoolExecutorThreadFactory;
 import com.hazelcast.logging.ILogger;
@@ -90,6 +92,7 @@ import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketAddress;
 import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -122,11 +125,18 @@ import static com.hazelcast.client.properties.ClientProperty.IO_BALANCER_INTERVA
 import static com.hazelcast.client.properties.ClientProperty.IO_INPUT_THREAD_COUNT;
 import static com.hazelcast.client.properties.ClientProperty.IO_OUTPUT_THREAD_COUNT;
 import static com.hazelcast.client.properties.ClientProperty.IO_WRITE_THROUGH_ENABLED;
+import static com.hazelcast.client.properties.ClientProperty.SHARED_MEMORY_DIRECTORY;
+import static com.hazelcast.client.properties.ClientProperty.SHARED_MEMORY_IDLE_STRATEGY;
+import static com.hazelcast.client.properties.ClientProperty.SHARED_MEMORY_RING_CAPACITY;
+import static com.hazelcast.client.properties.ClientProperty.SHARED_MEMORY_TRANSPORT_ENABLED;
 import static com.hazelcast.client.properties.ClientProperty.SHUFFLE_MEMBER_LIST;
 import static com.hazelcast.core.LifecycleEvent.LifecycleState.CLIENT_CHANGED_CLUSTER;
+import static com.hazelcast.internal.networking.shm.SharedMemoryAcceptor.endpointDirectory;
 import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
 import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
 import static com.hazelcast.internal.util.ThreadAffinity.newSystemThreadAffinity;
+import static com.hazelcast.internal.util.concurrent.BackoffIdleStrategy.createBackoffIdleStrategy;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
@@ -190,6 +200,9 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
     private final boolean isTpcAwareClient;
     private final boolean skipMemberListDuringReconnection;
     private final ClientClusterService clientClusterService;
+    private final Path sharedMemoryDirectory;
+    private final int sharedMemoryRingCapacity;
+    private final IdleStrategy sharedMemoryIdleStrategy;
     private volatile Credentials currentCredentials;
 
     // following fields are updated inside synchronized(clientStateMutex)
@@ -271,6 +284,10 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
         this.connectionProcessListenerRunner = new ClientConnectionProcessListenerRegistry(client);
         this.skipMemberListDuringReconnection = properties.getBoolean(SKIP_MEMBER_LIST_DURING_RECONNECTION);
         this.clientClusterService = client.getClientClusterService();
+        this.sharedMemoryDirectory = properties.getBoolean(SHARED_MEMORY_TRANSPORT_ENABLED)
+                ? Path.of(properties.getString(SHARED_MEMORY_DIRECTORY)) : null;
+        this.sharedMemoryRingCapacity = nextPowerOfTwo(properties.getInteger(SHARED_MEMORY_RING_CAPACITY));
+        this.sharedMemoryIdleStrategy = createBackoffIdleStrategy(properties.getString(SHARED_MEMORY_IDLE_STRATEGY));
     }
 
     private static RoutingMode decideRoutingMode(ClientConfig config) {
@@ -805,6 +822,11 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
     @SuppressWarnings("unchecked")
     protected TcpClientConnection createSocketConnection(Address target) {
         CandidateClusterContext currentClusterContext = clusterDiscoveryService.current();
+        TcpClientConnection sharedMemoryConnection = createSharedMemoryConnection(target, currentClusterContext);
+        if (sharedMemoryConnection != null) {
+            return sharedMemoryConnection;
+        }
+
         SocketChannel socketChannel = null;
         try {
             socketChannel = SocketChannel.open();
@@ -838,6 +860,43 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
         }
     }
 
+    /**
+     * Connects to a member on the same host through shared memory.
+     *
+     * @return the connection or {@code null} if the member can't be reached
+     * through shared memory, in which case the client falls back to TCP
+     */
+    private TcpClientConnection createSharedMemoryConnection(Address target, CandidateClusterContext clusterContext) {
+        ChannelInitializer channelInitializer = clusterContext.getChannelInitializer();
+        // there is no socket to secure or intercept
+        if (sharedMemoryDirectory == null || isTpcAwareClient || clusterContext.getSocketInterceptor() != null
+                || channelInitializer.getClass() != ClientPlainChannelInitializer.class) {
+            return null;
+        }
+
+        try {
+            InetSocketAddress remoteAddress = new InetSocketAddress(target.getInetAddress(), target.getPort());
+            if (!SharedMemoryConnector.isLocalAddress(remoteAddress.getAddress())) {
+                return null;
+            }
+            Channel channel = SharedMemoryConnector.connect(endpointDirectory(sharedMemoryDirectory, remoteAddress),
+                    sharedMemoryRingCapacity, connectionTimeoutMillis, channelInitializer, new ClientChannelErrorHandler(),
+                    sharedMemoryIdleStrategy, remoteAddress, client.getName() + ".shm-" + target);
+            if (channel == null) {
+                return null;
+            }
+            channel.attributeMap().put(Address.class, target);
+
+            TcpClientConnection connection = new TcpClientConnection(client, connectionIdGen.incrementAndGet(), channel);
+            channel.start();
+            logger.fine("Connected to " + target + " through shared memory");
+            return connection;
+        } catch (Exception e) {
+            logger.fine("Could not connect to " + target + " through shared memory, falling back to TCP", e);
+            return null;
+        }
+    }
+
     private Channel createTpcChannel(Address address, TcpClientConnection connection) {
         SocketChannel socketChannel = null;
         try {
@@ -569,6 +569,7 @@ import com.hazelcast.client.impl.protocol.task.map.MapFetchWithQueryMessageTask;
 import com.hazelcast.client.impl.protocol.task.map.MapFlushMessageTask;
 import com.hazelcast.client.impl.protocol.task.map.MapForceUnlockMessageTask;
 import com.hazelcast.client.impl.protocol.task.map.MapGetAllMessageTask;
+import com.hazelcast.client.impl.protocol.task.map.MapGetAllWithThreadIdsMessageTask;
 import com.hazelcast.client.impl.protocol.task.map.MapGetEntryViewMessageTask;
 import com.hazelcast.client.impl.protocol.task.map.MapGetMessageTask;
 import com.hazelcast.client.impl.protocol.task.map.MapIsEmptyMessageTask;
@@ -601,6 +602,7 @@ import com.hazelcast.client.impl.protocol.task.map.MapRemovePartitionLostListene
 import com.hazelcast.client.impl.protocol.task.map.MapReplaceAllMessageTask;
 import com.hazelcast.client.impl.protocol.task.map.MapReplaceIfSameMessageTask;
 import com.hazelcast.client.impl.protocol.task.map.MapReplaceMessageTask;
+import com.hazelcast.client.impl.protocol.task.map.MapSetAllWithThreadIdsMessageTask;
 import com.hazelcast.client.impl.protocol.task.map.MapSetMessageTask;
 import com.hazelcast.client.impl.protocol.task.map.MapSetReadCursorMessageTask;
 import com.hazelcast.client.impl.protocol.task.map.MapSetTtlMessageTask;
@@ -770,6 +772,8 @@ import com.hazelcast.client.impl.protocol.task.transactionalqueue.TransactionalQ
 import com.hazelcast.client.impl.protocol.task.transactionalset.TransactionalSetAddMessageTask;
 import com.hazelcast.client.impl.protocol.task.transactionalset.TransactionalSetRemoveMessageTask;
 import com.hazelcast.client.impl.protocol.task.transactionalset.TransactionalSetSizeMessageTask;
+import com.hazelcast.client.impl.protocol.util.MapGetAllWithThreadIdsCodec;
+import com.hazelcast.client.impl.protocol.util.MapSetAllWithThreadIdsCodec;
 import com.hazelcast.flakeidgen.impl.client.NewIdBatchMessageTask;
 import com.hazelcast.instance.impl.Node;
 import com.hazelcast.internal.longregister.client.codec.LongRegisterAddAndGetCodec;
@@ -1420,6 +1424,10 @@ public class DefaultMessageTaskFactoryProvider implements MessageTaskFactoryProv
                 (cm, con) -> new MapPutTransientWithMaxIdleMessageTask(cm, node, con));
         factories.put(MapPutAllWithMetadataCodec.REQUEST_MESSAGE_TYPE,
                 (cm, con) -> new MapPutAllWithMetadataMessageTask(cm, node, con));
+        factories.put(MapGetAllWithThreadIdsCodec.REQUEST_MESSAGE_TYPE,
+                (cm, con) -> new MapGetAllWithThreadIdsMessageTask(cm, node, con));
+        factories.put(MapSetAllWithThreadIdsCodec.REQUEST_MESSAGE_TYPE,
+                (cm, con) -> new MapSetAllWithThreadIdsMessageTask(cm, node, con));
     }
 
     private void initializeGeneralTaskFactories() {
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.task.map;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.util.MapSetAllWithThreadIdsCodec;
+import com.hazelcast.instance.impl.Node;
+import com.hazelcast.internal.nio.Connection;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.Timer;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapEntries;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.operation.MapOperationProvider;
+import com.hazelcast.security.SecurityInterceptorConstants;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.MapPermission;
+import com.hazelcast.spi.impl.operationservice.Operation;
+
+import java.security.Permission;
+import java.util.Map;
+
+import static com.hazelcast.internal.util.MapUtil.createHashMap;
+
+public class MapSetAllWithThreadIdsMessageTask
+        extends AbstractMapPartitionMessageTask<MapSetAllWithThreadIdsCodec.RequestParameters> {
+
+    private volatile long startTimeNanos;
+
+    public MapSetAllWithThreadIdsMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
+        super(clientMessage, node, connection);
+    }
+
+    @Override
+    protected Operation prepareOperation() {
+        MapOperationProvider operationProvider = getMapOperationProvider(parameters.name);
+        long[] threadIds = parameters.threadIds.stream().mapToLong(Long::longValue).toArray();
+        return operationProvider.createSetAllWithThreadIdsOperation(parameters.name, new MapEntries(parameters.entries),
+                threadIds);
+    }
+
+    @Override
+    protected MapSetAllWithThreadIdsCodec.RequestParameters decodeClientMessage(ClientMessage clientMessage) {
+        return MapSetAllWithThreadIdsCodec.decodeRequest(clientMessage);
+    }
+
+    @Override
+    protected ClientMessage encodeResponse(Object response) {
+        return MapSetAllWithThreadIdsCodec.encodeResponse();
+    }
+
+    @Override
+    protected void beforeProcess() {
+        startTimeNanos = Timer.nanos();
+    }
+
+    @Override
+    protected Object processResponseBeforeSending(Object response) {
+        MapService mapService = getService(MapService.SERVICE_NAME);
+        MapContainer mapContainer = mapService.getMapServiceContext().getMapContainer(parameters.name);
+        if (mapContainer.getMapConfig().isStatisticsEnabled()) {
+            mapService.getMapServiceContext().getLocalMapStatsProvider().getLocalMapStatsImpl(parameters.name)
+                    .incrementSetLatencyNanos(parameters.entries.size(), Timer.nanosElapsed(startTimeNanos));
+        }
+        return response;
+    }
+
+    @Override
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    public Permission getRequiredPermission() {
+        return new MapPermission(parameters.name, ActionConstants.ACTION_PUT);
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return parameters.name;
+    }
+
+    @Override
+    public String getMethodName() {
+        return SecurityInterceptorConstants.PUT_ALL;
+    }
+
+    @Override
+    public Object[] getParameters() {
+        Map<Data, Data> map = createHashMap(parameters.entries.size());
+        for (Map.Entry<Data, Data> entry : parameters.entries) {
+            map.put(entry.getKey(), entry.getValue());
+        }
+        return new Object[]{map};
+    }
+}
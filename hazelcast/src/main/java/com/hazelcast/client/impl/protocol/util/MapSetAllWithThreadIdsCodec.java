@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.protocol.util;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.builtin.DataCodec;
+import com.hazelcast.client.impl.protocol.codec.builtin.EntryListCodec;
+import com.hazelcast.client.impl.protocol.codec.builtin.ListLongCodec;
+import com.hazelcast.client.impl.protocol.codec.builtin.StringCodec;
+import com.hazelcast.internal.serialization.Data;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.client.impl.protocol.ClientMessage.PARTITION_ID_FIELD_OFFSET;
+import static com.hazelcast.client.impl.protocol.ClientMessage.RESPONSE_BACKUP_ACKS_FIELD_OFFSET;
+import static com.hazelcast.client.impl.protocol.ClientMessage.TYPE_FIELD_OFFSET;
+import static com.hazelcast.client.impl.protocol.ClientMessage.UNFRAGMENTED_MESSAGE;
+import static com.hazelcast.client.impl.protocol.codec.builtin.FixedSizeTypesCodec.BYTE_SIZE_IN_BYTES;
+import static com.hazelcast.client.impl.protocol.codec.builtin.FixedSizeTypesCodec.INT_SIZE_IN_BYTES;
+import static com.hazelcast.client.impl.protocol.codec.builtin.FixedSizeTypesCodec.encodeInt;
+
+/**
+ * Codec of the {@code Map.SetAllWithThreadIds} message, which the client
+ * sends for a micro-batch of {@code IMap.setAsync} calls.
+ * <p>
+ * The message sets the given entries, in the order of the entries. Unlike
+ * {@code Map.PutAll}, each entry is set as if by a set of its own thread. All
+ * keys must belong to the partition the message is sent to.
+ * <p>
+ * The message is not part of the protocol definitions yet, so this codec is
+ * written by hand rather than generated, and only members of version 6.0 or
+ * later handle it. It uses the builtin codecs in the same frame layout a
+ * generated codec would use.
+ */
+public final class MapSetAllWithThreadIdsCodec {
+
+    //hex: 0x014B00
+    public static final int REQUEST_MESSAGE_TYPE = 84736;
+    //hex: 0x014B01
+    public static final int RESPONSE_MESSAGE_TYPE = 84737;
+
+    private static final int REQUEST_INITIAL_FRAME_SIZE = PARTITION_ID_FIELD_OFFSET + INT_SIZE_IN_BYTES;
+    private static final int RESPONSE_INITIAL_FRAME_SIZE = RESPONSE_BACKUP_ACKS_FIELD_OFFSET + BYTE_SIZE_IN_BYTES;
+
+    private MapSetAllWithThreadIdsCodec() {
+    }
+
+    /**
+     * Decoded parameters of the request.
+     */
+    public static class RequestParameters {
+
+        /**
+         * Name of the map.
+         */
+        public String name;
+
+        /**
+         * Entries to set.
+         */
+        public List<Map.Entry<Data, Data>> entries;
+
+        /**
+         * IDs of the threads which issued the sets, one per entry.
+         */
+        public List<Long> threadIds;
+    }
+
+    public static ClientMessage encodeRequest(String name, Collection<Map.Entry<Data, Data>> entries,
+                                              Collection<Long> threadIds) {
+        ClientMessage clientMessage = ClientMessage.createForEncode();
+        clientMessage.setContainsSerializedDataInRequest(true);
+        clientMessage.setRetryable(false);
+        clientMessage.setOperationName("Map.SetAllWithThreadIds");
+        ClientMessage.Frame initialFrame = new ClientMessage.Frame(new byte[REQUEST_INITIAL_FRAME_SIZE], UNFRAGMENTED_MESSAGE);
+        encodeInt(initialFrame.content, TYPE_FIELD_OFFSET, REQUEST_MESSAGE_TYPE);
+        encodeInt(initialFrame.content, PARTITION_ID_FIELD_OFFSET, -1);
+        clientMessage.add(initialFrame);
+        StringCodec.encode(clientMessage, name);
+        EntryListCodec.encode(clientMessage, entries, DataCodec::encode, DataCodec::encode);
+        ListLongCodec.encode(clientMessage, threadIds);
+        return clientMessage;
+    }
+
+    public static RequestParameters decodeRequest(ClientMessage clientMessage) {
+        ClientMessage.ForwardFrameIterator iterator = clientMessage.frameIterator();
+        RequestParameters request = new RequestParameters();
+        // empty initial frame
+        iterator.next();
+        request.name = StringCodec.decode(iterator);
+        request.entries = EntryListCodec.decode(iterator, DataCodec::decode, DataCodec::decode);
+        request.threadIds = ListLongCodec.decode(iterator);
+        return request;
+    }
+
+    public static ClientMessage encodeResponse() {
+        ClientMessage clientMessage = ClientMessage.createForEncode();
+        ClientMessage.Frame initialFrame = new ClientMessage.Frame(new byte[RESPONSE_INITIAL_FRAME_SIZE], UNFRAGMENTED_MESSAGE);
+        encodeInt(initialFrame.content, TYPE_FIELD_OFFSET, RESPONSE_MESSAGE_TYPE);
+        clientMessage.add(initialFrame);
+        return clientMessage;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.proxy;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapGetCodec;
+import com.hazelcast.client.impl.protocol.codec.MapSetCodec;
+import com.hazelcast.client.impl.protocol.util.MapGetAllWithThreadIdsCodec;
+import com.hazelcast.client.impl.protocol.util.MapSetAllWithThreadIdsCodec;
+import com.hazelcast.client.impl.spi.impl.MicroBatchCodec;
+import com.hazelcast.internal.serialization.Data;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+
+import static com.hazelcast.map.impl.record.Record.UNSET;
+
+/**
+ * {@link MicroBatchCodec}s of the {@link ClientMapProxy} requests which can
+ * be micro-batched: {@code getAsync} requests and {@code setAsync} requests
+ * without TTL and max-idle of the same partition. The batched requests carry
+ * the thread ID of every request, and the member runs them as the
+ * single-key {@code get} and {@code set} operations, so they respect locks.
+ */
+final class ClientMapMicroBatchCodecs {
+
+    static final MicroBatchCodec<GetRequest, Data> GET = new MicroBatchCodec<>() {
+        @Override
+        public ClientMessage encodeRequest(String objectName, GetRequest item) {
+            return MapGetCodec.encodeRequest(objectName, item.key(), item.threadId());
+        }
+
+        @Override
+        public Data decodeResponse(ClientMessage response, GetRequest item) {
+            return MapGetCodec.decodeResponse(response);
+        }
+
+        @Override
+        public ClientMessage encodeBatchRequest(String objectName, List<GetRequest> items) {
+            List<Data> keys = new ArrayList<>(items.size());
+            List<Long> threadIds = new ArrayList<>(items.size());
+            for (GetRequest item : items) {
+                keys.add(item.key());
+                threadIds.add(item.threadId());
+            }
+            return MapGetAllWithThreadIdsCodec.encodeRequest(objectName, keys, threadIds);
+        }
+
+        @Override
+        public List<Data> decodeBatchResponse(ClientMessage response, List<GetRequest> items) {
+            return MapGetAllWithThreadIdsCodec.decodeResponse(response);
+        }
+    };
+
+    static final MicroBatchCodec<SetRequest, Void> SET = new MicroBatchCodec<>() {
+        @Override
+        public ClientMessage encodeRequest(String objectName, SetRequest item) {
+            return MapSetCodec.encodeRequest(objectName, item.key(), item.value(), item.threadId(), UNSET);
+        }
+
+        @Override
+        public Void decodeResponse(ClientMessage response, SetRequest item) {
+            return null;
+        }
+
+        @Override
+        public ClientMessage encodeBatchRequest(String objectName, List<SetRequest> items) {
+            List<Entry<Data, Data>> entries = new ArrayList<>(items.size());
+            List<Long> threadIds = new ArrayList<>(items.size());
+            for (SetRequest item : items) {
+                entries.add(new SimpleImmutableEntry<>(item.key(), item.value()));
+                threadIds.add(item.threadId());
+            }
+            return MapSetAllWithThreadIdsCodec.encodeRequest(objectName, entries, threadIds);
+        }
+
+        @Override
+        public List<Void> decodeBatchResponse(ClientMessage response, List<SetRequest> items) {
+            return Collections.nCopies(items.size(), null);
+        }
+    };
+
+    private ClientMapMicroBatchCodecs() {
+    }
+
+    record GetRequest(Data key, long threadId) {
+    }
+
+    record SetRequest(Data key, Data value, long threadId) {
+    }
+}
@@ -90,12 +90,15 @@ import com.hazelcast.client.impl.protocol.codec.MapValuesCodec;
 import com.hazelcast.client.impl.protocol.codec.MapValuesWithPagingPredicateCodec;
 import com.hazelcast.client.impl.protocol.codec.MapValuesWithPredicateCodec;
 import com.hazelcast.client.impl.protocol.codec.holder.PagingPredicateHolder;
+import com.hazelcast.client.impl.proxy.ClientMapMicroBatchCodecs.GetRequest;
+import com.hazelcast.client.impl.proxy.ClientMapMicroBatchCodecs.SetRequest;
 import com.hazelcast.client.impl.spi.ClientContext;
 import com.hazelcast.client.impl.spi.ClientPartitionService;
 import com.hazelcast.client.impl.spi.ClientProxy;
 import com.hazelcast.client.impl.spi.EventHandler;
 import com.hazelcast.client.impl.spi.impl.ClientInvocation;
 import com.hazelcast.client.impl.spi.impl.ClientInvocationFuture;
+import com.hazelcast.client.impl.spi.impl.ClientInvocationMicroBatcher;
 import com.hazelcast.client.impl.spi.impl.ListenerMessageCodec;
 import com.hazelcast.client.map.impl.iterator.ClientMapIterable;
 import com.hazelcast.client.map.impl.iterator.ClientMapIterator;
@@ -353,6 +356,16 @@ public class ClientMapProxy<K, V> extends ClientProxy
     public InternalCompletableFuture<V> getAsync(@Nonnull K key) {
         checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
 
+        ClientInvocationMicroBatcher microBatcher = getContext().getInvocationService().getMicroBatcher();
+        if (microBatcher.isEnabled()) {
+            Data keyData = toData(key);
+            InternalCompletableFuture<Data> future = new InternalCompletableFuture<>();
+            int partitionId = getContext().getPartitionService().getPartitionId(keyData);
+            microBatcher.submit(ClientMapMicroBatchCodecs.GET, name, partitionId,
+                    new GetRequest(keyData, getThreadId()), future);
+            return InternalCompletableFuture.newDelegatingFuture(getSerializationService(), future);
+        }
+
         return new ClientDelegatingFuture<>(getAsyncInternal(key),
                 getSerializationService(), MapGetCodec::decodeResponse);
     }
@@ -454,6 +467,14 @@ public class ClientMapProxy<K, V> extends ClientProxy
         try {
             Data keyData = toData(key);
             Data valueData = toData(value);
+            ClientInvocationMicroBatcher microBatcher = getContext().getInvocationService().getMicroBatcher();
+            if (ttl == UNSET && maxIdle == null && microBatcher.isEnabled()) {
+                InternalCompletableFuture<Void> future = new InternalCompletableFuture<>();
+                int partitionId = getContext().getPartitionService().getPartitionId(keyData);
+                microBatcher.submit(ClientMapMicroBatchCodecs.SET, name, partitionId,
+                        new SetRequest(keyData, valueData, getThreadId()), future);
+                return future;
+            }
             long ttlMillis = timeInMsOrOneIfResultIsZero(ttl, timeunit);
             ClientMessage request;
             if (maxIdle != null) {
@@ -1321,7 +1342,7 @@ public class ClientMapProxy<K, V> extends ClientProxy
         return (Collection<V>) new UnmodifiableLazyList(dataList, getSerializationService());
     }
 
-    private ClientMessage invokeWithPredicate(ClientMessage request, Predicate predicate) {
+    protected ClientMessage invokeWithPredicate(ClientMessage request, Predicate predicate) {
         ClientMessage response;
         if (predicate instanceof PartitionPredicate partitionPredicate) {
             response = invoke(request, partitionPredicate.getPartitionKey());
@@ -22,6 +22,7 @@ import com.hazelcast.client.impl.connection.ClientConnection;
 import com.hazelcast.client.impl.connection.tcp.RoutingMode;
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.spi.impl.ClientInvocation;
+import com.hazelcast.client.impl.spi.impl.ClientInvocationMicroBatcher;
 import com.hazelcast.cluster.Member;
 import com.hazelcast.internal.nio.Connection;
 import com.hazelcast.internal.nio.ConnectionListener;
@@ -97,4 +98,9 @@ public interface ClientInvocationService {
      * still uses the provided connection, {@code false} otherwise
      */
     boolean isConnectionInUse(@Nonnull ClientConnection connection);
+
+    /**
+     * @return the micro-batcher which groups requests targeting the same partition
+     */
+    ClientInvocationMicroBatcher getMicroBatcher();
 }
@@ -152,6 +152,10 @@ public class ClientInvocation extends BaseInvocation implements Runnable {
     }
 
     public ClientInvocationFuture invoke() {
+        if (partitionId != UNASSIGNED_PARTITION && objectName instanceof String name) {
+            // requests for the partition which are still waiting in a micro-batch are issued before this one
+            invocationService.getMicroBatcher().flush(name, partitionId);
+        }
         clientMessage.setCorrelationId(callIdSequence.next());
         invokeOnSelection();
         return clientInvocationFuture;
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.spi.impl;
+
+import com.hazelcast.client.HazelcastClientNotActiveException;
+import com.hazelcast.client.impl.clientside.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.spi.properties.HazelcastProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.client.properties.ClientProperty.INVOCATION_MICRO_BATCH_MAX_SIZE;
+import static com.hazelcast.client.properties.ClientProperty.INVOCATION_MICRO_BATCH_WINDOW_MICROS;
+import static com.hazelcast.internal.cluster.Versions.V6_0;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CLIENT_METRIC_INVOCATIONS_MICRO_BATCHED_INVOCATIONS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CLIENT_METRIC_INVOCATIONS_MICRO_BATCHES;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Groups requests which target the same partition of the same distributed
+ * object and are issued within a short window into a single multi-key
+ * request, and completes the future of every request from its response.
+ * <p>
+ * The first request for a partition opens a batch which is sent when the
+ * window elapses or the batch is full. A batch which holds a single request
+ * when it is sent, which is the case when the client is idle, is sent with
+ * the single request codec, so it gets the same response as without
+ * batching. Requests of another codec for the same partition send the open
+ * batch first, and so do the requests which aren't batched at all, see
+ * {@link #flush}, so requests for a partition are sent in the order they
+ * were issued.
+ * <p>
+ * Batching is disabled unless {@link com.hazelcast.client.properties.ClientProperty#INVOCATION_MICRO_BATCH_WINDOW_MICROS}
+ * is set. Only members of version 6.0 or later handle the multi-key requests,
+ * so requests aren't batched while the cluster version is lower, and a batch
+ * opened before the client switched to such a cluster is sent as single
+ * requests.
+ */
+public class ClientInvocationMicroBatcher {
+
+    private final HazelcastClientInstanceImpl client;
+    private final long windowMicros;
+    private final int maxBatchSize;
+    private final ConcurrentMap<BatchKey, Batch> batches = new ConcurrentHashMap<>();
+
+    @Probe(name = CLIENT_METRIC_INVOCATIONS_MICRO_BATCHES)
+    private final MwCounter batchCount = newMwCounter();
+    @Probe(name = CLIENT_METRIC_INVOCATIONS_MICRO_BATCHED_INVOCATIONS)
+    private final MwCounter batchedInvocationCount = newMwCounter();
+
+    private volatile boolean shutdown;
+
+    public ClientInvocationMicroBatcher(HazelcastClientInstanceImpl client) {
+        this.client = client;
+        HazelcastProperties properties = client.getProperties();
+        this.windowMicros = properties.getLong(INVOCATION_MICRO_BATCH_WINDOW_MICROS);
+        this.maxBatchSize = properties.getInteger(INVOCATION_MICRO_BATCH_MAX_SIZE);
+    }
+
+    /**
+     * @return {@code true} if requests are micro-batched, {@code false} otherwise
+     */
+    public boolean isEnabled() {
+        return isConfigured() && isSupportedByCluster();
+    }
+
+    private boolean isConfigured() {
+        return windowMicros > 0 && maxBatchSize > 1;
+    }
+
+    // RU_COMPAT_5_5
+    private boolean isSupportedByCluster() {
+        return client.getClientClusterService().getClusterVersion().isGreaterOrEqual(V6_0);
+    }
+
+    /**
+     * Adds a request to the open batch of its partition.
+     *
+     * @param codec       the codec of the request
+     * @param objectName  the name of the distributed object
+     * @param partitionId the partition ID targeted by the request
+     * @param item        the request
+     * @param future      the future to complete with the result of the request
+     * @param <I>         the type of the request
+     * @param <R>         the type of the result of the request
+     */
+    public <I, R> void submit(MicroBatchCodec<I, R> codec, String objectName, int partitionId,
+                              I item, CompletableFuture<? super R> future) {
+        if (shutdown) {
+            future.completeExceptionally(new HazelcastClientNotActiveException());
+            return;
+        }
+        BatchKey key = new BatchKey(objectName, partitionId);
+        for (; ; ) {
+            Batch batch = batches.computeIfAbsent(key, Batch::new);
+            synchronized (batch) {
+                if (batch.retired) {
+                    // the batch was removed after it was sent, retry with a new one
+                    continue;
+                }
+                if (batch.codec != null && batch.codec != codec) {
+                    batch.send();
+                }
+                batch.add(codec, item, future);
+                if (batch.size() >= maxBatchSize) {
+                    batch.send();
+                } else if (batch.size() == 1) {
+                    client.getTaskScheduler().schedule(batch::sendAndRetire, windowMicros, MICROSECONDS);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sends the open batch of the given partition. Called before a request
+     * which isn't batched is sent for the partition, so it is sent after the
+     * batched requests which were issued before it.
+     *
+     * @param objectName  the name of the distributed object
+     * @param partitionId the partition ID
+     */
+    public void flush(String objectName, int partitionId) {
+        if (!isConfigured()) {
+            return;
+        }
+        Batch batch = batches.get(new BatchKey(objectName, partitionId));
+        if (batch != null) {
+            synchronized (batch) {
+                // a no-op when called for the invocation of the batch itself
+                batch.send();
+            }
+        }
+    }
+
+    /**
+     * Fails the requests of the open batches.
+     */
+    public void shutdown() {
+        shutdown = true;
+        for (Batch batch : batches.values()) {
+            synchronized (batch) {
+                batch.retired = true;
+                for (CompletableFuture<Object> future : batch.futures) {
+                    future.completeExceptionally(new HazelcastClientNotActiveException());
+                }
+                batch.clear();
+            }
+        }
+        batches.clear();
+    }
+
+    private record BatchKey(String objectName, int partitionId) {
+    }
+
+    /**
+     * The open batch of a partition. All fields are guarded by the batch itself.
+     */
+    private final class Batch {
+
+        private final BatchKey key;
+        private final List<Object> items = new ArrayList<>();
+        private final List<CompletableFuture<Object>> futures = new ArrayList<>();
+        private MicroBatchCodec<Object, Object> codec;
+        private boolean retired;
+
+        Batch(BatchKey key) {
+            this.key = key;
+        }
+
+        @SuppressWarnings("unchecked")
+        void add(MicroBatchCodec<?, ?> codec, Object item, CompletableFuture<?> future) {
+            this.codec = (MicroBatchCodec<Object, Object>) codec;
+            items.add(item);
+            futures.add((CompletableFuture<Object>) future);
+        }
+
+        int size() {
+            return items.size();
+        }
+
+        void clear() {
+            codec = null;
+            items.clear();
+            futures.clear();
+        }
+
+        synchronized void sendAndRetire() {
+            if (retired) {
+                return;
+            }
+            send();
+            // drop the batch of an idle partition, the next request opens a new one
+            retired = batches.remove(key, this);
+        }
+
+        /**
+         * Sends the requests of this batch while holding its lock, so that
+         * the requests for a partition are sent in the order they were issued.
+         */
+        void send() {
+            if (items.isEmpty()) {
+                return;
+            }
+            MicroBatchCodec<Object, Object> batchCodec = codec;
+            List<Object> batchItems = new ArrayList<>(items);
+            List<CompletableFuture<Object>> batchFutures = new ArrayList<>(futures);
+            clear();
+
+            try {
+                if (batchItems.size() == 1 || !isSupportedByCluster()) {
+                    for (int i = 0; i < batchItems.size(); i++) {
+                        sendSingle(batchCodec, batchItems.get(i), batchFutures.get(i));
+                    }
+                    return;
+                }
+
+                batchCount.inc();
+                batchedInvocationCount.inc(batchItems.size());
+                ClientMessage request = batchCodec.encodeBatchRequest(key.objectName(), batchItems);
+                invoke(request).whenComplete((response, throwable) -> {
+                    if (throwable != null) {
+                        batchFutures.forEach(future -> future.completeExceptionally(throwable));
+                        return;
+                    }
+                    List<Object> results;
+                    try {
+                        results = batchCodec.decodeBatchResponse(response, batchItems);
+                    } catch (Throwable t) {
+                        batchFutures.forEach(future -> future.completeExceptionally(t));
+                        return;
+                    }
+                    for (int i = 0; i < batchFutures.size(); i++) {
+                        batchFutures.get(i).complete(results.get(i));
+                    }
+                });
+            } catch (Throwable t) {
+                batchFutures.forEach(future -> future.completeExceptionally(t));
+            }
+        }
+
+        private void sendSingle(MicroBatchCodec<Object, Object> batchCodec, Object item, CompletableFuture<Object> future) {
+            try {
+                ClientMessage request = batchCodec.encodeRequest(key.objectName(), item);
+                invoke(request).whenComplete((response, throwable) -> {
+                    if (throwable != null) {
+                        future.completeExceptionally(throwable);
+                        return;
+                    }
+                    try {
+                        future.complete(batchCodec.decodeResponse(response, item));
+                    } catch (Throwable t) {
+                        future.completeExceptionally(t);
+                    }
+                });
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+
+        private CompletableFuture<ClientMessage> invoke(ClientMessage request) {
+            return new ClientInvocation(client, request, key.objectName(), key.partitionId()).invoke();
+        }
+    }
+}
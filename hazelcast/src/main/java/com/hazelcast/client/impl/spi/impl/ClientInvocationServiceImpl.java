@@ -100,6 +100,7 @@ public class ClientInvocationServiceImpl implements ClientInvocationServiceInter
     private final ClientConnectionManager connectionManager;
     private final ClientPartitionService partitionService;
     private final RoutingMode routingMode;
+    private final ClientInvocationMicroBatcher microBatcher;
 
     public ClientInvocationServiceImpl(HazelcastClientInstanceImpl client) {
         this.client = client;
@@ -115,7 +116,9 @@ public class ClientInvocationServiceImpl implements ClientInvocationServiceInter
 
         this.operationBackupTimeoutMillis = properties.getInteger(OPERATION_BACKUP_TIMEOUT_MILLIS);
         this.shouldFailOnIndeterminateOperationState = properties.getBoolean(FAIL_ON_INDETERMINATE_OPERATION_STATE);
+        this.microBatcher = new ClientInvocationMicroBatcher(client);
         client.getMetricsRegistry().registerStaticMetrics(this, CLIENT_PREFIX_INVOCATIONS);
+        client.getMetricsRegistry().registerStaticMetrics(microBatcher, CLIENT_PREFIX_INVOCATIONS);
         this.connectionManager = client.getConnectionManager();
         this.partitionService = client.getClientPartitionService();
         this.routingMode = connectionManager.getRoutingMode();
@@ -161,6 +164,11 @@ public class ClientInvocationServiceImpl implements ClientInvocationServiceInter
         return callIdSequence;
     }
 
+    @Override
+    public ClientInvocationMicroBatcher getMicroBatcher() {
+        return microBatcher;
+    }
+
     public void addBackupListener() {
         if (isBackupAckToClientEnabled) {
             ClientListenerService listenerService = client.getListenerService();
@@ -323,6 +331,7 @@ public class ClientInvocationServiceImpl implements ClientInvocationServiceInter
 
     public void shutdown() {
         isShutdown = true;
+        microBatcher.shutdown();
         responseHandlerSupplier.shutdown();
 
         for (ClientInvocation invocation : invocations.values()) {
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.spi.impl;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+
+import java.util.List;
+
+/**
+ * Encodes requests which can be micro-batched by the
+ * {@link ClientInvocationMicroBatcher} and decodes their responses.
+ * <p>
+ * A request is sent on its own with the single request codec
+ * when no other request joined it within the batching window,
+ * otherwise all requests are sent as a single multi-key request.
+ *
+ * @param <I> the type of a single request
+ * @param <R> the type of the result of a single request
+ */
+public interface MicroBatchCodec<I, R> {
+
+    /**
+     * Encodes a request which is sent on its own.
+     *
+     * @param objectName the name of the distributed object
+     * @param item       the request
+     * @return the encoded request
+     */
+    ClientMessage encodeRequest(String objectName, I item);
+
+    /**
+     * Decodes the response of a request which was sent on its own.
+     *
+     * @param response the response
+     * @param item     the request
+     * @return the result of the request
+     */
+    R decodeResponse(ClientMessage response, I item);
+
+    /**
+     * Encodes requests which target the same partition as a single request.
+     *
+     * @param objectName the name of the distributed object
+     * @param items      the requests, in the order they were issued
+     * @return the encoded multi-key request
+     */
+    ClientMessage encodeBatchRequest(String objectName, List<I> items);
+
+    /**
+     * Decodes the response of a multi-key request.
+     *
+     * @param response the response
+     * @param items    the requests, in the order they were issued
+     * @return the results of the requests, in the order of the {@code items}
+     */
+    List<R> decodeBatchResponse(ClientMessage response, List<I> items);
+}
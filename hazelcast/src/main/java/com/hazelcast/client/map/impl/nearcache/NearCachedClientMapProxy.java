@@ -19,10 +19,13 @@ package com.hazelcast.client.map.impl.nearcache;
 import com.hazelcast.client.impl.ClientDelegatingFuture;
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.codec.MapAddNearCacheInvalidationListenerCodec;
+import com.hazelcast.client.impl.protocol.codec.MapEntriesWithPredicateCodec;
 import com.hazelcast.client.impl.protocol.codec.MapGetCodec;
+import com.hazelcast.client.impl.protocol.codec.MapKeySetWithPredicateCodec;
 import com.hazelcast.client.impl.protocol.codec.MapRemoveEntryListenerCodec;
 import com.hazelcast.client.impl.proxy.ClientMapProxy;
 import com.hazelcast.client.impl.spi.ClientContext;
+import com.hazelcast.client.impl.spi.ClientPartitionService;
 import com.hazelcast.client.impl.spi.EventHandler;
 import com.hazelcast.client.impl.spi.impl.ClientInvocationFuture;
 import com.hazelcast.client.impl.spi.impl.ListenerMessageCodec;
@@ -36,15 +39,22 @@ import com.hazelcast.internal.nearcache.impl.invalidation.RepairingHandler;
 import com.hazelcast.internal.nearcache.impl.invalidation.RepairingTask;
 import com.hazelcast.internal.nio.Connection;
 import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.Clock;
 import com.hazelcast.internal.util.CollectionUtil;
+import com.hazelcast.internal.util.IterationType;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.LocalMapStats;
 import com.hazelcast.map.impl.SimpleEntryView;
+import com.hazelcast.query.PartitionPredicate;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
 import com.hazelcast.spi.impl.InternalCompletableFuture;
+import com.hazelcast.spi.impl.UnmodifiableLazyList;
+import com.hazelcast.spi.impl.UnmodifiableLazySet;
 import com.hazelcast.core.ReadOnly;
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -54,6 +64,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.client.properties.ClientProperty.MAP_QUERY_RESULT_CACHE_SIZE;
 import static com.hazelcast.core.EntryEventType.INVALIDATION;
 import static com.hazelcast.internal.nearcache.NearCache.CACHED_AS_NULL;
 import static com.hazelcast.internal.nearcache.NearCache.NOT_CACHED;
@@ -63,6 +74,7 @@ import static com.hazelcast.internal.util.CollectionUtil.objectToDataCollection;
 import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
 import static com.hazelcast.internal.util.MapUtil.createHashMap;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.query.impl.predicates.PredicateUtils.containsPagingPredicate;
 import static com.hazelcast.spi.impl.InternalCompletableFuture.newCompletedFuture;
 import static java.util.Collections.emptyMap;
 
@@ -77,8 +89,10 @@ public class NearCachedClientMapProxy<K, V> extends ClientMapProxy<K, V> {
 
     private boolean serializeKeys;
     private NearCache<Object, Object> nearCache;
+    private QueryResultCache queryResultCache;
 
     private volatile UUID invalidationListenerId;
+    private volatile RepairingHandler repairingHandler;
 
     public NearCachedClientMapProxy(String serviceName, String name, ClientContext context) {
         super(serviceName, name, context);
@@ -95,6 +109,11 @@ public class NearCachedClientMapProxy<K, V> extends ClientMapProxy<K, V> {
         nearCache = nearCacheManager.getOrCreateNearCache(name, nearCacheConfig);
 
         if (nearCacheConfig.isInvalidateOnChange()) {
+            int queryResultCacheSize = getClient().getProperties().getInteger(MAP_QUERY_RESULT_CACHE_SIZE);
+            if (queryResultCacheSize > 0) {
+                queryResultCache = new QueryResultCache(queryResultCacheSize, getContext().getPartitionService(),
+                        nearCacheConfig);
+            }
             registerInvalidationListener();
         }
 
@@ -208,7 +227,7 @@ public class NearCachedClientMapProxy<K, V> extends ClientMapProxy<K, V> {
         try {
             super.removeAllInternal(predicate);
         } finally {
-            nearCache.clear();
+            clearNearCache();
         }
     }
 
@@ -384,7 +403,7 @@ public class NearCachedClientMapProxy<K, V> extends ClientMapProxy<K, V> {
         try {
             super.evictAll();
         } finally {
-            nearCache.clear();
+            clearNearCache();
         }
     }
 
@@ -392,7 +411,7 @@ public class NearCachedClientMapProxy<K, V> extends ClientMapProxy<K, V> {
     public void loadAll(boolean replaceExistingValues) {
         super.loadAll(replaceExistingValues);
         if (replaceExistingValues) {
-            nearCache.clear();
+            clearNearCache();
         }
     }
 
@@ -593,9 +612,113 @@ public class NearCachedClientMapProxy<K, V> extends ClientMapProxy<K, V> {
         }
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<K> keySet(@Nonnull Predicate<K, V> predicate) {
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        if (!isQueryResultCacheable(predicate)) {
+            return super.keySet(predicate);
+        }
+        return (Set<K>) new UnmodifiableLazySet(cachedQuery(IterationType.KEY, predicate), getSerializationService());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<Entry<K, V>> entrySet(@Nonnull Predicate predicate) {
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        if (!isQueryResultCacheable(predicate)) {
+            return super.entrySet(predicate);
+        }
+        return (Set) new UnmodifiableLazySet(cachedQuery(IterationType.ENTRY, predicate), getSerializationService());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<V> values(@Nonnull Predicate predicate) {
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        if (!isQueryResultCacheable(predicate)) {
+            return super.values(predicate);
+        }
+        List<Object> entries = cachedQuery(IterationType.ENTRY, predicate);
+        List<Object> values = new ArrayList<>(entries.size());
+        for (Object entry : entries) {
+            values.add(((Entry<Data, Data>) entry).getValue());
+        }
+        return (Collection<V>) new UnmodifiableLazyList(values, getSerializationService());
+    }
+
+    private boolean isQueryResultCacheable(Predicate predicate) {
+        return queryResultCache != null && repairingHandler != null
+                && !(predicate instanceof PartitionPredicate) && !containsPagingPredicate(predicate);
+    }
+
+    /**
+     * Returns the result of the given query, querying only the partitions
+     * that changed since the result was cached. For {@link IterationType#KEY}
+     * the elements are serialized keys, otherwise serialized entries.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object> cachedQuery(IterationType iterationType, Predicate predicate) {
+        QueryResultCache cache = queryResultCache;
+        QueryResultCache.Key key = new QueryResultCache.Key(iterationType, toData(predicate));
+        QueryResultCache.Snapshot snapshot = cache.snapshot(repairingHandler);
+        long now = Clock.currentTimeMillis();
+        QueryResultCache.Result cached = cache.get(key, now);
+
+        List<Integer> stalePartitions = cached == null ? null : cached.stalePartitions(snapshot);
+        if (stalePartitions != null && stalePartitions.isEmpty()) {
+            return cached.elements();
+        }
+        int partitionCount = cache.getPartitionCount();
+        List<Object>[] partitions;
+        long creationTime;
+        if (stalePartitions == null || stalePartitions.size() > partitionCount / 2) {
+            // querying all partitions at once is cheaper than naming most of them
+            partitions = new List[partitionCount];
+            creationTime = now;
+            bucketByPartition(queryData(iterationType, predicate), iterationType, partitions);
+        } else {
+            partitions = cached.copyPartitions();
+            creationTime = cached.creationTime();
+            for (int partitionId : stalePartitions) {
+                partitions[partitionId] = null;
+            }
+            Object[] partitionKeys = cache.partitionKeys(stalePartitions);
+            Predicate stalePredicate = Predicates.multiPartitionPredicate(Set.of(partitionKeys), predicate);
+            bucketByPartition(queryData(iterationType, stalePredicate), iterationType, partitions);
+        }
+        QueryResultCache.Result result = new QueryResultCache.Result(snapshot, partitions, creationTime, now);
+        cache.put(key, result);
+        return result.elements();
+    }
+
+    private List<?> queryData(IterationType iterationType, Predicate predicate) {
+        if (iterationType == IterationType.KEY) {
+            ClientMessage request = MapKeySetWithPredicateCodec.encodeRequest(name, toData(predicate));
+            return MapKeySetWithPredicateCodec.decodeResponse(invokeWithPredicate(request, predicate));
+        }
+        ClientMessage request = MapEntriesWithPredicateCodec.encodeRequest(name, toData(predicate));
+        return MapEntriesWithPredicateCodec.decodeResponse(invokeWithPredicate(request, predicate));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void bucketByPartition(List<?> elements, IterationType iterationType, List<Object>[] partitions) {
+        ClientPartitionService partitionService = getContext().getPartitionService();
+        for (Object element : elements) {
+            Data keyData = iterationType == IterationType.KEY ? (Data) element : ((Entry<Data, Data>) element).getKey();
+            int partitionId = partitionService.getPartitionId(keyData);
+            List<Object> partition = partitions[partitionId];
+            if (partition == null) {
+                partition = new ArrayList<>();
+                partitions[partitionId] = partition;
+            }
+            partition.add(element);
+        }
+    }
+
     @Override
     public void clear() {
-        nearCache.clear();
+        clearNearCache();
         super.clear();
     }
 
@@ -650,6 +773,16 @@ public class NearCachedClientMapProxy<K, V> extends ClientMapProxy<K, V> {
 
     private void invalidateNearCache(Object key) {
         nearCache.invalidate(key);
+        if (queryResultCache != null) {
+            queryResultCache.markModified(getContext().getPartitionService().getPartitionId(toData(key)));
+        }
+    }
+
+    private void clearNearCache() {
+        nearCache.clear();
+        if (queryResultCache != null) {
+            queryResultCache.clear();
+        }
     }
 
     private void registerInvalidationListener() {
@@ -707,8 +840,6 @@ public class NearCachedClientMapProxy<K, V> extends ClientMapProxy<K, V> {
             extends MapAddNearCacheInvalidationListenerCodec.AbstractEventHandler
             implements EventHandler<ClientMessage> {
 
-        private volatile RepairingHandler repairingHandler;
-
         @Override
         public void beforeListenerRegister(Connection connection) {
             RepairingTask repairingTask = getContext().getRepairingTask(getServiceName());
@@ -718,6 +849,10 @@ public class NearCachedClientMapProxy<K, V> extends ClientMapProxy<K, V> {
         @Override
         public void handleIMapInvalidationEvent(Data key, UUID sourceUuid,
                                                 UUID partitionUuid, long sequence) {
+            if (key == null && queryResultCache != null) {
+                // map-wide events only advance the sequence of a single partition
+                queryResultCache.clear();
+            }
             repairingHandler.handle(key, sourceUuid, partitionUuid, sequence);
         }
 
@@ -727,6 +862,9 @@ public class NearCachedClientMapProxy<K, V> extends ClientMapProxy<K, V> {
                                                      Collection<UUID> sourceUuids,
                                                      Collection<UUID> partitionUuids,
                                                      Collection<Long> sequences) {
+            if (queryResultCache != null && keys.contains(null)) {
+                queryResultCache.clear();
+            }
             repairingHandler.handle(keys, sourceUuids, partitionUuids, sequences);
         }
     }
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.map.impl.nearcache;
+
+import com.hazelcast.client.impl.spi.ClientPartitionService;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataContainer;
+import com.hazelcast.internal.nearcache.impl.invalidation.RepairingHandler;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.IterationType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Caches the results of predicate queries run by a {@link NearCachedClientMapProxy}.
+ * <p>
+ * A result is kept per partition, together with the Near Cache invalidation
+ * metadata (partition UUID and sequence) observed before the query was sent.
+ * Any change in a partition advances its sequence once the invalidation event
+ * reaches the client, so a cached result only has to be queried again for the
+ * partitions whose metadata has changed since. Changes made through the owning
+ * proxy are tracked locally as well to keep read-your-writes semantics.
+ * <p>
+ * Like the Near Cache itself, cached results are eventually consistent with
+ * the map and expire according to the time-to-live and max-idle settings of
+ * the Near Cache. The number of cached queries is bounded, the least recently
+ * used one is dropped first.
+ */
+final class QueryResultCache {
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final int partitionCount;
+    private final long timeToLiveMillis;
+    private final long maxIdleMillis;
+    private final ClientPartitionService partitionService;
+    private final AtomicLongArray localModifications;
+    private final Map<Key, Result> results;
+
+    private volatile Object[] partitionKeys;
+
+    QueryResultCache(int maxSize, ClientPartitionService partitionService, NearCacheConfig nearCacheConfig) {
+        this.partitionService = partitionService;
+        this.partitionCount = partitionService.getPartitionCount();
+        this.timeToLiveMillis = SECONDS.toMillis(nearCacheConfig.getTimeToLiveSeconds());
+        this.maxIdleMillis = SECONDS.toMillis(nearCacheConfig.getMaxIdleSeconds());
+        this.localModifications = new AtomicLongArray(partitionCount);
+        this.results = new LinkedHashMap<>(maxSize, LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Result> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    int getPartitionCount() {
+        return partitionCount;
+    }
+
+    /**
+     * Returns the cached result of the query or {@code null} if there is
+     * none or it has expired. A returned result counts as accessed at
+     * {@code now}.
+     */
+    Result get(Key key, long now) {
+        synchronized (results) {
+            Result result = results.get(key);
+            if (result == null) {
+                return null;
+            }
+            if (isExpired(result, now)) {
+                results.remove(key);
+                return null;
+            }
+            result = result.withLastAccessTime(now);
+            results.put(key, result);
+            return result;
+        }
+    }
+
+    void put(Key key, Result result) {
+        synchronized (results) {
+            results.put(key, result);
+        }
+    }
+
+    private boolean isExpired(Result result, long now) {
+        return (timeToLiveMillis > 0 && now - result.creationTime() >= timeToLiveMillis)
+                || (maxIdleMillis > 0 && now - result.lastAccessTime() >= maxIdleMillis);
+    }
+
+    void clear() {
+        synchronized (results) {
+            results.clear();
+        }
+    }
+
+    /**
+     * Records a change made through the owning proxy to the given partition.
+     */
+    void markModified(int partitionId) {
+        localModifications.incrementAndGet(partitionId);
+    }
+
+    /**
+     * Captures the current invalidation metadata of all partitions. Must be
+     * taken before the query is sent, so that any change racing with the
+     * query invalidates its result.
+     */
+    Snapshot snapshot(RepairingHandler repairingHandler) {
+        UUID[] uuids = new UUID[partitionCount];
+        long[] sequences = new long[partitionCount];
+        long[] modifications = new long[partitionCount];
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            MetaDataContainer metaData = repairingHandler.getMetaDataContainer(partitionId);
+            uuids[partitionId] = metaData.getUuid();
+            sequences[partitionId] = metaData.getSequence();
+            modifications[partitionId] = localModifications.get(partitionId);
+        }
+        return new Snapshot(uuids, sequences, modifications);
+    }
+
+    /**
+     * Returns a key per requested partition which, used in a {@link
+     * com.hazelcast.query.Predicates#multiPartitionPredicate multi-partition
+     * predicate}, targets exactly that partition.
+     */
+    Object[] partitionKeys(List<Integer> partitionIds) {
+        Object[] keys = partitionKeys;
+        if (keys == null) {
+            keys = new Object[partitionCount];
+            int found = 0;
+            for (int candidate = 0; found < partitionCount; candidate++) {
+                int partitionId = partitionService.getPartitionId((Object) candidate);
+                if (keys[partitionId] == null) {
+                    keys[partitionId] = candidate;
+                    found++;
+                }
+            }
+            partitionKeys = keys;
+        }
+        Object[] result = new Object[partitionIds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = keys[partitionIds.get(i)];
+        }
+        return result;
+    }
+
+    /**
+     * Identifies a cached query by its iteration type and serialized predicate.
+     */
+    record Key(IterationType iterationType, Data predicate) {
+    }
+
+    /**
+     * Invalidation metadata of all partitions at a point in time.
+     */
+    record Snapshot(UUID[] uuids, long[] sequences, long[] modifications) {
+
+        boolean isSame(Snapshot other, int partitionId) {
+            return Objects.equals(uuids[partitionId], other.uuids[partitionId])
+                    && sequences[partitionId] == other.sequences[partitionId]
+                    && modifications[partitionId] == other.modifications[partitionId];
+        }
+    }
+
+    /**
+     * An immutable query result, split per partition. The elements are
+     * either serialized keys or serialized key-value entries, depending on
+     * the iteration type of the query. The creation time is the time all
+     * partitions were last queried at once.
+     */
+    record Result(Snapshot snapshot, List<Object>[] partitions, long creationTime, long lastAccessTime) {
+
+        Result withLastAccessTime(long lastAccessTime) {
+            return new Result(snapshot, partitions, creationTime, lastAccessTime);
+        }
+
+        List<Integer> stalePartitions(Snapshot current) {
+            List<Integer> stale = new ArrayList<>();
+            for (int partitionId = 0; partitionId < partitions.length; partitionId++) {
+                if (!snapshot.isSame(current, partitionId)) {
+                    stale.add(partitionId);
+                }
+            }
+            return stale;
+        }
+
+        List<Object>[] copyPartitions() {
+            return Arrays.copyOf(partitions, partitions.length);
+        }
+
+        /**
+         * Returns a new list with the elements of all partitions. A new list
+         * is needed as the lazy collections returned to the user replace the
+         * elements with their deserialized form.
+         */
+        List<Object> elements() {
+            int size = 0;
+            for (List<Object> partition : partitions) {
+                size += partition == null ? 0 : partition.size();
+            }
+            List<Object> elements = new ArrayList<>(size);
+            for (List<Object> partition : partitions) {
+                if (partition != null) {
+                    elements.addAll(partition);
+                }
+            }
+            return elements;
+        }
+    }
+}
@@ -23,6 +23,9 @@ import com.hazelcast.core.IndeterminateOperationStateException;
 import com.hazelcast.spi.properties.HazelcastProperty;
 import com.hazelcast.client.util.ClientConnectivityLogger;
 
+import java.nio.file.Path;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -97,6 +100,115 @@ public final class ClientProperty {
     public static final HazelcastProperty MAX_CONCURRENT_INVOCATIONS
             = new HazelcastProperty("hazelcast.client.max.concurrent.invocations", Integer.MAX_VALUE);
 
+    /**
+     * The window in microseconds within which {@code IMap.getAsync} and
+     * {@code IMap.setAsync} requests targeting the same partition are
+     * grouped into a single multi-key request.
+     * <p>
+     * A request which is not joined by another request within the window is
+     * sent on its own, so batching adds at most the window to the latency of
+     * a request. Requests with TTL or max-idle and {@code getAsync} requests
+     * of maps with Near Cache are never batched. Batched requests respect
+     * locks like the single requests do, but a batch waits until none of its
+     * keys is locked by another thread. Other requests for the partition are
+     * sent after the batched requests issued before them.
+     * <p>
+     * Requests are batched only while the cluster version is 6.0 or later.
+     * <p>
+     * By default it is 0, which disables batching.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty INVOCATION_MICRO_BATCH_WINDOW_MICROS
+            = new HazelcastProperty("hazelcast.client.invocation.microbatch.window.micros", 0, MICROSECONDS);
+
+    /**
+     * The maximum number of requests grouped into a single multi-key request.
+     * A batch is sent as soon as it reaches this size.
+     * Only used when {@link #INVOCATION_MICRO_BATCH_WINDOW_MICROS} is set.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty INVOCATION_MICRO_BATCH_MAX_SIZE
+            = new HazelcastProperty("hazelcast.client.invocation.microbatch.max.size", 100);
+
+    /**
+     * The maximum number of predicate query results cached per map by the
+     * client, for maps with a Near Cache that is invalidated on change.
+     * <p>
+     * Results of {@code keySet}, {@code values} and {@code entrySet} queries
+     * are cached per partition along with the Near Cache invalidation
+     * metadata. Repeating a query only queries the partitions that changed
+     * since, so queries over mostly static data avoid scanning the whole
+     * cluster. Queries with paging or partition predicates are not cached.
+     * Cached results are eventually consistent, just like Near Cache entries,
+     * and expire after the time-to-live and max-idle of the Near Cache.
+     * Entries removed by expiry or eviction are dropped from the cached
+     * results only if {@code hazelcast.map.eviction.invalidation.enabled} is
+     * set on the members.
+     * <p>
+     * By default it is 0, which disables the cache.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty MAP_QUERY_RESULT_CACHE_SIZE
+            = new HazelcastProperty("hazelcast.client.map.query.result.cache.size", 0);
+
+    /**
+     * Enables the shared memory transport to members running on the same host.
+     * <p>
+     * When enabled, the client connects to a member on a local address through
+     * a memory-mapped file in {@link #SHARED_MEMORY_DIRECTORY} instead of the
+     * loopback TCP stack, if the member enabled the transport as well. Otherwise,
+     * or when SSL/TLS, a socket interceptor or TPC is configured, the client
+     * connects over TCP.
+     * <p>
+     * The default value is {@code false}.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty SHARED_MEMORY_TRANSPORT_ENABLED
+            = new HazelcastProperty("hazelcast.client.shared.memory.transport.enabled", false);
+
+    /**
+     * The directory of the memory-mapped files used by the shared memory
+     * transport. Has to be the same directory the members are configured with.
+     * <p>
+     * The directories and files created in it are accessible only by the user
+     * running the process, so clients have to run as the same user as the
+     * member.
+     * <p>
+     * The default value is the {@code hazelcast-shm-<user.name>} directory in
+     * {@code java.io.tmpdir}.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty SHARED_MEMORY_DIRECTORY
+            = new HazelcastProperty("hazelcast.client.shared.memory.directory",
+            Path.of(System.getProperty("java.io.tmpdir"), "hazelcast-shm-" + System.getProperty("user.name")).toString());
+
+    /**
+     * The capacity in bytes of each of the two rings of a shared memory
+     * connection, rounded up to a power of 2.
+     * <p>
+     * The default value is 1 MiB.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty SHARED_MEMORY_RING_CAPACITY
+            = new HazelcastProperty("hazelcast.client.shared.memory.ring.capacity", 1 << 20);
+
+    /**
+     * The idle strategy of the io threads of shared memory connections, in the
+     * {@code backoff,maxSpins,maxYields,minParkNanos,maxParkNanos} format.
+     * <p>
+     * The default value is {@code backoff,1000,100,1000,100000}.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty SHARED_MEMORY_IDLE_STRATEGY
+            = new HazelcastProperty("hazelcast.client.shared.memory.idle.strategy", "backoff,1000,100,1000,100000");
+
     /**
      * Control the maximum timeout in millis to wait for an invocation space to be available.
      * <p>
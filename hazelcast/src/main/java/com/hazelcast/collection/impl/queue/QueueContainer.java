@@ -28,6 +28,7 @@ import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.util.Clock;
 import com.hazelcast.internal.util.CollectionUtil;
 import com.hazelcast.internal.util.MapUtil;
+import com.hazelcast.internal.util.collection.Long2ObjectHashMap;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -40,27 +41,22 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import static com.hazelcast.collection.impl.collection.CollectionContainer.ID_PROMOTION_OFFSET;
 import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
-import static com.hazelcast.internal.util.MapUtil.createConcurrentHashMap;
 import static com.hazelcast.internal.util.MapUtil.createHashMap;
 import static com.hazelcast.internal.util.MapUtil.createLinkedHashMap;
+import static com.hazelcast.internal.util.MapUtil.createLong2ObjectHashMap;
 import static com.hazelcast.internal.util.SetUtil.createHashSet;
 import static com.hazelcast.internal.util.StringUtil.isNullOrEmpty;
 
@@ -78,8 +74,8 @@ public class QueueContainer implements IdentifiedDataSerializable {
     /**
      * Contains item ID to queue item mappings for current transactions
      */
-    private final Map<Long, TxQueueItem> txMap = new HashMap<>();
-    private final Map<Long, Data> dataMap = new HashMap<>();
+    private final Long2ObjectHashMap<TxQueueItem> txMap = new Long2ObjectHashMap<>();
+    private final Long2ObjectHashMap<Data> dataMap = new Long2ObjectHashMap<>();
     private QueueWaitNotifyKey pollWaitNotifyKey;
     private QueueWaitNotifyKey offerWaitNotifyKey;
     private Queue<QueueItem> itemQueue;
@@ -105,7 +101,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
     // QueueStore.loadAll to avoid reloading same items
     private long lastIdLoaded;
 
-    private volatile ConcurrentMap<Long, QueueItem> backupMap;
+    private volatile Long2ObjectHashMap<QueueItem> backupMap;
 
     public QueueContainer() {
     }
@@ -303,15 +299,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
         if (isPriorityQueue) {
             getItemQueue().add(txQueueItem);
         } else {
-            ListIterator<QueueItem> iterator = ((List<QueueItem>) getItemQueue()).listIterator();
-            while (iterator.hasNext()) {
-                QueueItem queueItem = iterator.next();
-                if (txQueueItem.itemId < queueItem.itemId) {
-                    iterator.previous();
-                    break;
-                }
-            }
-            iterator.add(txQueueItem);
+            ((QueueItemArrayDeque) getItemQueue()).addOrdered(txQueueItem);
         }
     }
 
@@ -677,7 +665,13 @@ public class QueueContainer implements IdentifiedDataSerializable {
      * @return the number of items on this backup replica
      */
     public int backupSize() {
-        return getBackupMap().size();
+        // read-only view of getBackupMap(), the stats may be collected outside the partition thread
+        Map<Long, QueueItem> backupMap = this.backupMap;
+        if (!MapUtil.isNullOrEmpty(backupMap)) {
+            return backupMap.size();
+        }
+        Queue<QueueItem> itemQueue = this.itemQueue;
+        return itemQueue == null ? 0 : itemQueue.size();
     }
 
     public Map<Long, Data> clear() {
@@ -919,7 +913,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
      */
     public Queue<QueueItem> getItemQueue() {
         if (itemQueue == null) {
-            itemQueue = isPriorityQueue ? createPriorityQueue() : createLinkedList();
+            itemQueue = isPriorityQueue ? createPriorityQueue() : createArrayDeque();
             if (!txMap.isEmpty()) {
                 long maxItemId = Long.MIN_VALUE;
                 for (TxQueueItem item : txMap.values()) {
@@ -931,9 +925,9 @@ public class QueueContainer implements IdentifiedDataSerializable {
         return itemQueue;
     }
 
-    private Queue<QueueItem> createLinkedList() {
-        Queue<QueueItem> queue = new LinkedList<>();
-        ConcurrentMap<Long, QueueItem> backupMap = this.backupMap;
+    private Queue<QueueItem> createArrayDeque() {
+        QueueItemArrayDeque queue = new QueueItemArrayDeque();
+        Long2ObjectHashMap<QueueItem> backupMap = this.backupMap;
         if (MapUtil.isNullOrEmpty(backupMap)) {
             return queue;
         }
@@ -941,7 +935,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
         List<QueueItem> values = new ArrayList<>(backupMap.values());
         Collections.sort(values);
         queue.addAll(values);
-        QueueItem lastItem = ((LinkedList<QueueItem>) queue).peekLast();
+        QueueItem lastItem = queue.peekLast();
         if (lastItem != null) {
             setId(lastItem.itemId + ID_PROMOTION_OFFSET);
         }
@@ -952,7 +946,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
 
     private Queue<QueueItem> createPriorityQueue() {
         Queue<QueueItem> queue = createPriorityQueue(config);
-        ConcurrentMap<Long, QueueItem> backupMap = this.backupMap;
+        Long2ObjectHashMap<QueueItem> backupMap = this.backupMap;
         if (MapUtil.isNullOrEmpty(backupMap)) {
             return queue;
         }
@@ -1003,7 +997,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
         }
 
         // if backupMap is not null then return it
-        ConcurrentMap<Long, QueueItem> backupMap = this.backupMap;
+        Long2ObjectHashMap<QueueItem> backupMap = this.backupMap;
         if (backupMap != null) {
             return backupMap;
         }
@@ -1012,7 +1006,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
         // null, init backupMap and return it.
 
         if (itemQueue == null) {
-            backupMap = new ConcurrentHashMap<>();
+            backupMap = new Long2ObjectHashMap<>();
             this.backupMap = backupMap;
             return backupMap;
         }
@@ -1020,7 +1014,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
         // if backupMap is null but if we have items
         // in itemQueue, remove items from itemQueue by
         // putting them into backupMap and return backupMap
-        backupMap = createConcurrentHashMap(itemQueue.size());
+        backupMap = createLong2ObjectHashMap(itemQueue.size());
         QueueItem item;
         while ((item = itemQueue.poll()) != null) {
             backupMap.put(item.getItemId(), item);
@@ -1060,7 +1054,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
         SerializationService serializationService = nodeEngine.getSerializationService();
 
         // in case we need to create a priority queue
-        // we recreate the queue using the items that are currently a LinkedList
+        // we recreate the queue using the items that are currently a QueueItemArrayDeque
         // otherwise, no change is needed
         if (itemQueue != null && isPriorityQueue) {
             Queue<QueueItem> copy = createPriorityQueue();
@@ -1163,7 +1157,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
                     if (isPriorityQueue) {
                         getItemQueue().offer(item);
                     } else {
-                        ((LinkedList) getItemQueue()).offerFirst(item);
+                        ((QueueItemArrayDeque) getItemQueue()).offerFirst(item);
                     }
                     cancelEvictionIfExists();
                 }
@@ -1192,7 +1186,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
         int size = in.readInt();
         // on cluster migration queue data are stored temporary to a default priority queue.
         // those data are copied at a later point
-        itemQueue = new LinkedList<>();
+        itemQueue = new QueueItemArrayDeque();
         for (int j = 0; j < size; j++) {
             QueueItem item = in.readObject();
             item.setContainer(this);
@@ -1212,7 +1206,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
         if (itemQueue != null) {
             itemQueue.clear();
         }
-        ConcurrentMap<Long, QueueItem> backupMap = this.backupMap;
+        Long2ObjectHashMap<QueueItem> backupMap = this.backupMap;
         if (backupMap != null) {
             backupMap.clear();
         }
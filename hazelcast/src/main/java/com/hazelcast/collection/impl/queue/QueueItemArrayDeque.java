@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.collection.impl.queue;
+
+import java.util.AbstractQueue;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+
+/**
+ * The item storage of a non-priority {@link QueueContainer}: a growable
+ * circular array of {@link QueueItem}s.
+ * <p>
+ * Compared to a {@link java.util.LinkedList} it does not allocate a node per
+ * item and keeps the items of a busy queue in a single array. Besides the
+ * queue operations it supports adding at the head and inserting in item ID
+ * order, which transaction rollbacks need, and removing through its iterator.
+ * <p>
+ * Removing through the iterator doesn't shift the remaining items right away.
+ * The removed slots form a gap right before the iterator's position, and the
+ * iterator moves every item it returns to the start of the gap. Removing any
+ * number of items in one iteration thus costs a single pass; the items after
+ * the gap are only shifted if another operation needs the queue compact
+ * before the iteration is finished.
+ * <p>
+ * Like the rest of the container it is not thread-safe.
+ */
+final class QueueItemArrayDeque extends AbstractQueue<QueueItem> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private QueueItem[] items = new QueueItem[INITIAL_CAPACITY];
+    private int head;
+    private int size;
+    private int modCount;
+    // the slots [gapStart, gapStart + gapLength) were removed by an iterator
+    private int gapStart;
+    private int gapLength;
+
+    @Override
+    public boolean offer(QueueItem item) {
+        checkNotNull(item, "item can't be null");
+        closeGap();
+        ensureCapacity();
+        items[index(size)] = item;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Inserts the item at the head of this queue.
+     */
+    void offerFirst(QueueItem item) {
+        checkNotNull(item, "item can't be null");
+        closeGap();
+        ensureCapacity();
+        head = (head - 1) & (items.length - 1);
+        items[head] = item;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Inserts the item before the first item with a greater item ID.
+     */
+    void addOrdered(QueueItem item) {
+        checkNotNull(item, "item can't be null");
+        closeGap();
+        int position = 0;
+        while (position < size && items[index(position)].itemId <= item.itemId) {
+            position++;
+        }
+        ensureCapacity();
+        for (int i = size; i > position; i--) {
+            items[index(i)] = items[index(i - 1)];
+        }
+        items[index(position)] = item;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public QueueItem poll() {
+        if (size == 0) {
+            return null;
+        }
+        closeGap();
+        QueueItem item = items[head];
+        items[head] = null;
+        head = (head + 1) & (items.length - 1);
+        size--;
+        modCount++;
+        return item;
+    }
+
+    @Override
+    public QueueItem peek() {
+        return size == 0 ? null : items[slot(0)];
+    }
+
+    /**
+     * Returns the tail of this queue or {@code null} if it is empty.
+     */
+    QueueItem peekLast() {
+        return size == 0 ? null : items[slot(size - 1)];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size + gapLength; i++) {
+            items[index(i)] = null;
+        }
+        head = 0;
+        size = 0;
+        gapLength = 0;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<QueueItem> iterator() {
+        closeGap();
+        return new ItemIterator();
+    }
+
+    private int index(int position) {
+        return (head + position) & (items.length - 1);
+    }
+
+    /**
+     * Returns the array index of the item at the given position, skipping
+     * the gap left by an iterator.
+     */
+    private int slot(int position) {
+        return index(position < gapStart ? position : position + gapLength);
+    }
+
+    /**
+     * Shifts the items after the gap left by an iterator to the front.
+     */
+    private void closeGap() {
+        if (gapLength == 0) {
+            return;
+        }
+        int tailEnd = size + gapLength;
+        int tailStart = gapStart + gapLength;
+        if (tailStart < tailEnd) {
+            for (int i = tailStart; i < tailEnd; i++) {
+                items[index(i - gapLength)] = items[index(i)];
+            }
+            for (int i = size; i < tailEnd; i++) {
+                items[index(i)] = null;
+            }
+            // the positions of an ongoing iteration are no longer valid
+            modCount++;
+        }
+        gapLength = 0;
+    }
+
+    private void ensureCapacity() {
+        if (size < items.length) {
+            return;
+        }
+        QueueItem[] grown = new QueueItem[items.length << 1];
+        for (int i = 0; i < size; i++) {
+            grown[i] = items[index(i)];
+        }
+        items = grown;
+        head = 0;
+    }
+
+    private final class ItemIterator implements Iterator<QueueItem> {
+        // the position of the next item, counting the gap
+        private int position;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            if (position < size + gapLength) {
+                return true;
+            }
+            if (modCount == expectedModCount) {
+                // the gap is at the tail, nothing has to be shifted
+                closeGap();
+            }
+            return false;
+        }
+
+        @Override
+        public QueueItem next() {
+            checkForComodification();
+            if (position >= size + gapLength) {
+                throw new NoSuchElementException();
+            }
+            QueueItem item = items[index(position)];
+            if (gapLength > 0) {
+                // keep the gap right before the next position
+                items[index(gapStart)] = item;
+                items[index(position)] = null;
+                lastReturned = gapStart++;
+            } else {
+                lastReturned = position;
+            }
+            position++;
+            return item;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            items[index(lastReturned)] = null;
+            // the last returned item is right before the gap or the next position
+            gapStart = lastReturned;
+            gapLength++;
+            size--;
+            lastReturned = -1;
+            modCount++;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
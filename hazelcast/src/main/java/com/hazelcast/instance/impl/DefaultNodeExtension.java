@@ -490,7 +490,8 @@ public class DefaultNodeExtension implements NodeExtension {
     @Override
     public OutboundHandler[] createOutboundHandlers(EndpointQualifier qualifier,
                                                     ServerConnection connection, ServerContext serverContext) {
-        return new OutboundHandler[]{new PacketEncoder()};
+        int gatheringThreshold = node.getProperties().getInteger(ClusterProperty.IO_GATHERING_WRITE_THRESHOLD);
+        return new OutboundHandler[]{new PacketEncoder(gatheringThreshold)};
     }
 
     @Override
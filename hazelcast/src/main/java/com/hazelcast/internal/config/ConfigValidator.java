@@ -47,6 +47,7 @@ import com.hazelcast.config.WanReplicationConfig;
 import com.hazelcast.config.cp.CPSubsystemConfig;
 import com.hazelcast.instance.EndpointQualifier;
 import com.hazelcast.instance.ProtocolType;
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
 import com.hazelcast.internal.util.MutableInteger;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.eviction.EvictionPolicyComparator;
@@ -127,13 +128,14 @@ public final class ConfigValidator {
     public static void checkMapConfig(Config config, MapConfig mapConfig,
                                       SplitBrainMergePolicyProvider mergePolicyProvider) {
 
-        checkNotNativeWhenOpenSource(mapConfig.getInMemoryFormat());
         checkNotBitmapIndexWhenNativeMemory(mapConfig.getInMemoryFormat(), mapConfig.getIndexConfigs());
         checkTSEnabledOnEnterpriseJar(mapConfig.getTieredStoreConfig());
 
         if (getBuildInfo().isEnterprise()) {
             checkTieredStoreMapConfig(config, mapConfig);
             checkMapNativeConfig(mapConfig, config.getNativeMemoryConfig());
+        } else {
+            checkOpenSourceMapNativeConfig(mapConfig, config.getNativeMemoryConfig());
         }
 
         checkMapEvictionConfig(mapConfig.getEvictionConfig());
@@ -272,6 +274,27 @@ public final class ConfigValidator {
         checkMapNativeMaxSizePolicy(mapConfig);
     }
 
+    /**
+     * Checks preconditions to use the open-source off-heap storage
+     * of a map with {@link InMemoryFormat#NATIVE} in-memory format.
+     *
+     * @param mapConfig          the mapConfig
+     * @param nativeMemoryConfig the nativeMemoryConfig
+     */
+    private static void checkOpenSourceMapNativeConfig(MapConfig mapConfig, NativeMemoryConfig nativeMemoryConfig) {
+        if (NATIVE != mapConfig.getInMemoryFormat()) {
+            return;
+        }
+        if (nativeMemoryConfig == null || !nativeMemoryConfig.isEnabled()) {
+            throw new InvalidConfigurationException(format("Enable native memory config to use NATIVE"
+                    + " in-memory-format for the map [%s]", mapConfig.getName()));
+        }
+        if (!UnsafeMallocMemoryManager.isAvailable()) {
+            throw new InvalidConfigurationException(format("NATIVE in-memory-format for the map [%s] requires"
+                    + " sun.misc.Unsafe, which is not available on this platform", mapConfig.getName()));
+        }
+    }
+
     private static void checkMapNativeMaxSizePolicy(MapConfig mapConfig) {
         MaxSizePolicy maxSizePolicy = mapConfig.getEvictionConfig().getMaxSizePolicy();
         if (!MAP_SUPPORTED_NATIVE_MAX_SIZE_POLICIES.contains(maxSizePolicy)) {
@@ -368,7 +391,9 @@ public final class ConfigValidator {
      */
     public static void checkNearCacheConfig(String mapName, NearCacheConfig nearCacheConfig,
                                             NativeMemoryConfig nativeMemoryConfig, boolean isClient) {
-        checkNotNativeWhenOpenSource(nearCacheConfig.getInMemoryFormat());
+        if (!getBuildInfo().isEnterprise()) {
+            checkOpenSourceNearCacheNativeConfig(mapName, nearCacheConfig.getInMemoryFormat(), nativeMemoryConfig);
+        }
         checkLocalUpdatePolicy(mapName, nearCacheConfig.getLocalUpdatePolicy());
         EvictionConfig evictionConfig = nearCacheConfig.getEvictionConfig();
         checkNearCacheEvictionConfig(evictionConfig.getEvictionPolicy(),
@@ -384,6 +409,21 @@ public final class ConfigValidator {
         checkPreloaderConfig(nearCacheConfig, isClient);
     }
 
+    private static void checkOpenSourceNearCacheNativeConfig(String mapName, InMemoryFormat inMemoryFormat,
+                                                             NativeMemoryConfig nativeMemoryConfig) {
+        if (NATIVE != inMemoryFormat) {
+            return;
+        }
+        if (nativeMemoryConfig == null || !nativeMemoryConfig.isEnabled()) {
+            throw new InvalidConfigurationException(format("Enable native memory config to use NATIVE"
+                    + " in-memory-format for the Near Cache of the map [%s]", mapName));
+        }
+        if (!UnsafeMallocMemoryManager.isAvailable()) {
+            throw new InvalidConfigurationException(format("NATIVE in-memory-format for the Near Cache of the map [%s]"
+                    + " requires sun.misc.Unsafe, which is not available on this platform", mapName));
+        }
+    }
+
     /**
      * Checks IMap's supported Near Cache local update policy configuration.
      *
@@ -87,6 +87,23 @@ public final class EvictionPolicyEvaluatorProvider {
         return pickOutOfTheBoxComparator(evictionConfig.getEvictionPolicy());
     }
 
+    /**
+     * Checks if the eviction is done by the out-of-the-box LFU policy, which
+     * can then be implemented with a frequency sketch (see
+     * {@link com.hazelcast.internal.eviction.impl.FrequencySketch}) instead of
+     * comparing the per-entry hit counts with {@link LFUEvictionPolicyComparator}.
+     *
+     * @param evictionConfig {@link EvictionConfiguration} to check
+     * @return {@code true} if the LFU policy is configured without a custom comparator
+     */
+    public static boolean isFrequencySketchApplicable(EvictionConfiguration evictionConfig) {
+        checkNotNull(evictionConfig);
+
+        return isNullOrEmpty(evictionConfig.getComparatorClassName())
+                && evictionConfig.getComparator() == null
+                && evictionConfig.getEvictionPolicy() == EvictionPolicy.LFU;
+    }
+
     private static EvictionPolicyComparator pickOutOfTheBoxComparator(EvictionPolicy evictionPolicy) {
         switch (evictionPolicy) {
             case LRU:
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.eviction.impl;
+
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * A count-min sketch that estimates how often a key was accessed, as used by
+ * the TinyLFU admission and eviction policy.
+ * <p>
+ * Every {@code long} in the table holds 16 counters of 4 bits. A key maps to
+ * 4 counters, each in a different {@code long} chosen by a different hash
+ * function, and its frequency is the minimum of those counters. So the
+ * estimate may be too high because of collisions, but never too low.
+ * <p>
+ * Once the number of increments reaches 10 times the capacity, all counters
+ * are halved. This ages the frequencies so that keys that were popular a
+ * long time ago don't stay in the cache forever.
+ * <p>
+ * The sketch is not thread-safe; it is meant to be used by a single partition
+ * thread.
+ */
+public final class FrequencySketch {
+
+    /**
+     * The maximum frequency a counter can hold.
+     */
+    public static final int MAX_FREQUENCY = 15;
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_TABLE_LENGTH = 1 << 30;
+    private static final int SAMPLE_FACTOR = 10;
+    private static final long COUNTER_MASK = 0xfL;
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L,
+    };
+
+    private long[] table;
+    private int tableMask;
+    private int sampleSize;
+    private int size;
+
+    /**
+     * @param capacity the expected number of distinct keys
+     */
+    public FrequencySketch(int capacity) {
+        int tableLength = (Math.max(capacity, MIN_CAPACITY) + 1) / 2;
+        setTable(new long[nextPowerOfTwo(Math.min(tableLength, MAX_TABLE_LENGTH))]);
+    }
+
+    /**
+     * Returns the number of distinct keys the sketch is sized for.
+     */
+    public int capacity() {
+        // every key takes 4 of the 16 counters in a long, so the table holds 2 keys per long
+        return table.length * 2;
+    }
+
+    /**
+     * Grows the sketch if it is too small for {@code expectedSize} keys.
+     * <p>
+     * The table is doubled, and both halves get a copy of the old table. A
+     * key's counters then stay at the same position or move by exactly the
+     * old table length, so the estimated frequencies are retained.
+     *
+     * @param expectedSize the expected number of distinct keys
+     */
+    public void ensureCapacity(int expectedSize) {
+        while (expectedSize > capacity() && table.length < MAX_TABLE_LENGTH) {
+            long[] newTable = new long[table.length * 2];
+            System.arraycopy(table, 0, newTable, 0, table.length);
+            System.arraycopy(table, 0, newTable, table.length, table.length);
+            setTable(newTable);
+        }
+    }
+
+    private void setTable(long[] newTable) {
+        table = newTable;
+        tableMask = newTable.length - 1;
+        sampleSize = (int) Math.min((long) SAMPLE_FACTOR * capacity(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the estimated number of accesses of the key, up to {@link #MAX_FREQUENCY}.
+     *
+     * @param hash the hash of the key
+     */
+    public int frequency(int hash) {
+        int spreadHash = spread(hash);
+        int start = (spreadHash & 3) << 2;
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int shift = (start + i) << 2;
+            int count = (int) ((table[indexOf(spreadHash, i)] >>> shift) & COUNTER_MASK);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Increments the access count of the key, and ages all counters when
+     * enough increments have been made.
+     *
+     * @param hash the hash of the key
+     */
+    public void increment(int hash) {
+        int spreadHash = spread(hash);
+        int start = (spreadHash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            added |= incrementAt(indexOf(spreadHash, i), start + i);
+        }
+
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int shift = counter << 2;
+        long mask = COUNTER_MASK << shift;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << shift;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Halves every counter. The size is corrected for the counters that lose
+     * their odd remainder, see the TinyLFU paper.
+     */
+    private void reset() {
+        int oddCounters = 0;
+        for (int i = 0; i < table.length; i++) {
+            oddCounters += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size >>> 1) - (oddCounters >>> 2);
+    }
+
+    @SuppressWarnings("checkstyle:magicnumber")
+    private int indexOf(int hash, int i) {
+        long index = (hash + SEEDS[i]) * SEEDS[i];
+        index += index >>> 32;
+        return (int) index & tableMask;
+    }
+
+    // the key hashes are often of poor quality, e.g. sequential integers
+    @SuppressWarnings("checkstyle:magicnumber")
+    private static int spread(int hash) {
+        int h = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        h = ((h >>> 16) ^ h) * 0x45d9f3b;
+        return (h >>> 16) ^ h;
+    }
+}
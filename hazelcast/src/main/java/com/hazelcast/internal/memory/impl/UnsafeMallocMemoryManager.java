@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.GlobalMemoryAccessor;
+import com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static java.lang.String.format;
+
+/**
+ * {@link MemoryManager} which allocates blocks directly from the native heap
+ * with {@link sun.misc.Unsafe#allocateMemory(long)} and accounts every block
+ * against a fixed capacity. Allocations that would exceed the capacity fail
+ * with a {@link NativeOutOfMemoryError}.
+ * <p>
+ * The manager doesn't keep track of the blocks it hands out, callers are
+ * responsible for freeing them with their exact size. Allocation and
+ * accounting are thread-safe, so a single instance can be shared by all
+ * partition threads of a member.
+ */
+public class UnsafeMallocMemoryManager implements MemoryManager {
+
+    private final long capacity;
+    private final AtomicLong usedMemory = new AtomicLong();
+    private final MemoryAllocator allocator = new Allocator();
+
+    public UnsafeMallocMemoryManager(long capacity) {
+        if (!isAvailable()) {
+            throw new IllegalStateException(getClass().getName() + " can only be used when Unsafe is available!");
+        }
+        this.capacity = checkPositive("capacity", capacity);
+    }
+
+    /**
+     * @return {@code true} if native memory can be allocated and accessed
+     * on this platform, {@code false} otherwise
+     */
+    public static boolean isAvailable() {
+        return UNSAFE_AVAILABLE && GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+    }
+
+    @Override
+    public MemoryAllocator getAllocator() {
+        return allocator;
+    }
+
+    @Override
+    public GlobalMemoryAccessor getAccessor() {
+        return GlobalMemoryAccessorRegistry.MEM;
+    }
+
+    @Override
+    public void dispose() {
+        // blocks are owned and freed by the data structures allocating them
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public long getUsedMemory() {
+        return usedMemory.get();
+    }
+
+    public long getFreeMemory() {
+        return Math.max(0, capacity - usedMemory.get());
+    }
+
+    private void reserve(long size) {
+        for (;;) {
+            long used = usedMemory.get();
+            long newUsed = used + size;
+            if (newUsed > capacity) {
+                throw new NativeOutOfMemoryError(format("Not enough native memory to allocate %d bytes! "
+                        + "Used: %d bytes, capacity: %d bytes", size, used, capacity));
+            }
+            if (usedMemory.compareAndSet(used, newUsed)) {
+                return;
+            }
+        }
+    }
+
+    private final class Allocator implements MemoryAllocator {
+
+        @Override
+        public long allocate(long size) {
+            assert size > 0 : "Invalid allocation size: " + size;
+            reserve(size);
+            long address;
+            try {
+                address = UNSAFE.allocateMemory(size);
+            } catch (OutOfMemoryError e) {
+                usedMemory.addAndGet(-size);
+                throw new NativeOutOfMemoryError("Cannot allocate " + size + " bytes of native memory", e);
+            }
+            UNSAFE.setMemory(address, size, (byte) 0);
+            return address;
+        }
+
+        @Override
+        public long reallocate(long address, long currentSize, long newSize) {
+            assert address != NULL_ADDRESS && newSize > 0 : "Invalid reallocation: " + address + ", " + newSize;
+            long diff = newSize - currentSize;
+            if (diff > 0) {
+                reserve(diff);
+            }
+            long newAddress;
+            try {
+                newAddress = UNSAFE.reallocateMemory(address, newSize);
+            } catch (OutOfMemoryError e) {
+                if (diff > 0) {
+                    usedMemory.addAndGet(-diff);
+                }
+                throw new NativeOutOfMemoryError("Cannot reallocate " + newSize + " bytes of native memory", e);
+            }
+            if (diff > 0) {
+                UNSAFE.setMemory(newAddress + currentSize, diff, (byte) 0);
+            } else {
+                usedMemory.addAndGet(diff);
+            }
+            return newAddress;
+        }
+
+        @Override
+        public void free(long address, long size) {
+            if (address == NULL_ADDRESS) {
+                return;
+            }
+            UNSAFE.freeMemory(address);
+            usedMemory.addAndGet(-size);
+        }
+
+        @Override
+        public void dispose() {
+            UnsafeMallocMemoryManager.this.dispose();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "UnsafeMallocMemoryManager{"
+                + "capacity=" + capacity
+                + ", usedMemory=" + usedMemory.get()
+                + '}';
+    }
+}
@@ -69,6 +69,8 @@ public final class MetricDescriptorConstants {
     public static final String CLIENT_METRIC_INVOCATIONS_PENDING_CALLS = "pendingCalls";
     public static final String CLIENT_METRIC_INVOCATIONS_STARTED_INVOCATIONS = "startedInvocations";
     public static final String CLIENT_METRIC_INVOCATIONS_MAX_CURRENT_INVOCATIONS = "maxCurrentInvocations";
+    public static final String CLIENT_METRIC_INVOCATIONS_MICRO_BATCHES = "microBatches";
+    public static final String CLIENT_METRIC_INVOCATIONS_MICRO_BATCHED_INVOCATIONS = "microBatchedInvocations";
     public static final String CLIENT_METRIC_LISTENER_SERVICE_EVENT_QUEUE_SIZE = "eventQueueSize";
     public static final String CLIENT_METRIC_LISTENER_SERVICE_EVENTS_PROCESSED = "eventsProcessed";
     // ===[/CLIENT]=====================================================
@@ -124,6 +126,11 @@ public final class MetricDescriptorConstants {
     public static final String EVENT_METRIC_EVENT_SERVICE_EVENTS_PROCESSED = "eventsProcessed";
     public static final String EVENT_METRIC_EVENT_SERVICE_SEGMENT_LISTENER_COUNT = "listenerCount";
     public static final String EVENT_METRIC_EVENT_SERVICE_SEGMENT_PUBLICATION_COUNT = "publicationCount";
+    public static final String EVENT_METRIC_EVENT_SERVICE_BATCH_COUNT = "batchCount";
+    public static final String EVENT_METRIC_EVENT_SERVICE_BATCHED_EVENT_COUNT = "batchedEventCount";
+    public static final String EVENT_METRIC_EVENT_SERVICE_COALESCED_EVENT_COUNT = "coalescedEventCount";
+    public static final String EVENT_METRIC_EVENT_SERVICE_TOTAL_BATCH_LATENCY = "totalBatchLatency";
+    public static final String EVENT_METRIC_EVENT_SERVICE_MAX_BATCH_LATENCY = "maxBatchLatency";
     // ===[/EVENT]======================================================
 
     // ===[EXECUTOR]====================================================
@@ -316,6 +323,14 @@ public final class MetricDescriptorConstants {
     public static final String NEARCACHE_METRIC_LAST_PERSISTENCE_DURATION = "lastPersistenceDuration";
     public static final String NEARCACHE_METRIC_LAST_PERSISTENCE_WRITTEN_BYTES = "lastPersistenceWrittenBytes";
     public static final String NEARCACHE_METRIC_LAST_PERSISTENCE_KEY_COUNT = "lastPersistenceKeyCount";
+    public static final String NEARCACHE_INVALIDATOR_PREFIX = "nearcache.invalidator";
+    public static final String NEARCACHE_INVALIDATOR_DISCRIMINATOR_SERVICE = "service";
+    public static final String NEARCACHE_INVALIDATOR_TAG_BUCKET = "bucket";
+    public static final String NEARCACHE_INVALIDATOR_METRIC_FLUSH_COUNT = "flushCount";
+    public static final String NEARCACHE_INVALIDATOR_METRIC_FLUSH_DELAY = "flushDelay";
+    public static final String NEARCACHE_INVALIDATOR_METRIC_AVG_INVALIDATION_LATENCY = "avgInvalidationLatency";
+    public static final String NEARCACHE_INVALIDATOR_METRIC_MAX_INVALIDATION_LATENCY = "maxInvalidationLatency";
+    public static final String NEARCACHE_INVALIDATOR_METRIC_INVALIDATION_LATENCY = "invalidationLatency";
     // ===[/NEAR CACHE]=================================================
 
     // ===[NETWORKING]==================================================
@@ -500,7 +500,11 @@ public class LocalMapStatsImpl implements LocalMapStats {
     }
 
     public void incrementSetLatencyNanos(long latencyNanos) {
-        SET_COUNT.incrementAndGet(this);
+        incrementSetLatencyNanos(1, latencyNanos);
+    }
+
+    public void incrementSetLatencyNanos(long delta, long latencyNanos) {
+        SET_COUNT.addAndGet(this, delta);
         TOTAL_SET_LATENCIES.addAndGet(this, latencyNanos);
         setMax(this, MAX_SET_LATENCY, latencyNanos);
     }
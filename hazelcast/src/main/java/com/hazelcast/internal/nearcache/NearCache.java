@@ -58,6 +58,20 @@ public interface NearCache<K, V> extends InitializingObject {
             = new HazelcastProperty(PROP_EXPIRATION_TASK_PERIOD_SECONDS,
             DEFAULT_EXPIRATION_TASK_PERIOD_SECONDS);
 
+    String PROP_PRELOADER_STORE_VALUES
+            = "hazelcast.nearcache.preloader.store.values";
+
+    /**
+     * When enabled, the Near Cache preloader stores the values of the Near
+     * Cache together with the keys and the invalidation metadata of their
+     * partitions. On startup, the values of the partitions which haven't
+     * changed in the meantime are loaded from the file instead of being
+     * fetched from the cluster. Only applies to Near Caches with enabled
+     * invalidations.
+     */
+    HazelcastProperty PRELOADER_STORE_VALUES
+            = new HazelcastProperty(PROP_PRELOADER_STORE_VALUES, false);
+
     /**
      * Indicates how a near cache is updated.
      */
@@ -124,6 +124,15 @@ public interface NearCacheRecordStore<K, V> extends InitializingObject {
      */
     void storeKeys();
 
+    /**
+     * Persists the keys and values of the Near Cache, together with the
+     * invalidation metadata needed to check them when they are loaded.
+     * Persists only the key set by default.
+     */
+    default void storeEntries() {
+        storeKeys();
+    }
+
     /**
      * @see StaleReadDetector
      */
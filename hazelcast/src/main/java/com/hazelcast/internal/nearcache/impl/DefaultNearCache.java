@@ -19,9 +19,11 @@ package com.hazelcast.internal.nearcache.impl;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.internal.adapter.DataStructureAdapter;
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
 import com.hazelcast.internal.nearcache.NearCache;
 import com.hazelcast.internal.nearcache.NearCacheRecordStore;
 import com.hazelcast.internal.nearcache.impl.store.NearCacheDataRecordStore;
+import com.hazelcast.internal.nearcache.impl.store.NearCacheNativeRecordStore;
 import com.hazelcast.internal.nearcache.impl.store.NearCacheObjectRecordStore;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
@@ -49,7 +51,9 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
     protected NearCacheRecordStore<K, V> nearCacheRecordStore;
 
     private final boolean serializeKeys;
+    private final boolean storeValues;
     private final HazelcastProperties properties;
+    private final UnsafeMallocMemoryManager nativeMemoryManager;
 
     private volatile boolean preloadDone;
 
@@ -60,10 +64,32 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
                 serializationService, scheduler, classLoader, properties);
     }
 
+    /**
+     * @param nativeMemoryManager memory manager to allocate the values of a
+     *                            {@link InMemoryFormat#NATIVE} Near Cache from,
+     *                            {@code null} for the other in-memory-formats
+     */
+    public DefaultNearCache(String name, NearCacheConfig nearCacheConfig,
+                            SerializationService serializationService, TaskScheduler scheduler,
+                            ClassLoader classLoader, HazelcastProperties properties,
+                            UnsafeMallocMemoryManager nativeMemoryManager) {
+        this(name, nearCacheConfig, null,
+                serializationService, scheduler, classLoader, properties, nativeMemoryManager);
+    }
+
     public DefaultNearCache(String name, NearCacheConfig nearCacheConfig,
                             NearCacheRecordStore<K, V> nearCacheRecordStore,
                             SerializationService serializationService, TaskScheduler scheduler,
                             ClassLoader classLoader, HazelcastProperties properties) {
+        this(name, nearCacheConfig, nearCacheRecordStore,
+                serializationService, scheduler, classLoader, properties, null);
+    }
+
+    public DefaultNearCache(String name, NearCacheConfig nearCacheConfig,
+                            NearCacheRecordStore<K, V> nearCacheRecordStore,
+                            SerializationService serializationService, TaskScheduler scheduler,
+                            ClassLoader classLoader, HazelcastProperties properties,
+                            UnsafeMallocMemoryManager nativeMemoryManager) {
         this.name = name;
         this.nearCacheConfig = nearCacheConfig;
         this.serializationService = serializationService;
@@ -72,6 +98,8 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
         this.nearCacheRecordStore = nearCacheRecordStore;
         this.serializeKeys = nearCacheConfig.isSerializeKeys();
         this.properties = properties;
+        this.storeValues = properties != null && properties.getBoolean(PRELOADER_STORE_VALUES);
+        this.nativeMemoryManager = nativeMemoryManager;
     }
 
     @Override
@@ -94,6 +122,13 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
                 return new NearCacheDataRecordStore<>(name, nearCacheConfig, serializationService, classLoader);
             case OBJECT:
                 return new NearCacheObjectRecordStore<>(name, nearCacheConfig, serializationService, classLoader);
+            case NATIVE:
+                if (nativeMemoryManager == null) {
+                    throw new IllegalArgumentException("Enable native memory config to use NATIVE in-memory-format"
+                            + " for Near Cache " + name);
+                }
+                return new NearCacheNativeRecordStore<>(name, nearCacheConfig, serializationService, classLoader,
+                        nativeMemoryManager);
             default:
                 throw new IllegalArgumentException("Invalid in memory format: " + inMemoryFormat);
         }
@@ -180,7 +215,11 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
     public void storeKeys() {
         // we don't store new keys, until the pre-loader is done
         if (preloadDone) {
-            nearCacheRecordStore.storeKeys();
+            if (storeValues) {
+                nearCacheRecordStore.storeEntries();
+            } else {
+                nearCacheRecordStore.storeKeys();
+            }
         }
     }
 
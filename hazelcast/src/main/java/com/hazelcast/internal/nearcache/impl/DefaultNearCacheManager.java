@@ -16,10 +16,13 @@
 
 package com.hazelcast.internal.nearcache.impl;
 
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.config.NearCacheConfigAccessor;
 import com.hazelcast.config.NearCachePreloaderConfig;
 import com.hazelcast.internal.adapter.DataStructureAdapter;
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
 import com.hazelcast.internal.nearcache.NearCache;
 import com.hazelcast.internal.nearcache.NearCacheManager;
 import com.hazelcast.internal.serialization.SerializationService;
@@ -46,13 +49,27 @@ public class DefaultNearCacheManager implements NearCacheManager {
     protected final HazelcastProperties properties;
     protected final SerializationService serializationService;
 
+    private final NativeMemoryConfig nativeMemoryConfig;
     private final Object mutex = new Object();
     private final Queue<ScheduledFuture> preloadTaskFutures = new ConcurrentLinkedQueue<>();
     private final ConcurrentMap<String, NearCache> nearCacheMap = new ConcurrentHashMap<>();
     private final AtomicReference<Object> storageTaskFutureRef = new AtomicReference<>();
 
+    private volatile UnsafeMallocMemoryManager nativeMemoryManager;
+
     public DefaultNearCacheManager(SerializationService ss, TaskScheduler es,
                                    ClassLoader classLoader, HazelcastProperties properties) {
+        this(ss, es, classLoader, properties, null);
+    }
+
+    /**
+     * @param nativeMemoryConfig native memory config used to create the
+     *                           memory manager of {@link InMemoryFormat#NATIVE}
+     *                           Near Caches, can be {@code null}
+     */
+    public DefaultNearCacheManager(SerializationService ss, TaskScheduler es,
+                                   ClassLoader classLoader, HazelcastProperties properties,
+                                   NativeMemoryConfig nativeMemoryConfig) {
         assert ss != null;
         assert es != null;
 
@@ -60,6 +77,7 @@ public class DefaultNearCacheManager implements NearCacheManager {
         this.scheduler = es;
         this.classLoader = classLoader;
         this.properties = properties;
+        this.nativeMemoryConfig = nativeMemoryConfig;
     }
 
     @Override
@@ -91,8 +109,30 @@ public class DefaultNearCacheManager implements NearCacheManager {
 
     protected <K, V> NearCache<K, V> createNearCache(String name, NearCacheConfig nearCacheConfig) {
         NearCacheConfig copy = NearCacheConfigAccessor.copyWithInitializedDefaultMaxSizeForOnHeapMaps(nearCacheConfig);
+        UnsafeMallocMemoryManager memoryManager = copy.getInMemoryFormat() == InMemoryFormat.NATIVE
+                ? getNativeMemoryManager() : null;
         return new DefaultNearCache<>(name, copy, serializationService,
-                scheduler, classLoader, properties);
+                scheduler, classLoader, properties, memoryManager);
+    }
+
+    /**
+     * Returns the memory manager shared by all {@link InMemoryFormat#NATIVE}
+     * Near Caches of this manager, creating it on first use.
+     *
+     * @return the memory manager or {@code null} if native memory is not enabled
+     */
+    protected UnsafeMallocMemoryManager getNativeMemoryManager() {
+        UnsafeMallocMemoryManager memoryManager = nativeMemoryManager;
+        if (memoryManager == null && nativeMemoryConfig != null && nativeMemoryConfig.isEnabled()) {
+            synchronized (mutex) {
+                memoryManager = nativeMemoryManager;
+                if (memoryManager == null) {
+                    memoryManager = new UnsafeMallocMemoryManager(nativeMemoryConfig.getCapacity().bytes());
+                    nativeMemoryManager = memoryManager;
+                }
+            }
+        }
+        return memoryManager;
     }
 
     @Override
@@ -156,6 +196,23 @@ public class DefaultNearCacheManager implements NearCacheManager {
         if (future != null) {
             ((ScheduledFuture) future).cancel(true);
         }
+
+        disposeNativeMemoryManager();
+    }
+
+    /**
+     * Disposes the memory manager created by {@link #getNativeMemoryManager()},
+     * once the Near Caches using it are destroyed. A Near Cache created
+     * afterwards gets a new one.
+     */
+    private void disposeNativeMemoryManager() {
+        synchronized (mutex) {
+            UnsafeMallocMemoryManager memoryManager = nativeMemoryManager;
+            if (memoryManager != null) {
+                nativeMemoryManager = null;
+                memoryManager.dispose();
+            }
+        }
     }
 
     private void createAndSchedulePreloadTask(NearCache nearCache, DataStructureAdapter adapter) {
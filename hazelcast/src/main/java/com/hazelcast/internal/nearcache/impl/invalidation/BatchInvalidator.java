@@ -18,8 +18,14 @@ package com.hazelcast.internal.nearcache.impl.invalidation;
 
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.LifecycleService;
+import com.hazelcast.internal.metrics.DynamicMetricsProvider;
+import com.hazelcast.internal.metrics.MetricDescriptor;
+import com.hazelcast.internal.metrics.MetricsCollectionContext;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.util.ConstructorFunction;
+import com.hazelcast.internal.util.LatencyDistribution;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.eventservice.EventRegistration;
 import com.hazelcast.spi.impl.executionservice.ExecutionService;
@@ -28,49 +34,115 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 
 import static com.hazelcast.core.LifecycleEvent.LifecycleState.SHUTTING_DOWN;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_INVALIDATOR_DISCRIMINATOR_SERVICE;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_INVALIDATOR_METRIC_AVG_INVALIDATION_LATENCY;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_INVALIDATOR_METRIC_FLUSH_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_INVALIDATOR_METRIC_FLUSH_DELAY;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_INVALIDATOR_METRIC_INVALIDATION_LATENCY;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_INVALIDATOR_METRIC_MAX_INVALIDATION_LATENCY;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_INVALIDATOR_PREFIX;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_INVALIDATOR_TAG_BUCKET;
+import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
+import static com.hazelcast.internal.metrics.ProbeUnit.COUNT;
+import static com.hazelcast.internal.metrics.ProbeUnit.MS;
+import static com.hazelcast.internal.metrics.ProbeUnit.US;
 import static com.hazelcast.internal.util.ConcurrencyUtil.getOrPutIfAbsent;
 import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * Sends invalidations to Near Cache in batches.
+ * <p>
+ * A batch of a data structure is sent when it reaches the batch size, or
+ * by a background task which runs every batch frequency seconds.
+ * <p>
+ * In adaptive mode, the background task runs every minimum flush delay and
+ * sends a batch once its oldest invalidation waited for the current flush
+ * delay. The flush delay doubles up to the batch frequency while the event
+ * queues are backlogged and halves back to the minimum once they drain. The
+ * batch size of each data structure follows its invalidation rate, so that
+ * a batch holds about one flush delay worth of invalidations, but it never
+ * drops below the configured batch size.
+ * <p>
+ * In both modes, the time the oldest invalidation of each sent batch waited
+ * is recorded in a {@link LatencyDistribution}.
  */
-public class BatchInvalidator extends Invalidator {
+public class BatchInvalidator extends Invalidator implements DynamicMetricsProvider {
+
+    /**
+     * Upper bound of the adaptive batch size as a multiple of the configured batch size.
+     */
+    private static final int MAX_BATCH_SIZE_MULTIPLIER = 16;
+
+    /**
+     * Event queue fill ratio above which the flush delay is backed off.
+     */
+    private static final double BACKLOG_THRESHOLD = 0.5;
+
+    /**
+     * Weight of the latest sample in the invalidation rate moving average.
+     */
+    private static final double RATE_SAMPLE_WEIGHT = 0.25;
+
+    private static final double MILLIS_PER_SECOND = 1000;
 
     private final String invalidationExecutorName;
 
     /**
-     * Creates an invalidation-queue per data-structure-name.
+     * Creates pending invalidations per data-structure-name.
      */
-    private final ConstructorFunction<String, InvalidationQueue<Invalidation>> invalidationQueueConstructor
-            = dataStructureName -> new InvalidationQueue<>();
+    private final ConstructorFunction<String, PendingInvalidations> pendingInvalidationsConstructor;
 
     /**
-     * data-structure-name to invalidation-queue mappings.
+     * data-structure-name to pending invalidations mappings.
      */
-    private final ConcurrentMap<String, InvalidationQueue<Invalidation>> invalidationQueues = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, PendingInvalidations> invalidationQueues = new ConcurrentHashMap<>();
 
     private final int batchSize;
     private final int batchFrequencySeconds;
+    private final boolean adaptive;
+    private final long minFlushDelayMillis;
+    private final long maxFlushDelayMillis;
     private final UUID nodeShutdownListenerId;
     private final AtomicBoolean runningBackgroundTask = new AtomicBoolean(false);
+    private final LatencyDistribution invalidationLatency = new LatencyDistribution();
+
+    @Probe(name = NEARCACHE_INVALIDATOR_METRIC_FLUSH_DELAY, unit = MS)
+    private volatile long flushDelayMillis;
 
     public BatchInvalidator(String serviceName, int batchSize, int batchFrequencySeconds,
                             Predicate<EventRegistration> eventFilter, NodeEngine nodeEngine) {
+        this(serviceName, batchSize, batchFrequencySeconds, -1, eventFilter, nodeEngine);
+    }
+
+    /**
+     * @param adaptiveMinFlushDelayMillis the minimum flush delay of the
+     *                                    adaptive mode, a non-positive
+     *                                    value disables the adaptive mode
+     */
+    public BatchInvalidator(String serviceName, int batchSize, int batchFrequencySeconds, long adaptiveMinFlushDelayMillis,
+                            Predicate<EventRegistration> eventFilter, NodeEngine nodeEngine) {
         super(serviceName, eventFilter, nodeEngine);
 
         this.batchSize = batchSize;
+        this.pendingInvalidationsConstructor = dataStructureName -> new PendingInvalidations(batchSize);
         this.batchFrequencySeconds = batchFrequencySeconds;
+        this.maxFlushDelayMillis = SECONDS.toMillis(batchFrequencySeconds);
+        this.adaptive = adaptiveMinFlushDelayMillis > 0;
+        this.minFlushDelayMillis = adaptive ? Math.min(adaptiveMinFlushDelayMillis, maxFlushDelayMillis) : maxFlushDelayMillis;
+        this.flushDelayMillis = minFlushDelayMillis;
         this.nodeShutdownListenerId = registerNodeShutdownListener();
         this.invalidationExecutorName = serviceName + getClass();
+        nodeEngine.getMetricsRegistry().registerDynamicMetricsProvider(this);
     }
 
     @Override
@@ -86,32 +158,43 @@ public class BatchInvalidator extends Invalidator {
     @Override
     protected void invalidateInternal(Invalidation invalidation, int orderKey) {
         String dataStructureName = invalidation.getName();
-        InvalidationQueue<Invalidation> invalidationQueue = invalidationQueueOf(dataStructureName);
-        invalidationQueue.offer(invalidation);
+        PendingInvalidations pendingInvalidations = pendingInvalidationsOf(dataStructureName);
+        pendingInvalidations.offer(invalidation, adaptive);
 
-        if (invalidationQueue.size() >= batchSize) {
-            pollAndSendInvalidations(dataStructureName, invalidationQueue);
+        if (pendingInvalidations.queue.size() >= pendingInvalidations.batchSize) {
+            pollAndSendInvalidations(dataStructureName, pendingInvalidations);
         }
     }
 
-    private InvalidationQueue<Invalidation> invalidationQueueOf(String dataStructureName) {
-        return getOrPutIfAbsent(invalidationQueues, dataStructureName, invalidationQueueConstructor);
+    private PendingInvalidations pendingInvalidationsOf(String dataStructureName) {
+        return getOrPutIfAbsent(invalidationQueues, dataStructureName, pendingInvalidationsConstructor);
     }
 
-    private void pollAndSendInvalidations(String dataStructureName, InvalidationQueue<Invalidation> invalidationQueue) {
-        assert invalidationQueue != null;
+    private void pollAndSendInvalidations(String dataStructureName, PendingInvalidations pendingInvalidations) {
+        assert pendingInvalidations != null;
 
+        InvalidationQueue<Invalidation> invalidationQueue = pendingInvalidations.queue;
         if (!invalidationQueue.tryAcquire()) {
             return;
         }
 
         List<Invalidation> invalidations;
+        long oldestOfferNanos;
         try {
+            // reset before polling, so that invalidations offered
+            // while polling are timed from their own offer time
+            oldestOfferNanos = pendingInvalidations.oldestOfferNanos.getAndSet(0);
             invalidations = pollInvalidations(invalidationQueue);
         } finally {
             invalidationQueue.release();
         }
 
+        if (invalidations.isEmpty()) {
+            return;
+        }
+        if (oldestOfferNanos != 0) {
+            invalidationLatency.done(oldestOfferNanos);
+        }
         sendInvalidations(dataStructureName, invalidations);
     }
 
@@ -158,8 +241,7 @@ public class BatchInvalidator extends Invalidator {
         LifecycleService lifecycleService = node.getLifecycleService();
         return lifecycleService.addLifecycleListener(event -> {
             if (event.getState() == SHUTTING_DOWN) {
-                Set<Map.Entry<String, InvalidationQueue<Invalidation>>> entries = invalidationQueues.entrySet();
-                for (Map.Entry<String, InvalidationQueue<Invalidation>> entry : entries) {
+                for (Map.Entry<String, PendingInvalidations> entry : invalidationQueues.entrySet()) {
                     pollAndSendInvalidations(entry.getKey(), entry.getValue());
                 }
             }
@@ -174,9 +256,61 @@ public class BatchInvalidator extends Invalidator {
 
         if (runningBackgroundTask.compareAndSet(false, true)) {
             ExecutionService executionService = nodeEngine.getExecutionService();
-            executionService.scheduleWithRepetition(invalidationExecutorName,
-                    new BatchInvalidationEventSender(), batchFrequencySeconds, batchFrequencySeconds, SECONDS);
+            if (adaptive) {
+                executionService.scheduleWithRepetition(invalidationExecutorName,
+                        new AdaptiveBatchInvalidationEventSender(), minFlushDelayMillis, minFlushDelayMillis, MILLISECONDS);
+            } else {
+                executionService.scheduleWithRepetition(invalidationExecutorName,
+                        new BatchInvalidationEventSender(), batchFrequencySeconds, batchFrequencySeconds, SECONDS);
+            }
+        }
+    }
+
+    /**
+     * @return the distribution of the time the oldest
+     * invalidation of each sent batch waited to be sent
+     */
+    public LatencyDistribution getInvalidationLatencyDistribution() {
+        return invalidationLatency;
+    }
+
+    /**
+     * @return the current flush delay in milliseconds, which
+     * is the batch frequency when the adaptive mode is disabled
+     */
+    public long getFlushDelayMillis() {
+        return flushDelayMillis;
+    }
+
+    @Probe(name = NEARCACHE_INVALIDATOR_METRIC_FLUSH_COUNT)
+    private long flushCount() {
+        return invalidationLatency.count();
+    }
+
+    @Probe(name = NEARCACHE_INVALIDATOR_METRIC_AVG_INVALIDATION_LATENCY, unit = US)
+    private long avgInvalidationLatency() {
+        return invalidationLatency.avgMicros();
+    }
+
+    @Probe(name = NEARCACHE_INVALIDATOR_METRIC_MAX_INVALIDATION_LATENCY, unit = US)
+    private long maxInvalidationLatency() {
+        return invalidationLatency.maxMicros();
+    }
+
+    @Override
+    public void provideDynamicMetrics(MetricDescriptor descriptor, MetricsCollectionContext context) {
+        MetricDescriptor invalidatorDescriptor = descriptor
+                .withPrefix(NEARCACHE_INVALIDATOR_PREFIX)
+                .withDiscriminator(NEARCACHE_INVALIDATOR_DISCRIMINATOR_SERVICE, serviceName);
+        for (int bucket = 0; bucket < invalidationLatency.bucketCount(); bucket++) {
+            long value = invalidationLatency.bucket(bucket);
+            if (value > 0) {
+                context.collect(invalidatorDescriptor.copy()
+                                .withTag(NEARCACHE_INVALIDATOR_TAG_BUCKET, LatencyDistribution.LATENCY_KEYS[bucket]),
+                        NEARCACHE_INVALIDATOR_METRIC_INVALIDATION_LATENCY, INFO, COUNT, value);
+            }
         }
+        context.collect(invalidatorDescriptor, this);
     }
 
     /**
@@ -186,19 +320,118 @@ public class BatchInvalidator extends Invalidator {
 
         @Override
         public void run() {
-            for (Map.Entry<String, InvalidationQueue<Invalidation>> entry : invalidationQueues.entrySet()) {
+            for (Map.Entry<String, PendingInvalidations> entry : invalidationQueues.entrySet()) {
                 if (currentThread().isInterrupted()) {
                     break;
                 }
                 String name = entry.getKey();
-                InvalidationQueue<Invalidation> invalidationQueue = entry.getValue();
-                if (!invalidationQueue.isEmpty()) {
-                    pollAndSendInvalidations(name, invalidationQueue);
+                PendingInvalidations pendingInvalidations = entry.getValue();
+                if (!pendingInvalidations.queue.isEmpty()) {
+                    pollAndSendInvalidations(name, pendingInvalidations);
                 }
             }
         }
     }
 
+    /**
+     * A background runner which runs every minimum flush delay, adapts
+     * the flush delay and the batch sizes, and consumes the invalidation
+     * queues whose oldest invalidation waited for the flush delay.
+     */
+    private class AdaptiveBatchInvalidationEventSender implements Runnable {
+
+        private long lastRunNanos = System.nanoTime();
+
+        @Override
+        public void run() {
+            long now = System.nanoTime();
+            double elapsedSeconds = Math.max(now - lastRunNanos, 1) / (double) SECONDS.toNanos(1);
+            lastRunNanos = now;
+
+            long flushDelay = adaptFlushDelay();
+            long flushDelayNanos = MILLISECONDS.toNanos(flushDelay);
+            for (Map.Entry<String, PendingInvalidations> entry : invalidationQueues.entrySet()) {
+                if (currentThread().isInterrupted()) {
+                    break;
+                }
+                PendingInvalidations pendingInvalidations = entry.getValue();
+                pendingInvalidations.adaptBatchSize(elapsedSeconds, flushDelay, batchSize);
+                if (pendingInvalidations.queue.isEmpty()) {
+                    continue;
+                }
+                long oldestOfferNanos = pendingInvalidations.oldestOfferNanos.get();
+                if (oldestOfferNanos == 0) {
+                    // raced with a flush, time the remaining invalidations from now on
+                    pendingInvalidations.oldestOfferNanos.compareAndSet(0, now);
+                } else if (now - oldestOfferNanos >= flushDelayNanos) {
+                    pollAndSendInvalidations(entry.getKey(), pendingInvalidations);
+                }
+            }
+        }
+
+        /**
+         * Backs the flush delay off while the event queues, which deliver
+         * the invalidations to the local and client listeners, are filling up.
+         */
+        private long adaptFlushDelay() {
+            long capacity = (long) eventService.getEventQueueCapacity() * eventService.getEventThreadCount();
+            boolean backlogged = capacity > 0 && eventService.getEventQueueSize() > capacity * BACKLOG_THRESHOLD;
+            long flushDelay = backlogged
+                    ? Math.min(flushDelayMillis * 2, maxFlushDelayMillis)
+                    : Math.max(flushDelayMillis / 2, minFlushDelayMillis);
+            flushDelayMillis = flushDelay;
+            return flushDelay;
+        }
+    }
+
+    /**
+     * Invalidations of a data structure waiting to be sent.
+     */
+    private static final class PendingInvalidations {
+
+        private final InvalidationQueue<Invalidation> queue = new InvalidationQueue<>();
+        /**
+         * {@link System#nanoTime()} at which the oldest pending
+         * invalidation was offered, {@code 0} if not known.
+         */
+        private final AtomicLong oldestOfferNanos = new AtomicLong();
+        /**
+         * Number of offered invalidations, only maintained in adaptive mode.
+         */
+        private final AtomicLong offerCount = new AtomicLong();
+
+        // only accessed by the adaptive background task
+        private long lastOfferCount;
+        private double offerRatePerSecond;
+
+        private volatile int batchSize;
+
+        PendingInvalidations(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        void offer(Invalidation invalidation, boolean adaptive) {
+            queue.offer(invalidation);
+            if (oldestOfferNanos.get() == 0) {
+                oldestOfferNanos.compareAndSet(0, System.nanoTime());
+            }
+            if (adaptive) {
+                offerCount.incrementAndGet();
+            }
+        }
+
+        void adaptBatchSize(double elapsedSeconds, long flushDelayMillis, int minBatchSize) {
+            long count = offerCount.get();
+            double rate = (count - lastOfferCount) / elapsedSeconds;
+            lastOfferCount = count;
+            offerRatePerSecond = RATE_SAMPLE_WEIGHT * rate + (1 - RATE_SAMPLE_WEIGHT) * offerRatePerSecond;
+
+            long expectedPerFlush = (long) (offerRatePerSecond * flushDelayMillis / MILLIS_PER_SECOND);
+            batchSize = (int) Math.min(Math.max(expectedPerFlush, minBatchSize),
+                    (long) minBatchSize * MAX_BATCH_SIZE_MULTIPLIER);
+        }
+    }
+
     @Override
     public void destroy(String dataStructureName, UUID sourceUuid) {
         invalidationQueues.remove(dataStructureName);
@@ -214,6 +447,9 @@ public class BatchInvalidator extends Invalidator {
         LifecycleService lifecycleService = node.getLifecycleService();
         lifecycleService.removeLifecycleListener(nodeShutdownListenerId);
 
+        MetricsRegistry metricsRegistry = nodeEngine.getMetricsRegistry();
+        metricsRegistry.deregisterDynamicMetricsProvider(this);
+
         invalidationQueues.clear();
 
         super.shutdown();
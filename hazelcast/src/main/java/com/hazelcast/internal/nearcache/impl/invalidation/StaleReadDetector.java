@@ -49,6 +49,11 @@ public interface StaleReadDetector {
             return null;
         }
 
+        @Override
+        public int getPartitionCount() {
+            return 0;
+        }
+
         @Override
         public String toString() {
             return "ALWAYS_FRESH";
@@ -70,4 +75,10 @@ public interface StaleReadDetector {
      * @return {@link MetaDataContainer} for this key
      */
     MetaDataContainer getMetaDataContainer(int partitionId);
+
+    /**
+     * @return the number of partitions, or {@code 0} if no invalidation
+     * metadata is tracked
+     */
+    int getPartitionCount();
 }
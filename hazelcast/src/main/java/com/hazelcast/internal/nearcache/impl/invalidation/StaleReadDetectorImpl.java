@@ -49,6 +49,11 @@ public class StaleReadDetectorImpl implements StaleReadDetector {
         return repairingHandler.getMetaDataContainer(partitionId);
     }
 
+    @Override
+    public int getPartitionCount() {
+        return partitionService.getPartitionCount();
+    }
+
     @Override
     public String toString() {
         return "Default StaleReadDetectorImpl";
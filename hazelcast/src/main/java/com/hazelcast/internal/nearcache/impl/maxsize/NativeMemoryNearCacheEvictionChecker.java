@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.maxsize;
+
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.internal.eviction.EvictionChecker;
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
+
+import java.util.function.LongSupplier;
+
+import static com.hazelcast.memory.MemoryUnit.MEGABYTES;
+
+/**
+ * Near Cache max-size policy implementation for the native memory based
+ * policies {@link MaxSizePolicy#USED_NATIVE_MEMORY_SIZE},
+ * {@link MaxSizePolicy#USED_NATIVE_MEMORY_PERCENTAGE},
+ * {@link MaxSizePolicy#FREE_NATIVE_MEMORY_SIZE} and
+ * {@link MaxSizePolicy#FREE_NATIVE_MEMORY_PERCENTAGE}.
+ * <p>
+ * Used memory is the native memory owned by a single Near Cache, free memory
+ * is the remaining capacity of the memory manager shared by all Near Caches.
+ *
+ * @see EvictionChecker
+ */
+public class NativeMemoryNearCacheEvictionChecker implements EvictionChecker {
+
+    private static final int ONE_HUNDRED = 100;
+
+    private final MaxSizePolicy maxSizePolicy;
+    private final long maxSize;
+    private final LongSupplier usedNativeMemory;
+    private final UnsafeMallocMemoryManager memoryManager;
+
+    public NativeMemoryNearCacheEvictionChecker(MaxSizePolicy maxSizePolicy, int size,
+                                                LongSupplier usedNativeMemory,
+                                                UnsafeMallocMemoryManager memoryManager) {
+        this.maxSizePolicy = maxSizePolicy;
+        this.maxSize = size;
+        this.usedNativeMemory = usedNativeMemory;
+        this.memoryManager = memoryManager;
+    }
+
+    /**
+     * @return {@code true} if the given max-size policy
+     * can be evaluated by this checker, {@code false} otherwise
+     */
+    public static boolean supports(MaxSizePolicy maxSizePolicy) {
+        return switch (maxSizePolicy) {
+            case USED_NATIVE_MEMORY_SIZE, USED_NATIVE_MEMORY_PERCENTAGE,
+                 FREE_NATIVE_MEMORY_SIZE, FREE_NATIVE_MEMORY_PERCENTAGE -> true;
+            default -> false;
+        };
+    }
+
+    @Override
+    public boolean isEvictionRequired() {
+        long capacity = Math.max(memoryManager.getCapacity(), 1);
+        return switch (maxSizePolicy) {
+            case USED_NATIVE_MEMORY_SIZE -> usedNativeMemory.getAsLong() >= MEGABYTES.toBytes(maxSize);
+            case USED_NATIVE_MEMORY_PERCENTAGE -> usedNativeMemory.getAsLong() * ONE_HUNDRED / capacity >= maxSize;
+            case FREE_NATIVE_MEMORY_SIZE -> memoryManager.getFreeMemory() <= MEGABYTES.toBytes(maxSize);
+            case FREE_NATIVE_MEMORY_PERCENTAGE -> memoryManager.getFreeMemory() * ONE_HUNDRED / capacity <= maxSize;
+            default -> throw new IllegalArgumentException("Not a native max-size policy: " + maxSizePolicy);
+        };
+    }
+}
@@ -18,7 +18,11 @@ package com.hazelcast.internal.nearcache.impl.preloader;
 
 import com.hazelcast.config.NearCachePreloaderConfig;
 import com.hazelcast.internal.adapter.DataStructureAdapter;
+import com.hazelcast.internal.memory.impl.UnsafeUtil;
 import com.hazelcast.internal.monitor.impl.NearCacheStatsImpl;
+import com.hazelcast.internal.nearcache.NearCacheRecord;
+import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataContainer;
+import com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.serialization.impl.HeapData;
@@ -35,11 +39,19 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
+import static com.hazelcast.internal.nearcache.NearCacheRecord.READ_PERMITTED;
 import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
 import static com.hazelcast.internal.nio.Bits.readIntB;
 import static com.hazelcast.internal.nio.Bits.writeIntB;
 import static com.hazelcast.internal.nio.IOUtil.closeResource;
@@ -50,9 +62,22 @@ import static com.hazelcast.internal.nio.IOUtil.toFileName;
 import static com.hazelcast.internal.util.StringUtil.isNullOrEmpty;
 import static java.lang.String.format;
 import static java.nio.ByteBuffer.allocate;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
 
 /**
  * Loads and stores the keys from a Near Cache into a file.
+ * <p>
+ * Alternatively, the keys and values of the Near Cache can be stored together
+ * with the invalidation metadata of their partitions, see {@link
+ * #storeEntries}. Such a file is written and read as a memory-mapped file.
+ * When it's loaded, the entries of the partitions which haven't changed since
+ * the file was stored are put into the Near Cache directly, only the keys of
+ * the other partitions are fetched from the cluster.
  *
  * @param <K> type of the {@link com.hazelcast.internal.nearcache.NearCacheRecord} keys
  */
@@ -62,7 +87,24 @@ public class NearCachePreloader<K> {
      * File format for the file header.
      */
     private enum FileFormat {
-        INTERLEAVED_LENGTH_FIELD
+        INTERLEAVED_LENGTH_FIELD,
+        KEYS_AND_VALUES
+    }
+
+    /**
+     * Puts the entries loaded from a file of keys and values into the Near Cache.
+     */
+    @FunctionalInterface
+    public interface EntryLoader {
+
+        /**
+         * Puts the given entry into the Near Cache, if the invalidation
+         * metadata of its partition is still the same as when it was stored.
+         *
+         * @return {@code true} if the entry was up-to-date, {@code false} if
+         * it has to be fetched from the cluster
+         */
+        boolean load(Data key, Data value, int partitionId, UUID partitionUuid, long partitionSequence);
     }
 
     /**
@@ -84,6 +126,11 @@ public class NearCachePreloader<K> {
      */
     private static final int LOAD_BATCH_SIZE = 100;
 
+    /**
+     * Size of the invalidation metadata of a partition in a file of keys and values.
+     */
+    private static final int PARTITION_METADATA_SIZE = INT_SIZE_IN_BYTES + 3 * LONG_SIZE_IN_BYTES;
+
     private final ILogger logger = Logger.getLogger(NearCachePreloader.class);
     private final byte[] tmpBytes = new byte[INT_SIZE_IN_BYTES];
 
@@ -121,6 +168,20 @@ public class NearCachePreloader<K> {
      * @param adapter the {@link DataStructureAdapter} to load the values from
      */
     public void loadKeys(DataStructureAdapter<Object, ?> adapter) {
+        loadKeys(adapter, null);
+    }
+
+    /**
+     * Loads the Near Cache from a stored file. The values of a file of keys are
+     * loaded via the supplied {@link DataStructureAdapter}. The entries of a
+     * file of keys and values are passed to the {@code entryLoader}, and only
+     * the ones it rejects are loaded via the adapter.
+     *
+     * @param adapter     the {@link DataStructureAdapter} to load the values from
+     * @param entryLoader the loader of the stored entries, or {@code null} to
+     *                    load all keys via the adapter
+     */
+    public void loadKeys(DataStructureAdapter<Object, ?> adapter, EntryLoader entryLoader) {
         if (!storeFile.exists()) {
             logger.info(format("Skipped loading keys of Near Cache %s since storage file doesn't exist (%s)", nearCacheName,
                     storeFile.getAbsolutePath()));
@@ -130,7 +191,11 @@ public class NearCachePreloader<K> {
         long startedNanos = Timer.nanos();
 
         try (BufferingInputStream bis = new BufferingInputStream(new FileInputStream(storeFile), BUFFER_SIZE)) {
-            if (!checkHeader(bis)) {
+            int fileFormat = readFileFormat(bis);
+            if (fileFormat == FileFormat.KEYS_AND_VALUES.ordinal()) {
+                loadEntries(adapter, entryLoader, startedNanos);
+                return;
+            } else if (fileFormat < 0) {
                 return;
             }
 
@@ -143,19 +208,23 @@ public class NearCachePreloader<K> {
         }
     }
 
-    private boolean checkHeader(BufferingInputStream bis) throws IOException {
+    /**
+     * Reads the header of the file and returns its file format, or {@code -1}
+     * if the header is invalid.
+     */
+    private int readFileFormat(BufferingInputStream bis) throws IOException {
         int magicBytes = readInt(bis);
         if (magicBytes != MAGIC_BYTES) {
             logger.warning(format("Found invalid header for Near Cache %s (%s)", nearCacheName, storeFile.getAbsolutePath()));
-            return false;
+            return -1;
         }
         int fileFormat = readInt(bis);
         if (fileFormat < 0 || fileFormat > FileFormat.values().length - 1) {
             logger.warning(format("Found invalid file format for Near Cache %s (%s)", nearCacheName,
                     storeFile.getAbsolutePath()));
-            return false;
+            return -1;
         }
-        return true;
+        return fileFormat;
     }
 
     /**
@@ -200,6 +269,184 @@ public class NearCachePreloader<K> {
         }
     }
 
+    /**
+     * Stores the keys and values of the readable records from the supplied
+     * iterator, together with the invalidation metadata of their partitions.
+     * <p>
+     * The metadata of all partitions is read before the first record, so a
+     * record which is invalidated while the entries are stored makes its
+     * partition differ from the stored metadata.
+     * <p>
+     * Falls back to {@link #storeKeys} if the file would be too large to be
+     * memory-mapped.
+     *
+     * @param iterator          {@link Iterator} over the entries of a {@link
+     *                          com.hazelcast.internal.nearcache.NearCacheRecordStore}
+     * @param staleReadDetector the {@link StaleReadDetector} of the Near Cache
+     */
+    @SuppressWarnings("unchecked")
+    public void storeEntries(Iterator<? extends Map.Entry<K, ? extends NearCacheRecord>> iterator,
+                             StaleReadDetector staleReadDetector) {
+        long startedNanos = Timer.nanos();
+        try {
+            PartitionMetaData[] metaDataSnapshot = snapshotMetaData(staleReadDetector);
+            long now = System.currentTimeMillis();
+            Map<Integer, PartitionMetaData> partitions = new HashMap<>();
+            List<StoredEntry> entries = new ArrayList<>();
+            long fileSize = 2L * INT_SIZE_IN_BYTES + INT_SIZE_IN_BYTES;
+            while (iterator.hasNext()) {
+                Map.Entry<K, ? extends NearCacheRecord> entry = iterator.next();
+                K key = entry.getKey();
+                NearCacheRecord record = entry.getValue();
+                if (record.getReservationId() != READ_PERMITTED || record.isExpiredAt(now)
+                        || staleReadDetector.isStaleRead(key, record)) {
+                    continue;
+                }
+                int partitionId = record.getPartitionId();
+                if (!partitions.containsKey(partitionId)) {
+                    partitions.put(partitionId, metaDataSnapshot[partitionId]);
+                    fileSize += PARTITION_METADATA_SIZE;
+                }
+                Data keyData = serializationService.toData(key);
+                Data valueData = serializationService.toData(record.getValue());
+                if (keyData == null || valueData == null) {
+                    continue;
+                }
+                entries.add(new StoredEntry(partitionId, keyData, valueData));
+                fileSize += 3 * INT_SIZE_IN_BYTES + keyData.totalSize() + valueData.totalSize();
+            }
+
+            if (entries.isEmpty()) {
+                lastWrittenBytes = 0;
+                lastKeyCount = 0;
+                deleteQuietly(storeFile);
+                updatePersistenceStats(startedNanos);
+                return;
+            }
+            if (fileSize > Integer.MAX_VALUE) {
+                storeKeys(entries.stream().map(e -> (K) serializationService.toObject(e.key)).iterator());
+                return;
+            }
+
+            writeEntries(partitions, entries, (int) fileSize);
+            rename(tmpStoreFile, storeFile);
+
+            lastWrittenBytes = (int) fileSize;
+            lastKeyCount = entries.size();
+            updatePersistenceStats(startedNanos);
+        } catch (Exception e) {
+            logger.warning(format("Could not store entries of Near Cache %s (%s)", nearCacheName,
+                    storeFile.getAbsolutePath()), e);
+
+            nearCacheStats.addPersistenceFailure(e);
+        } finally {
+            deleteQuietly(tmpStoreFile);
+        }
+    }
+
+    private static PartitionMetaData[] snapshotMetaData(StaleReadDetector staleReadDetector) {
+        PartitionMetaData[] snapshot = new PartitionMetaData[staleReadDetector.getPartitionCount()];
+        for (int partitionId = 0; partitionId < snapshot.length; partitionId++) {
+            MetaDataContainer metaData = staleReadDetector.getMetaDataContainer(partitionId);
+            snapshot[partitionId] = new PartitionMetaData(partitionId, metaData.getUuid(), metaData.getSequence());
+        }
+        return snapshot;
+    }
+
+    private void writeEntries(Map<Integer, PartitionMetaData> partitions, List<StoredEntry> entries, int fileSize)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(tmpStoreFile.toPath(), CREATE, READ, WRITE, TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(READ_WRITE, 0, fileSize);
+            try {
+                buffer.putInt(MAGIC_BYTES);
+                buffer.putInt(FileFormat.KEYS_AND_VALUES.ordinal());
+                buffer.putInt(partitions.size());
+                for (PartitionMetaData partition : partitions.values()) {
+                    buffer.putInt(partition.partitionId);
+                    // a missing uuid never matches the uuid of a partition when the file is loaded
+                    UUID uuid = partition.uuid != null ? partition.uuid : new UUID(0, 0);
+                    buffer.putLong(uuid.getMostSignificantBits());
+                    buffer.putLong(uuid.getLeastSignificantBits());
+                    buffer.putLong(partition.sequence);
+                }
+                for (StoredEntry entry : entries) {
+                    buffer.putInt(entry.partitionId);
+                    putData(buffer, entry.key);
+                    putData(buffer, entry.value);
+                }
+                buffer.force();
+            } finally {
+                unmap(buffer);
+            }
+        }
+    }
+
+    private void loadEntries(DataStructureAdapter<Object, ?> adapter, EntryLoader entryLoader, long startedNanos)
+            throws IOException {
+        int loadedEntries = 0;
+        int fetchedKeys = 0;
+        Builder<Object> builder = InflatableSet.newBuilder(LOAD_BATCH_SIZE);
+        try (FileChannel channel = FileChannel.open(storeFile.toPath(), READ)) {
+            MappedByteBuffer buffer = channel.map(READ_ONLY, 0, channel.size());
+            try {
+                buffer.position(2 * INT_SIZE_IN_BYTES);
+                int partitionCount = buffer.getInt();
+                Map<Integer, PartitionMetaData> partitions = new HashMap<>();
+                for (int i = 0; i < partitionCount; i++) {
+                    int partitionId = buffer.getInt();
+                    UUID uuid = new UUID(buffer.getLong(), buffer.getLong());
+                    partitions.put(partitionId, new PartitionMetaData(partitionId, uuid, buffer.getLong()));
+                }
+                while (buffer.hasRemaining()) {
+                    PartitionMetaData partition = partitions.get(buffer.getInt());
+                    Data key = getData(buffer);
+                    Data value = getData(buffer);
+                    if (entryLoader != null && partition != null
+                            && entryLoader.load(key, value, partition.partitionId, partition.uuid, partition.sequence)) {
+                        loadedEntries++;
+                        continue;
+                    }
+                    builder.add(serializationService.toObject(key));
+                    if (builder.size() == LOAD_BATCH_SIZE) {
+                        adapter.getAll(builder.build());
+                        builder = InflatableSet.newBuilder(LOAD_BATCH_SIZE);
+                    }
+                    fetchedKeys++;
+                }
+            } finally {
+                unmap(buffer);
+            }
+        }
+        if (builder.size() > 0) {
+            adapter.getAll(builder.build());
+        }
+
+        long elapsedMillis = Timer.millisElapsed(startedNanos);
+        logger.info(format("Loaded %d entries and fetched %d stale keys of Near Cache %s in %d ms", loadedEntries,
+                fetchedKeys, nearCacheName, elapsedMillis));
+    }
+
+    private static void putData(ByteBuffer buffer, Data data) {
+        buffer.putInt(data.totalSize());
+        buffer.put(data.toByteArray());
+    }
+
+    private static Data getData(ByteBuffer buffer) {
+        byte[] payload = new byte[buffer.getInt()];
+        buffer.get(payload);
+        return new HeapData(payload);
+    }
+
+    /**
+     * Releases the mapping of the buffer eagerly, so the file can be renamed
+     * or deleted on all platforms.
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        if (UnsafeUtil.UNSAFE_AVAILABLE) {
+            UnsafeUtil.UNSAFE.invokeCleaner(buffer);
+        }
+    }
+
     private void updatePersistenceStats(long startedNanos) {
         long elapsedMillis = Timer.millisElapsed(startedNanos);
         nearCacheStats.addPersistence(elapsedMillis, lastWrittenBytes, lastKeyCount);
@@ -294,4 +541,28 @@ public class NearCachePreloader<K> {
         }
         return Paths.get(directory, filename).toString();
     }
+
+    private static final class PartitionMetaData {
+        private final int partitionId;
+        private final UUID uuid;
+        private final long sequence;
+
+        PartitionMetaData(int partitionId, UUID uuid, long sequence) {
+            this.partitionId = partitionId;
+            this.uuid = uuid;
+            this.sequence = sequence;
+        }
+    }
+
+    private static final class StoredEntry {
+        private final int partitionId;
+        private final Data key;
+        private final Data value;
+
+        StoredEntry(int partitionId, Data key, Data value) {
+            this.partitionId = partitionId;
+            this.key = key;
+            this.value = value;
+        }
+    }
 }
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Implementation of {@link com.hazelcast.internal.nearcache.NearCacheRecord}
+ * which keeps the serialized value bytes in a block allocated in native memory.
+ * <p>
+ * Near Cache records are read concurrently by user threads while they may be
+ * invalidated or evicted by other threads, so a value block is pinned for the
+ * duration of every read. A block which is released by {@link #setValue(Data)}
+ * or {@link #dispose()} is freed as soon as its last reader unpins it, hence
+ * no reader ever observes freed memory.
+ * <p>
+ * {@link #getValue()} always returns an on-heap copy of the value.
+ */
+public class NearCacheNativeRecord extends AbstractNearCacheRecord<Data> {
+
+    private static final AtomicReferenceFieldUpdater<NearCacheNativeRecord, ValueBlock> VALUE_BLOCK =
+            AtomicReferenceFieldUpdater.newUpdater(NearCacheNativeRecord.class, ValueBlock.class, "valueBlock");
+
+    private final MemoryAllocator allocator;
+    private final MemoryAccessor mem;
+
+    private volatile ValueBlock valueBlock;
+
+    public NearCacheNativeRecord(MemoryAllocator allocator, MemoryAccessor mem, Data value,
+                                 long creationTime, long expirationTime) {
+        super(null, creationTime, expirationTime);
+        this.allocator = allocator;
+        this.mem = mem;
+        this.valueBlock = allocateBlock(value);
+    }
+
+    @Override
+    public Data getValue() {
+        ValueBlock block = valueBlock;
+        while (block != null) {
+            if (block.pin()) {
+                try {
+                    return block.toHeapData();
+                } finally {
+                    block.unpin();
+                }
+            }
+            // the block was replaced while we were trying to pin it
+            ValueBlock current = valueBlock;
+            if (current == block) {
+                return null;
+            }
+            block = current;
+        }
+        return null;
+    }
+
+    @Override
+    public void setValue(Data value) {
+        ValueBlock oldBlock = VALUE_BLOCK.getAndSet(this, allocateBlock(value));
+        if (oldBlock != null) {
+            oldBlock.release();
+        }
+    }
+
+    /**
+     * @return size of the native value block of this record in bytes
+     */
+    public long getNativeValueSize() {
+        ValueBlock block = valueBlock;
+        return block != null ? block.size : 0L;
+    }
+
+    /**
+     * Releases the native value block of this record. Must be called once
+     * the record is removed from its record store; subsequent reads of the
+     * value return {@code null}.
+     */
+    public void dispose() {
+        ValueBlock oldBlock = VALUE_BLOCK.getAndSet(this, null);
+        if (oldBlock != null) {
+            oldBlock.release();
+        }
+    }
+
+    private ValueBlock allocateBlock(Data value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.toByteArray();
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        long address = allocator.allocate(bytes.length);
+        mem.copyFromByteArray(bytes, 0, address, bytes.length);
+        return new ValueBlock(allocator, mem, address, bytes.length);
+    }
+
+    @Override
+    public String toString() {
+        return "NearCacheNativeRecord{"
+                + "nativeValueSize=" + getNativeValueSize()
+                + ", " + super.toString()
+                + '}';
+    }
+
+    /**
+     * Native block holding value bytes. The sign bit of {@code pins} marks a
+     * released block, the remaining bits count the readers currently pinning it.
+     */
+    private static final class ValueBlock {
+
+        private static final int RELEASED = Integer.MIN_VALUE;
+        private static final AtomicIntegerFieldUpdater<ValueBlock> PINS =
+                AtomicIntegerFieldUpdater.newUpdater(ValueBlock.class, "pins");
+
+        private final MemoryAllocator allocator;
+        private final MemoryAccessor mem;
+        private final long address;
+        private final int size;
+
+        private volatile int pins;
+
+        ValueBlock(MemoryAllocator allocator, MemoryAccessor mem, long address, int size) {
+            this.allocator = allocator;
+            this.mem = mem;
+            this.address = address;
+            this.size = size;
+        }
+
+        boolean pin() {
+            for (;;) {
+                int current = pins;
+                if (current < 0) {
+                    return false;
+                }
+                if (PINS.compareAndSet(this, current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void unpin() {
+            if (PINS.decrementAndGet(this) == RELEASED) {
+                free();
+            }
+        }
+
+        void release() {
+            for (;;) {
+                int current = pins;
+                if (current < 0) {
+                    return;
+                }
+                if (PINS.compareAndSet(this, current, current | RELEASED)) {
+                    if (current == 0) {
+                        free();
+                    }
+                    return;
+                }
+            }
+        }
+
+        HeapData toHeapData() {
+            byte[] bytes = new byte[size];
+            mem.copyToByteArray(address, bytes, 0, size);
+            return new HeapData(bytes);
+        }
+
+        private void free() {
+            allocator.free(address, size);
+        }
+    }
+}
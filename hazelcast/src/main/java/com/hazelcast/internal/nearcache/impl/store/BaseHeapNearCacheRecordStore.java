@@ -23,6 +23,8 @@ import com.hazelcast.config.NearCachePreloaderConfig;
 import com.hazelcast.internal.adapter.DataStructureAdapter;
 import com.hazelcast.internal.eviction.EvictionChecker;
 import com.hazelcast.internal.nearcache.NearCacheRecord;
+import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataContainer;
+import com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector;
 import com.hazelcast.internal.nearcache.impl.maxsize.EntryCountNearCacheEvictionChecker;
 import com.hazelcast.internal.nearcache.impl.preloader.NearCachePreloader;
 import com.hazelcast.internal.serialization.Data;
@@ -30,9 +32,13 @@ import com.hazelcast.internal.serialization.SerializationService;
 
 import javax.annotation.Nullable;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import static com.hazelcast.internal.nearcache.NearCache.UpdateSemantic.READ_UPDATE;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.NOT_RESERVED;
+import static com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector.ALWAYS_FRESH;
 import static java.lang.String.format;
 
 /**
@@ -120,7 +126,7 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
     @Override
     public void loadKeys(DataStructureAdapter<Object, ?> adapter) {
         if (nearCachePreloader != null) {
-            nearCachePreloader.loadKeys(adapter);
+            nearCachePreloader.loadKeys(adapter, this::loadEntry);
         }
     }
 
@@ -131,6 +137,50 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
         }
     }
 
+    @Override
+    public void storeEntries() {
+        if (nearCachePreloader == null) {
+            return;
+        }
+        StaleReadDetector staleReadDetector = this.staleReadDetector;
+        if (staleReadDetector == ALWAYS_FRESH) {
+            // without invalidation metadata the stored values couldn't be checked on load
+            nearCachePreloader.storeKeys(records.keySet().iterator());
+        } else {
+            nearCachePreloader.storeEntries(records.entrySet().iterator(), staleReadDetector);
+        }
+    }
+
+    /**
+     * Puts an entry loaded by the preloader into the Near Cache, if its
+     * partition didn't change since the entry was stored. The partition is
+     * checked after the key is reserved, so an invalidation received in the
+     * meantime removes the reservation and the entry is not published.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean loadEntry(Data keyData, Data valueData, int partitionId, UUID partitionUuid, long partitionSequence) {
+        StaleReadDetector staleReadDetector = this.staleReadDetector;
+        if (staleReadDetector == ALWAYS_FRESH || staleReadDetector.getPartitionId(keyData) != partitionId) {
+            return false;
+        }
+
+        K key = nearCacheConfig.isSerializeKeys() ? (K) keyData : serializationService.toObject(keyData);
+        doEviction(false);
+        long reservationId = tryReserveForUpdate(key, keyData, READ_UPDATE);
+        if (reservationId == NOT_RESERVED) {
+            // the key is being updated concurrently or the Near Cache is full
+            return true;
+        }
+
+        MetaDataContainer metaData = staleReadDetector.getMetaDataContainer(partitionId);
+        if (!partitionUuid.equals(metaData.getUuid()) || metaData.getSequence() != partitionSequence) {
+            records.applyIfPresent(key, (k, record) -> record.getReservationId() == reservationId ? null : record);
+            return false;
+        }
+        tryPublishReserved(key, (V) valueData, reservationId, false);
+        return true;
+    }
+
     @Override
     public void destroy() {
         super.destroy();
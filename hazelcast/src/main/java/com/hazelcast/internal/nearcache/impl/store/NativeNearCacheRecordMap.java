@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import com.hazelcast.internal.eviction.EvictionCandidate;
+import com.hazelcast.internal.eviction.EvictionListener;
+import com.hazelcast.internal.nearcache.NearCacheRecord;
+import com.hazelcast.internal.nearcache.impl.record.NearCacheNativeRecord;
+import com.hazelcast.internal.serialization.SerializableByConvention;
+import com.hazelcast.internal.serialization.SerializationService;
+
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * {@link HeapNearCacheRecordMap} for Near Caches with
+ * {@link com.hazelcast.config.InMemoryFormat#NATIVE} in-memory-format.
+ * <p>
+ * The index of the map stays on-heap, so lookups and reservations keep the
+ * semantics of the on-heap Near Caches, but every {@link NearCacheNativeRecord}
+ * which leaves the map is disposed to release its native value block.
+ * Records are disposed after the remapping function or the eviction listener
+ * ran, so they can still compute the memory cost of a removed record.
+ *
+ * @param <K> the type of the key stored in Near Cache
+ */
+@SerializableByConvention
+public class NativeNearCacheRecordMap<K> extends HeapNearCacheRecordMap<K, NearCacheNativeRecord> {
+
+    NativeNearCacheRecordMap(SerializationService serializationService, int initialCapacity) {
+        super(serializationService, initialCapacity);
+    }
+
+    @Override
+    public NearCacheNativeRecord put(K key, NearCacheNativeRecord record) {
+        NearCacheNativeRecord oldRecord = super.put(key, record);
+        disposeIfReplaced(oldRecord, record);
+        return oldRecord;
+    }
+
+    @Override
+    public NearCacheNativeRecord applyIfPresent(K key, BiFunction<? super K, ? super NearCacheNativeRecord,
+            ? extends NearCacheNativeRecord> remappingFunction) {
+        return super.applyIfPresent(key, disposingFunction(remappingFunction));
+    }
+
+    @Override
+    public NearCacheNativeRecord apply(K key, BiFunction<? super K, ? super NearCacheNativeRecord,
+            ? extends NearCacheNativeRecord> remappingFunction) {
+        return super.apply(key, disposingFunction(remappingFunction));
+    }
+
+    @Override
+    public NearCacheNativeRecord remove(Object key) {
+        NearCacheNativeRecord removedRecord = super.remove(key);
+        disposeIfReplaced(removedRecord, null);
+        return removedRecord;
+    }
+
+    @Override
+    public void clear() {
+        for (Map.Entry<K, NearCacheNativeRecord> entry : entrySet()) {
+            NearCacheNativeRecord record = entry.getValue();
+            if (super.remove(entry.getKey(), record)) {
+                record.dispose();
+            }
+        }
+    }
+
+    @Override
+    public <C extends EvictionCandidate<K, NearCacheNativeRecord>> boolean tryEvict(C evictionCandidate,
+            EvictionListener<K, NearCacheNativeRecord> evictionListener) {
+        if (evictionCandidate == null) {
+            return false;
+        }
+        NearCacheNativeRecord removedRecord = super.remove(evictionCandidate.getAccessor());
+        if (removedRecord == null) {
+            return false;
+        }
+        try {
+            if (removedRecord.getReservationId() != NearCacheRecord.READ_PERMITTED) {
+                // the record was a placeholder marked for update
+                return false;
+            }
+            if (evictionListener != null) {
+                evictionListener.onEvict(evictionCandidate.getAccessor(), removedRecord, false);
+            }
+            return true;
+        } finally {
+            removedRecord.dispose();
+        }
+    }
+
+    private BiFunction<K, NearCacheNativeRecord, NearCacheNativeRecord> disposingFunction(
+            BiFunction<? super K, ? super NearCacheNativeRecord, ? extends NearCacheNativeRecord> remappingFunction) {
+        return (key, oldRecord) -> {
+            NearCacheNativeRecord newRecord = remappingFunction.apply(key, oldRecord);
+            disposeIfReplaced(oldRecord, newRecord);
+            return newRecord;
+        };
+    }
+
+    private static void disposeIfReplaced(NearCacheNativeRecord oldRecord, NearCacheNativeRecord newRecord) {
+        if (oldRecord != null && oldRecord != newRecord) {
+            oldRecord.dispose();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.eviction.EvictionChecker;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
+import com.hazelcast.internal.nearcache.impl.maxsize.NativeMemoryNearCacheEvictionChecker;
+import com.hazelcast.internal.nearcache.impl.record.NearCacheNativeRecord;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.nearcache.NearCache.CACHED_AS_NULL;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.TIME_NOT_SET;
+import static com.hazelcast.internal.nearcache.impl.record.AbstractNearCacheRecord.NUMBER_OF_BOOLEAN_FIELD_TYPES;
+import static com.hazelcast.internal.nearcache.impl.record.AbstractNearCacheRecord.NUMBER_OF_INTEGER_FIELD_TYPES;
+import static com.hazelcast.internal.nearcache.impl.record.AbstractNearCacheRecord.NUMBER_OF_LONG_FIELD_TYPES;
+import static com.hazelcast.internal.util.Clock.currentTimeMillis;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+
+/**
+ * {@link com.hazelcast.internal.nearcache.NearCacheRecordStore} implementation for Near Caches
+ * with {@link com.hazelcast.config.InMemoryFormat#NATIVE} in-memory-format.
+ * <p>
+ * Serialized values are kept in native memory allocated from a
+ * {@link UnsafeMallocMemoryManager}, which is shared by all Near Caches of
+ * an instance and bounded by its native memory capacity. Keys, reservations
+ * and invalidation metadata are kept on-heap like in the other Near Caches,
+ * so eviction sampling and invalidation repairing work the same way.
+ *
+ * @param <K> the type of the key stored in Near Cache
+ * @param <V> the type of the value stored in Near Cache
+ */
+public class NearCacheNativeRecordStore<K, V> extends BaseHeapNearCacheRecordStore<K, V, NearCacheNativeRecord> {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 1000;
+    // reference typed fields: "value", "uuid", "allocator", "mem" and "valueBlock"
+    private static final int NUMBER_OF_REFERENCE_FIELD_TYPES = 5;
+
+    private final UnsafeMallocMemoryManager memoryManager;
+    private final AtomicLong usedNativeMemory = new AtomicLong();
+    private final MemoryAllocator allocator = new TrackingAllocator();
+
+    public NearCacheNativeRecordStore(String name,
+                                      NearCacheConfig nearCacheConfig,
+                                      SerializationService serializationService,
+                                      ClassLoader classLoader,
+                                      UnsafeMallocMemoryManager memoryManager) {
+        super(name, nearCacheConfig, serializationService, classLoader);
+        this.memoryManager = memoryManager;
+    }
+
+    @Override
+    protected EvictionChecker createNearCacheEvictionChecker(EvictionConfig evictionConfig,
+                                                             NearCacheConfig nearCacheConfig) {
+        MaxSizePolicy maxSizePolicy = evictionConfig.getMaxSizePolicy();
+        if (NativeMemoryNearCacheEvictionChecker.supports(maxSizePolicy)) {
+            return new NativeMemoryNearCacheEvictionChecker(maxSizePolicy, evictionConfig.getSize(),
+                    usedNativeMemory::get, memoryManager);
+        }
+        return super.createNearCacheEvictionChecker(evictionConfig, nearCacheConfig);
+    }
+
+    @Override
+    protected NativeNearCacheRecordMap<K> createNearCacheRecordMap(NearCacheConfig nearCacheConfig) {
+        return new NativeNearCacheRecordMap<>(serializationService, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    @Override
+    protected long getKeyStorageMemoryCost(K key) {
+        if (key instanceof Data data) {
+            return REFERENCE_COST_IN_BYTES + data.getHeapCost();
+        } else {
+            // memory cost for non-data typed instance is not supported
+            return 0L;
+        }
+    }
+
+    @Override
+    protected long getRecordStorageMemoryCost(NearCacheNativeRecord record) {
+        if (record == null) {
+            return 0L;
+        }
+        // reference to this record inside map ("store" field)
+        return REFERENCE_COST_IN_BYTES
+                // references held by the record
+                + NUMBER_OF_REFERENCE_FIELD_TYPES * REFERENCE_COST_IN_BYTES
+                // 2 long in uuid
+                + (2 * (Long.SIZE / Byte.SIZE))
+                // native value block
+                + record.getNativeValueSize()
+                + NUMBER_OF_LONG_FIELD_TYPES * (Long.SIZE / Byte.SIZE)
+                + NUMBER_OF_INTEGER_FIELD_TYPES * (Integer.SIZE / Byte.SIZE)
+                + NUMBER_OF_BOOLEAN_FIELD_TYPES;
+    }
+
+    @Override
+    protected NearCacheNativeRecord createRecord(V value) {
+        Data dataValue = toData(value);
+        long creationTime = currentTimeMillis();
+        long expirationTime = timeToLiveMillis > 0 ? creationTime + timeToLiveMillis : TIME_NOT_SET;
+        return new NearCacheNativeRecord(allocator, memoryManager.getAccessor(), dataValue,
+                creationTime, expirationTime);
+    }
+
+    @Override
+    protected void updateRecordValue(NearCacheNativeRecord record, V value) {
+        record.setValue(toData(value));
+    }
+
+    @Nullable
+    @Override
+    public V tryPublishReserved(K key, V value, long reservationId, boolean deserialize) {
+        try {
+            return super.tryPublishReserved(key, value, reservationId, deserialize);
+        } catch (NativeOutOfMemoryError e) {
+            // not enough native memory left to cache the value, drop the reservation instead
+            records.applyIfPresent(key, (k, record) -> {
+                if (record.getReservationId() != reservationId) {
+                    return record;
+                }
+                if (record.getNativeValueSize() > 0 || record.isCachedAsNull()) {
+                    nearCacheStats.decrementOwnedEntryCount();
+                }
+                return null;
+            });
+            return null;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected V recordToValue(NearCacheNativeRecord record) {
+        Data value = record.getValue();
+        if (value != null) {
+            return toValue(value);
+        }
+        // a record disposed by a concurrent invalidation is a miss
+        return record.isCachedAsNull() ? (V) CACHED_AS_NULL : null;
+    }
+
+    /**
+     * @return native memory currently allocated by this Near Cache in bytes
+     */
+    public long getUsedNativeMemory() {
+        return usedNativeMemory.get();
+    }
+
+    /**
+     * Accounts the native memory of this Near Cache on
+     * top of the shared {@link UnsafeMallocMemoryManager}.
+     */
+    private final class TrackingAllocator implements MemoryAllocator {
+
+        @Override
+        public long allocate(long size) {
+            long address = memoryManager.getAllocator().allocate(size);
+            usedNativeMemory.addAndGet(size);
+            return address;
+        }
+
+        @Override
+        public long reallocate(long address, long currentSize, long newSize) {
+            long newAddress = memoryManager.getAllocator().reallocate(address, currentSize, newSize);
+            usedNativeMemory.addAndGet(newSize - currentSize);
+            return newAddress;
+        }
+
+        @Override
+        public void free(long address, long size) {
+            memoryManager.getAllocator().free(address, size);
+            usedNativeMemory.addAndGet(-size);
+        }
+
+        @Override
+        public void dispose() {
+            // the shared memory manager outlives a single Near Cache
+        }
+    }
+}
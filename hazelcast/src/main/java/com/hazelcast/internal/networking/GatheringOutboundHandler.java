@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.networking;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An optional extension of an {@link OutboundHandler} that can hand over its
+ * output as a sequence of {@link ByteBuffer}s instead of copying all bytes into
+ * its dst buffer. The pipeline writes these buffers to the socket with a single
+ * gathering write, so large payloads can be written straight from their byte
+ * arrays.
+ * <p>
+ * Gathering is only possible for the last handler in the pipeline, since the
+ * handlers behind it expect a single src buffer. The pipeline enables or
+ * disables gathering every time its handlers change, which happens before any
+ * frames are written.
+ */
+public interface GatheringOutboundHandler {
+
+    /**
+     * Enables or disables gathering. When disabled, the handler produces all
+     * output in its dst buffer.
+     *
+     * @param enabled {@code true} if the handler is the last handler of the pipeline
+     */
+    void setGatheringEnabled(boolean enabled);
+
+    /**
+     * Checks if gathering is enabled.
+     *
+     * @return {@code true} if the output should be taken from {@link #gatheredBuffers()}
+     */
+    boolean isGatheringEnabled();
+
+    /**
+     * Returns the buffers to write, in order and in reading mode. Only the
+     * first {@link #gatheredCount()} buffers are valid.
+     *
+     * @return the gathered buffers
+     */
+    ByteBuffer[] gatheredBuffers();
+
+    /**
+     * Returns the number of valid buffers in {@link #gatheredBuffers()}.
+     *
+     * @return the number of gathered buffers
+     */
+    int gatheredCount();
+}
@@ -19,6 +19,7 @@ package com.hazelcast.internal.networking.nio;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.networking.ChannelErrorHandler;
 import com.hazelcast.internal.networking.ChannelHandler;
+import com.hazelcast.internal.networking.GatheringOutboundHandler;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.networking.OutboundFrame;
 import com.hazelcast.internal.networking.OutboundHandler;
@@ -116,6 +117,8 @@ public final class NioOutboundPipeline
 
     private OutboundHandler[] handlers = new OutboundHandler[0];
     private ByteBuffer sendBuffer;
+    // the last handler if it hands over its output as multiple buffers, otherwise null
+    private GatheringOutboundHandler gatheringHandler;
 
     private final AtomicReference<State> scheduled = new AtomicReference<>(State.SCHEDULED);
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_BYTES_WRITTEN, unit = BYTES, level = DEBUG)
@@ -331,7 +334,7 @@ public final class NioOutboundPipeline
             return;
         }
 
-        if (sendBuffer.remaining() > 0) {
+        if (hasPendingBytes()) {
             pipelineStatus = DIRTY;
         }
 
@@ -437,11 +440,32 @@ public final class NioOutboundPipeline
 
     private void flushToSocket() throws IOException {
         lastWriteTime = currentTimeMillis();
-        int written = socketChannel.write(sendBuffer);
+        GatheringOutboundHandler gatheringHandler = this.gatheringHandler;
+        long written;
+        if (gatheringHandler == null) {
+            written = socketChannel.write(sendBuffer);
+        } else {
+            written = socketChannel.write(gatheringHandler.gatheredBuffers(), 0, gatheringHandler.gatheredCount());
+        }
         bytesWritten.inc(written);
         //System.out.println(channel + " bytes written:" + written);
     }
 
+    private boolean hasPendingBytes() {
+        GatheringOutboundHandler gatheringHandler = this.gatheringHandler;
+        if (gatheringHandler == null) {
+            return sendBuffer.remaining() > 0;
+        }
+
+        ByteBuffer[] buffers = gatheringHandler.gatheredBuffers();
+        for (int k = gatheringHandler.gatheredCount() - 1; k >= 0; k--) {
+            if (buffers[k].hasRemaining()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     void drainWriteQueues() {
         writeQueue.clear();
         priorityWriteQueue.clear();
@@ -515,8 +539,18 @@ public final class NioOutboundPipeline
         this.handlers = newHandlers;
         this.sendBuffer = newHandlers.length == 0 ? null : (ByteBuffer) newHandlers[newHandlers.length - 1].dst();
 
+        GatheringOutboundHandler newGatheringHandler = null;
         OutboundHandler prev = null;
-        for (OutboundHandler handler : handlers) {
+        for (int k = 0; k < newHandlers.length; k++) {
+            OutboundHandler handler = newHandlers[k];
+            if (handler instanceof GatheringOutboundHandler gathering) {
+                // only the last handler writes directly to the socket
+                gathering.setGatheringEnabled(k == newHandlers.length - 1);
+                if (gathering.isGatheringEnabled()) {
+                    newGatheringHandler = gathering;
+                }
+            }
+
             if (prev == null) {
                 handler.src(this);
             } else {
@@ -527,6 +561,7 @@ public final class NioOutboundPipeline
             }
             prev = handler;
         }
+        this.gatheringHandler = newGatheringHandler;
     }
 
     // useful for debugging
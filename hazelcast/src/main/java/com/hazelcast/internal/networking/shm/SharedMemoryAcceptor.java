@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.networking.shm;
+
+import com.hazelcast.internal.networking.ChannelErrorHandler;
+import com.hazelcast.internal.networking.ChannelInitializer;
+import com.hazelcast.internal.util.concurrent.IdleStrategy;
+import com.hazelcast.logging.ILogger;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.MappedByteBuffer;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static com.hazelcast.internal.networking.shm.SharedMemoryChannel.STATE_ACCEPTED;
+import static com.hazelcast.internal.networking.shm.SharedMemoryChannel.STATE_PENDING;
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.internal.nio.IOUtil.deleteQuietly;
+import static com.hazelcast.internal.util.EmptyStatement.ignore;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.attribute.PosixFilePermission.GROUP_WRITE;
+import static java.nio.file.attribute.PosixFilePermission.OTHERS_WRITE;
+import static java.nio.file.attribute.PosixFilePermissions.asFileAttribute;
+import static java.nio.file.attribute.PosixFilePermissions.fromString;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Accepts {@link SharedMemoryChannel}s requested by {@link SharedMemoryConnector}s
+ * of other processes on the same host.
+ * <p>
+ * The acceptor owns an endpoint directory, which contains an endpoint file with
+ * the pid of the accepting process and the request files of connecting processes.
+ * New request files are detected through a {@link WatchService}; the directory is
+ * rescanned periodically as well, since watch events may be dropped.
+ * <p>
+ * The endpoint directory is accessible only by the user running the acceptor,
+ * so only processes of the same user can connect. Accepted channels report
+ * the loopback address as their remote address, address based checks of
+ * the remote process therefore don't apply to them.
+ */
+public final class SharedMemoryAcceptor {
+
+    static final String REQUEST_SUFFIX = ".request";
+
+    private static final String ENDPOINT_FILE = "endpoint";
+    private static final long RESCAN_INTERVAL_MILLIS = 1000;
+    private static final FileAttribute<Set<PosixFilePermission>> OWNER_ONLY_DIRECTORY
+            = asFileAttribute(fromString("rwx------"));
+
+    private final Path endpointDirectory;
+    private final ChannelInitializer initializer;
+    private final ChannelErrorHandler errorHandler;
+    private final IdleStrategy idleStrategy;
+    private final SocketAddress localAddress;
+    private final SocketAddress remoteAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+    private final Consumer<SharedMemoryChannel> channelConsumer;
+    private final String threadNamePrefix;
+    private final ILogger logger;
+    private final AtomicInteger channelIdGen = new AtomicInteger();
+    private final Thread acceptorThread;
+    private volatile boolean live;
+    private WatchService watchService;
+
+    /**
+     * @param endpointDirectory the endpoint directory of this acceptor
+     * @param initializer       the initializer of accepted channels
+     * @param errorHandler      the handler of errors on the io threads of accepted channels
+     * @param idleStrategy      the idle strategy of the io threads of accepted channels
+     * @param localAddress      the address accepted channels report as local address
+     * @param channelConsumer   consumes accepted channels, responsible for starting them
+     * @param threadNamePrefix  the prefix of the names of the acceptor and io threads
+     * @param logger            the logger
+     */
+    public SharedMemoryAcceptor(Path endpointDirectory,
+                                ChannelInitializer initializer,
+                                ChannelErrorHandler errorHandler,
+                                IdleStrategy idleStrategy,
+                                SocketAddress localAddress,
+                                Consumer<SharedMemoryChannel> channelConsumer,
+                                String threadNamePrefix,
+                                ILogger logger) {
+        this.endpointDirectory = endpointDirectory;
+        this.initializer = initializer;
+        this.errorHandler = errorHandler;
+        this.idleStrategy = idleStrategy;
+        this.localAddress = localAddress;
+        this.channelConsumer = channelConsumer;
+        this.threadNamePrefix = threadNamePrefix;
+        this.logger = logger;
+        this.acceptorThread = new Thread(this::run, threadNamePrefix + "acceptor");
+        acceptorThread.setDaemon(true);
+    }
+
+    /**
+     * Returns the endpoint directory for the given address under the given
+     * base directory. The name contains the IP address as well as the port,
+     * so members bound to the same port on different addresses of the host
+     * don't share an endpoint.
+     */
+    public static Path endpointDirectory(Path baseDirectory, InetSocketAddress address) {
+        // IPv6 addresses contain characters which are not allowed in file names on all platforms
+        String host = address.getAddress().getHostAddress().replace(':', '_').replace('%', '_');
+        return baseDirectory.resolve(host + '-' + address.getPort());
+    }
+
+    /**
+     * Checks if the process which created the endpoint file of the given
+     * endpoint directory is still alive.
+     */
+    static boolean isEndpointAlive(Path endpointDirectory) {
+        try {
+            long pid = Long.parseLong(Files.readString(endpointDirectory.resolve(ENDPOINT_FILE)).trim());
+            return ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false);
+        } catch (IOException | NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks if the given directory is owned by the current user and can't be
+     * written by other users, so they can't take over or inject connections.
+     * Always true for an existing directory on a file system without POSIX
+     * permissions.
+     */
+    static boolean isPrivateDirectory(Path directory) throws IOException {
+        if (!Files.isDirectory(directory, NOFOLLOW_LINKS)) {
+            return false;
+        }
+        if (!isPosix(directory)) {
+            return true;
+        }
+        UserPrincipal currentUser = directory.getFileSystem().getUserPrincipalLookupService()
+                .lookupPrincipalByName(System.getProperty("user.name"));
+        Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(directory, NOFOLLOW_LINKS);
+        return currentUser.equals(Files.getOwner(directory, NOFOLLOW_LINKS))
+                && !permissions.contains(GROUP_WRITE)
+                && !permissions.contains(OTHERS_WRITE);
+    }
+
+    /**
+     * Creates the given directory and its missing parents accessible only by
+     * the current user.
+     *
+     * @throws IOException if the directory can't be created, or it already
+     *                     exists and {@linkplain #isPrivateDirectory isn't private}
+     */
+    static void createPrivateDirectory(Path directory) throws IOException {
+        if (!isPosix(directory)) {
+            Files.createDirectories(directory);
+            return;
+        }
+        Path parent = directory.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent, OWNER_ONLY_DIRECTORY);
+        }
+        try {
+            Files.createDirectory(directory, OWNER_ONLY_DIRECTORY);
+        } catch (FileAlreadyExistsException e) {
+            // checked below
+            ignore(e);
+        }
+        if (!isPrivateDirectory(directory)) {
+            throw new IOException(directory + " has to be a directory owned by the current user and not writable"
+                    + " by other users");
+        }
+    }
+
+    static boolean isPosix(Path path) {
+        return path.getFileSystem().supportedFileAttributeViews().contains("posix");
+    }
+
+    public SharedMemoryAcceptor start() throws IOException {
+        createPrivateDirectory(endpointDirectory);
+        // requests left over by a previous process on the same port can't be served anymore
+        try (DirectoryStream<Path> requests = Files.newDirectoryStream(endpointDirectory, "*" + REQUEST_SUFFIX)) {
+            requests.forEach(request -> deleteQuietly(request.toFile()));
+        }
+        watchService = FileSystems.getDefault().newWatchService();
+        endpointDirectory.register(watchService, ENTRY_CREATE);
+        Files.writeString(endpointDirectory.resolve(ENDPOINT_FILE), Long.toString(ProcessHandle.current().pid()));
+
+        live = true;
+        acceptorThread.start();
+        logger.info("Accepting shared memory connections in " + endpointDirectory);
+        return this;
+    }
+
+    public void shutdown() {
+        if (!live) {
+            return;
+        }
+        live = false;
+        deleteQuietly(endpointDirectory.resolve(ENDPOINT_FILE).toFile());
+        closeResource(watchService);
+        acceptorThread.interrupt();
+    }
+
+    private void run() {
+        while (live) {
+            try {
+                WatchKey key = watchService.poll(RESCAN_INTERVAL_MILLIS, MILLISECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+                acceptRequests();
+            } catch (ClosedWatchServiceException | InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                logger.warning("Failed to scan " + endpointDirectory + " for shared memory connection requests", e);
+            }
+        }
+    }
+
+    private void acceptRequests() throws IOException {
+        try (DirectoryStream<Path> requests = Files.newDirectoryStream(endpointDirectory, "*" + REQUEST_SUFFIX)) {
+            for (Path request : requests) {
+                if (!live) {
+                    return;
+                }
+                accept(request);
+            }
+        }
+    }
+
+    private void accept(Path requestFile) {
+        SharedMemoryChannel channel = null;
+        try {
+            MappedByteBuffer buffer = SharedMemoryChannel.openFile(requestFile);
+            if (SharedMemoryChannel.state(buffer) != STATE_PENDING) {
+                return;
+            }
+            channel = new SharedMemoryChannel(buffer, false, initializer, errorHandler, idleStrategy,
+                    localAddress, remoteAddress, threadNamePrefix + "channel-" + channelIdGen.incrementAndGet());
+            channelConsumer.accept(channel);
+            SharedMemoryChannel.state(buffer, STATE_ACCEPTED);
+        } catch (NoSuchFileException e) {
+            // the connector gave up on the request
+            logger.finest(e);
+        } catch (Exception e) {
+            logger.warning("Failed to accept shared memory connection " + requestFile, e);
+            closeResource(channel);
+        } finally {
+            // the mapping stays valid after the file is deleted
+            deleteQuietly(requestFile.toFile());
+        }
+    }
+}
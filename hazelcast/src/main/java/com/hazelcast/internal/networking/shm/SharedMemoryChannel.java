@@ -0,0 +1,666 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.networking.shm;
+
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.internal.networking.Channel;
+import com.hazelcast.internal.networking.ChannelCloseListener;
+import com.hazelcast.internal.networking.ChannelErrorHandler;
+import com.hazelcast.internal.networking.ChannelHandler;
+import com.hazelcast.internal.networking.ChannelInitializer;
+import com.hazelcast.internal.networking.ChannelOption;
+import com.hazelcast.internal.networking.ChannelOptions;
+import com.hazelcast.internal.networking.GatheringOutboundHandler;
+import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.networking.InboundHandler;
+import com.hazelcast.internal.networking.InboundPipeline;
+import com.hazelcast.internal.networking.OutboundFrame;
+import com.hazelcast.internal.networking.OutboundHandler;
+import com.hazelcast.internal.networking.OutboundPipeline;
+import com.hazelcast.internal.networking.nio.InboundHandlerWithCounters;
+import com.hazelcast.internal.util.concurrent.IdleStrategy;
+import com.hazelcast.internal.util.counters.SwCounter;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileAttribute;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import static com.hazelcast.internal.networking.ChannelOption.DIRECT_BUF;
+import static com.hazelcast.internal.networking.ChannelOption.SO_RCVBUF;
+import static com.hazelcast.internal.networking.ChannelOption.SO_SNDBUF;
+import static com.hazelcast.internal.networking.HandlerStatus.BLOCKED;
+import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
+import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
+import static com.hazelcast.internal.util.Clock.currentTimeMillis;
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.util.collection.ArrayUtils.append;
+import static com.hazelcast.internal.util.collection.ArrayUtils.replaceFirst;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+import static java.lang.String.format;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.nio.file.attribute.PosixFilePermissions.asFileAttribute;
+import static java.nio.file.attribute.PosixFilePermissions.fromString;
+import static java.util.Collections.newSetFromMap;
+
+/**
+ * A {@link Channel} which exchanges bytes with a process on the same host
+ * through two {@link SharedMemoryRing}s in a memory-mapped file instead of a
+ * socket.
+ * <p>
+ * The channel runs the regular inbound and outbound handlers, so the protocol
+ * on top of it is exactly the one used over TCP. Both pipelines are processed
+ * by a single dedicated thread which spins, yields and eventually parks
+ * according to an {@link IdleStrategy} when there is nothing to read or
+ * write. Writers unpark that thread after queueing a frame; the remote process
+ * can't be signalled, so a parked thread notices inbound bytes when its park
+ * period ends.
+ * <p>
+ * The file starts with a small header followed by the ring written by the
+ * client-mode side and the ring written by the server-mode side:
+ * <pre>
+ * | magic (4) | ring capacity (4) | state (4) | pad | client ring | server ring |
+ * </pre>
+ * The state is used for the rendezvous between the connecting and the
+ * accepting process, see {@link SharedMemoryConnector} and
+ * {@link SharedMemoryAcceptor}.
+ */
+public final class SharedMemoryChannel implements Channel {
+
+    static final int STATE_PENDING = 0;
+    static final int STATE_ACCEPTED = 1;
+
+    private static final int MAGIC = 0x48534D31;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = 4;
+    private static final int STATE_OFFSET = 8;
+    private static final int FILE_HEADER_SIZE = 64;
+    private static final Set<OpenOption> CREATE_OPTIONS = Set.of(CREATE_NEW, READ, WRITE);
+
+    private final ILogger logger = Logger.getLogger(SharedMemoryChannel.class);
+    private final ConcurrentMap<?, ?> attributeMap = new ConcurrentHashMap<>();
+    private final Set<ChannelCloseListener> closeListeners = newSetFromMap(new ConcurrentHashMap<>());
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final SharedMemoryChannelOptions options = new SharedMemoryChannelOptions();
+    private final SharedMemoryInboundPipeline inboundPipeline = new SharedMemoryInboundPipeline();
+    private final SharedMemoryOutboundPipeline outboundPipeline = new SharedMemoryOutboundPipeline();
+    private final MappedByteBuffer buffer;
+    private final SharedMemoryRing inboundRing;
+    private final SharedMemoryRing outboundRing;
+    private final boolean clientMode;
+    private final ChannelInitializer initializer;
+    private final ChannelErrorHandler errorHandler;
+    private final IdleStrategy idleStrategy;
+    private final SocketAddress localAddress;
+    private final SocketAddress remoteAddress;
+    private final Thread ioThread;
+
+    SharedMemoryChannel(MappedByteBuffer buffer,
+                        boolean clientMode,
+                        ChannelInitializer initializer,
+                        ChannelErrorHandler errorHandler,
+                        IdleStrategy idleStrategy,
+                        SocketAddress localAddress,
+                        SocketAddress remoteAddress,
+                        String threadName) {
+        this.buffer = buffer;
+        this.clientMode = clientMode;
+        this.initializer = initializer;
+        this.errorHandler = errorHandler;
+        this.idleStrategy = idleStrategy;
+        this.localAddress = localAddress;
+        this.remoteAddress = remoteAddress;
+
+        int ringCapacity = buffer.getInt(CAPACITY_OFFSET);
+        SharedMemoryRing clientRing = new SharedMemoryRing(buffer, FILE_HEADER_SIZE, ringCapacity);
+        SharedMemoryRing serverRing = new SharedMemoryRing(buffer,
+                FILE_HEADER_SIZE + SharedMemoryRing.sizeOf(ringCapacity), ringCapacity);
+        this.inboundRing = clientMode ? serverRing : clientRing;
+        this.outboundRing = clientMode ? clientRing : serverRing;
+
+        options.setOption(DIRECT_BUF, false)
+                .setOption(SO_RCVBUF, ringCapacity)
+                .setOption(SO_SNDBUF, ringCapacity);
+        this.ioThread = new Thread(this::run, threadName);
+        ioThread.setDaemon(true);
+    }
+
+    /**
+     * Creates a new channel file with rings of the given capacity and
+     * maps it into memory. The file is readable and writable only by the
+     * current user, since all the frames of the channel pass through it.
+     *
+     * @throws java.nio.file.FileAlreadyExistsException if the file already exists
+     */
+    static MappedByteBuffer createFile(Path file, int ringCapacity) throws IOException {
+        int size = FILE_HEADER_SIZE + 2 * SharedMemoryRing.sizeOf(ringCapacity);
+        FileAttribute<?>[] attributes = SharedMemoryAcceptor.isPosix(file)
+                ? new FileAttribute<?>[]{asFileAttribute(fromString("rw-------"))}
+                : new FileAttribute<?>[0];
+        try (FileChannel fileChannel = FileChannel.open(file, CREATE_OPTIONS, attributes)) {
+            MappedByteBuffer buffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.nativeOrder());
+            buffer.putInt(CAPACITY_OFFSET, ringCapacity);
+            buffer.putInt(STATE_OFFSET, STATE_PENDING);
+            buffer.putInt(MAGIC_OFFSET, MAGIC);
+            return buffer;
+        }
+    }
+
+    /**
+     * Maps an existing channel file into memory.
+     *
+     * @throws IOException if the file isn't a valid channel file
+     */
+    static MappedByteBuffer openFile(Path file) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(file, READ, WRITE)) {
+            MappedByteBuffer buffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, fileChannel.size());
+            buffer.order(ByteOrder.nativeOrder());
+            if (buffer.capacity() < FILE_HEADER_SIZE || buffer.getInt(MAGIC_OFFSET) != MAGIC
+                    || buffer.capacity() != FILE_HEADER_SIZE + 2 * SharedMemoryRing.sizeOf(buffer.getInt(CAPACITY_OFFSET))) {
+                throw new IOException("Not a shared memory channel file: " + file);
+            }
+            return buffer;
+        }
+    }
+
+    static int state(ByteBuffer buffer) {
+        return (int) SharedMemoryRing.INT.getAcquire(buffer, STATE_OFFSET);
+    }
+
+    static void state(ByteBuffer buffer, int state) {
+        SharedMemoryRing.INT.setRelease(buffer, STATE_OFFSET, state);
+    }
+
+    /**
+     * Closes the ring of the client-mode side of a file no channel was
+     * created for, so a late acceptor reads an end-of-stream.
+     */
+    static void abandon(ByteBuffer buffer) {
+        new SharedMemoryRing(buffer, FILE_HEADER_SIZE, buffer.getInt(CAPACITY_OFFSET)).close();
+    }
+
+    @Override
+    public ChannelOptions options() {
+        return options;
+    }
+
+    @Override
+    public ConcurrentMap attributeMap() {
+        return attributeMap;
+    }
+
+    @Override
+    public InboundPipeline inboundPipeline() {
+        return inboundPipeline;
+    }
+
+    @Override
+    public OutboundPipeline outboundPipeline() {
+        return outboundPipeline;
+    }
+
+    /**
+     * Returns {@code null} since there is no socket behind this channel.
+     */
+    @Override
+    public Socket socket() {
+        return null;
+    }
+
+    @Override
+    public SocketAddress remoteSocketAddress() {
+        return remoteAddress;
+    }
+
+    @Override
+    public SocketAddress localSocketAddress() {
+        return localAddress;
+    }
+
+    @Override
+    public long lastReadTimeMillis() {
+        return inboundPipeline.lastReadTime;
+    }
+
+    @Override
+    public long lastWriteTimeMillis() {
+        return outboundPipeline.lastWriteTime;
+    }
+
+    @Override
+    public void start() {
+        try {
+            initializer.initChannel(this);
+        } catch (Exception e) {
+            throw new HazelcastException("Failed to start " + this, e);
+        }
+        ioThread.start();
+    }
+
+    /**
+     * Not supported, a shared memory channel is connected when it is
+     * created by the {@link SharedMemoryConnector}.
+     */
+    @Override
+    public void connect(InetSocketAddress address, int timeoutMillis) {
+        throw new UnsupportedOperationException("A shared memory channel is connected on creation");
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        outboundRing.close();
+        outboundPipeline.drainWriteQueues();
+        LockSupport.unpark(ioThread);
+
+        // unlike nio threads, the io thread is dedicated to this channel, so listeners don't need to be offloaded
+        for (ChannelCloseListener closeListener : closeListeners) {
+            try {
+                closeListener.onClose(this);
+            } catch (Exception e) {
+                logger.severe(format("Failed to process closeListener [%s] on channel [%s]", closeListener, this), e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    @Override
+    public void addCloseListener(ChannelCloseListener listener) {
+        closeListeners.add(checkNotNull(listener, "listener"));
+    }
+
+    @Override
+    public boolean isClientMode() {
+        return clientMode;
+    }
+
+    @Override
+    public boolean write(OutboundFrame frame) {
+        if (isClosed()) {
+            return false;
+        }
+        outboundPipeline.write(frame);
+        return true;
+    }
+
+    @Override
+    public long bytesRead() {
+        return inboundPipeline.bytesRead.get();
+    }
+
+    @Override
+    public long bytesWritten() {
+        return outboundPipeline.bytesWritten.get();
+    }
+
+    @Override
+    public String toString() {
+        return "SharedMemoryChannel{" + localAddress + "->" + remoteAddress + '}';
+    }
+
+    private void run() {
+        long idleCount = 0;
+        try {
+            while (!isClosed()) {
+                // both pipelines have to be processed, no short-circuit
+                boolean progress = inboundPipeline.process() | outboundPipeline.process();
+                if (progress) {
+                    idleCount = 0;
+                } else {
+                    idleStrategy.idle(idleCount++);
+                }
+            }
+        } catch (Throwable t) {
+            if (!isClosed()) {
+                errorHandler.onError(this, t);
+            }
+        }
+    }
+
+    private final class SharedMemoryInboundPipeline implements InboundPipeline {
+
+        private final SwCounter bytesRead = newSwCounter();
+        private final SwCounter normalFramesRead = newSwCounter();
+        private final SwCounter priorityFramesRead = newSwCounter();
+        private volatile InboundHandler[] handlers = new InboundHandler[0];
+        private volatile long lastReadTime;
+        private volatile boolean wakeupRequested;
+        private ByteBuffer receiveBuffer;
+        private boolean blocked;
+
+        // is only called by the io thread
+        boolean process() throws Exception {
+            boolean wakeup = wakeupRequested;
+            if (wakeup) {
+                wakeupRequested = false;
+                blocked = false;
+            }
+            if (blocked) {
+                return false;
+            }
+
+            ByteBuffer receiveBuffer = this.receiveBuffer;
+            int readBytes = receiveBuffer == null ? 0 : inboundRing.read(receiveBuffer);
+            if (readBytes > 0) {
+                lastReadTime = currentTimeMillis();
+                bytesRead.inc(readBytes);
+            } else if (!wakeup) {
+                if (inboundRing.isClosed() && inboundRing.size() == 0) {
+                    throw new EOFException("Remote channel closed!");
+                }
+                return false;
+            }
+
+            InboundHandler[] localHandlers = handlers;
+            boolean cleanPipeline;
+            do {
+                cleanPipeline = true;
+                for (int handlerIndex = 0; handlerIndex < localHandlers.length; handlerIndex++) {
+                    HandlerStatus handlerStatus = localHandlers[handlerIndex].onRead();
+                    if (localHandlers != handlers) {
+                        // change in the pipeline detected, restarting loop
+                        handlerIndex = -1;
+                        localHandlers = handlers;
+                        continue;
+                    }
+
+                    if (handlerStatus == DIRTY) {
+                        cleanPipeline = false;
+                    } else if (handlerStatus == BLOCKED) {
+                        // keep flushing everything downstream, but stop reading until woken up
+                        blocked = true;
+                    }
+                }
+            } while (!cleanPipeline);
+            return true;
+        }
+
+        @Override
+        public InboundPipeline addLast(InboundHandler... addedHandlers) {
+            checkNotNull(addedHandlers, "handlers can't be null");
+
+            for (InboundHandler addedHandler : addedHandlers) {
+                addHandler(addedHandler);
+            }
+            updatePipeline(append(handlers, addedHandlers));
+            return this;
+        }
+
+        @Override
+        public InboundPipeline replace(InboundHandler oldHandler, InboundHandler... addedHandlers) {
+            checkNotNull(oldHandler, "oldHandler can't be null");
+            checkNotNull(addedHandlers, "addedHandlers can't be null");
+
+            InboundHandler[] newHandlers = replaceFirst(handlers, oldHandler, addedHandlers);
+            if (newHandlers == handlers) {
+                throw new IllegalArgumentException("handler " + oldHandler + " isn't part of the pipeline");
+            }
+
+            for (InboundHandler addedHandler : addedHandlers) {
+                addHandler(addedHandler);
+            }
+            updatePipeline(newHandlers);
+            return this;
+        }
+
+        @Override
+        public InboundPipeline remove(InboundHandler handler) {
+            return replace(handler);
+        }
+
+        @Override
+        public InboundPipeline wakeup() {
+            wakeupRequested = true;
+            LockSupport.unpark(ioThread);
+            return this;
+        }
+
+        private void addHandler(InboundHandler addedHandler) {
+            if (addedHandler instanceof InboundHandlerWithCounters c) {
+                c.setNormalPacketsRead(normalFramesRead);
+                c.setPriorityPacketsRead(priorityFramesRead);
+            }
+            addedHandler.setChannel(SharedMemoryChannel.this).handlerAdded();
+        }
+
+        private void updatePipeline(InboundHandler[] handlers) {
+            this.handlers = handlers;
+            receiveBuffer = handlers.length == 0 ? null : (ByteBuffer) handlers[0].src();
+
+            InboundHandler prev = null;
+            for (InboundHandler handler : handlers) {
+                if (prev != null) {
+                    Object src = handler.src();
+                    if (src instanceof ByteBuffer) {
+                        prev.dst(src);
+                    }
+                }
+                prev = handler;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return SharedMemoryChannel.this + ".inboundPipeline";
+        }
+    }
+
+    private final class SharedMemoryOutboundPipeline implements OutboundPipeline, Supplier<OutboundFrame> {
+
+        private final Queue<OutboundFrame> writeQueue = new ConcurrentLinkedQueue<>();
+        private final Queue<OutboundFrame> priorityWriteQueue = new ConcurrentLinkedQueue<>();
+        private final SwCounter bytesWritten = newSwCounter();
+        private volatile OutboundHandler[] handlers = new OutboundHandler[0];
+        private volatile long lastWriteTime;
+        // the pipeline is processed once on start, like a freshly registered nio pipeline
+        private volatile boolean writeRequested = true;
+        private volatile boolean wakeupRequested;
+        private ByteBuffer sendBuffer;
+        private boolean blocked;
+        private boolean dirty;
+        private long framesPolled;
+
+        void write(OutboundFrame frame) {
+            if (frame.isUrgent()) {
+                priorityWriteQueue.offer(frame);
+            } else {
+                writeQueue.offer(frame);
+            }
+            writeRequested = true;
+            LockSupport.unpark(ioThread);
+        }
+
+        @Override
+        public OutboundFrame get() {
+            OutboundFrame frame = priorityWriteQueue.poll();
+            if (frame == null) {
+                frame = writeQueue.poll();
+            }
+            if (frame != null) {
+                framesPolled++;
+            }
+            return frame;
+        }
+
+        // is only called by the io thread
+        @SuppressWarnings("unchecked")
+        boolean process() throws Exception {
+            if (wakeupRequested) {
+                wakeupRequested = false;
+                blocked = false;
+                writeRequested = true;
+            }
+            if (blocked || !(writeRequested || dirty)) {
+                return false;
+            }
+            writeRequested = false;
+
+            long framesPolledBefore = framesPolled;
+            OutboundHandler[] localHandlers = handlers;
+            HandlerStatus pipelineStatus = CLEAN;
+            for (int handlerIndex = 0; handlerIndex < localHandlers.length; handlerIndex++) {
+                HandlerStatus handlerStatus = localHandlers[handlerIndex].onWrite();
+                if (localHandlers != handlers) {
+                    // change in the pipeline detected, therefor the loop is restarted.
+                    localHandlers = handlers;
+                    pipelineStatus = CLEAN;
+                    handlerIndex = -1;
+                } else if (handlerStatus != CLEAN) {
+                    pipelineStatus = handlerStatus;
+                }
+            }
+
+            int written = 0;
+            ByteBuffer sendBuffer = this.sendBuffer;
+            if (sendBuffer != null) {
+                written = outboundRing.write(sendBuffer);
+                if (written > 0) {
+                    lastWriteTime = currentTimeMillis();
+                    bytesWritten.inc(written);
+                }
+                if (sendBuffer.hasRemaining()) {
+                    pipelineStatus = DIRTY;
+                }
+            }
+
+            dirty = pipelineStatus == DIRTY;
+            blocked = pipelineStatus == BLOCKED;
+            return written > 0 || framesPolled != framesPolledBefore;
+        }
+
+        void drainWriteQueues() {
+            writeQueue.clear();
+            priorityWriteQueue.clear();
+        }
+
+        @Override
+        public OutboundPipeline addLast(OutboundHandler... addedHandlers) {
+            checkNotNull(addedHandlers, "addedHandlers can't be null");
+
+            for (OutboundHandler addedHandler : addedHandlers) {
+                addedHandler.setChannel(SharedMemoryChannel.this).handlerAdded();
+            }
+            updatePipeline(append(handlers, addedHandlers));
+            return this;
+        }
+
+        @Override
+        public OutboundPipeline replace(OutboundHandler oldHandler, OutboundHandler... addedHandlers) {
+            checkNotNull(oldHandler, "oldHandler can't be null");
+            checkNotNull(addedHandlers, "addedHandlers can't be null");
+
+            OutboundHandler[] newHandlers = replaceFirst(handlers, oldHandler, addedHandlers);
+            if (newHandlers == handlers) {
+                throw new IllegalArgumentException("handler " + oldHandler + " isn't part of the pipeline");
+            }
+
+            for (OutboundHandler addedHandler : addedHandlers) {
+                addedHandler.setChannel(SharedMemoryChannel.this).handlerAdded();
+            }
+            updatePipeline(newHandlers);
+            return this;
+        }
+
+        @Override
+        public OutboundPipeline remove(OutboundHandler handler) {
+            return replace(handler);
+        }
+
+        @Override
+        public OutboundPipeline wakeup() {
+            wakeupRequested = true;
+            LockSupport.unpark(ioThread);
+            return this;
+        }
+
+        private void updatePipeline(OutboundHandler[] newHandlers) {
+            this.handlers = newHandlers;
+            this.sendBuffer = newHandlers.length == 0 ? null : (ByteBuffer) newHandlers[newHandlers.length - 1].dst();
+
+            ChannelHandler prev = null;
+            for (OutboundHandler handler : newHandlers) {
+                if (handler instanceof GatheringOutboundHandler gathering) {
+                    // there is no gathering write into a ring
+                    gathering.setGatheringEnabled(false);
+                }
+
+                if (prev == null) {
+                    handler.src(this);
+                } else {
+                    Object src = prev.dst();
+                    if (src instanceof ByteBuffer) {
+                        handler.src(src);
+                    }
+                }
+                prev = handler;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return SharedMemoryChannel.this + ".outboundPipeline";
+        }
+    }
+
+    private static final class SharedMemoryChannelOptions implements ChannelOptions {
+
+        private final ConcurrentMap<ChannelOption<?>, Object> values = new ConcurrentHashMap<>();
+
+        @Override
+        public <T> ChannelOptions setOption(ChannelOption<T> option, T value) {
+            checkNotNull(option, "option can't be null");
+            checkNotNull(value, "value can't be null");
+            values.put(option, value);
+            return this;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getOption(ChannelOption<T> option) {
+            return (T) values.get(option);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.networking.shm;
+
+import com.hazelcast.internal.networking.ChannelErrorHandler;
+import com.hazelcast.internal.networking.ChannelInitializer;
+import com.hazelcast.internal.util.UuidUtil;
+import com.hazelcast.internal.util.concurrent.IdleStrategy;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+import static com.hazelcast.internal.networking.shm.SharedMemoryAcceptor.REQUEST_SUFFIX;
+import static com.hazelcast.internal.networking.shm.SharedMemoryAcceptor.isEndpointAlive;
+import static com.hazelcast.internal.networking.shm.SharedMemoryAcceptor.isPrivateDirectory;
+import static com.hazelcast.internal.networking.shm.SharedMemoryChannel.STATE_ACCEPTED;
+import static com.hazelcast.internal.nio.IOUtil.deleteQuietly;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+
+/**
+ * Connects a {@link SharedMemoryChannel} to a {@link SharedMemoryAcceptor}
+ * running in another process on the same host.
+ * <p>
+ * The connector creates the channel file under a temporary name and atomically
+ * renames it into a request file, so the acceptor never sees a partially
+ * initialized file. It then waits until the acceptor marks the file as accepted.
+ * Only endpoint directories owned by the current user are connected to, so
+ * another local user can't pose as the acceptor.
+ */
+public final class SharedMemoryConnector {
+
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private SharedMemoryConnector() {
+    }
+
+    /**
+     * Checks if the given address belongs to this host, so a process
+     * listening on it could be reached through shared memory.
+     */
+    public static boolean isLocalAddress(InetAddress address) {
+        if (address.isAnyLocalAddress() || address.isLoopbackAddress()) {
+            return true;
+        }
+        try {
+            return NetworkInterface.getByInetAddress(address) != null;
+        } catch (SocketException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Connects to the acceptor of the given endpoint directory.
+     *
+     * @param endpointDirectory the directory of the acceptor, see {@link SharedMemoryAcceptor#endpointDirectory}
+     * @param ringCapacity      the capacity of each ring of the channel in bytes, has to be a power of 2
+     * @param timeoutMillis     the maximum time to wait for the acceptor
+     * @param initializer       the initializer of the channel
+     * @param errorHandler      the handler of errors on the io thread of the channel
+     * @param idleStrategy      the idle strategy of the io thread of the channel
+     * @param remoteAddress     the address the channel reports as remote address
+     * @param threadName        the name of the io thread of the channel
+     * @return the connected channel, not started yet, or {@code null} if there is no
+     * live acceptor of the current user or it didn't accept the channel in time
+     * @throws IOException if the channel file could not be created
+     */
+    public static SharedMemoryChannel connect(Path endpointDirectory,
+                                              int ringCapacity,
+                                              long timeoutMillis,
+                                              ChannelInitializer initializer,
+                                              ChannelErrorHandler errorHandler,
+                                              IdleStrategy idleStrategy,
+                                              InetSocketAddress remoteAddress,
+                                              String threadName) throws IOException {
+        if (!isPrivateDirectory(endpointDirectory) || !isEndpointAlive(endpointDirectory)) {
+            return null;
+        }
+
+        String id = UuidUtil.newUnsecureUuidString();
+        Path temporaryFile = endpointDirectory.resolve(id + TEMPORARY_SUFFIX);
+        Path requestFile = endpointDirectory.resolve(id + REQUEST_SUFFIX);
+        MappedByteBuffer buffer;
+        try {
+            buffer = SharedMemoryChannel.createFile(temporaryFile, ringCapacity);
+            Files.move(temporaryFile, requestFile, ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            // the endpoint went away in the meantime
+            return null;
+        } finally {
+            deleteQuietly(temporaryFile.toFile());
+        }
+
+        long deadlineNanos = System.nanoTime() + Math.max(timeoutMillis, 0) * 1_000_000L;
+        long idleCount = 0;
+        while (SharedMemoryChannel.state(buffer) != STATE_ACCEPTED) {
+            if (System.nanoTime() - deadlineNanos >= 0 || !Files.exists(endpointDirectory)) {
+                // the acceptor may still pick the request up; it sees the channel as closed then
+                deleteQuietly(requestFile.toFile());
+                SharedMemoryChannel.abandon(buffer);
+                return null;
+            }
+            idleStrategy.idle(idleCount++);
+        }
+
+        InetSocketAddress localAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        return new SharedMemoryChannel(buffer, true, initializer, errorHandler, idleStrategy,
+                localAddress, remoteAddress, threadName);
+    }
+}
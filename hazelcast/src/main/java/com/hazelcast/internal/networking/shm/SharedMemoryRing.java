@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.networking.shm;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static com.hazelcast.internal.util.Preconditions.checkTrue;
+import static com.hazelcast.internal.util.QuickMath.isPowerOfTwo;
+
+/**
+ * A single-producer single-consumer byte ring on top of a (memory-mapped)
+ * {@link ByteBuffer}, shared by the two processes of a
+ * {@link SharedMemoryChannel}.
+ * <p>
+ * The ring consists of a header followed by the data region:
+ * <pre>
+ * | tail (8) | pad | head (8) | pad | closed (4) | pad | data (capacity) |
+ * </pre>
+ * The tail and head are ever-increasing byte sequences, each written by a single
+ * side only and kept on their own cache line to prevent false sharing. The
+ * producer publishes written bytes with a release store on the tail, the
+ * consumer frees space with a release store on the head.
+ */
+public final class SharedMemoryRing {
+
+    /**
+     * The size of the ring header in bytes.
+     */
+    public static final int HEADER_SIZE = 192;
+
+    private static final int TAIL_OFFSET = 0;
+    private static final int HEAD_OFFSET = 64;
+    private static final int CLOSED_OFFSET = 128;
+
+    static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final ByteBuffer header;
+    private final ByteBuffer data;
+    private final int capacity;
+    private final int mask;
+
+    /**
+     * Creates a ring on the region of the given buffer starting at the
+     * given offset. The region has to be {@link #sizeOf(int)} bytes long
+     * and the offset has to be aligned on 8 bytes.
+     *
+     * @param buffer   the (direct) buffer holding the ring
+     * @param offset   the offset of the ring in the buffer
+     * @param capacity the capacity of the data region; has to be a power of 2
+     */
+    public SharedMemoryRing(ByteBuffer buffer, int offset, int capacity) {
+        checkTrue(isPowerOfTwo(capacity), "capacity must be a power of 2, but was " + capacity);
+        this.header = buffer.slice(offset, HEADER_SIZE);
+        this.data = buffer.slice(offset + HEADER_SIZE, capacity);
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Returns the number of bytes a ring with the given capacity occupies.
+     */
+    public static int sizeOf(int capacity) {
+        return HEADER_SIZE + capacity;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Writes as many of the remaining bytes of the given buffer as fit into
+     * the ring. Can only be called by the producer.
+     *
+     * @param src the buffer in reading mode
+     * @return the number of bytes written
+     */
+    public int write(ByteBuffer src) {
+        long tail = (long) LONG.getOpaque(header, TAIL_OFFSET);
+        long head = (long) LONG.getAcquire(header, HEAD_OFFSET);
+        int length = (int) Math.min(src.remaining(), capacity - (tail - head));
+        if (length == 0) {
+            return 0;
+        }
+
+        int index = (int) (tail & mask);
+        int firstLength = Math.min(length, capacity - index);
+        int position = src.position();
+        data.put(index, src, position, firstLength);
+        if (firstLength < length) {
+            data.put(0, src, position + firstLength, length - firstLength);
+        }
+        src.position(position + length);
+        LONG.setRelease(header, TAIL_OFFSET, tail + length);
+        return length;
+    }
+
+    /**
+     * Reads as many bytes from the ring as fit into the given buffer. Can
+     * only be called by the consumer.
+     *
+     * @param dst the buffer in writing mode
+     * @return the number of bytes read
+     */
+    public int read(ByteBuffer dst) {
+        long head = (long) LONG.getOpaque(header, HEAD_OFFSET);
+        long tail = (long) LONG.getAcquire(header, TAIL_OFFSET);
+        int length = (int) Math.min(dst.remaining(), tail - head);
+        if (length == 0) {
+            return 0;
+        }
+
+        int index = (int) (head & mask);
+        int firstLength = Math.min(length, capacity - index);
+        int position = dst.position();
+        dst.put(position, data, index, firstLength);
+        if (firstLength < length) {
+            dst.put(position + firstLength, data, 0, length - firstLength);
+        }
+        dst.position(position + length);
+        LONG.setRelease(header, HEAD_OFFSET, head + length);
+        return length;
+    }
+
+    /**
+     * Returns the number of bytes written but not yet read.
+     */
+    public int size() {
+        long head = (long) LONG.getAcquire(header, HEAD_OFFSET);
+        long tail = (long) LONG.getAcquire(header, TAIL_OFFSET);
+        return (int) (tail - head);
+    }
+
+    /**
+     * Marks the ring as closed by the producer. Bytes written before
+     * closing can still be read.
+     */
+    public void close() {
+        INT.setRelease(header, CLOSED_OFFSET, 1);
+    }
+
+    public boolean isClosed() {
+        return (int) INT.getAcquire(header, CLOSED_OFFSET) != 0;
+    }
+}
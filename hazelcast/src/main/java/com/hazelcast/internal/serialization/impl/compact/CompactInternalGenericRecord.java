@@ -211,7 +211,10 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
         }
     }
 
-    private boolean getBoolean(FieldDescriptor fd) {
+    /**
+     * Reads a BOOLEAN field by its descriptor, which must belong to the schema of this record.
+     */
+    boolean getBoolean(FieldDescriptor fd) {
         try {
             int booleanOffset = fd.getOffset();
             int bitOffset = fd.getBitOffset();
@@ -229,11 +232,7 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
         FieldKind fieldKind = fd.getKind();
         switch (fieldKind) {
             case INT8:
-                try {
-                    return in.readByte(readFixedSizePosition(fd));
-                } catch (IOException e) {
-                    throw illegalStateException(e);
-                }
+                return getInt8(fd);
             case NULLABLE_INT8:
                 return getVariableSizeAsNonNull(fd, ObjectDataInput::readByte, "Int8");
             default:
@@ -241,17 +240,24 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
         }
     }
 
+    /**
+     * Reads a INT8 field by its descriptor, which must belong to the schema of this record.
+     */
+    byte getInt8(FieldDescriptor fd) {
+        try {
+            return in.readByte(readFixedSizePosition(fd));
+        } catch (IOException e) {
+            throw illegalStateException(e);
+        }
+    }
+
     @Override
     public short getInt16(@Nonnull String fieldName) {
         FieldDescriptor fd = getFieldDescriptor(fieldName);
         FieldKind fieldKind = fd.getKind();
         switch (fieldKind) {
             case INT16:
-                try {
-                    return in.readShort(readFixedSizePosition(fd));
-                } catch (IOException e) {
-                    throw illegalStateException(e);
-                }
+                return getInt16(fd);
             case NULLABLE_INT16:
                 return getVariableSizeAsNonNull(fd, ObjectDataInput::readShort, "Int16");
             default:
@@ -259,17 +265,24 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
         }
     }
 
+    /**
+     * Reads a INT16 field by its descriptor, which must belong to the schema of this record.
+     */
+    short getInt16(FieldDescriptor fd) {
+        try {
+            return in.readShort(readFixedSizePosition(fd));
+        } catch (IOException e) {
+            throw illegalStateException(e);
+        }
+    }
+
     @Override
     public int getInt32(@Nonnull String fieldName) {
         FieldDescriptor fd = getFieldDescriptor(fieldName);
         FieldKind fieldKind = fd.getKind();
         switch (fieldKind) {
             case INT32:
-                try {
-                    return in.readInt(readFixedSizePosition(fd));
-                } catch (IOException e) {
-                    throw illegalStateException(e);
-                }
+                return getInt32(fd);
             case NULLABLE_INT32:
                 return getVariableSizeAsNonNull(fd, ObjectDataInput::readInt, "Int32");
             default:
@@ -277,17 +290,24 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
         }
     }
 
+    /**
+     * Reads a INT32 field by its descriptor, which must belong to the schema of this record.
+     */
+    int getInt32(FieldDescriptor fd) {
+        try {
+            return in.readInt(readFixedSizePosition(fd));
+        } catch (IOException e) {
+            throw illegalStateException(e);
+        }
+    }
+
     @Override
     public long getInt64(@Nonnull String fieldName) {
         FieldDescriptor fd = getFieldDescriptor(fieldName);
         FieldKind fieldKind = fd.getKind();
         switch (fieldKind) {
             case INT64:
-                try {
-                    return in.readLong(readFixedSizePosition(fd));
-                } catch (IOException e) {
-                    throw illegalStateException(e);
-                }
+                return getInt64(fd);
             case NULLABLE_INT64:
                 return getVariableSizeAsNonNull(fd, ObjectDataInput::readLong, "Int64");
             default:
@@ -295,17 +315,24 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
         }
     }
 
+    /**
+     * Reads a INT64 field by its descriptor, which must belong to the schema of this record.
+     */
+    long getInt64(FieldDescriptor fd) {
+        try {
+            return in.readLong(readFixedSizePosition(fd));
+        } catch (IOException e) {
+            throw illegalStateException(e);
+        }
+    }
+
     @Override
     public float getFloat32(@Nonnull String fieldName) {
         FieldDescriptor fd = getFieldDescriptor(fieldName);
         FieldKind fieldKind = fd.getKind();
         switch (fieldKind) {
             case FLOAT32:
-                try {
-                    return in.readFloat(readFixedSizePosition(fd));
-                } catch (IOException e) {
-                    throw illegalStateException(e);
-                }
+                return getFloat32(fd);
             case NULLABLE_FLOAT32:
                 return getVariableSizeAsNonNull(fd, ObjectDataInput::readFloat, "Float32");
             default:
@@ -313,17 +340,24 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
         }
     }
 
+    /**
+     * Reads a FLOAT32 field by its descriptor, which must belong to the schema of this record.
+     */
+    float getFloat32(FieldDescriptor fd) {
+        try {
+            return in.readFloat(readFixedSizePosition(fd));
+        } catch (IOException e) {
+            throw illegalStateException(e);
+        }
+    }
+
     @Override
     public double getFloat64(@Nonnull String fieldName) {
         FieldDescriptor fd = getFieldDescriptor(fieldName);
         FieldKind fieldKind = fd.getKind();
         switch (fieldKind) {
             case FLOAT64:
-                try {
-                    return in.readDouble(readFixedSizePosition(fd));
-                } catch (IOException e) {
-                    throw illegalStateException(e);
-                }
+                return getFloat64(fd);
             case NULLABLE_FLOAT64:
                 return getVariableSizeAsNonNull(fd, ObjectDataInput::readDouble, "Float64");
             default:
@@ -331,6 +365,17 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
         }
     }
 
+    /**
+     * Reads a FLOAT64 field by its descriptor, which must belong to the schema of this record.
+     */
+    double getFloat64(FieldDescriptor fd) {
+        try {
+            return in.readDouble(readFixedSizePosition(fd));
+        } catch (IOException e) {
+            throw illegalStateException(e);
+        }
+    }
+
     @Override
     public char getChar(@Nonnull String fieldName) {
         throw new UnsupportedOperationException("Compact format does not support reading a char field");
@@ -220,11 +220,17 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
 
     private CompactSerializableRegistration getOrCreateRegistration(Class clazz) {
         return classToRegistrationMap.computeIfAbsent(clazz, aClass -> {
-            CompactSerializer serializer = javaRecordSerializer.isRecord(aClass) ? javaRecordSerializer : reflectiveSerializer;
+            CompactSerializer serializer = javaRecordSerializer.isRecord(aClass)
+                    ? javaRecordSerializer : newZeroConfigSerializer(aClass);
             return new CompactSerializableRegistration(aClass, aClass.getName(), serializer);
         });
     }
 
+    @SuppressWarnings("unchecked")
+    private CompactSerializer newZeroConfigSerializer(Class clazz) {
+        return new SpecializedCompactSerializer<>(clazz, this, reflectiveSerializer);
+    }
+
     private CompactSerializableRegistration getOrCreateRegistration(String typeName) {
         CompactSerializableRegistration currentRegistration = typeNameToRegistrationMap.get(typeName);
         if (currentRegistration != null) {
@@ -296,7 +302,7 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
                 if (javaRecordSerializer.isRecord(clazz)) {
                     serializer = javaRecordSerializer;
                 } else {
-                    serializer = reflectiveSerializer;
+                    serializer = newZeroConfigSerializer(clazz);
                 }
             }
             CompactSerializableRegistration serializableRegistration
@@ -364,7 +370,7 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
             if (javaRecordSerializer.isRecord(clazz)) {
                 serializer = javaRecordSerializer;
             } else {
-                serializer = reflectiveSerializer;
+                serializer = newZeroConfigSerializer(clazz);
             }
 
             CompactSerializableRegistration registration = new CompactSerializableRegistration(
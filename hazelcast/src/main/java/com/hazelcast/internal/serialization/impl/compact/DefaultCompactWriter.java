@@ -117,6 +117,13 @@ public class DefaultCompactWriter implements CompactWriter {
         this.includeSchemaOnBinary = includeSchemaOnBinary;
     }
 
+    /**
+     * Returns the schema of the object being written.
+     */
+    Schema getSchema() {
+        return schema;
+    }
+
     /**
      * Returns the byte array representation of the serialized object.
      */
@@ -167,7 +174,13 @@ public class DefaultCompactWriter implements CompactWriter {
 
     @Override
     public void writeBoolean(@Nonnull String fieldName, boolean value) {
-        FieldDescriptor fieldDefinition = checkFieldDefinition(fieldName, BOOLEAN);
+        writeBoolean(checkFieldDefinition(fieldName, BOOLEAN), value);
+    }
+
+    /**
+     * Writes a BOOLEAN field by its descriptor, which must belong to the schema of this writer.
+     */
+    void writeBoolean(FieldDescriptor fieldDefinition, boolean value) {
         int offsetInBytes = fieldDefinition.getOffset();
         int offsetInBits = fieldDefinition.getBitOffset();
         int writeOffset = offsetInBytes + dataStartPosition;
@@ -180,7 +193,14 @@ public class DefaultCompactWriter implements CompactWriter {
 
     @Override
     public void writeInt8(@Nonnull String fieldName, byte value) {
-        int position = getFixedSizeFieldPosition(fieldName, INT8);
+        writeInt8(checkFieldDefinition(fieldName, INT8), value);
+    }
+
+    /**
+     * Writes a INT8 field by its descriptor, which must belong to the schema of this writer.
+     */
+    void writeInt8(FieldDescriptor fd, byte value) {
+        int position = fd.getOffset() + dataStartPosition;
         try {
             out.writeByte(position, value);
         } catch (IOException e) {
@@ -190,7 +210,14 @@ public class DefaultCompactWriter implements CompactWriter {
 
     @Override
     public void writeInt16(@Nonnull String fieldName, short value) {
-        int position = getFixedSizeFieldPosition(fieldName, INT16);
+        writeInt16(checkFieldDefinition(fieldName, INT16), value);
+    }
+
+    /**
+     * Writes a INT16 field by its descriptor, which must belong to the schema of this writer.
+     */
+    void writeInt16(FieldDescriptor fd, short value) {
+        int position = fd.getOffset() + dataStartPosition;
         try {
             out.writeShort(position, value);
         } catch (IOException e) {
@@ -200,7 +227,14 @@ public class DefaultCompactWriter implements CompactWriter {
 
     @Override
     public void writeInt32(@Nonnull String fieldName, int value) {
-        int position = getFixedSizeFieldPosition(fieldName, INT32);
+        writeInt32(checkFieldDefinition(fieldName, INT32), value);
+    }
+
+    /**
+     * Writes a INT32 field by its descriptor, which must belong to the schema of this writer.
+     */
+    void writeInt32(FieldDescriptor fd, int value) {
+        int position = fd.getOffset() + dataStartPosition;
         try {
             out.writeInt(position, value);
         } catch (IOException e) {
@@ -210,7 +244,14 @@ public class DefaultCompactWriter implements CompactWriter {
 
     @Override
     public void writeInt64(@Nonnull String fieldName, long value) {
-        int position = getFixedSizeFieldPosition(fieldName, INT64);
+        writeInt64(checkFieldDefinition(fieldName, INT64), value);
+    }
+
+    /**
+     * Writes a INT64 field by its descriptor, which must belong to the schema of this writer.
+     */
+    void writeInt64(FieldDescriptor fd, long value) {
+        int position = fd.getOffset() + dataStartPosition;
         try {
             out.writeLong(position, value);
         } catch (IOException e) {
@@ -220,7 +261,14 @@ public class DefaultCompactWriter implements CompactWriter {
 
     @Override
     public void writeFloat32(@Nonnull String fieldName, float value) {
-        int position = getFixedSizeFieldPosition(fieldName, FLOAT32);
+        writeFloat32(checkFieldDefinition(fieldName, FLOAT32), value);
+    }
+
+    /**
+     * Writes a FLOAT32 field by its descriptor, which must belong to the schema of this writer.
+     */
+    void writeFloat32(FieldDescriptor fd, float value) {
+        int position = fd.getOffset() + dataStartPosition;
         try {
             out.writeFloat(position, value);
         } catch (IOException e) {
@@ -230,7 +278,14 @@ public class DefaultCompactWriter implements CompactWriter {
 
     @Override
     public void writeFloat64(@Nonnull String fieldName, double value) {
-        int position = getFixedSizeFieldPosition(fieldName, FLOAT64);
+        writeFloat64(checkFieldDefinition(fieldName, FLOAT64), value);
+    }
+
+    /**
+     * Writes a FLOAT64 field by its descriptor, which must belong to the schema of this writer.
+     */
+    void writeFloat64(FieldDescriptor fd, double value) {
+        int position = fd.getOffset() + dataStartPosition;
         try {
             out.writeDouble(position, value);
         } catch (IOException e) {
@@ -403,11 +458,6 @@ public class DefaultCompactWriter implements CompactWriter {
         fieldOffsets[index] = fieldPosition;
     }
 
-    private int getFixedSizeFieldPosition(@Nonnull String fieldName, @Nonnull FieldKind fieldKind) {
-        FieldDescriptor fieldDefinition = checkFieldDefinition(fieldName, fieldKind);
-        return fieldDefinition.getOffset() + dataStartPosition;
-    }
-
     protected FieldDescriptor checkFieldDefinition(@Nonnull String fieldName, @Nonnull FieldKind kind) {
         FieldDescriptor field = schema.getField(fieldName);
         if (field == null) {
@@ -154,7 +154,7 @@ public class ReflectiveCompactSerializer<T> implements CompactSerializer<T> {
         }
     }
 
-    private static List<Field> getAllFields(List<Field> fields, Class<?> type) {
+    static List<Field> getAllFields(List<Field> fields, Class<?> type) {
         fields.addAll(Arrays.stream(type.getDeclaredFields())
                 .filter(f -> !Modifier.isStatic(f.getModifiers()))
                 .filter(f -> !Modifier.isTransient(f.getModifiers()))
@@ -0,0 +1,390 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.serialization.impl.compact.zeroconfig.ValueReaderWriter;
+import com.hazelcast.internal.serialization.impl.compact.zeroconfig.ValueReaderWriters;
+import com.hazelcast.nio.serialization.FieldKind;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.Field;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.hazelcast.internal.nio.InstanceCreationUtil.createNewInstance;
+import static com.hazelcast.nio.serialization.FieldKind.BOOLEAN;
+import static com.hazelcast.nio.serialization.FieldKind.FLOAT32;
+import static com.hazelcast.nio.serialization.FieldKind.FLOAT64;
+import static com.hazelcast.nio.serialization.FieldKind.INT16;
+import static com.hazelcast.nio.serialization.FieldKind.INT32;
+import static com.hazelcast.nio.serialization.FieldKind.INT64;
+import static com.hazelcast.nio.serialization.FieldKind.INT8;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_BOOLEAN;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_FLOAT32;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_FLOAT64;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_INT16;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_INT32;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_INT64;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_INT8;
+
+/**
+ * Zero-config Compact serializer specialized for a single class.
+ * <p>
+ * Unlike the shared {@link ReflectiveCompactSerializer}, an instance of this
+ * serializer is created for each zero-config class and registered with it, so
+ * the field accessors of the class are held by the serializer itself and no
+ * lookup by class is done per object. The accessors are created on the first
+ * use, so a class that is not Compact serializable fails at the same point as
+ * with the reflective serializer.
+ * <p>
+ * The fields of primitive types are bound to their {@link FieldDescriptor}s
+ * once per schema. They are then read and written directly at their offsets,
+ * without looking up the field by its name and checking its kind for every
+ * object. Fields which are missing in the schema or have the nullable kind,
+ * as well as the fields of all other types, are handled the same way as in
+ * the reflective serializer.
+ *
+ * @param <T> the type of the serialized class
+ */
+final class SpecializedCompactSerializer<T> implements CompactSerializer<T> {
+
+    private final Class<T> clazz;
+    private final CompactStreamSerializer compactStreamSerializer;
+    private final ReflectiveCompactSerializer<T> reflectiveSerializer;
+    private final Map<Long, FieldDescriptor[]> descriptorsBySchemaId = new ConcurrentHashMap<>();
+
+    private volatile FieldAccessor[] accessors;
+    private volatile SchemaBinding lastBinding;
+
+    SpecializedCompactSerializer(Class<T> clazz, CompactStreamSerializer compactStreamSerializer,
+                                 ReflectiveCompactSerializer<T> reflectiveSerializer) {
+        this.clazz = clazz;
+        this.compactStreamSerializer = compactStreamSerializer;
+        this.reflectiveSerializer = reflectiveSerializer;
+    }
+
+    @Override
+    public void write(@Nonnull CompactWriter writer, @Nonnull T object) {
+        if (object.getClass() != clazz) {
+            reflectiveSerializer.write(writer, object);
+            return;
+        }
+
+        FieldAccessor[] accessors = getAccessors();
+        // The schema is being built when the writer is not a DefaultCompactWriter
+        DefaultCompactWriter compactWriter = writer instanceof DefaultCompactWriter defaultCompactWriter
+                ? defaultCompactWriter : null;
+        FieldDescriptor[] descriptors = compactWriter != null ? getDescriptors(compactWriter.getSchema()) : null;
+        for (int i = 0; i < accessors.length; i++) {
+            try {
+                if (descriptors != null && descriptors[i] != null) {
+                    accessors[i].write(compactWriter, descriptors[i], object);
+                } else {
+                    accessors[i].write(writer, object);
+                }
+            } catch (Exception e) {
+                throw new HazelcastSerializationException(e);
+            }
+        }
+    }
+
+    @Nonnull
+    @Override
+    public T read(@Nonnull CompactReader reader) {
+        // We always fed DefaultCompactReader to this serializer.
+        DefaultCompactReader compactReader = (DefaultCompactReader) reader;
+        if (compactReader.getAssociatedClass() != clazz) {
+            return reflectiveSerializer.read(reader);
+        }
+
+        FieldAccessor[] accessors = getAccessors();
+        Schema schema = compactReader.getSchema();
+        FieldDescriptor[] descriptors = getDescriptors(schema);
+        T object = createObject();
+        for (int i = 0; i < accessors.length; i++) {
+            try {
+                accessors[i].read(compactReader, schema, descriptors[i], object);
+            } catch (Exception e) {
+                throw new HazelcastSerializationException(e);
+            }
+        }
+        return object;
+    }
+
+    @Nonnull
+    @Override
+    public String getTypeName() {
+        throw new IllegalStateException("getTypeName should not be called for the specialized serializer");
+    }
+
+    @Nonnull
+    @Override
+    public Class<T> getCompactClass() {
+        throw new IllegalStateException("getCompactClass should not be called for the specialized serializer");
+    }
+
+    @Nonnull
+    private T createObject() {
+        try {
+            return createNewInstance(clazz);
+        } catch (Exception e) {
+            throw new HazelcastSerializationException("Could not construct the class " + clazz, e);
+        }
+    }
+
+    private FieldAccessor[] getAccessors() {
+        FieldAccessor[] accessors = this.accessors;
+        if (accessors == null) {
+            accessors = createAccessors();
+            this.accessors = accessors;
+        }
+        return accessors;
+    }
+
+    private FieldAccessor[] createAccessors() {
+        // The top level class might not be Compact serializable
+        CompactUtil.verifyClassIsCompactSerializable(clazz);
+
+        // get inherited fields as well
+        List<Field> allFields = ReflectiveCompactSerializer.getAllFields(new LinkedList<>(), clazz);
+        FieldAccessor[] accessors = new FieldAccessor[allFields.size()];
+        int index = 0;
+        for (Field field : allFields) {
+            field.setAccessible(true);
+            PrimitiveType primitiveType = PrimitiveType.of(field.getType());
+            if (primitiveType != null) {
+                accessors[index++] = new PrimitiveFieldAccessor(field, primitiveType);
+            } else {
+                // For anything else, rely on value reader writers to re-use the code we have
+                ValueReaderWriter readerWriter = ValueReaderWriters.readerWriterFor(compactStreamSerializer, clazz,
+                        field.getType(), field.getGenericType(), field.getName());
+                accessors[index++] = new ValueFieldAccessor(readerWriter, field);
+            }
+        }
+        return accessors;
+    }
+
+    /**
+     * Returns the descriptors of the fields of the given schema, in the order
+     * of the accessors. The descriptor is {@code null} for the accessors which
+     * can't read or write the field by its descriptor.
+     */
+    private FieldDescriptor[] getDescriptors(Schema schema) {
+        SchemaBinding binding = lastBinding;
+        if (binding != null && binding.schema == schema) {
+            return binding.descriptors;
+        }
+        FieldDescriptor[] descriptors = descriptorsBySchemaId.computeIfAbsent(schema.getSchemaId(),
+                schemaId -> bind(schema));
+        lastBinding = new SchemaBinding(schema, descriptors);
+        return descriptors;
+    }
+
+    private FieldDescriptor[] bind(Schema schema) {
+        FieldAccessor[] accessors = getAccessors();
+        FieldDescriptor[] descriptors = new FieldDescriptor[accessors.length];
+        for (int i = 0; i < accessors.length; i++) {
+            if (accessors[i] instanceof PrimitiveFieldAccessor accessor) {
+                FieldDescriptor fd = schema.getField(accessor.field.getName());
+                if (fd != null && fd.getKind() == accessor.type.kind) {
+                    descriptors[i] = fd;
+                }
+            }
+        }
+        return descriptors;
+    }
+
+    private static final class SchemaBinding {
+        private final Schema schema;
+        private final FieldDescriptor[] descriptors;
+
+        SchemaBinding(Schema schema, FieldDescriptor[] descriptors) {
+            this.schema = schema;
+            this.descriptors = descriptors;
+        }
+    }
+
+    private enum PrimitiveType {
+        BYTE(INT8, NULLABLE_INT8),
+        CHAR(INT16, NULLABLE_INT16),
+        SHORT(INT16, NULLABLE_INT16),
+        INT(INT32, NULLABLE_INT32),
+        LONG(INT64, NULLABLE_INT64),
+        FLOAT(FLOAT32, NULLABLE_FLOAT32),
+        DOUBLE(FLOAT64, NULLABLE_FLOAT64),
+        BOOL(BOOLEAN, NULLABLE_BOOLEAN);
+
+        private final FieldKind kind;
+        private final FieldKind nullableKind;
+
+        PrimitiveType(FieldKind kind, FieldKind nullableKind) {
+            this.kind = kind;
+            this.nullableKind = nullableKind;
+        }
+
+        static PrimitiveType of(Class<?> type) {
+            if (!type.isPrimitive()) {
+                return null;
+            } else if (type == Byte.TYPE) {
+                return BYTE;
+            } else if (type == Character.TYPE) {
+                return CHAR;
+            } else if (type == Short.TYPE) {
+                return SHORT;
+            } else if (type == Integer.TYPE) {
+                return INT;
+            } else if (type == Long.TYPE) {
+                return LONG;
+            } else if (type == Float.TYPE) {
+                return FLOAT;
+            } else if (type == Double.TYPE) {
+                return DOUBLE;
+            } else if (type == Boolean.TYPE) {
+                return BOOL;
+            }
+            return null;
+        }
+    }
+
+    private abstract static class FieldAccessor {
+
+        /**
+         * Reads the field from the reader. The descriptor is the one bound to
+         * this accessor for the schema of the reader, or {@code null}.
+         */
+        abstract void read(DefaultCompactReader reader, Schema schema, FieldDescriptor fd, Object o) throws Exception;
+
+        abstract void write(CompactWriter writer, Object o) throws Exception;
+
+        /**
+         * Writes the field by the descriptor bound to this accessor for the
+         * schema of the writer.
+         */
+        void write(DefaultCompactWriter writer, FieldDescriptor fd, Object o) throws Exception {
+            write(writer, o);
+        }
+    }
+
+    private static final class PrimitiveFieldAccessor extends FieldAccessor {
+
+        private final Field field;
+        private final PrimitiveType type;
+        private final String name;
+
+        PrimitiveFieldAccessor(Field field, PrimitiveType type) {
+            this.field = field;
+            this.type = type;
+            this.name = field.getName();
+        }
+
+        @Override
+        void read(DefaultCompactReader reader, Schema schema, FieldDescriptor fd, Object o) throws Exception {
+            if (fd != null) {
+                readByDescriptor(reader, fd, o);
+            } else if (CompactUtil.isFieldExist(schema, name, type.nullableKind)) {
+                // fails when the value is null, same as the reflective serializer
+                readByName(reader, o);
+            }
+        }
+
+        private void readByDescriptor(DefaultCompactReader reader, FieldDescriptor fd, Object o) throws Exception {
+            switch (type) {
+                case BYTE -> field.setByte(o, reader.getInt8(fd));
+                case CHAR -> field.setChar(o, (char) reader.getInt16(fd));
+                case SHORT -> field.setShort(o, reader.getInt16(fd));
+                case INT -> field.setInt(o, reader.getInt32(fd));
+                case LONG -> field.setLong(o, reader.getInt64(fd));
+                case FLOAT -> field.setFloat(o, reader.getFloat32(fd));
+                case DOUBLE -> field.setDouble(o, reader.getFloat64(fd));
+                case BOOL -> field.setBoolean(o, reader.getBoolean(fd));
+                default -> throw new IllegalStateException("Unexpected type: " + type);
+            }
+        }
+
+        private void readByName(CompactReader reader, Object o) throws Exception {
+            switch (type) {
+                case BYTE -> field.setByte(o, reader.readInt8(name));
+                case CHAR -> field.setChar(o, (char) reader.readInt16(name));
+                case SHORT -> field.setShort(o, reader.readInt16(name));
+                case INT -> field.setInt(o, reader.readInt32(name));
+                case LONG -> field.setLong(o, reader.readInt64(name));
+                case FLOAT -> field.setFloat(o, reader.readFloat32(name));
+                case DOUBLE -> field.setDouble(o, reader.readFloat64(name));
+                case BOOL -> field.setBoolean(o, reader.readBoolean(name));
+                default -> throw new IllegalStateException("Unexpected type: " + type);
+            }
+        }
+
+        @Override
+        void write(DefaultCompactWriter writer, FieldDescriptor fd, Object o) throws Exception {
+            switch (type) {
+                case BYTE -> writer.writeInt8(fd, field.getByte(o));
+                case CHAR -> writer.writeInt16(fd, (short) field.getChar(o));
+                case SHORT -> writer.writeInt16(fd, field.getShort(o));
+                case INT -> writer.writeInt32(fd, field.getInt(o));
+                case LONG -> writer.writeInt64(fd, field.getLong(o));
+                case FLOAT -> writer.writeFloat32(fd, field.getFloat(o));
+                case DOUBLE -> writer.writeFloat64(fd, field.getDouble(o));
+                case BOOL -> writer.writeBoolean(fd, field.getBoolean(o));
+                default -> throw new IllegalStateException("Unexpected type: " + type);
+            }
+        }
+
+        @Override
+        void write(CompactWriter writer, Object o) throws Exception {
+            switch (type) {
+                case BYTE -> writer.writeInt8(name, field.getByte(o));
+                case CHAR -> writer.writeInt16(name, (short) field.getChar(o));
+                case SHORT -> writer.writeInt16(name, field.getShort(o));
+                case INT -> writer.writeInt32(name, field.getInt(o));
+                case LONG -> writer.writeInt64(name, field.getLong(o));
+                case FLOAT -> writer.writeFloat32(name, field.getFloat(o));
+                case DOUBLE -> writer.writeFloat64(name, field.getDouble(o));
+                case BOOL -> writer.writeBoolean(name, field.getBoolean(o));
+                default -> throw new IllegalStateException("Unexpected type: " + type);
+            }
+        }
+    }
+
+    private static final class ValueFieldAccessor extends FieldAccessor {
+
+        private final ValueReaderWriter readerWriter;
+        private final Field field;
+
+        ValueFieldAccessor(ValueReaderWriter readerWriter, Field field) {
+            this.readerWriter = readerWriter;
+            this.field = field;
+        }
+
+        @Override
+        void read(DefaultCompactReader reader, Schema schema, FieldDescriptor fd, Object o) throws Exception {
+            field.set(o, readerWriter.read(reader, schema));
+        }
+
+        @Override
+        void write(CompactWriter writer, Object o) throws Exception {
+            readerWriter.write(writer, field.get(o));
+        }
+    }
+}
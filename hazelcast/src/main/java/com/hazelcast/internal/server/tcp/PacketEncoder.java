@@ -16,6 +16,7 @@
 
 package com.hazelcast.internal.server.tcp;
 
+import com.hazelcast.internal.networking.GatheringOutboundHandler;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.nio.Packet;
@@ -27,6 +28,8 @@ import java.util.function.Supplier;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
+import static com.hazelcast.internal.nio.PacketIOHelper.HEADER_SIZE;
+import static com.hazelcast.internal.nio.PacketIOHelper.writeHeaderTo;
 
 /**
  * A {@link OutboundHandler} that for member to member communication.
@@ -36,22 +39,78 @@ import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
  * It makes use of a flyweight to allow the sharing of a packet-instance over
  * multiple connections. The flyweight contains the actual 'position' state of
  * what has been written.
+ * <p>
+ * When a gathering threshold is configured and the encoder is the last handler
+ * of the pipeline, the payload of every packet of at least that size isn't
+ * copied into the dst buffer. Only its header is, and the payload byte array
+ * is handed to the pipeline as a separate buffer, so that the headers, the
+ * small packets and the large payloads are all written with a single gathering
+ * write.
  *
  * @see PacketDecoder
  */
-public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer> {
+public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
+        implements GatheringOutboundHandler {
+
+    /**
+     * The maximum number of buffers gathered into a single write; every large
+     * payload takes 2 buffers: the part of dst before it and the payload itself.
+     */
+    static final int MAX_GATHERED_BUFFERS = 16;
 
     private final PacketIOHelper packetWriter = new PacketIOHelper();
+    private final int gatheringThreshold;
+    private final ByteBuffer[] gatheredBuffers;
+    private int gatheredCount;
+    private boolean gatheringEnabled;
 
     private Packet packet;
 
+    public PacketEncoder() {
+        this(-1);
+    }
+
+    /**
+     * @param gatheringThreshold the minimum payload size in bytes of a packet that is
+     *                           written directly from its byte array, or a value
+     *                           smaller than 1 to copy every packet into the dst buffer
+     */
+    public PacketEncoder(int gatheringThreshold) {
+        this.gatheringThreshold = gatheringThreshold;
+        this.gatheredBuffers = gatheringThreshold > 0 ? new ByteBuffer[MAX_GATHERED_BUFFERS] : null;
+    }
+
     @Override
     public void handlerAdded() {
         initDstBuffer();
     }
 
+    @Override
+    public void setGatheringEnabled(boolean enabled) {
+        this.gatheringEnabled = enabled && gatheredBuffers != null;
+    }
+
+    @Override
+    public boolean isGatheringEnabled() {
+        return gatheringEnabled;
+    }
+
+    @Override
+    public ByteBuffer[] gatheredBuffers() {
+        return gatheredBuffers;
+    }
+
+    @Override
+    public int gatheredCount() {
+        return gatheredCount;
+    }
+
     @Override
     public HandlerStatus onWrite() {
+        if (gatheringEnabled) {
+            return onWriteGathering();
+        }
+
         compactOrClear(dst);
         try {
             for (; ; ) {
@@ -76,4 +135,60 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
             dst.flip();
         }
     }
+
+    private HandlerStatus onWriteGathering() {
+        if (hasGatheredRemaining()) {
+            // the previous buffers aren't fully written yet; dst is only reused when they are
+            return DIRTY;
+        }
+
+        dst.clear();
+        gatheredCount = 0;
+        int segmentStart = 0;
+        try {
+            for (; ; ) {
+                boolean newPacket = false;
+                if (packet == null) {
+                    packet = src.get();
+
+                    if (packet == null) {
+                        // everything is processed, so we are done
+                        return CLEAN;
+                    }
+                    newPacket = true;
+                }
+
+                if (newPacket
+                        && packet.totalSize() >= gatheringThreshold
+                        && dst.remaining() >= HEADER_SIZE
+                        // room for the dst part before the payload, the payload and the trailing dst part
+                        && gatheredCount + 2 < gatheredBuffers.length) {
+                    writeHeaderTo(packet, dst);
+                    gatheredBuffers[gatheredCount++] = dst.slice(segmentStart, dst.position() - segmentStart);
+                    gatheredBuffers[gatheredCount++] = ByteBuffer.wrap(packet.toByteArray());
+                    segmentStart = dst.position();
+                    packet = null;
+                } else if (packetWriter.writeTo(packet, dst)) {
+                    packet = null;
+                } else {
+                    // the packet didn't get written completely, so we are done.
+                    return DIRTY;
+                }
+            }
+        } finally {
+            gatheredBuffers[gatheredCount++] = dst.slice(segmentStart, dst.position() - segmentStart);
+            // the written bytes are only exposed through the gathered buffers
+            dst.flip();
+            dst.position(dst.limit());
+        }
+    }
+
+    private boolean hasGatheredRemaining() {
+        for (int k = 0; k < gatheredCount; k++) {
+            if (gatheredBuffers[k].hasRemaining()) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
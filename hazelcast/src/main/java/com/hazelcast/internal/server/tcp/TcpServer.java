@@ -17,7 +17,9 @@
 package com.hazelcast.internal.server.tcp;
 
 import com.hazelcast.config.Config;
+import com.hazelcast.cluster.Address;
 import com.hazelcast.config.EndpointConfig;
+import com.hazelcast.config.SSLConfig;
 import com.hazelcast.instance.EndpointQualifier;
 import com.hazelcast.instance.ProtocolType;
 import com.hazelcast.internal.metrics.DynamicMetricsProvider;
@@ -27,6 +29,7 @@ import com.hazelcast.internal.metrics.MetricsCollectionContext;
 import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.networking.ChannelInitializer;
 import com.hazelcast.internal.networking.Networking;
+import com.hazelcast.internal.networking.shm.SharedMemoryAcceptor;
 import com.hazelcast.internal.nio.ConnectionListener;
 import com.hazelcast.internal.server.NetworkStats;
 import com.hazelcast.internal.server.Server;
@@ -35,8 +38,12 @@ import com.hazelcast.internal.server.ServerConnectionManager;
 import com.hazelcast.internal.server.ServerContext;
 import com.hazelcast.internal.util.concurrent.ThreadFactoryImpl;
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
 import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.EnumMap;
 import java.util.HashMap;
@@ -56,8 +63,14 @@ import java.util.function.Predicate;
 
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX;
 import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
+import static com.hazelcast.internal.networking.shm.SharedMemoryAcceptor.endpointDirectory;
+import static com.hazelcast.internal.util.ThreadUtil.createThreadName;
 import static com.hazelcast.internal.util.ThreadUtil.createThreadPoolName;
+import static com.hazelcast.internal.util.concurrent.BackoffIdleStrategy.createBackoffIdleStrategy;
 import static com.hazelcast.spi.properties.ClusterProperty.NETWORK_STATS_REFRESH_INTERVAL_SECONDS;
+import static com.hazelcast.spi.properties.ClusterProperty.SHARED_MEMORY_CLIENT_TRANSPORT_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.SHARED_MEMORY_DIRECTORY;
+import static com.hazelcast.spi.properties.ClusterProperty.SHARED_MEMORY_IDLE_STRATEGY;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singleton;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -81,6 +94,11 @@ public final class TcpServer implements Server {
     private final ScheduledExecutorService scheduler;
     // accessed only in synchronized block
     private final AtomicReference<TcpServerAcceptor> acceptorRef = new AtomicReference<>();
+    private final Function<EndpointQualifier, ChannelInitializer> channelInitializerFn;
+    private final boolean clientSslEnabled;
+    private final boolean clientAddressChecksEnabled;
+    // accessed only in synchronized methods
+    private SharedMemoryAcceptor sharedMemoryAcceptor;
 
     private volatile boolean live;
 
@@ -97,6 +115,10 @@ public final class TcpServer implements Server {
         this.refreshStatsTask = new RefreshNetworkStatsTask();
         this.refreshStatsIntervalSeconds = context.properties().getInteger(NETWORK_STATS_REFRESH_INTERVAL_SECONDS);
         this.registry = registry;
+        this.channelInitializerFn = channelInitializerFn;
+        this.clientSslEnabled = isClientSslEnabled(config, registry.holdsUnifiedSocket());
+        this.clientAddressChecksEnabled = config.getSecurityConfig().isEnabled()
+                || !config.getManagementCenterConfig().getTrustedInterfaces().isEmpty();
         this.logger = context.getLoggingService().getLogger(TcpServer.class);
         this.scheduler = new ScheduledThreadPoolExecutor(SCHEDULER_POOL_SIZE,
                 new ThreadFactoryImpl(createThreadPoolName(context.getHazelcastName(), "TcpServer")));
@@ -157,6 +179,7 @@ public final class TcpServer implements Server {
 
         networking.restart();
         startAcceptor();
+        startSharedMemoryAcceptor();
 
         if (unifiedConnectionManager == null) {
             refreshStatsFuture = metricsRegistry
@@ -178,6 +201,7 @@ public final class TcpServer implements Server {
         }
 
         shutdownAcceptor();
+        shutdownSharedMemoryAcceptor();
         if (unifiedConnectionManager != null) {
             unifiedConnectionManager.reset(false);
         } else {
@@ -288,6 +312,63 @@ public final class TcpServer implements Server {
         }
     }
 
+    private void startSharedMemoryAcceptor() {
+        HazelcastProperties properties = context.properties();
+        if (!properties.getBoolean(SHARED_MEMORY_CLIENT_TRANSPORT_ENABLED)) {
+            return;
+        }
+        TcpServerConnectionManager connectionManager = getConnectionManager(EndpointQualifier.CLIENT);
+        Address clientAddress = context.getThisAddresses().getOrDefault(EndpointQualifier.CLIENT, context.getThisAddress());
+        if (connectionManager == null || clientAddress == null) {
+            return;
+        }
+        if (clientSslEnabled || context.isSocketInterceptorEnabled(EndpointQualifier.CLIENT)) {
+            // there is no socket to secure or intercept
+            logger.info("Shared memory client transport is disabled since client connections use SSL/TLS "
+                    + "or a socket interceptor");
+            return;
+        }
+        if (clientAddressChecksEnabled) {
+            // shared memory connections don't have the remote address of the client
+            logger.info("Shared memory client transport is disabled since security or Management Center trusted "
+                    + "interfaces are configured, which check the address of clients");
+            return;
+        }
+
+        try {
+            InetSocketAddress localAddress = new InetSocketAddress(clientAddress.getInetAddress(), clientAddress.getPort());
+            sharedMemoryAcceptor = new SharedMemoryAcceptor(
+                    endpointDirectory(Path.of(properties.getString(SHARED_MEMORY_DIRECTORY)), localAddress),
+                    channelInitializerFn.apply(EndpointQualifier.CLIENT),
+                    new TcpServerConnectionChannelErrorHandler(logger),
+                    createBackoffIdleStrategy(properties.getString(SHARED_MEMORY_IDLE_STRATEGY)),
+                    localAddress,
+                    channel -> connectionManager.newConnection(channel, null, true),
+                    createThreadName(context.getHazelcastName(), "shm-"),
+                    logger).start();
+        } catch (IOException e) {
+            logger.warning("Could not start accepting shared memory client connections", e);
+        }
+    }
+
+    private void shutdownSharedMemoryAcceptor() {
+        if (sharedMemoryAcceptor != null) {
+            sharedMemoryAcceptor.shutdown();
+            sharedMemoryAcceptor = null;
+        }
+    }
+
+    private static boolean isClientSslEnabled(Config config, boolean unified) {
+        SSLConfig sslConfig;
+        if (unified) {
+            sslConfig = config.getNetworkConfig().getSSLConfig();
+        } else {
+            EndpointConfig endpointConfig = config.getAdvancedNetworkConfig().getEndpointConfigs().get(EndpointQualifier.CLIENT);
+            sslConfig = endpointConfig == null ? null : endpointConfig.getSSLConfig();
+        }
+        return sslConfig != null && sslConfig.isEnabled();
+    }
+
     private void closeServerSockets() {
         if (logger.isFinestEnabled()) {
             logger.finest("Closing server socket channel: " + registry);
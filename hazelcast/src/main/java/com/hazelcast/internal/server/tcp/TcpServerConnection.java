@@ -35,6 +35,7 @@ import javax.security.auth.login.LoginException;
 import java.io.EOFException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.Socket;
 import java.nio.channels.CancelledKeyException;
 import java.util.Objects;
 import java.util.UUID;
@@ -182,7 +183,13 @@ public class TcpServerConnection implements ServerConnection {
 
     @Override
     public InetAddress getInetAddress() {
-        return channel.socket().getInetAddress();
+        Socket socket = channel.socket();
+        if (socket == null) {
+            // a channel without a socket, e.g. a shared memory channel
+            InetSocketAddress remoteSocketAddress = (InetSocketAddress) channel.remoteSocketAddress();
+            return remoteSocketAddress == null ? null : remoteSocketAddress.getAddress();
+        }
+        return socket.getInetAddress();
     }
 
     @Override
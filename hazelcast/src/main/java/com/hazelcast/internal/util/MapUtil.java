@@ -17,6 +17,7 @@
 package com.hazelcast.internal.util;
 
 import com.hazelcast.internal.util.collection.Int2ObjectHashMap;
+import com.hazelcast.internal.util.collection.Long2ObjectHashMap;
 
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.HashMap;
@@ -73,6 +74,15 @@ public final class MapUtil {
         return new Int2ObjectHashMap<>(initialCapacity, Int2ObjectHashMap.DEFAULT_LOAD_FACTOR);
     }
 
+    /**
+     * Utility method that creates an {@link Long2ObjectHashMap} with its initialCapacity calculated
+     * to minimize rehash operations
+     */
+    public static <V> Long2ObjectHashMap<V> createLong2ObjectHashMap(int expectedMapSize) {
+        final int initialCapacity = (int) (expectedMapSize / Long2ObjectHashMap.DEFAULT_LOAD_FACTOR) + 1;
+        return new Long2ObjectHashMap<>(initialCapacity, Long2ObjectHashMap.DEFAULT_LOAD_FACTOR);
+    }
+
     /**
      * Returns the initial hash map capacity needed for the expected map size.
      * To avoid resizing the map, the initial capacity should be different from
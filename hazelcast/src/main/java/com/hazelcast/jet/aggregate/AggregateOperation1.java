@@ -18,9 +18,14 @@ package com.hazelcast.jet.aggregate;
 
 import com.hazelcast.function.BiConsumerEx;
 import com.hazelcast.function.FunctionEx;
+import com.hazelcast.function.ToDoubleFunctionEx;
+import com.hazelcast.function.ToLongFunctionEx;
+import com.hazelcast.jet.accumulator.DoubleAccumulator;
+import com.hazelcast.jet.accumulator.LongAccumulator;
 import com.hazelcast.jet.core.Processor;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.stream.Collector;
 
 /**
@@ -64,6 +69,75 @@ public interface AggregateOperation1<T, A, R> extends AggregateOperation<A, R> {
             BiConsumerEx<? super A, ? super NEW_T> accumulateFn
     );
 
+    /**
+     * Returns a copy of this aggregate operation which declares that its
+     * accumulator is a {@link LongAccumulator} and that accumulating an item
+     * is equivalent to {@code acc.add(toLongFn.applyAsLong(item))}.
+     * <p>
+     * Keyed batch aggregations use the declaration to keep the accumulators
+     * of {@code Long} and {@code Integer} grouping keys in a primitive hash
+     * table, without boxing the keys and allocating an accumulator per key.
+     * Accumulator objects are created only when the results are emitted.
+     * The declaration is dropped by {@link #withAccumulateFn}.
+     * <p>
+     * The function must be stateless and {@linkplain
+     * Processor#isCooperative() cooperative}.
+     *
+     * <p>
+     * The default implementation returns this operation unchanged, without
+     * the declaration.
+     *
+     * @throws IllegalArgumentException if the accumulator isn't a {@code LongAccumulator}
+     * @since 6.0
+     */
+    @Nonnull
+    default AggregateOperation1<T, A, R> withLongSumAccumulation(@Nonnull ToLongFunctionEx<? super T> toLongFn) {
+        return this;
+    }
+
+    /**
+     * Returns a copy of this aggregate operation which declares that its
+     * accumulator is a {@link DoubleAccumulator} and that accumulating an
+     * item is equivalent to {@code acc.accumulate(toDoubleFn.applyAsDouble(item))}.
+     * See {@link #withLongSumAccumulation} for how the declaration is used.
+     * <p>
+     * The function must be stateless and {@linkplain
+     * Processor#isCooperative() cooperative}.
+     *
+     * <p>
+     * The default implementation returns this operation unchanged, without
+     * the declaration.
+     *
+     * @throws IllegalArgumentException if the accumulator isn't a {@code DoubleAccumulator}
+     * @since 6.0
+     */
+    @Nonnull
+    default AggregateOperation1<T, A, R> withDoubleSumAccumulation(@Nonnull ToDoubleFunctionEx<? super T> toDoubleFn) {
+        return this;
+    }
+
+    /**
+     * Returns the function declared with {@link #withLongSumAccumulation},
+     * or {@code null} if there's none.
+     *
+     * @since 6.0
+     */
+    @Nullable
+    default ToLongFunctionEx<? super T> longSumFn() {
+        return null;
+    }
+
+    /**
+     * Returns the function declared with {@link #withDoubleSumAccumulation},
+     * or {@code null} if there's none.
+     *
+     * @since 6.0
+     */
+    @Nullable
+    default ToDoubleFunctionEx<? super T> doubleSumFn() {
+        return null;
+    }
+
     // Narrows the return type
     @Nonnull @Override
     AggregateOperation1<T, A, A> withIdentityFinish();
@@ -97,7 +97,8 @@ public final class AggregateOperations {
                 .andAccumulate((LongAccumulator a, T item) -> a.add(1))
                 .andCombine(LongAccumulator::add)
                 .andDeduct(LongAccumulator::subtractAllowingOverflow)
-                .andExportFinish(LongAccumulator::get);
+                .andExportFinish(LongAccumulator::get)
+                .withLongSumAccumulation(item -> 1L);
     }
 
     /**
@@ -132,7 +133,8 @@ public final class AggregateOperations {
                 .andAccumulate((LongAccumulator a, T item) -> a.add(getLongValueFn.applyAsLong(item)))
                 .andCombine(LongAccumulator::add)
                 .andDeduct(LongAccumulator::subtract)
-                .andExportFinish(LongAccumulator::get);
+                .andExportFinish(LongAccumulator::get)
+                .withLongSumAccumulation(getLongValueFn);
     }
 
     /**
@@ -164,7 +166,8 @@ public final class AggregateOperations {
                 .andAccumulate((DoubleAccumulator a, T item) -> a.accumulate(getDoubleValueFn.applyAsDouble(item)))
                 .andCombine(DoubleAccumulator::combine)
                 .andDeduct(DoubleAccumulator::deduct)
-                .andExportFinish(DoubleAccumulator::export);
+                .andExportFinish(DoubleAccumulator::export)
+                .withDoubleSumAccumulation(getDoubleValueFn);
     }
 
     /**
@@ -19,9 +19,11 @@ package com.hazelcast.jet.config;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.impl.Versioned;
 
 import java.io.IOException;
 
+import static com.hazelcast.internal.cluster.Versions.V6_0;
 import static com.hazelcast.internal.util.Preconditions.checkPositive;
 
 /**
@@ -31,7 +33,7 @@ import static com.hazelcast.internal.util.Preconditions.checkPositive;
  *
  * @since Jet 3.0
  */
-public class EdgeConfig implements IdentifiedDataSerializable {
+public class EdgeConfig implements IdentifiedDataSerializable, Versioned {
 
     /**
      * The default size of the {@link #setQueueSize(int) concurrent queues}
@@ -49,9 +51,19 @@ public class EdgeConfig implements IdentifiedDataSerializable {
      */
     public static final int DEFAULT_PACKET_SIZE_LIMIT = 16384;
 
+    /**
+     * How many times the {@link #setPacketSizeLimit(int) packet size limit}
+     * a packet can grow to on an edge with {@link #setCompressionEnabled(boolean)
+     * compression enabled}.
+     *
+     * @since 6.0
+     */
+    public static final int COMPRESSED_PACKET_SIZE_MULTIPLIER = 8;
+
     private int queueSize = DEFAULT_QUEUE_SIZE;
     private int receiveWindowMultiplier = DEFAULT_RECEIVE_WINDOW_MULTIPLIER;
     private int packetSizeLimit = DEFAULT_PACKET_SIZE_LIMIT;
+    private boolean compressionEnabled;
 
     /**
      * Sets the capacity of processor-to-processor concurrent queues. The value
@@ -152,6 +164,43 @@ public class EdgeConfig implements IdentifiedDataSerializable {
         return packetSizeLimit;
     }
 
+    /**
+     * Enables compression of the network packets of a distributed edge.
+     * <p>
+     * The sender compresses the data items in each packet with a fast
+     * Deflate level, which reduces the network traffic of shuffle-heavy jobs
+     * at the cost of some CPU time on both members. Packets which don't get
+     * smaller are sent uncompressed. While the receiver has room in its
+     * {@linkplain #setReceiveWindowMultiplier receive window}, the sender
+     * also packs up to {@value #COMPRESSED_PACKET_SIZE_MULTIPLIER} times
+     * the {@linkplain #setPacketSizeLimit packet size limit} into one packet
+     * when it has that much data waiting, because larger packets compress
+     * better.
+     * <p>
+     * Compare the {@code distributedBytesOut} and {@code
+     * distributedWireBytesOut} metrics to see the achieved compression ratio.
+     * <p>
+     * The default value is {@code false}. This setting has no effect on a
+     * non-distributed edge.
+     *
+     * @return {@code this} instance for fluent API
+     * @since 6.0
+     */
+    public EdgeConfig setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+        return this;
+    }
+
+    /**
+     * Returns whether {@link #setCompressionEnabled(boolean) network packet
+     * compression} is enabled.
+     *
+     * @since 6.0
+     */
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
     @Override
     public int getFactoryId() {
         return JetConfigDataSerializerHook.FACTORY_ID;
@@ -167,6 +216,9 @@ public class EdgeConfig implements IdentifiedDataSerializable {
         out.writeInt(queueSize);
         out.writeInt(receiveWindowMultiplier);
         out.writeInt(packetSizeLimit);
+        if (out.getVersion().isGreaterOrEqual(V6_0)) {
+            out.writeBoolean(compressionEnabled);
+        }
     }
 
     @Override
@@ -174,6 +226,9 @@ public class EdgeConfig implements IdentifiedDataSerializable {
         queueSize = in.readInt();
         receiveWindowMultiplier = in.readInt();
         packetSizeLimit = in.readInt();
+        if (in.getVersion().isGreaterOrEqual(V6_0)) {
+            compressionEnabled = in.readBoolean();
+        }
     }
 
     @Override
@@ -193,7 +248,10 @@ public class EdgeConfig implements IdentifiedDataSerializable {
         if (receiveWindowMultiplier != that.receiveWindowMultiplier) {
             return false;
         }
-        return packetSizeLimit == that.packetSizeLimit;
+        if (packetSizeLimit != that.packetSizeLimit) {
+            return false;
+        }
+        return compressionEnabled == that.compressionEnabled;
     }
 
     @Override
@@ -201,6 +259,7 @@ public class EdgeConfig implements IdentifiedDataSerializable {
         int result = queueSize;
         result = 31 * result + receiveWindowMultiplier;
         result = 31 * result + packetSizeLimit;
+        result = 31 * result + (compressionEnabled ? 1 : 0);
         return result;
     }
 
@@ -210,6 +269,7 @@ public class EdgeConfig implements IdentifiedDataSerializable {
                + "queueSize=" + queueSize
                + ", receiveWindowMultiplier=" + receiveWindowMultiplier
                + ", packetSizeLimit=" + packetSizeLimit
+               + ", compressionEnabled=" + compressionEnabled
                + '}';
     }
 }
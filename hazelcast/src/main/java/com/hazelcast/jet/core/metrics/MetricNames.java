@@ -195,6 +195,28 @@ public final class MetricNames {
      */
     public static final String DISTRIBUTED_BYTES_OUT = "distributedBytesOut";
 
+    /**
+     * Tracks the data volume (bytes) sent over the network for DISTRIBUTED
+     * output {@link Edge}s, after {@linkplain
+     * com.hazelcast.jet.config.EdgeConfig#setCompressionEnabled compression}.
+     * Without compression it is equal to {@link #DISTRIBUTED_BYTES_OUT}, with
+     * compression the ratio of the two metrics is the compression ratio. It
+     * has the same tags as {@link #DISTRIBUTED_BYTES_OUT}.
+     *
+     * @since 6.0
+     */
+    public static final String DISTRIBUTED_WIRE_BYTES_OUT = "distributedWireBytesOut";
+
+    /**
+     * Tracks the data volume (bytes) received over the network for
+     * DISTRIBUTED input {@link Edge}s, before decompression. It is the
+     * counterpart of {@link #DISTRIBUTED_WIRE_BYTES_OUT} and has the same
+     * tags as {@link #DISTRIBUTED_BYTES_IN}.
+     *
+     * @since 6.0
+     */
+    public static final String DISTRIBUTED_WIRE_BYTES_IN = "distributedWireBytesIn";
+
     /**
      * {@linkplain JobStatus#getId() Numerical ID} of the job's status.
      *
@@ -23,6 +23,7 @@ import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.BroadcastKey;
 import com.hazelcast.jet.impl.execution.BroadcastEntry;
 import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
+import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.CompressedSnapshotChunk;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataKey;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataValueTerminator;
 
@@ -39,6 +40,9 @@ public class ExplodeSnapshotP extends AbstractProcessor {
     private final Map<String, FlatMapper<byte[], Object>> vertexToFlatMapper = new HashMap<>();
     private final long expectedSnapshotId;
     private InternalSerializationService serializationService;
+    // the last decompressed chunk, so that we don't decompress it again when the outbox is full
+    private Object lastCompressedChunk;
+    private byte[] lastDecompressedBytes;
 
     ExplodeSnapshotP(Map<String, Integer> vertexToOrdinal, long expectedSnapshotId) {
         this.expectedSnapshotId = expectedSnapshotId;
@@ -79,7 +83,7 @@ public class ExplodeSnapshotP extends AbstractProcessor {
             // ignore the validation record
             return true;
         }
-        Entry<SnapshotDataKey, byte[]> castItem = (Entry<SnapshotDataKey, byte[]>) item;
+        Entry<SnapshotDataKey, Object> castItem = (Entry<SnapshotDataKey, Object>) item;
         String vertexName = castItem.getKey().vertexName();
         FlatMapper<byte[], Object> flatMapper = vertexToFlatMapper.get(vertexName);
         if (flatMapper == null) {
@@ -96,7 +100,18 @@ public class ExplodeSnapshotP extends AbstractProcessor {
                     + expectedSnapshotId + ", found=" + snapshotId);
             return true;
         }
-        return flatMapper.tryProcess(castItem.getValue());
+        return flatMapper.tryProcess(chunkBytes(castItem.getValue()));
+    }
+
+    private byte[] chunkBytes(Object chunk) {
+        if (!(chunk instanceof CompressedSnapshotChunk compressedChunk)) {
+            return (byte[]) chunk;
+        }
+        if (chunk != lastCompressedChunk) {
+            lastDecompressedBytes = compressedChunk.decompress();
+            lastCompressedChunk = chunk;
+        }
+        return lastDecompressedBytes;
     }
 
     @Override
@@ -19,23 +19,33 @@ package com.hazelcast.jet.impl.aggregate;
 import com.hazelcast.function.BiConsumerEx;
 import com.hazelcast.function.FunctionEx;
 import com.hazelcast.function.SupplierEx;
+import com.hazelcast.function.ToDoubleFunctionEx;
+import com.hazelcast.function.ToLongFunctionEx;
+import com.hazelcast.jet.accumulator.DoubleAccumulator;
+import com.hazelcast.jet.accumulator.LongAccumulator;
 import com.hazelcast.jet.aggregate.AggregateOperation1;
 import com.hazelcast.jet.core.JetDataSerializerHook;
 import com.hazelcast.jet.datamodel.Tag;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.impl.Versioned;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
 
+import static com.hazelcast.internal.cluster.Versions.V6_0;
 import static com.hazelcast.internal.serialization.impl.SerializationUtil.checkSerializable;
+import static com.hazelcast.internal.util.Preconditions.checkTrue;
 
 
 public class AggregateOperation1Impl<T0, A, R>
         extends AggregateOperationImpl<A, R>
-        implements AggregateOperation1<T0, A, R> {
+        implements AggregateOperation1<T0, A, R>, Versioned {
+
+    private ToLongFunctionEx<? super T0> longSumFn;
+    private ToDoubleFunctionEx<? super T0> doubleSumFn;
 
     public AggregateOperation1Impl() {
     }
@@ -58,6 +68,38 @@ public class AggregateOperation1Impl<T0, A, R>
         return (BiConsumerEx<? super A, ? super T0>) accumulateFns[0];
     }
 
+    @Nullable @Override
+    public ToLongFunctionEx<? super T0> longSumFn() {
+        return longSumFn;
+    }
+
+    @Nullable @Override
+    public ToDoubleFunctionEx<? super T0> doubleSumFn() {
+        return doubleSumFn;
+    }
+
+    @Nonnull @Override
+    public AggregateOperation1<T0, A, R> withLongSumAccumulation(@Nonnull ToLongFunctionEx<? super T0> toLongFn) {
+        checkSerializable(toLongFn, "toLongFn");
+        checkTrue(createFn().get() instanceof LongAccumulator, "the accumulator must be a LongAccumulator");
+        AggregateOperation1Impl<T0, A, R> copy = copyWithFinishFns(exportFn(), finishFn());
+        copy.longSumFn = toLongFn;
+        copy.doubleSumFn = null;
+        return copy;
+    }
+
+    @Nonnull @Override
+    public AggregateOperation1<T0, A, R> withDoubleSumAccumulation(
+            @Nonnull ToDoubleFunctionEx<? super T0> toDoubleFn
+    ) {
+        checkSerializable(toDoubleFn, "toDoubleFn");
+        checkTrue(createFn().get() instanceof DoubleAccumulator, "the accumulator must be a DoubleAccumulator");
+        AggregateOperation1Impl<T0, A, R> copy = copyWithFinishFns(exportFn(), finishFn());
+        copy.longSumFn = null;
+        copy.doubleSumFn = toDoubleFn;
+        return copy;
+    }
+
     @Nonnull @Override
     public <NEW_T> AggregateOperation1<NEW_T, A, R> withAccumulateFn(
             BiConsumerEx<? super A, ? super NEW_T> accumulateFn
@@ -79,17 +121,27 @@ public class AggregateOperation1Impl<T0, A, R>
 
     @Nonnull @Override
     public AggregateOperation1<T0, A, A> withIdentityFinish() {
-        return new AggregateOperation1Impl<>(
-                createFn(), accumulateFn(), combineFn(), deductFn(),
-                unsupportedExportFn(), FunctionEx.identity());
+        return copyWithFinishFns(unsupportedExportFn(), FunctionEx.identity());
     }
 
     @Nonnull @Override
     public <R_NEW> AggregateOperation1<T0, A, R_NEW> andThen(FunctionEx<? super R, ? extends R_NEW> thenFn) {
-        return new AggregateOperation1Impl<>(
-                createFn(), accumulateFn(), combineFn(), deductFn(),
-                exportFn().andThen(thenFn), finishFn().andThen(thenFn)
-        );
+        return copyWithFinishFns(exportFn().andThen(thenFn), finishFn().andThen(thenFn));
+    }
+
+    /**
+     * Returns a copy with the given export and finish functions, keeping the
+     * declared primitive accumulation, which doesn't depend on them.
+     */
+    private <R_NEW> AggregateOperation1Impl<T0, A, R_NEW> copyWithFinishFns(
+            FunctionEx<? super A, ? extends R_NEW> exportFn,
+            FunctionEx<? super A, ? extends R_NEW> finishFn
+    ) {
+        AggregateOperation1Impl<T0, A, R_NEW> copy = new AggregateOperation1Impl<>(
+                createFn(), accumulateFn(), combineFn(), deductFn(), exportFn, finishFn);
+        copy.longSumFn = longSumFn;
+        copy.doubleSumFn = doubleSumFn;
+        return copy;
     }
 
     @Override
@@ -97,6 +149,24 @@ public class AggregateOperation1Impl<T0, A, R>
         return AggregateDataSerializerHook.AGGREGATE_OPERATION_1_IMPL;
     }
 
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        super.writeData(out);
+        if (out.getVersion().isGreaterOrEqual(V6_0)) {
+            out.writeObject(longSumFn);
+            out.writeObject(doubleSumFn);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        super.readData(in);
+        if (in.getVersion().isGreaterOrEqual(V6_0)) {
+            longSumFn = in.readObject();
+            doubleSumFn = in.readObject();
+        }
+    }
+
     public static class AggregateCombiningAccumulate<A, T> implements IdentifiedDataSerializable, BiConsumerEx<A, T> {
         private FunctionEx<T, A> getAccFn;
         private BiConsumerEx<? super A, ? super A> combineFn;
@@ -21,6 +21,7 @@ import com.hazelcast.internal.metrics.MetricDescriptor;
 import com.hazelcast.internal.metrics.MetricsCollectionContext;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.metrics.ProbeUnit;
+import com.hazelcast.internal.nio.Bits;
 import com.hazelcast.internal.nio.BufferObjectDataInput;
 import com.hazelcast.internal.nio.Connection;
 import com.hazelcast.internal.serialization.InternalSerializationService;
@@ -41,6 +42,8 @@ import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 
 import static com.hazelcast.jet.impl.Networking.PACKET_HEADER_SIZE;
 import static com.hazelcast.jet.impl.execution.DoneItem.DONE_ITEM;
@@ -96,6 +99,8 @@ public class ReceiverTasklet implements Tasklet {
     private final ArrayDeque<ObjWithPtionIdAndSize> inbox = new ArrayDeque<>();
     private final OutboundCollector collector;
     private final InternalSerializationService serializationService;
+    // null if compression is disabled, see SenderTasklet for the packet format
+    private final Inflater inflater;
 
     private boolean receptionDone;
 
@@ -105,6 +110,9 @@ public class ReceiverTasklet implements Tasklet {
     @Probe(name = MetricNames.DISTRIBUTED_BYTES_IN, unit = ProbeUnit.BYTES)
     private final Counter bytesInCounter = SwCounter.newSwCounter();
 
+    @Probe(name = MetricNames.DISTRIBUTED_WIRE_BYTES_IN, unit = ProbeUnit.BYTES)
+    private final Counter wireBytesInCounter = SwCounter.newSwCounter();
+
     //                    FLOW-CONTROL STATE
     //            All arrays are indexed by sender ID.
 
@@ -122,7 +130,7 @@ public class ReceiverTasklet implements Tasklet {
 
     public ReceiverTasklet(
             OutboundCollector collector, InternalSerializationService serializationService,
-            int rwinMultiplier, int flowControlPeriodMs, LoggingService loggingService,
+            int rwinMultiplier, int flowControlPeriodMs, boolean compressionEnabled, LoggingService loggingService,
             Address sourceAddress, int ordinal, String destinationVertexName,
             Connection memberConnection, String jobPrefix
     ) {
@@ -130,6 +138,7 @@ public class ReceiverTasklet implements Tasklet {
         this.serializationService = serializationService;
         this.rwinMultiplier = rwinMultiplier;
         this.flowControlPeriodNs = (double) MILLISECONDS.toNanos(flowControlPeriodMs);
+        this.inflater = compressionEnabled ? new Inflater() : null;
         this.sourceAddressString = sourceAddress.toString();
         this.ordinalString = "" + ordinal;
         this.destinationVertexName = destinationVertexName;
@@ -298,9 +307,11 @@ public class ReceiverTasklet implements Tasklet {
     private void tryFillInbox() {
         try {
             long totalBytes = 0;
+            long totalWireBytes = 0;
             long totalItems = 0;
             for (byte[] payload; (payload = incoming.poll()) != null; ) {
-                BufferObjectDataInput input = serializationService.createObjectDataInput(payload, PACKET_HEADER_SIZE);
+                BufferObjectDataInput input = packetBody(payload);
+                final int bodyStart = input.position();
                 final int itemCount = input.readInt();
                 for (int i = 0; i < itemCount; i++) {
                     final int mark = input.position();
@@ -310,16 +321,62 @@ public class ReceiverTasklet implements Tasklet {
                     inbox.add(new ObjWithPtionIdAndSize(item, partitionId, itemSize));
                 }
                 totalItems += itemCount;
-                totalBytes += input.position();
+                totalBytes += PACKET_HEADER_SIZE + input.position() - bodyStart;
+                totalWireBytes += payload.length;
                 tracker.madeProgress();
             }
             bytesInCounter.inc(totalBytes);
+            wireBytesInCounter.inc(totalWireBytes);
             itemsInCounter.inc(totalItems);
         } catch (IOException e) {
             throw rethrow(e);
         }
     }
 
+    /**
+     * Returns an input positioned at the item count of the packet, after
+     * decompressing the packet if needed.
+     */
+    private BufferObjectDataInput packetBody(byte[] payload) throws IOException {
+        BufferObjectDataInput input = serializationService.createObjectDataInput(payload, PACKET_HEADER_SIZE);
+        if (inflater == null) {
+            return input;
+        }
+        int uncompressedLength = input.readInt();
+        if (uncompressedLength < 0) {
+            // the sender didn't compress this packet
+            return input;
+        }
+        int compressedBodyOffset = PACKET_HEADER_SIZE + Bits.INT_SIZE_IN_BYTES;
+        byte[] body = new byte[uncompressedLength];
+        inflater.reset();
+        inflater.setInput(payload, compressedBodyOffset, payload.length - compressedBodyOffset);
+        try {
+            int length = 0;
+            while (length < body.length && !inflater.finished()) {
+                int count = inflater.inflate(body, length, body.length - length);
+                if (count == 0 && inflater.needsInput()) {
+                    break;
+                }
+                length += count;
+            }
+            if (length != uncompressedLength) {
+                throw new IOException("Corrupted packet from " + sourceAddressString + ", expected "
+                        + uncompressedLength + " bytes, but inflated " + length);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted packet from " + sourceAddressString + ": " + e, e);
+        }
+        return serializationService.createObjectDataInput(body);
+    }
+
+    @Override
+    public void close() {
+        if (inflater != null) {
+            inflater.end();
+        }
+    }
+
     public void initIncomingQueue(Queue<byte[]> incomingQueue) {
         incoming = incomingQueue;
     }
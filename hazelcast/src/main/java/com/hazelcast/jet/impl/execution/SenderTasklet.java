@@ -38,12 +38,17 @@ import com.hazelcast.spi.impl.NodeEngine;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
+import java.nio.ByteOrder;
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Queue;
 import java.util.function.Consumer;
+import java.util.zip.Deflater;
 
+import static com.hazelcast.jet.config.EdgeConfig.COMPRESSED_PACKET_SIZE_MULTIPLIER;
 import static com.hazelcast.jet.impl.Networking.createStreamPacketHeader;
 import static com.hazelcast.jet.impl.execution.DoneItem.DONE_ITEM;
+import static com.hazelcast.jet.impl.execution.ReceiverTasklet.COMPRESSED_SEQ_UNIT_LOG2;
 import static com.hazelcast.jet.impl.execution.ReceiverTasklet.compressSeq;
 import static com.hazelcast.jet.impl.execution.ReceiverTasklet.estimatedMemoryFootprint;
 import static com.hazelcast.jet.impl.util.ExceptionUtil.rethrow;
@@ -51,10 +56,20 @@ import static com.hazelcast.jet.impl.util.Util.uncheckRun;
 
 /**
  * The tasklet that sends the data associated with a single edge through network.
+ * <p>
+ * If compression is enabled for the edge, the part of the packet after the
+ * header is replaced with the length of the uncompressed data followed by
+ * the data deflated, or with {@code -1} followed by the uncompressed data if
+ * compression doesn't make it smaller.
  */
 public class SenderTasklet implements Tasklet {
     private static final int BUFFER_INITIAL_SIZE = 1 << 10;
     private static final int BUFFER_FIRST_GROWTH_SIZE = 1 << 15;
+    /**
+     * With compression, a packet can grow as long as it takes at most this
+     * fraction of the receive window left.
+     */
+    private static final int RECEIVE_WINDOW_SHARE_PER_PACKET = 4;
 
     private final Connection connection;
     private final Queue<Object> inbox = new ArrayDeque<>();
@@ -63,6 +78,10 @@ public class SenderTasklet implements Tasklet {
     private final BufferObjectDataOutput outputBuffer;
     private final int bufPosPastHeader;
     private final int packetSizeLimit;
+    // null if compression is disabled
+    private final Deflater deflater;
+    private final boolean useBigEndian;
+    private byte[] compressionBuffer = {};
 
     /* Used for metrics */
     private final String destinationAddressString;
@@ -75,6 +94,9 @@ public class SenderTasklet implements Tasklet {
     @Probe(name = MetricNames.DISTRIBUTED_BYTES_OUT, unit = ProbeUnit.BYTES)
     private final Counter bytesOutCounter = SwCounter.newSwCounter();
 
+    @Probe(name = MetricNames.DISTRIBUTED_WIRE_BYTES_OUT, unit = ProbeUnit.BYTES)
+    private final Counter wireBytesOutCounter = SwCounter.newSwCounter();
+
     private boolean instreamExhausted;
     // read and written by Jet thread
     private long sentSeq;
@@ -88,7 +110,7 @@ public class SenderTasklet implements Tasklet {
             NodeEngine nodeEngine,
             Address destinationAddress,
             Connection connection,
-            int destinationVertexId, int packetSizeLimit, long executionId,
+            int destinationVertexId, int packetSizeLimit, boolean compressionEnabled, long executionId,
             String sourceVertexName, int sourceOrdinal,
             InternalSerializationService serializationService
     ) {
@@ -97,6 +119,8 @@ public class SenderTasklet implements Tasklet {
         this.sourceVertexName = sourceVertexName;
         this.sourceOrdinalString = "" + sourceOrdinal;
         this.packetSizeLimit = packetSizeLimit;
+        this.deflater = compressionEnabled ? new Deflater(Deflater.BEST_SPEED) : null;
+        this.useBigEndian = serializationService.getByteOrder() == ByteOrder.BIG_ENDIAN;
         // we use Connection directly because we rely on packets not being transparently skipped or reordered
         this.connection = connection;
         this.outputBuffer = serializationService.createObjectDataOutput(BUFFER_INITIAL_SIZE, BUFFER_FIRST_GROWTH_SIZE);
@@ -114,7 +138,9 @@ public class SenderTasklet implements Tasklet {
         }
         if (tryFillOutputBuffer()) {
             progTracker.madeProgress();
-            if (!connection.write(new Packet(outputBuffer.toByteArray()).setPacketType(Packet.Type.JET))) {
+            byte[] packetBytes = deflater != null ? compressedOutputBuffer() : outputBuffer.toByteArray();
+            wireBytesOutCounter.inc(packetBytes.length);
+            if (!connection.write(new Packet(packetBytes).setPacketType(Packet.Type.JET))) {
                 throw new RestartableException("Connection write failed in " + toString());
             }
         }
@@ -143,8 +169,9 @@ public class SenderTasklet implements Tasklet {
             // header size + slot for writtenCount
             outputBuffer.position(bufPosPastHeader + Bits.INT_SIZE_IN_BYTES);
             int writtenCount = 0;
+            int sizeLimit = currentPacketSizeLimit();
             for (Object item;
-                 outputBuffer.position() < packetSizeLimit
+                 outputBuffer.position() < sizeLimit
                          && isWithinLimit(sentSeq, sendSeqLimitCompressed)
                          && (item = inbox.poll()) != null;
                  writtenCount++
@@ -165,6 +192,56 @@ public class SenderTasklet implements Tasklet {
         }
     }
 
+    /**
+     * Returns the size up to which the output buffer is filled. Without
+     * compression, it's the configured packet size limit. With compression,
+     * larger packets compress better, so the limit grows up to {@code
+     * COMPRESSED_PACKET_SIZE_MULTIPLIER} times the configured one
+     * while the receive window left is large enough. If the receiver falls
+     * behind, the window shrinks and the limit goes back to the configured
+     * one.
+     */
+    private int currentPacketSizeLimit() {
+        if (deflater == null) {
+            return packetSizeLimit;
+        }
+        long receiveWindowLeft = (long) (sendSeqLimitCompressed - compressSeq(sentSeq)) << COMPRESSED_SEQ_UNIT_LOG2;
+        long limit = Math.min(receiveWindowLeft / RECEIVE_WINDOW_SHARE_PER_PACKET,
+                (long) packetSizeLimit * COMPRESSED_PACKET_SIZE_MULTIPLIER);
+        return (int) Math.max(packetSizeLimit, limit);
+    }
+
+    private byte[] compressedOutputBuffer() {
+        byte[] packet = outputBuffer.toByteArray();
+        int bodyLength = packet.length - bufPosPastHeader;
+        int compressedBodyOffset = bufPosPastHeader + Bits.INT_SIZE_IN_BYTES;
+        if (compressionBuffer.length < compressedBodyOffset + bodyLength) {
+            compressionBuffer = new byte[compressedBodyOffset + bodyLength];
+        }
+        deflater.reset();
+        deflater.setInput(packet, bufPosPastHeader, bodyLength);
+        deflater.finish();
+        int compressedLength = deflater.deflate(compressionBuffer, compressedBodyOffset, bodyLength);
+        byte[] result;
+        if (deflater.finished() && compressedLength < bodyLength) {
+            result = Arrays.copyOf(compressionBuffer, compressedBodyOffset + compressedLength);
+            Bits.writeInt(result, bufPosPastHeader, bodyLength, useBigEndian);
+        } else {
+            result = new byte[compressedBodyOffset + bodyLength];
+            Bits.writeInt(result, bufPosPastHeader, -1, useBigEndian);
+            System.arraycopy(packet, bufPosPastHeader, result, compressedBodyOffset, bodyLength);
+        }
+        System.arraycopy(packet, 0, result, 0, bufPosPastHeader);
+        return result;
+    }
+
+    @Override
+    public void close() {
+        if (deflater != null) {
+            deflater.end();
+        }
+    }
+
     /**
      * Updates the upper limit on {@link #sentSeq}, which constrains how much more data this tasklet can send.
      *
@@ -162,6 +162,11 @@ public class StoreSnapshotTasklet implements Tasklet {
         return true;
     }
 
+    @Override
+    public void close() {
+        ssWriter.close();
+    }
+
     @Override
     public void provideDynamicMetrics(MetricDescriptor descriptor, MetricsCollectionContext context) {
         descriptor = descriptor.withTag(MetricTags.VERTEX, vertexName);
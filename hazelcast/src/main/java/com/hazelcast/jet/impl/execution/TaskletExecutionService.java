@@ -19,6 +19,8 @@ package com.hazelcast.jet.impl.execution;
 import com.hazelcast.internal.metrics.MetricDescriptor;
 import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.metrics.ProbeLevel;
+import com.hazelcast.internal.metrics.ProbeUnit;
 import com.hazelcast.internal.util.RuntimeAvailableProcessors;
 import com.hazelcast.internal.util.concurrent.BackoffIdleStrategy;
 import com.hazelcast.internal.util.concurrent.IdleStrategy;
@@ -54,6 +56,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.LockSupport;
@@ -65,6 +68,7 @@ import static com.hazelcast.internal.util.ExceptionUtil.sneakyThrow;
 import static com.hazelcast.internal.util.ExceptionUtil.withTryCatch;
 import static com.hazelcast.jet.impl.util.Util.doWithClassLoader;
 import static com.hazelcast.jet.impl.util.Util.uncheckRun;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_COOPERATIVE_WORK_STEALING_ENABLED;
 import static com.hazelcast.spi.properties.ClusterProperty.JET_IDLE_COOPERATIVE_MAX_MICROSECONDS;
 import static com.hazelcast.spi.properties.ClusterProperty.JET_IDLE_COOPERATIVE_MIN_MICROSECONDS;
 import static com.hazelcast.spi.properties.ClusterProperty.JET_IDLE_NONCOOPERATIVE_MAX_MICROSECONDS;
@@ -93,6 +97,11 @@ public class TaskletExecutionService {
     private final Object lock = new Object();
     private final IdleStrategy idlerCooperative;
     private final IdleStrategy idlerNonCooperative;
+    private final boolean workStealingEnabled;
+    // measuring the busy time costs two System.nanoTime() calls per iteration
+    private final boolean busyTimeMeasured;
+    // the number of cooperative workers advertising themselves as idle
+    private final AtomicInteger idleWorkerCount = new AtomicInteger();
 
     public TaskletExecutionService(NodeEngine nodeEngine, int threadCount, HazelcastProperties properties) {
         hzExecutionService = nodeEngine.getExecutionService();
@@ -110,6 +119,11 @@ public class TaskletExecutionService {
             properties, JET_IDLE_NONCOOPERATIVE_MIN_MICROSECONDS, JET_IDLE_NONCOOPERATIVE_MAX_MICROSECONDS
         );
 
+        workStealingEnabled = properties.getBoolean(JET_COOPERATIVE_WORK_STEALING_ENABLED);
+        busyTimeMeasured = workStealingEnabled
+                || nodeEngine.getConfig().getMetricsConfig().isEnabled()
+                && ProbeLevel.DEBUG.isEnabled(nodeEngine.getMetricsRegistry().minimumLevel());
+
         Arrays.setAll(cooperativeWorkers, i -> new CooperativeWorker());
         Arrays.setAll(cooperativeThreadPool, i -> new CooperativeWorkerThread(cooperativeWorkers[i],
                 String.format("hz.%s.jet.cooperative.thread-%d", hzInstanceName, i)));
@@ -337,21 +351,34 @@ public class TaskletExecutionService {
 
     private final class CooperativeWorker implements Runnable {
         private static final int COOPERATIVE_LOGGING_THRESHOLD = 5;
+        // idle iterations after which a worker advertises itself as idle
+        private static final int IDLE_ITERATIONS_BEFORE_STEAL = 100;
+        // busy iterations after which a worker hands a tasklet to an idle worker
+        private static final int BUSY_ITERATIONS_BEFORE_DONATE = 1000;
 
         @Probe(name = "taskletCount")
         private final CopyOnWriteArrayList<TaskletTracker> trackers;
         @Probe(name = "iterationCount")
         private final Counter iterationCount = SwCounter.newSwCounter();
+        @Probe(name = "busyTimeNanos", unit = ProbeUnit.NS, level = ProbeLevel.DEBUG)
+        private final Counter busyTimeNanos = SwCounter.newSwCounter();
+        @Probe(name = "stolenTaskletCount")
+        private final Counter stolenTaskletCount = MwCounter.newMwCounter();
 
         private final ProgressTracker progressTracker = new ProgressTracker();
         // prevent lambda allocation on each iteration
         private final Consumer<TaskletTracker> runTasklet = this::runTasklet;
 
         private final Semaphore newTaskletSemaphore = new Semaphore(0);
+        private final AtomicBoolean idle = new AtomicBoolean();
 
         private boolean finestLogEnabled;
-        private Thread myThread;
+        private volatile Thread myThread;
         private Contexts.Container contextContainer;
+        private int runnableCount;
+        private int busyIterationCount;
+        // guarded by this, prevents handing tasklets over to a terminated worker
+        private boolean terminated;
 
         CooperativeWorker() {
             this.trackers = new CopyOnWriteArrayList<>();
@@ -368,15 +395,30 @@ public class TaskletExecutionService {
             while (!isShutdown) {
                 finestLogEnabled = logger.isFinestEnabled();
                 progressTracker.reset();
+                runnableCount = 0;
+                long start = busyTimeMeasured ? System.nanoTime() : 0;
                 // garbage-free iteration -- relies on implementation in COWArrayList that doesn't use an Iterator
                 trackers.forEach(runTasklet);
                 iterationCount.inc();
+                if (progressTracker.isMadeProgress()) {
+                    if (busyTimeMeasured) {
+                        busyTimeNanos.inc(System.nanoTime() - start);
+                    }
+                    if (workStealingEnabled) {
+                        withdrawIdle();
+                        maybeDonateTasklet();
+                    }
+                }
                 if (!progressTracker.isMadeProgress() && newTaskletSemaphore.drainPermits() > 0) {
                     progressTracker.madeProgress();
                 }
                 if (progressTracker.isMadeProgress()) {
                     idleCount = 0;
                 } else {
+                    busyIterationCount = 0;
+                    if (workStealingEnabled && (trackers.isEmpty() || idleCount >= IDLE_ITERATIONS_BEFORE_STEAL)) {
+                        advertiseIdle();
+                    }
                     if (trackers.isEmpty()) {
                         newTaskletSemaphore.drainPermits();
                         if (trackers.isEmpty() && !isShutdown) {
@@ -392,10 +434,80 @@ public class TaskletExecutionService {
                     }
                 }
             }
+            synchronized (this) {
+                terminated = true;
+            }
+            withdrawIdle();
             trackers.forEach(t -> t.executionTracker.taskletDone());
             trackers.clear();
         }
 
+        private void advertiseIdle() {
+            if (idle.compareAndSet(false, true)) {
+                idleWorkerCount.incrementAndGet();
+            }
+        }
+
+        private void withdrawIdle() {
+            if (idle.compareAndSet(true, false)) {
+                idleWorkerCount.decrementAndGet();
+            }
+        }
+
+        /**
+         * Hands one of the tasklets which made progress in the last iteration
+         * over to an idle worker, if there is one and this worker has been
+         * running at least two such tasklets for a while. Called between
+         * iterations, so the tasklet is not running while it is moved.
+         */
+        private void maybeDonateTasklet() {
+            if (runnableCount < 2 || idleWorkerCount.get() == 0) {
+                busyIterationCount = 0;
+                return;
+            }
+            if (++busyIterationCount < BUSY_ITERATIONS_BEFORE_DONATE) {
+                return;
+            }
+            busyIterationCount = 0;
+            // keep the first runnable tasklet, donate the last one
+            TaskletTracker candidate = null;
+            boolean keptOne = false;
+            for (TaskletTracker t : trackers) {
+                if (t.madeProgress) {
+                    if (keptOne) {
+                        candidate = t;
+                    }
+                    keptOne = true;
+                }
+            }
+            if (candidate == null) {
+                return;
+            }
+            for (CooperativeWorker worker : cooperativeWorkers) {
+                if (worker != this && worker.idle.compareAndSet(true, false)) {
+                    idleWorkerCount.decrementAndGet();
+                    if (worker.adopt(candidate)) {
+                        trackers.remove(candidate);
+                        logger.finest("Moved %s to another cooperative worker", candidate.tasklet);
+                    }
+                    return;
+                }
+            }
+        }
+
+        private boolean adopt(TaskletTracker t) {
+            synchronized (this) {
+                if (terminated) {
+                    return false;
+                }
+                trackers.add(t);
+            }
+            stolenTaskletCount.inc();
+            newTaskletSemaphore.release();
+            LockSupport.unpark(myThread);
+            return true;
+        }
+
         private void runTasklet(TaskletTracker t) {
             long start = 0;
             if (finestLogEnabled) {
@@ -405,6 +517,10 @@ public class TaskletExecutionService {
                 myThread.setContextClassLoader(t.jobClassLoader);
                 contextContainer.setContext(t.tasklet.getProcessorContext());
                 final ProgressState result = t.tasklet.call();
+                t.madeProgress = result.isMadeProgress();
+                if (t.madeProgress) {
+                    runnableCount++;
+                }
                 if (result.isDone()) {
                     dismissTasklet(t);
                 }
@@ -438,6 +554,8 @@ public class TaskletExecutionService {
         final Tasklet tasklet;
         final ExecutionTracker executionTracker;
         final ClassLoader jobClassLoader;
+        // whether the last call made progress, only accessed by the owning worker
+        boolean madeProgress;
 
         TaskletTracker(Tasklet tasklet, ExecutionTracker executionTracker, ClassLoader jobClassLoader) {
             this.tasklet = tasklet;
@@ -695,7 +695,8 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
                     adaptedComparator);
             SenderTasklet t = new SenderTasklet(inboundEdgeStream, nodeEngine, destAddr,
                     memberConnections.get(destAddr),
-                    destVertexId, edge.getConfig().getPacketSizeLimit(), executionId,
+                    destVertexId, edge.getConfig().getPacketSizeLimit(), edge.getConfig().isCompressionEnabled(),
+                    executionId,
                     edge.sourceVertex().name(), edge.sourceOrdinal(), jobSerializationService
             );
             senderMap.computeIfAbsent(destVertexId, xx -> new HashMap<>())
@@ -790,6 +791,7 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
                                 collector, jobSerializationService,
                                 edge.getConfig().getReceiveWindowMultiplier(),
                                 getJetConfig().getFlowControlPeriodMs(),
+                                edge.getConfig().isCompressionEnabled(),
                                 nodeEngine.getLoggingService(), addr, edge.destOrdinal(), edge.destVertex().name(),
                                 memberConnections.get(addr), jobPrefix);
                         addrToTasklet.put(addr, receiverTasklet);
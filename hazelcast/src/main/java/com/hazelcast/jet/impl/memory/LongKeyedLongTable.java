@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.internal.util.HashUtil;
+
+/**
+ * Open-addressing hash table from {@code long} keys to {@code long} values,
+ * used to keep keyed primitive accumulators without boxing the keys and
+ * allocating an accumulator object per key.
+ * <p>
+ * Unlike {@link com.hazelcast.internal.util.collection.Long2LongHashMap},
+ * all {@code long} values are valid keys and values: the empty slot marker
+ * {@code 0} is stored in a dedicated slot when used as a key. The values
+ * are updated in place through the slot returned by {@link #slotOf}, so an
+ * accumulation costs a single probe.
+ * <p>
+ * The table is not thread-safe.
+ */
+public final class LongKeyedLongTable {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final double LOAD_FACTOR = 0.6;
+
+    private long[] keys;
+    // values[keys.length] is the slot of the zero key
+    private long[] values;
+    private int mask;
+    private int resizeThreshold;
+    private int size;
+    private boolean hasZeroKey;
+
+    public LongKeyedLongTable() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        for (int index = index(key); keys[index] != 0; index = (index + 1) & mask) {
+            if (keys[index] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the slot of the given key, inserting the key with value {@code
+     * 0} if it is not present. The slot stays valid until the next insertion
+     * or {@link #clear()}.
+     */
+    public int slotOf(long key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                values[keys.length] = 0;
+                size++;
+            }
+            return keys.length;
+        }
+        int index = index(key);
+        for (long candidate; (candidate = keys[index]) != 0; index = (index + 1) & mask) {
+            if (candidate == key) {
+                return index;
+            }
+        }
+        if (size >= resizeThreshold) {
+            rehash(keys.length << 1);
+            return slotOf(key);
+        }
+        keys[index] = key;
+        values[index] = 0;
+        size++;
+        return index;
+    }
+
+    public long value(int slot) {
+        return values[slot];
+    }
+
+    public void setValue(int slot, long value) {
+        values[slot] = value;
+    }
+
+    public void clear() {
+        allocate(INITIAL_CAPACITY);
+        size = 0;
+        hasZeroKey = false;
+    }
+
+    /**
+     * Returns a cursor over the entries of this table. The table must not be
+     * modified while the cursor is in use.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private int index(long key) {
+        return (int) HashUtil.fastLongMix(key) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity + 1];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int newCapacity) {
+        if (newCapacity <= 0) {
+            throw new IllegalStateException("Max capacity reached at size=" + size);
+        }
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(newCapacity);
+        values[keys.length] = oldValues[oldKeys.length];
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != 0) {
+                int index = index(key);
+                while (keys[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Cursor over the entries of the table, see {@link #cursor()}.
+     */
+    public final class Cursor {
+        private int slot = -1;
+
+        public boolean advance() {
+            // visit the zero key's slot last
+            do {
+                slot++;
+            } while (slot < keys.length && keys[slot] == 0);
+            return slot < keys.length || slot == keys.length && hasZeroKey;
+        }
+
+        public long key() {
+            return slot == keys.length ? 0 : keys[slot];
+        }
+
+        public long value() {
+            return values[slot];
+        }
+    }
+}
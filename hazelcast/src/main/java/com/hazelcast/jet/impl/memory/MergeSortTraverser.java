@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.jet.Traverser;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A traverser merging any number of sorted traversers into a single sorted
+ * one. Used to merge the runs spilled by a processor with the state it
+ * still holds in memory.
+ *
+ * @param <T> type of the items
+ */
+public final class MergeSortTraverser<T> implements Traverser<T> {
+
+    private final PriorityQueue<Head<T>> heads;
+
+    public MergeSortTraverser(List<? extends Traverser<T>> sources, Comparator<? super T> comparator) {
+        this.heads = new PriorityQueue<>(Math.max(1, sources.size()),
+                (h1, h2) -> comparator.compare(h1.item, h2.item));
+        for (Traverser<T> source : sources) {
+            T item = source.next();
+            if (item != null) {
+                heads.add(new Head<>(source, item));
+            }
+        }
+    }
+
+    @Override
+    public T next() {
+        Head<T> head = heads.poll();
+        if (head == null) {
+            return null;
+        }
+        T item = head.item;
+        head.item = head.source.next();
+        if (head.item != null) {
+            heads.add(head);
+        }
+        return item;
+    }
+
+    private static final class Head<T> {
+        private final Traverser<T> source;
+        private T item;
+
+        Head(Traverser<T> source, T item) {
+            this.source = source;
+            this.item = item;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.jet.JetException;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.impl.util.Util;
+import com.hazelcast.spi.properties.ClusterProperty;
+
+import javax.annotation.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.internal.util.Preconditions.checkState;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_SPILL_DIRECTORY;
+
+/**
+ * A run of serialized items spilled to a local file by a processor whose
+ * state exceeds its accumulation limit.
+ * <p>
+ * The items are written sequentially, each as its length followed by the
+ * bytes of its {@link Data}, and read back in the same order once writing is
+ * finished. A run holds an open file and a buffer only while it's being
+ * written or read. The file is deleted when the run has been read to the end
+ * or when {@link #delete()} is called, whichever happens first.
+ * <p>
+ * The name of the file contains the id of the process which created it, so
+ * that the files left behind by a crashed member can be recognized and
+ * {@linkplain #deleteStaleFiles deleted}.
+ */
+public final class SpillRun {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String FILE_PREFIX = "jet-spill-";
+    private static final String FILE_SUFFIX = ".run";
+    private static final long PID = ProcessHandle.current().pid();
+
+    // the directories already cleaned up by this JVM
+    private static final Set<Path> CLEANED_DIRECTORIES = ConcurrentHashMap.newKeySet();
+
+    private final Path file;
+    private DataOutputStream out;
+    private DataInputStream in;
+    private long itemCount;
+    private long remaining;
+
+    private SpillRun(Path file) throws IOException {
+        this.file = file;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+    }
+
+    /**
+     * Returns the directory processors of the given context spill to, or
+     * {@code null} if spilling is not enabled.
+     *
+     * @see ClusterProperty#JET_SPILL_DIRECTORY
+     */
+    @Nullable
+    public static Path spillDirectory(ProcessorSupplier.Context context) {
+        String directory = Util.getNodeEngine(context.hazelcastInstance()).getProperties().getString(JET_SPILL_DIRECTORY);
+        return directory == null || directory.isEmpty() ? null : Path.of(directory);
+    }
+
+    /**
+     * Creates a new run in a new file in the given directory, ready for
+     * writing.
+     */
+    public static SpillRun create(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            return new SpillRun(Files.createTempFile(directory, FILE_PREFIX + PID + '-', FILE_SUFFIX));
+        } catch (IOException e) {
+            throw new JetException("Failed to create a spill file in " + directory, e);
+        }
+    }
+
+    /**
+     * Deletes the spill files in the given directory which were created by a
+     * process that is no longer alive, for example by a member which crashed
+     * before it could delete its runs. Each directory is cleaned up only once
+     * per JVM.
+     */
+    public static void deleteStaleFiles(Path directory) {
+        if (!Files.isDirectory(directory) || !CLEANED_DIRECTORIES.add(directory.toAbsolutePath())) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                long pid = creatorPid(file.getFileName().toString());
+                if (pid > 0 && !ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new JetException("Failed to delete stale spill files in " + directory, e);
+        }
+    }
+
+    // returns -1 if the name doesn't contain a process id
+    private static long creatorPid(String fileName) {
+        int end = fileName.indexOf('-', FILE_PREFIX.length());
+        if (end < 0) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(fileName.substring(FILE_PREFIX.length(), end));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public void write(Data item) {
+        checkState(out != null, "Spill run is not open for writing");
+        try {
+            byte[] bytes = item.toByteArray();
+            out.writeInt(bytes.length);
+            out.write(bytes);
+            itemCount++;
+        } catch (IOException e) {
+            throw new JetException("Failed to write to spill file " + file, e);
+        }
+    }
+
+    /**
+     * Finishes writing. The file is opened for reading on the first {@link
+     * #read()}.
+     */
+    public void finishWriting() {
+        checkState(out != null, "Spill run is not open for writing");
+        try {
+            out.close();
+            out = null;
+            remaining = itemCount;
+        } catch (IOException e) {
+            throw new JetException("Failed to finish spill file " + file, e);
+        }
+    }
+
+    /**
+     * Returns the next item of the run or {@code null}, if all items have
+     * been read.
+     */
+    public Data read() {
+        checkState(out == null, "Spill run is still open for writing");
+        if (remaining == 0) {
+            delete();
+            return null;
+        }
+        try {
+            if (in == null) {
+                in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+            }
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            remaining--;
+            return new HeapData(bytes);
+        } catch (IOException e) {
+            throw new JetException("Failed to read from spill file " + file, e);
+        }
+    }
+
+    public long itemCount() {
+        return itemCount;
+    }
+
+    /**
+     * Closes the run and deletes its file.
+     */
+    public void delete() {
+        closeResource(out);
+        closeResource(in);
+        out = null;
+        in = null;
+        remaining = 0;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new JetException("Failed to delete spill file " + file, e);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.Traversers;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * The sorted {@linkplain SpillRun runs} a processor spilled to disk.
+ * <p>
+ * Every run being merged holds an open file and a read buffer, so at most
+ * {@link #MAX_MERGE_FAN_IN} runs are merged at once. The runs are kept in
+ * levels: a new run is added to level 0 and once a level holds the maximum
+ * number of runs, they are merged into a single run on the next level. The
+ * final {@link #merge} first merges the smallest runs until the remaining
+ * ones can be merged with the items still in memory in a single pass.
+ *
+ * @param <T> type of the items
+ */
+public final class SpilledRuns<T> {
+
+    /**
+     * The maximum number of sources merged at once.
+     */
+    public static final int MAX_MERGE_FAN_IN = 32;
+
+    private final Path directory;
+    private final BiConsumer<SpillRun, ? super T> writeFn;
+    private final Function<SpillRun, ? extends T> readFn;
+    private final Comparator<? super T> comparator;
+    private final UnaryOperator<Traverser<T>> mergeFn;
+    private final int maxFanIn;
+
+    // levels.get(i) holds the runs which went through i merge passes
+    private final List<List<SpillRun>> levels = new ArrayList<>();
+    // all runs ever created, deleting a run twice is a no-op
+    private final List<SpillRun> allRuns = new ArrayList<>();
+
+    /**
+     * @param directory  the directory to create the run files in
+     * @param writeFn    writes an item to a run
+     * @param readFn     reads the next item from a run, returns {@code null}
+     *                   at the end of the run
+     * @param comparator the order of the items in a run
+     * @param mergeFn    applied to every merged traverser, e.g. to combine
+     *                   adjacent items. Must keep the order of the items
+     */
+    public SpilledRuns(
+            Path directory,
+            BiConsumer<SpillRun, ? super T> writeFn,
+            Function<SpillRun, ? extends T> readFn,
+            Comparator<? super T> comparator,
+            UnaryOperator<Traverser<T>> mergeFn
+    ) {
+        this(directory, writeFn, readFn, comparator, mergeFn, MAX_MERGE_FAN_IN);
+    }
+
+    SpilledRuns(
+            Path directory,
+            BiConsumer<SpillRun, ? super T> writeFn,
+            Function<SpillRun, ? extends T> readFn,
+            Comparator<? super T> comparator,
+            UnaryOperator<Traverser<T>> mergeFn,
+            int maxFanIn
+    ) {
+        this.directory = directory;
+        this.writeFn = writeFn;
+        this.readFn = readFn;
+        this.comparator = comparator;
+        this.mergeFn = mergeFn;
+        this.maxFanIn = maxFanIn;
+    }
+
+    /**
+     * Writes the given sorted items as a new run, merging the runs of a full
+     * level.
+     */
+    public void spill(Traverser<? extends T> sortedItems) {
+        addRun(0, write(sortedItems));
+    }
+
+    private void addRun(int level, SpillRun run) {
+        if (levels.size() == level) {
+            levels.add(new ArrayList<>(maxFanIn));
+        }
+        List<SpillRun> runs = levels.get(level);
+        runs.add(run);
+        if (runs.size() == maxFanIn) {
+            SpillRun merged = write(merged(runs, Traversers.empty()));
+            runs.clear();
+            addRun(level + 1, merged);
+        }
+    }
+
+    /**
+     * Returns a traverser over all spilled items merged with the given sorted
+     * items still held in memory.
+     */
+    public Traverser<T> merge(Traverser<T> inMemory) {
+        List<SpillRun> runs = new ArrayList<>();
+        for (List<SpillRun> level : levels) {
+            runs.addAll(level);
+        }
+        levels.clear();
+        // leave one source for the items in memory, merging the smallest runs first
+        while (runs.size() >= maxFanIn) {
+            List<SpillRun> smallest = runs.subList(0, Math.min(maxFanIn, runs.size() - maxFanIn + 2));
+            SpillRun merged = write(merged(smallest, Traversers.empty()));
+            smallest.clear();
+            runs.add(merged);
+        }
+        return merged(runs, inMemory);
+    }
+
+    private Traverser<T> merged(List<SpillRun> runs, Traverser<T> inMemory) {
+        List<Traverser<T>> sources = new ArrayList<>(runs.size() + 1);
+        for (SpillRun run : runs) {
+            sources.add(() -> readFn.apply(run));
+        }
+        sources.add(inMemory);
+        return mergeFn.apply(new MergeSortTraverser<>(sources, comparator));
+    }
+
+    private SpillRun write(Traverser<? extends T> items) {
+        SpillRun run = SpillRun.create(directory);
+        allRuns.add(run);
+        for (T item; (item = items.next()) != null; ) {
+            writeFn.accept(run, item);
+        }
+        run.finishWriting();
+        return run;
+    }
+
+    /**
+     * Returns the number of runs spilled so far, including the merged ones.
+     */
+    public int runCount() {
+        return allRuns.size();
+    }
+
+    public boolean isEmpty() {
+        return allRuns.isEmpty();
+    }
+
+    /**
+     * Deletes the files of all runs.
+     */
+    public void deleteAll() {
+        allRuns.forEach(SpillRun::delete);
+    }
+}
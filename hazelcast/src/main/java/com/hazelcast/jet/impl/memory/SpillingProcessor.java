@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.impl.memory;
+
+import javax.annotation.Nonnull;
+import java.nio.file.Path;
+
+/**
+ * A processor which can write its state to {@linkplain SpillRun spill runs}
+ * on disk when it reaches the accumulation limit.
+ * <p>
+ * Spilling and merging the runs is blocking I/O, so a processor which has
+ * spilling enabled must not be {@linkplain
+ * com.hazelcast.jet.core.Processor#isCooperative() cooperative}.
+ */
+public interface SpillingProcessor {
+
+    /**
+     * Enables spilling to the given directory. Called by the {@link
+     * com.hazelcast.jet.impl.processor.SpillingProcessorSupplier} right after
+     * the processor is created, before its cooperativeness is queried.
+     */
+    void enableSpilling(@Nonnull Path spillDirectory);
+}
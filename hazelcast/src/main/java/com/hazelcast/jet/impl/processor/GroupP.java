@@ -17,23 +17,40 @@
 package com.hazelcast.jet.impl.processor;
 
 import com.hazelcast.function.FunctionEx;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.accumulator.DoubleAccumulator;
+import com.hazelcast.jet.accumulator.LongAccumulator;
 import com.hazelcast.jet.aggregate.AggregateOperation;
 import com.hazelcast.jet.aggregate.AggregateOperation1;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.impl.execution.init.Contexts.InternalProcSupplierCtx;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.memory.LongKeyedLongTable;
+import com.hazelcast.jet.impl.memory.SpillRun;
+import com.hazelcast.jet.impl.memory.SpilledRuns;
+import com.hazelcast.jet.impl.memory.SpillingProcessor;
 
 import javax.annotation.Nonnull;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
 
 import static com.hazelcast.internal.util.Preconditions.checkTrue;
+import static com.hazelcast.jet.Traversers.traverseIterable;
+import static com.hazelcast.jet.Util.entry;
 import static java.util.Collections.singletonList;
 
 /**
@@ -41,8 +58,23 @@ import static java.util.Collections.singletonList;
  * aggregate operation on each group. The items may originate from one or
  * more inbound edges. The supplied aggregate operation must have as many
  * accumulation functions as there are inbound edges.
+ * <p>
+ * If the number of groups reaches the accumulation limit, the aggregate
+ * operation can combine accumulators and a {@linkplain
+ * SpillRun#spillDirectory spill directory} is configured, the groups held in
+ * memory are written to a local file as a run sorted by the hash code of the
+ * key. On completion the runs are merged with the groups still in memory,
+ * combining the accumulators of equal keys. Spilling is enabled by the
+ * {@link SpillingProcessorSupplier} and makes the processor non-cooperative.
+ * <p>
+ * If the aggregate operation declares a {@linkplain
+ * AggregateOperation1#withLongSumAccumulation primitive sum accumulation}
+ * and the keys are all {@code Long} or all {@code Integer}, the
+ * accumulators are kept in a {@link LongKeyedLongTable} and converted to
+ * accumulator objects only when emitted. On the first key of another type,
+ * or when the accumulation limit is reached, they are moved to the map.
  */
-public class GroupP<K, A, R, OUT> extends AbstractProcessor {
+public class GroupP<K, A, R, OUT> extends AbstractProcessor implements SpillingProcessor {
 
     protected final Map<K, A> keyToAcc = new HashMap<>();
 
@@ -50,9 +82,19 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
     private final AggregateOperation<A, R> aggrOp;
     private final BiFunction<? super K, ? super R, OUT> mapToOutputFn;
 
+    private final ToLongFunction<Object> longSumFn;
+    private final ToDoubleFunction<Object> doubleSumFn;
+
+    // null if the primitive accumulation isn't declared or was abandoned
+    private LongKeyedLongTable primitiveAccs;
+    private Class<?> primitiveKeyClass;
+
+    private Path spillDirectory;
+    private SpilledRuns<Entry<K, A>> spilledRuns;
     private long maxEntries;
     private Traverser<OUT> resultTraverser;
 
+    @SuppressWarnings("unchecked")
     public GroupP(
             @Nonnull List<FunctionEx<?, ? extends K>> groupKeyFns,
             @Nonnull AggregateOperation<A, R> aggrOp,
@@ -63,6 +105,16 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
         this.groupKeyFns = groupKeyFns;
         this.aggrOp = aggrOp;
         this.mapToOutputFn = mapToOutputFn;
+        if (aggrOp instanceof AggregateOperation1<?, ?, ?> aggrOp1) {
+            longSumFn = (ToLongFunction<Object>) aggrOp1.longSumFn();
+            doubleSumFn = (ToDoubleFunction<Object>) aggrOp1.doubleSumFn();
+        } else {
+            longSumFn = null;
+            doubleSumFn = null;
+        }
+        if (longSumFn != null || doubleSumFn != null) {
+            primitiveAccs = new LongKeyedLongTable();
+        }
     }
 
     public <T> GroupP(
@@ -73,9 +125,38 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
         this(singletonList(groupKeyFn), aggrOp, mapToOutputFn);
     }
 
+    @Override
+    public void enableSpilling(@Nonnull Path spillDirectory) {
+        // without the combine function the spilled runs can't be merged
+        if (aggrOp.combineFn() != null) {
+            this.spillDirectory = spillDirectory;
+        }
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return spillDirectory == null;
+    }
+
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
         maxEntries = context.maxProcessorAccumulatedRecords();
+        if (spillDirectory != null) {
+            InternalSerializationService serializationService =
+                    ((InternalProcSupplierCtx) context).serializationService();
+            spilledRuns = new SpilledRuns<>(spillDirectory,
+                    (run, e) -> {
+                        run.write(serializationService.toData(e.getKey()));
+                        run.write(serializationService.toData(e.getValue()));
+                    },
+                    run -> {
+                        Data key = run.read();
+                        return key == null ? null
+                                : entry(serializationService.toObject(key), serializationService.toObject(run.read()));
+                    },
+                    Comparator.comparingInt(e -> Objects.hashCode(e.getKey())),
+                    CombiningTraverser::new);
+        }
     }
 
     @Override
@@ -83,30 +164,175 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
     protected boolean tryProcess(int ordinal, @Nonnull Object item) {
         Function<Object, ? extends K> keyFn = (Function<Object, ? extends K>) groupKeyFns.get(ordinal);
         K key = keyFn.apply(item);
-        A acc = keyToAcc.computeIfAbsent(key, k -> {
+        if (primitiveAccs != null && accumulatePrimitive(key, item)) {
+            return true;
+        }
+        A acc = keyToAcc.get(key);
+        if (acc == null) {
             if (keyToAcc.size() == maxEntries) {
-                throw new AccumulationLimitExceededException();
+                spill();
             }
-
-            return aggrOp.createFn().get();
-        });
+            acc = aggrOp.createFn().get();
+            keyToAcc.put(key, acc);
+        }
         aggrOp.accumulateFn(ordinal).accept(acc, item);
         return true;
     }
 
+    /**
+     * Accumulates the item into {@link #primitiveAccs}. Returns {@code false}
+     * if the item has to be accumulated into {@link #keyToAcc}, in which
+     * case the primitive accumulators have been moved there.
+     */
+    private boolean accumulatePrimitive(Object key, Object item) {
+        if (primitiveKeyClass == null) {
+            if (!(key instanceof Long || key instanceof Integer) || !keyToAcc.isEmpty()) {
+                primitiveAccs = null;
+                return false;
+            }
+            primitiveKeyClass = key.getClass();
+        }
+        if (key == null || key.getClass() != primitiveKeyClass) {
+            movePrimitiveAccsToMap();
+            return false;
+        }
+        long primitiveKey = ((Number) key).longValue();
+        if (primitiveAccs.size() == maxEntries && !primitiveAccs.containsKey(primitiveKey)) {
+            movePrimitiveAccsToMap();
+            return false;
+        }
+        int slot = primitiveAccs.slotOf(primitiveKey);
+        long value = primitiveAccs.value(slot);
+        primitiveAccs.setValue(slot, longSumFn != null
+                ? Math.addExact(value, longSumFn.applyAsLong(item))
+                : Double.doubleToRawLongBits(Double.longBitsToDouble(value) + doubleSumFn.applyAsDouble(item)));
+        return true;
+    }
+
+    private void movePrimitiveAccsToMap() {
+        for (LongKeyedLongTable.Cursor cursor = primitiveAccs.cursor(); cursor.advance(); ) {
+            keyToAcc.put(toKey(cursor.key()), toAccumulator(cursor.value()));
+        }
+        primitiveAccs = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private K toKey(long primitiveKey) {
+        // not a conditional expression, it would unbox the Integer
+        if (primitiveKeyClass == Integer.class) {
+            return (K) Integer.valueOf((int) primitiveKey);
+        }
+        return (K) Long.valueOf(primitiveKey);
+    }
+
+    @SuppressWarnings("unchecked")
+    private A toAccumulator(long value) {
+        return (A) (longSumFn != null
+                ? new LongAccumulator(value)
+                : new DoubleAccumulator(Double.longBitsToDouble(value)));
+    }
+
+    private void spill() {
+        if (spillDirectory == null) {
+            throw new AccumulationLimitExceededException();
+        }
+        int groupCount = keyToAcc.size();
+        spilledRuns.spill(traverseIterable(sortedByKeyHash()));
+        keyToAcc.clear();
+        getLogger().fine("Spilled %d groups to disk, run count: %d", groupCount, spilledRuns.runCount());
+    }
+
+    private List<Entry<K, A>> sortedByKeyHash() {
+        List<Entry<K, A>> entries = new ArrayList<>(keyToAcc.size());
+        for (Entry<K, A> e : keyToAcc.entrySet()) {
+            entries.add(entry(e.getKey(), e.getValue()));
+        }
+        entries.sort(Comparator.comparingInt(e -> Objects.hashCode(e.getKey())));
+        return entries;
+    }
+
     @Override
     public boolean complete() {
         if (resultTraverser == null) {
-            resultTraverser = new ResultTraverser()
-                    // reuse null filtering done by map()
-                    .map(e -> mapToOutputFn.apply(e.getKey(), aggrOp.finishFn().apply(e.getValue())));
+            Traverser<Entry<K, A>> groups;
+            if (primitiveAccs != null) {
+                LongKeyedLongTable.Cursor cursor = primitiveAccs.cursor();
+                groups = () -> cursor.advance() ? entry(toKey(cursor.key()), toAccumulator(cursor.value())) : null;
+            } else if (spilledRuns == null || spilledRuns.isEmpty()) {
+                groups = new ResultTraverser();
+            } else {
+                Traverser<Entry<K, A>> inMemory = traverseIterable(sortedByKeyHash());
+                keyToAcc.clear();
+                groups = spilledRuns.merge(inMemory);
+            }
+            // reuse null filtering done by map()
+            resultTraverser = groups.map(e -> mapToOutputFn.apply(e.getKey(), aggrOp.finishFn().apply(e.getValue())));
         }
         return emitFromTraverser(resultTraverser);
     }
 
     @Override
     public boolean closeIsCooperative() {
-        return true;
+        // deleting the spill files is blocking I/O
+        return spilledRuns == null || spilledRuns.isEmpty();
+    }
+
+    @Override
+    public void close() {
+        if (spilledRuns != null) {
+            spilledRuns.deleteAll();
+        }
+    }
+
+    /**
+     * Combines the accumulators of equal keys coming from different runs.
+     * Keeps the entries sorted, so its output can be spilled again.
+     * Relies on the merged entries being sorted by the hash code of the key,
+     * so only entries with the same hash code have to be held at once.
+     */
+    private class CombiningTraverser implements Traverser<Entry<K, A>> {
+        private final Traverser<Entry<K, A>> merged;
+        private final List<Entry<K, A>> group = new ArrayList<>();
+        private Entry<K, A> pending;
+        private int groupIndex;
+
+        CombiningTraverser(Traverser<Entry<K, A>> merged) {
+            this.merged = merged;
+        }
+
+        @Override
+        public Entry<K, A> next() {
+            if (groupIndex < group.size()) {
+                return group.get(groupIndex++);
+            }
+            group.clear();
+            groupIndex = 0;
+            Entry<K, A> first = pending != null ? pending : merged.next();
+            pending = null;
+            if (first == null) {
+                return null;
+            }
+            int hash = Objects.hashCode(first.getKey());
+            group.add(first);
+            for (Entry<K, A> e; (e = merged.next()) != null; ) {
+                if (Objects.hashCode(e.getKey()) != hash) {
+                    pending = e;
+                    break;
+                }
+                combineIntoGroup(e);
+            }
+            return group.get(groupIndex++);
+        }
+
+        private void combineIntoGroup(Entry<K, A> e) {
+            for (Entry<K, A> existing : group) {
+                if (Objects.equals(existing.getKey(), e.getKey())) {
+                    aggrOp.combineFn().accept(existing.getValue(), e.getValue());
+                    return;
+                }
+            }
+            group.add(e);
+        }
     }
 
     private class ResultTraverser implements Traverser<Entry<K, A>> {
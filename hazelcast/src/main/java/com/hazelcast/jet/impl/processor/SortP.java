@@ -16,51 +16,113 @@
 
 package com.hazelcast.jet.impl.processor;
 
+import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.impl.execution.init.Contexts.InternalProcSupplierCtx;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.memory.SpillRun;
+import com.hazelcast.jet.impl.memory.SpilledRuns;
+import com.hazelcast.jet.impl.memory.SpillingProcessor;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.PriorityQueue;
+import java.util.function.UnaryOperator;
 
-public class SortP<T> extends AbstractProcessor {
+/**
+ * Batch processor that emits all received items sorted.
+ * <p>
+ * If the number of items reaches the accumulation limit and a {@linkplain
+ * SpillRun#spillDirectory spill directory} is configured, the items held in
+ * memory are written as a sorted run to a local file. On completion the runs
+ * are merged with the items still in memory. Spilling is enabled by the
+ * {@link SpillingProcessorSupplier} and makes the processor non-cooperative.
+ */
+public class SortP<T> extends AbstractProcessor implements SpillingProcessor {
 
     private final PriorityQueue<T> priorityQueue;
-    private final Traverser<T> resultTraverser;
+    private final Comparator<? super T> comparator;
 
+    private Path spillDirectory;
+    private SpilledRuns<T> spilledRuns;
+    private Traverser<T> resultTraverser;
     private long maxItems;
 
+    @SuppressWarnings("unchecked")
     public SortP(@Nullable Comparator<T> comparator) {
         this.priorityQueue = new PriorityQueue<>(comparator);
-        this.resultTraverser = priorityQueue::poll;
+        this.comparator = comparator != null ? comparator : (Comparator<? super T>) Comparator.naturalOrder();
+    }
+
+    @Override
+    public void enableSpilling(@Nonnull Path spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return spillDirectory == null;
     }
 
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
         maxItems = context.maxProcessorAccumulatedRecords();
+        if (spillDirectory != null) {
+            InternalSerializationService serializationService =
+                    ((InternalProcSupplierCtx) context).serializationService();
+            spilledRuns = new SpilledRuns<>(spillDirectory,
+                    (run, item) -> run.write(serializationService.toData(item)),
+                    run -> serializationService.toObject(run.read()),
+                    comparator, UnaryOperator.identity());
+        }
     }
 
     @Override
     @SuppressWarnings("unchecked")
     protected boolean tryProcess0(@Nonnull Object item) {
         if (priorityQueue.size() == maxItems) {
-            throw new AccumulationLimitExceededException();
+            spill();
         }
 
         priorityQueue.add((T) item);
         return true;
     }
 
+    private void spill() {
+        if (spillDirectory == null) {
+            throw new AccumulationLimitExceededException();
+        }
+        int itemCount = priorityQueue.size();
+        spilledRuns.spill(priorityQueue::poll);
+        getLogger().fine("Spilled %d items to disk, run count: %d", itemCount, spilledRuns.runCount());
+    }
+
     @Override
     public boolean complete() {
+        if (resultTraverser == null) {
+            if (spilledRuns == null || spilledRuns.isEmpty()) {
+                resultTraverser = priorityQueue::poll;
+            } else {
+                resultTraverser = spilledRuns.merge(priorityQueue::poll);
+            }
+        }
         return emitFromTraverser(resultTraverser);
     }
 
     @Override
     public boolean closeIsCooperative() {
-        return true;
+        // deleting the spill files is blocking I/O
+        return spilledRuns == null || spilledRuns.isEmpty();
+    }
+
+    @Override
+    public void close() {
+        if (spilledRuns != null) {
+            spilledRuns.deleteAll();
+        }
     }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.function.SupplierEx;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.impl.memory.SpillRun;
+import com.hazelcast.jet.impl.memory.SpillingProcessor;
+import com.hazelcast.security.PermissionsUtil;
+
+import javax.annotation.Nonnull;
+import java.io.Serial;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Supplier of processors which can spill their state to disk. If a
+ * {@linkplain SpillRun#spillDirectory spill directory} is configured, it
+ * enables spilling on every created {@link SpillingProcessor}, which makes
+ * the processor non-cooperative. Otherwise, the processors stay cooperative
+ * and fail when they reach the accumulation limit.
+ * <p>
+ * The {@link #init} method is not cooperative, it deletes the spill files
+ * left behind by crashed members.
+ */
+public final class SpillingProcessorSupplier implements ProcessorSupplier {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final SupplierEx<? extends Processor> simpleSupplier;
+
+    private transient Path spillDirectory;
+
+    private SpillingProcessorSupplier(@Nonnull SupplierEx<? extends Processor> simpleSupplier) {
+        this.simpleSupplier = simpleSupplier;
+    }
+
+    @Override
+    public void init(@Nonnull Context context) {
+        PermissionsUtil.checkPermission(simpleSupplier, context);
+        spillDirectory = SpillRun.spillDirectory(context);
+        if (spillDirectory != null) {
+            SpillRun.deleteStaleFiles(spillDirectory);
+        }
+    }
+
+    @Override
+    public boolean closeIsCooperative() {
+        return true;
+    }
+
+    @Nonnull @Override
+    public Collection<? extends Processor> get(int count) {
+        return Stream.generate(this::createProcessor)
+                .limit(count)
+                .collect(toList());
+    }
+
+    private Processor createProcessor() {
+        Processor processor = simpleSupplier.get();
+        if (spillDirectory != null && processor instanceof SpillingProcessor spillingProcessor) {
+            spillingProcessor.enableSpilling(spillDirectory);
+        }
+        return processor;
+    }
+
+    /**
+     * Returns a supplier of the processors created by the given simple
+     * supplier, with spilling enabled if a spill directory is configured.
+     */
+    @Nonnull
+    public static ProcessorSupplier spillingSupplier(@Nonnull SupplierEx<? extends Processor> simpleSupplier) {
+        return new SpillingProcessorSupplier(simpleSupplier);
+    }
+}
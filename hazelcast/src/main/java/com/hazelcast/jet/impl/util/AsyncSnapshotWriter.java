@@ -43,4 +43,10 @@ public interface AsyncSnapshotWriter {
     long getTotalPayloadBytes();
     long getTotalKeys();
     long getTotalChunks();
+
+    /**
+     * Releases the resources held by the writer. It's not used after this
+     * call.
+     */
+    void close();
 }
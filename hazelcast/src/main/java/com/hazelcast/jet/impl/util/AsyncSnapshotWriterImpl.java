@@ -23,6 +23,7 @@ import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.internal.serialization.impl.SerializationConstants;
+import com.hazelcast.jet.JetException;
 import com.hazelcast.jet.impl.JetServiceBackend;
 import com.hazelcast.jet.impl.execution.SnapshotContext;
 import com.hazelcast.jet.impl.execution.init.JetInitDataSerializerHook;
@@ -47,8 +48,13 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Supplier;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
+import static com.hazelcast.internal.cluster.Versions.V6_0;
 import static com.hazelcast.jet.impl.JobRepository.safeImap;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_SNAPSHOT_COMPRESSION_ENABLED;
 
 public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
 
@@ -70,6 +76,9 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
     private final SnapshotContext snapshotContext;
     private final String vertexName;
     private final int memberCount;
+    private final InternalSerializationService serializationService;
+    private final Deflater deflater;
+    private byte[] compressionBuffer = {};
     private IMap<SnapshotDataKey, Object> currentMap;
     private long currentSnapshotId;
     private final AtomicReference<Throwable> firstError = new AtomicReference<>();
@@ -108,6 +117,10 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
         this.snapshotContext = snapshotContext;
         this.vertexName = vertexName;
         this.memberCount = memberCount;
+        this.serializationService = serializationService;
+        this.deflater = nodeEngine.getProperties().getBoolean(JET_SNAPSHOT_COMPRESSION_ENABLED)
+                ? new Deflater(Deflater.BEST_SPEED)
+                : null;
         currentSnapshotId = snapshotContext.currentSnapshotId();
 
         useBigEndian = serializationService.getByteOrder().equals(ByteOrder.BIG_ENDIAN);
@@ -255,6 +268,9 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
         try {
             // we put a Data instance to the map directly to avoid the serialization of the byte array
             Data data = dataSupplier.get();
+            if (isCompressionEnabled()) {
+                data = compress(data);
+            }
             totalPayloadBytes += data.dataSize();
             totalChunks++;
             CompletableFuture<Object> future = currentMap.putAsync(
@@ -269,6 +285,34 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
         return true;
     }
 
+    private boolean isCompressionEnabled() {
+        // RU_COMPAT_5_5
+        // members of older versions can't restore compressed chunks
+        return deflater != null && nodeEngine.getClusterService().getClusterVersion().isGreaterOrEqual(V6_0);
+    }
+
+    /**
+     * Compresses the byte array serialized in the given chunk. Returns the
+     * chunk unchanged if compression doesn't make it smaller.
+     */
+    private Data compress(Data chunk) {
+        byte[] bytes = chunk.toByteArray();
+        int offset = serializedByteArrayHeader.length;
+        int length = bytes.length - offset;
+        if (compressionBuffer.length < length) {
+            compressionBuffer = new byte[length];
+        }
+        deflater.reset();
+        deflater.setInput(bytes, offset, length);
+        deflater.finish();
+        int compressedLength = deflater.deflate(compressionBuffer, 0, length);
+        if (!deflater.finished() || compressedLength >= length) {
+            return chunk;
+        }
+        return serializationService.toData(
+                new CompressedSnapshotChunk(length, Arrays.copyOf(compressionBuffer, compressedLength)));
+    }
+
     private boolean initCurrentMap() {
         if (currentMap == null) {
             String mapName = snapshotContext.currentMapName();
@@ -317,6 +361,13 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
         totalKeys = totalChunks = totalPayloadBytes = 0;
     }
 
+    @Override
+    public void close() {
+        if (deflater != null) {
+            deflater.end();
+        }
+    }
+
     @Override
     public boolean hasPendingAsyncOps() {
         return numActiveFlushes.get() > 0;
@@ -449,6 +500,77 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
         }
     }
 
+    /**
+     * A snapshot chunk compressed with {@link Deflater}, used instead of the
+     * plain byte array when {@link
+     * com.hazelcast.spi.properties.ClusterProperty#JET_SNAPSHOT_COMPRESSION_ENABLED}
+     * is enabled.
+     */
+    public static final class CompressedSnapshotChunk implements IdentifiedDataSerializable {
+        private int uncompressedLength;
+        private byte[] compressed;
+
+        // for deserialization
+        public CompressedSnapshotChunk() {
+        }
+
+        CompressedSnapshotChunk(int uncompressedLength, byte[] compressed) {
+            this.uncompressedLength = uncompressedLength;
+            this.compressed = compressed;
+        }
+
+        /**
+         * Returns the chunk contents in the same format as an uncompressed
+         * chunk.
+         */
+        public byte[] decompress() {
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(compressed);
+                byte[] result = new byte[uncompressedLength];
+                int length = 0;
+                while (!inflater.finished() && length < result.length) {
+                    int count = inflater.inflate(result, length, result.length - length);
+                    if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    length += count;
+                }
+                if (length != uncompressedLength || !inflater.finished()) {
+                    throw new JetException("Corrupted snapshot chunk, expected " + uncompressedLength
+                            + " bytes, but inflated " + length);
+                }
+                return result;
+            } catch (DataFormatException e) {
+                throw new JetException("Corrupted snapshot chunk: " + e, e);
+            } finally {
+                inflater.end();
+            }
+        }
+
+        @Override
+        public int getFactoryId() {
+            return JetInitDataSerializerHook.FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return JetInitDataSerializerHook.ASYNC_SNAPSHOT_WRITER_COMPRESSED_CHUNK;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeInt(uncompressedLength);
+            out.writeByteArray(compressed);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            uncompressedLength = in.readInt();
+            compressed = in.readByteArray();
+        }
+    }
+
     /**
      * Non-synchronized variant of {@code java.io.ByteArrayOutputStream} with capacity limit.
      */
@@ -38,6 +38,7 @@ import com.hazelcast.internal.util.ThreadUtil;
 import com.hazelcast.map.impl.eviction.EvictionChecker;
 import com.hazelcast.map.impl.eviction.Evictor;
 import com.hazelcast.map.impl.eviction.EvictorImpl;
+import com.hazelcast.map.impl.eviction.FrequencySketchEvictor;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.nearcache.invalidation.InvalidationListener;
 import com.hazelcast.map.impl.query.QueryEntryFactory;
@@ -66,10 +67,12 @@ import java.util.function.Supplier;
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.config.InMemoryFormat.OBJECT;
 import static com.hazelcast.internal.eviction.EvictionPolicyEvaluatorProvider.getEvictionPolicyComparator;
+import static com.hazelcast.internal.eviction.EvictionPolicyEvaluatorProvider.isFrequencySketchApplicable;
 import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
 import static com.hazelcast.map.impl.mapstore.MapStoreContextFactory.createMapStoreContext;
 import static com.hazelcast.query.impl.InternalIndex.GLOBAL_INDEX_NOOP_PARTITION_ID;
 import static com.hazelcast.spi.properties.ClusterProperty.MAP_EVICTION_BATCH_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_EVICTION_FREQUENCY_SKETCH_ENABLED;
 import static java.lang.System.getProperty;
 
 /**
@@ -240,9 +243,19 @@ public class MapContainerImpl implements MapContainer {
                                  int evictionBatchSize, IPartitionService partitionService) {
         EvictionChecker evictionChecker = new EvictionChecker(getMemoryInfoAccessor(), mapServiceContext);
 
+        if (isFrequencySketchEnabled()) {
+            return new FrequencySketchEvictor(evictionPolicyComparator, evictionChecker, evictionBatchSize, partitionService);
+        }
         return new EvictorImpl(evictionPolicyComparator, evictionChecker, evictionBatchSize, partitionService);
     }
 
+    private boolean isFrequencySketchEnabled() {
+        // per-entry stats need the hits of the records anyway
+        return !mapConfig.isPerEntryStatsEnabled()
+                && isFrequencySketchApplicable(mapConfig.getEvictionConfig())
+                && mapServiceContext.getNodeEngine().getProperties().getBoolean(MAP_EVICTION_FREQUENCY_SKETCH_ENABLED);
+    }
+
     @Override
     public boolean shouldUseGlobalIndex() {
         return mapConfig.getInMemoryFormat() != NATIVE
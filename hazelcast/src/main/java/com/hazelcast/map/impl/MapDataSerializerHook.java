@@ -55,6 +55,8 @@ import com.hazelcast.map.impl.operation.EvictBackupOperation;
 import com.hazelcast.map.impl.operation.EvictBatchBackupOperation;
 import com.hazelcast.map.impl.operation.EvictOperation;
 import com.hazelcast.map.impl.operation.GetAllOperation;
+import com.hazelcast.map.impl.operation.GetAllPartitionAwareOperationFactory;
+import com.hazelcast.map.impl.operation.GetAllWithThreadIdsOperation;
 import com.hazelcast.map.impl.operation.GetEntryViewOperation;
 import com.hazelcast.map.impl.operation.GetOperation;
 import com.hazelcast.map.impl.operation.IsEmptyOperationFactory;
@@ -108,6 +110,8 @@ import com.hazelcast.map.impl.operation.PutFromLoadAllOperation;
 import com.hazelcast.map.impl.operation.PutIfAbsentOperation;
 import com.hazelcast.map.impl.operation.PutIfAbsentWithExpiryOperation;
 import com.hazelcast.map.impl.operation.PutOperation;
+import com.hazelcast.map.impl.operation.PutTransientAllOperation;
+import com.hazelcast.map.impl.operation.SetAllWithThreadIdsOperation;
 import com.hazelcast.map.impl.operation.PutTransientBackupOperation;
 import com.hazelcast.map.impl.operation.PutTransientOperation;
 import com.hazelcast.map.impl.operation.PutTransientWithExpiryOperation;
@@ -327,8 +331,12 @@ public final class MapDataSerializerHook implements DataSerializerHook {
     public static final int INDEX_ITERATION_POINTER = 156;
     public static final int MAP_FETCH_INDEX_OPERATION_RESULT = 157;
     public static final int MAP_CHUNK = 158;
+    public static final int GET_ALL_PARTITION_AWARE_FACTORY = 159;
+    public static final int PUT_TRANSIENT_ALL = 160;
+    public static final int GET_ALL_WITH_THREAD_IDS = 161;
+    public static final int SET_ALL_WITH_THREAD_IDS = 162;
 
-    private static final int LEN = MAP_CHUNK + 1;
+    private static final int LEN = SET_ALL_WITH_THREAD_IDS + 1;
 
     @Override
     public int getFactoryId() {
@@ -496,6 +504,10 @@ public final class MapDataSerializerHook implements DataSerializerHook {
         constructors[INDEX_ITERATION_POINTER] = IndexIterationPointer::new;
         constructors[MAP_FETCH_INDEX_OPERATION_RESULT] = MapFetchIndexOperationResult::new;
         constructors[MAP_CHUNK] = MapChunk::new;
+        constructors[GET_ALL_PARTITION_AWARE_FACTORY] = GetAllPartitionAwareOperationFactory::new;
+        constructors[PUT_TRANSIENT_ALL] = PutTransientAllOperation::new;
+        constructors[GET_ALL_WITH_THREAD_IDS] = GetAllWithThreadIdsOperation::new;
+        constructors[SET_ALL_WITH_THREAD_IDS] = SetAllWithThreadIdsOperation::new;
 
         return new ArrayDataSerializableFactory(constructors);
     }
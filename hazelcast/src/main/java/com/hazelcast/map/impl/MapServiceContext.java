@@ -24,6 +24,7 @@ import com.hazelcast.config.MapStoreConfig;
 import com.hazelcast.config.PartitioningAttributeConfig;
 import com.hazelcast.config.PartitioningStrategyConfig;
 import com.hazelcast.internal.eviction.ExpirationManager;
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.internal.util.comparators.ValueComparator;
@@ -235,6 +236,16 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
 
     NodeWideUsedCapacityCounter getNodeWideUsedCapacityCounter();
 
+    /**
+     * Returns the member-wide memory manager used by the open-source
+     * off-heap storage of maps with {@link InMemoryFormat#NATIVE}
+     * in-memory format. It is created on first use with the capacity
+     * of the configured {@link com.hazelcast.config.NativeMemoryConfig}.
+     *
+     * @return the native memory manager of this member
+     */
+    UnsafeMallocMemoryManager getNativeMemoryManager();
+
     ExecutorStats getOffloadedEntryProcessorExecutorStats();
 
     /**
@@ -85,4 +85,33 @@ public interface Evictor {
      */
     boolean checkEvictable(RecordStore recordStore);
 
+    /**
+     * Called when an entry of the supplied record-store is read or written,
+     * for evictors that track accesses outside the records.
+     *
+     * @param recordStore the recordStore
+     * @param dataKey     the key of the accessed entry
+     */
+    default void onAccess(RecordStore recordStore, Data dataKey) {
+    }
+
+    /**
+     * Called when all entries of the supplied record-store are removed,
+     * e.g. when the map is cleared or destroyed or the partition migrates
+     * away, for evictors that keep state per record-store.
+     *
+     * @param recordStore the recordStore
+     */
+    default void onClear(RecordStore recordStore) {
+    }
+
+    /**
+     * Checks if this evictor tracks access frequencies itself,
+     * so that the records don't need to count their hits.
+     *
+     * @return {@code true} if the records don't need to count their hits
+     */
+    default boolean tracksAccessFrequency() {
+        return false;
+    }
 }
@@ -40,7 +40,7 @@ public class EvictorImpl implements Evictor {
     protected final EvictionPolicyComparator policy;
     protected final IPartitionService partitionService;
 
-    private final int batchSize;
+    protected final int batchSize;
 
     public EvictorImpl(EvictionPolicyComparator policy,
                        EvictionChecker evictionChecker, int batchSize,
@@ -63,7 +63,7 @@ public class EvictorImpl implements Evictor {
             if (entryView == null) {
                 return;
             }
-            evictEntry(recordStore, entryView, now, backup);
+            evictEntry(recordStore, getDataKeyFromEntryView(entryView), now, backup);
         }
     }
 
@@ -73,7 +73,7 @@ public class EvictorImpl implements Evictor {
     }
 
     @SuppressWarnings("checkstyle:rvcheckcomparetoforspecificreturnvalue")
-    private EntryView selectEvictableEntry(RecordStore recordStore, Data excludedKey,
+    protected EntryView selectEvictableEntry(RecordStore recordStore, Data excludedKey,
                                            long now, boolean backup) {
         EntryView excluded = null;
         EntryView selected = null;
@@ -94,7 +94,7 @@ public class EvictorImpl implements Evictor {
             }
 
             if (selected == null
-                    || policy.compare(current, selected) < 0) {
+                    || compare(recordStore, current, selected) < 0) {
                 selected = current;
             }
         }
@@ -102,10 +102,17 @@ public class EvictorImpl implements Evictor {
         return selected == null ? excluded : selected;
     }
 
-    private void evictEntry(RecordStore recordStore, EntryView selectedEntry,
-                            long now, boolean backup) {
-        Data dataKey = getDataKeyFromEntryView(selectedEntry);
+    /**
+     * Compares two eviction candidates of the supplied record store.
+     *
+     * @return a negative value if {@code current} should rather be evicted than {@code selected}
+     */
+    protected int compare(RecordStore recordStore, EntryView current, EntryView selected) {
+        return policy.compare(current, selected);
+    }
 
+    protected void evictEntry(RecordStore recordStore, Data dataKey,
+                              long now, boolean backup) {
         if (recordStore.isLocked(dataKey)) {
             return;
         }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.eviction;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.eviction.impl.FrequencySketch;
+import com.hazelcast.internal.partition.IPartitionService;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.spi.eviction.EvictionPolicyComparator;
+
+import static com.hazelcast.internal.util.ThreadUtil.assertRunningOnPartitionThread;
+import static com.hazelcast.internal.util.ThreadUtil.isRunningOnPartitionThread;
+
+/**
+ * An LFU {@link Evictor} in the style of TinyLFU.
+ * <p>
+ * Instead of letting every record count its hits, the evictor keeps a
+ * {@link FrequencySketch} per partition that estimates how often every key
+ * was read or written. Eviction compares the estimates of the sampled
+ * entries, and the just added entry is only admitted if it is accessed at
+ * least as often as the selected victim; otherwise the just added entry is
+ * evicted instead. This protects frequently used entries from being replaced
+ * by a scan of entries which are only used once.
+ * <p>
+ * A map has at most one record store per partition on a member, so the
+ * sketches are indexed by partition ID. Every sketch is only accessed by the
+ * partition thread of its partition. The sketch of a partition is dropped
+ * when its record store is cleared, destroyed or migrated away.
+ */
+public class FrequencySketchEvictor extends EvictorImpl {
+
+    private final FrequencySketch[] sketches;
+
+    public FrequencySketchEvictor(EvictionPolicyComparator policy,
+                                  EvictionChecker evictionChecker, int batchSize,
+                                  IPartitionService partitionService) {
+        super(policy, evictionChecker, batchSize, partitionService);
+        this.sketches = new FrequencySketch[partitionService.getPartitionCount()];
+    }
+
+    @Override
+    public void onAccess(RecordStore recordStore, Data dataKey) {
+        // e.g. local backup reads don't run on the partition thread; they are not counted
+        if (isRunningOnPartitionThread()) {
+            getSketch(recordStore).increment(dataKey.hashCode());
+        }
+    }
+
+    @Override
+    public boolean tracksAccessFrequency() {
+        return true;
+    }
+
+    @Override
+    public void evict(RecordStore recordStore, Data excludedKey) {
+        assertRunningOnPartitionThread();
+
+        long now = getNow();
+        boolean backup = isBackup(recordStore);
+        FrequencySketch sketch = getSketch(recordStore);
+        for (int i = 0; i < batchSize; i++) {
+            EntryView entryView = selectEvictableEntry(recordStore, excludedKey, now, backup);
+            if (entryView == null) {
+                return;
+            }
+
+            Data victimKey = getDataKeyFromEntryView(entryView);
+            if (excludedKey != null
+                    && !excludedKey.equals(victimKey)
+                    && sketch.frequency(excludedKey.hashCode()) < sketch.frequency(victimKey.hashCode())
+                    && !recordStore.isExpired(victimKey, now, backup)) {
+                // the victim is more valuable than the just added entry, so reject the latter
+                evictEntry(recordStore, excludedKey, now, backup);
+                return;
+            }
+            evictEntry(recordStore, victimKey, now, backup);
+        }
+    }
+
+    @Override
+    protected int compare(RecordStore recordStore, EntryView current, EntryView selected) {
+        FrequencySketch sketch = getSketch(recordStore);
+        int currentFrequency = sketch.frequency(getDataKeyFromEntryView(current).hashCode());
+        int selectedFrequency = sketch.frequency(getDataKeyFromEntryView(selected).hashCode());
+        return Integer.compare(currentFrequency, selectedFrequency);
+    }
+
+    @Override
+    public void onClear(RecordStore recordStore) {
+        // the estimates of the removed keys would otherwise outlive them
+        sketches[recordStore.getPartitionId()] = null;
+    }
+
+    // package-private for testing
+    FrequencySketch getSketch(RecordStore recordStore) {
+        int partitionId = recordStore.getPartitionId();
+        FrequencySketch sketch = sketches[partitionId];
+        if (sketch == null) {
+            sketch = new FrequencySketch(recordStore.size());
+            sketches[partitionId] = sketch;
+        } else {
+            sketch.ensureCapacity(recordStore.size());
+        }
+        return sketch;
+    }
+
+    // for testing
+    boolean hasSketch(int partitionId) {
+        return sketches[partitionId] != null;
+    }
+
+    @Override
+    public String toString() {
+        return "FrequencySketchEvictor{"
+                + "batchSize=" + batchSize
+                + '}';
+    }
+}
@@ -46,8 +46,8 @@ public class MapEventJournalReadResultSetImpl<K, V, T> extends ReadResultSetImpl
 
     @Override
     public void addItem(long seq, Object item) {
-        // the event journal ringbuffer supports only OBJECT format for now
-        final InternalEventJournalMapEvent e = (InternalEventJournalMapEvent) item;
+        // the event journal ringbuffer keeps the events in OBJECT or BINARY format
+        final InternalEventJournalMapEvent e = serializationService.toObject(item);
         final DeserializingEventJournalMapEvent<K, V> deserialisingEvent
                 = new DeserializingEventJournalMapEvent<>(serializationService, e);
         super.addItem(seq, deserialisingEvent);
@@ -35,6 +35,7 @@ import com.hazelcast.internal.services.ObjectNamespace;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.operationparker.OperationParker;
 import com.hazelcast.spi.impl.operationservice.WaitNotifyKey;
+import com.hazelcast.spi.properties.ClusterProperty;
 
 import static com.hazelcast.core.EntryEventType.ADDED;
 import static com.hazelcast.core.EntryEventType.EVICTED;
@@ -165,11 +166,21 @@ public class RingbufferMapEventJournalImpl implements MapEventJournal {
         return new RingbufferConfig()
                 .setAsyncBackupCount(mapContainer.getAsyncBackupCount())
                 .setBackupCount(mapContainer.getBackupCount())
-                .setInMemoryFormat(InMemoryFormat.OBJECT)
+                .setInMemoryFormat(getJournalInMemoryFormat())
                 .setCapacity(config.getCapacity() / partitionCount)
                 .setTimeToLiveSeconds(config.getTimeToLiveSeconds());
     }
 
+    /**
+     * The journal events are kept in binary format when the ringbuffer arena
+     * storage is enabled, otherwise they are kept as objects.
+     */
+    private InMemoryFormat getJournalInMemoryFormat() {
+        return nodeEngine.getProperties().getBoolean(ClusterProperty.RINGBUFFER_ARENA_STORAGE_ENABLED)
+                ? InMemoryFormat.BINARY
+                : InMemoryFormat.OBJECT;
+    }
+
     private void addToEventRingbuffer(EventJournalConfig journalConfig, ObjectNamespace namespace, int partitionId,
                                       EntryEventType eventType, Data key, Object oldValue, Object newValue) {
         if (journalConfig == null || !journalConfig.isEnabled()) {
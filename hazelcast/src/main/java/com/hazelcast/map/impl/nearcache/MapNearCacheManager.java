@@ -17,6 +17,7 @@
 package com.hazelcast.map.impl.nearcache;
 
 import com.hazelcast.internal.cluster.ClusterService;
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
 import com.hazelcast.internal.nearcache.NearCache;
 import com.hazelcast.internal.nearcache.impl.DefaultNearCacheManager;
 import com.hazelcast.internal.nearcache.impl.invalidation.BatchInvalidator;
@@ -44,6 +45,8 @@ import java.util.function.Predicate;
 
 import static com.hazelcast.core.EntryEventType.INVALIDATION;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_MIN_DELAY_MILLIS;
 import static com.hazelcast.spi.properties.ClusterProperty.MAP_INVALIDATION_MESSAGE_BATCH_ENABLED;
 import static com.hazelcast.spi.properties.ClusterProperty.MAP_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS;
 import static com.hazelcast.spi.properties.ClusterProperty.MAP_INVALIDATION_MESSAGE_BATCH_SIZE;
@@ -74,14 +77,29 @@ public class MapNearCacheManager extends DefaultNearCacheManager {
         this.repairingTask = createRepairingInvalidationTask();
     }
 
+    /**
+     * Shares the memory manager of the NATIVE maps, so the Near Caches
+     * and the maps of a member are bounded by the same native capacity.
+     */
+    @Override
+    protected UnsafeMallocMemoryManager getNativeMemoryManager() {
+        if (!nodeEngine.getConfig().getNativeMemoryConfig().isEnabled()) {
+            return null;
+        }
+        return mapServiceContext.getNativeMemoryManager();
+    }
+
     private Invalidator createInvalidator() {
         HazelcastProperties hazelcastProperties = nodeEngine.getProperties();
         int batchSize = hazelcastProperties.getInteger(MAP_INVALIDATION_MESSAGE_BATCH_SIZE);
         int batchFrequencySeconds = hazelcastProperties.getInteger(MAP_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS);
         boolean batchingEnabled = hazelcastProperties.getBoolean(MAP_INVALIDATION_MESSAGE_BATCH_ENABLED) && batchSize > 1;
+        long adaptiveMinDelayMillis = hazelcastProperties.getBoolean(MAP_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_ENABLED)
+                ? hazelcastProperties.getMillis(MAP_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_MIN_DELAY_MILLIS) : -1;
 
         if (batchingEnabled) {
-            return new BatchInvalidator(SERVICE_NAME, batchSize, batchFrequencySeconds, INVALIDATION_ACCEPTOR, nodeEngine);
+            return new BatchInvalidator(SERVICE_NAME, batchSize, batchFrequencySeconds, adaptiveMinDelayMillis,
+                    INVALIDATION_ACCEPTOR, nodeEngine);
         } else {
             return new NonStopInvalidator(SERVICE_NAME, INVALIDATION_ACCEPTOR, nodeEngine);
         }
@@ -168,6 +168,11 @@ public class DefaultMapOperationProvider implements MapOperationProvider {
         return new MapGetAllOperationFactory(name, keys);
     }
 
+    @Override
+    public OperationFactory createGetAllOperationFactory(String name, int[] partitions, List<Data>[] keys) {
+        return new GetAllPartitionAwareOperationFactory(name, partitions, keys);
+    }
+
     @Override
     public OperationFactory createEvictAllOperationFactory(String name) {
         return new EvictAllOperationFactory(name);
@@ -289,6 +294,21 @@ public class DefaultMapOperationProvider implements MapOperationProvider {
         return new PutFromLoadAllOperation(name, keyValueSequence, includesExpirationTime);
     }
 
+    @Override
+    public MapOperation createPutTransientAllOperation(String name, MapEntries mapEntries) {
+        return new PutTransientAllOperation(name, mapEntries);
+    }
+
+    @Override
+    public MapOperation createGetAllWithThreadIdsOperation(String name, List<Data> keys, long[] threadIds) {
+        return new GetAllWithThreadIdsOperation(name, keys, threadIds);
+    }
+
+    @Override
+    public MapOperation createSetAllWithThreadIdsOperation(String name, MapEntries mapEntries, long[] threadIds) {
+        return new SetAllWithThreadIdsOperation(name, mapEntries, threadIds);
+    }
+
     @Override
     public MapOperation createFetchKeysOperation(String name, IterationPointer[] pointers, int fetchSize) {
         return new MapFetchKeysOperation(name, pointers, fetchSize);
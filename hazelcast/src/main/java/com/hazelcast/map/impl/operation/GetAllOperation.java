@@ -70,6 +70,10 @@ public class GetAllOperation extends MapOperation
         entries = recordStore.getAll(partitionKeySet, getCallerAddress());
     }
 
+    protected List<Data> getKeys() {
+        return keys;
+    }
+
     public Set<Data> getPartitionKeySet(List<Data> keys) {
         IPartitionService partitionService = getNodeEngine().getPartitionService();
         int partitionId = getPartitionId();
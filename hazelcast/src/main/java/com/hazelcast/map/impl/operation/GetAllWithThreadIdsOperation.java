@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.core.OperationTimeoutException;
+import com.hazelcast.internal.locksupport.LockWaitNotifyKey;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.impl.operationservice.BlockingOperation;
+import com.hazelcast.spi.impl.operationservice.WaitNotifyKey;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Gets the values of keys of a single partition like {@link GetAllOperation}
+ * does, but reads each key as if by a {@link GetOperation} of its own thread:
+ * the operation waits while any of the keys is transactionally locked by
+ * another thread.
+ * <p>
+ * Used to run a micro-batch of client {@code getAsync} requests.
+ */
+public class GetAllWithThreadIdsOperation extends GetAllOperation implements BlockingOperation {
+
+    private long[] threadIds;
+
+    private transient Data lockedKey;
+
+    public GetAllWithThreadIdsOperation() {
+    }
+
+    public GetAllWithThreadIdsOperation(String name, List<Data> keys, long[] threadIds) {
+        super(name, keys);
+        this.threadIds = threadIds;
+    }
+
+    @Override
+    public boolean shouldWait() {
+        List<Data> keys = getKeys();
+        for (int i = 0; i < keys.size(); i++) {
+            Data key = keys.get(i);
+            if (recordStore.isTransactionallyLocked(key)
+                    && !recordStore.canAcquireLock(key, getCallerUuid(), threadIds[i])) {
+                lockedKey = key;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public WaitNotifyKey getWaitKey() {
+        return new LockWaitNotifyKey(getServiceNamespace(), lockedKey);
+    }
+
+    @Override
+    public void onWaitExpire() {
+        sendResponse(new OperationTimeoutException("Cannot read transactionally locked entry!"));
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeLongArray(threadIds);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        threadIds = in.readLongArray();
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.GET_ALL_WITH_THREAD_IDS;
+    }
+}
@@ -105,6 +105,12 @@ public interface MapOperationProvider {
 
     MapOperation createPutFromLoadAllOperation(String name, List<Data> keyValueSequence, boolean expirationTime);
 
+    MapOperation createPutTransientAllOperation(String name, MapEntries mapEntries);
+
+    MapOperation createGetAllWithThreadIdsOperation(String name, List<Data> keys, long[] threadIds);
+
+    MapOperation createSetAllWithThreadIdsOperation(String name, MapEntries mapEntries, long[] threadIds);
+
     MapOperation createTxnDeleteOperation(String name, Data dataKey, long version);
 
     MapOperation createTxnLockAndGetOperation(String name, Data dataKey, long timeout, long ttl, UUID ownerUuid,
@@ -165,6 +171,8 @@ public interface MapOperationProvider {
 
     OperationFactory createGetAllOperationFactory(String name, List<Data> keys);
 
+    OperationFactory createGetAllOperationFactory(String name, int[] partitions, List<Data>[] keys);
+
     OperationFactory createMapSizeOperationFactory(String name);
 
     OperationFactory createPutAllOperationFactory(String name, int[] partitions,
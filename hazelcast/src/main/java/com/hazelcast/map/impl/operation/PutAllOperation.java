@@ -150,6 +150,10 @@ public class PutAllOperation extends MapOperation
         evict(dataKey);
     }
 
+    protected MapEntries getMapEntries() {
+        return mapEntries;
+    }
+
     public boolean isHasMapListener() {
         return hasMapListener;
     }
@@ -185,7 +189,7 @@ public class PutAllOperation extends MapOperation
      * when requested by user and there are map listeners are registered.
      * Otherwise call recordStore.set()
      */
-    private Object putToRecordStore(Data dataKey, Data dataValue) {
+    protected Object putToRecordStore(Data dataKey, Data dataValue) {
         if (triggerMapLoader && hasMapListener) {
             return recordStore.put(dataKey, dataValue, UNSET, UNSET);
         }
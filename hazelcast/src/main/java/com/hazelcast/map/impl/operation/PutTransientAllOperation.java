@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.MapEntries;
+import com.hazelcast.map.impl.operation.steps.engine.Step;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+
+import static com.hazelcast.map.impl.record.Record.UNSET;
+
+/**
+ * Inserts the {@link MapEntries} for a single partition like
+ * {@link PutAllOperation} does, but with
+ * {@link com.hazelcast.map.IMap#putTransient} semantics: values are not
+ * written to the {@link com.hazelcast.map.MapStore} and old values are
+ * not loaded from it.
+ * <p>
+ * Entries whose keys are locked by another owner are not put, since this
+ * operation cannot wait on more than one key. They are returned as the
+ * response so the caller can put them one by one with lock-aware
+ * operations.
+ */
+public class PutTransientAllOperation extends PutAllOperation {
+
+    private long threadId;
+
+    private transient MapEntries lockedEntries;
+
+    public PutTransientAllOperation() {
+    }
+
+    public PutTransientAllOperation(String name, MapEntries mapEntries) {
+        super(name, mapEntries, false);
+    }
+
+    @Override
+    public void innerBeforeRun() throws Exception {
+        super.innerBeforeRun();
+        lockedEntries = new MapEntries();
+    }
+
+    @Override
+    public Step getStartingStep() {
+        return null;
+    }
+
+    @Override
+    protected void put(Data dataKey, Data dataValue) {
+        if (!recordStore.canAcquireLock(dataKey, getCallerUuid(), threadId)) {
+            lockedEntries.add(dataKey, dataValue);
+            return;
+        }
+        super.put(dataKey, dataValue);
+    }
+
+    @Override
+    protected Object putToRecordStore(Data dataKey, Data dataValue) {
+        return recordStore.putTransient(dataKey, dataValue, UNSET, UNSET);
+    }
+
+    @Override
+    public boolean shouldBackup() {
+        return super.shouldBackup() && !getBackupPairs().isEmpty();
+    }
+
+    @Override
+    public Object getResponse() {
+        return lockedEntries;
+    }
+
+    @Override
+    public long getThreadId() {
+        return threadId;
+    }
+
+    @Override
+    public void setThreadId(long threadId) {
+        this.threadId = threadId;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeLong(threadId);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        threadId = in.readLong();
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.PUT_TRANSIENT_ALL;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.internal.locksupport.LockWaitNotifyKey;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.MapEntries;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.impl.operationservice.BlockingOperation;
+import com.hazelcast.spi.impl.operationservice.WaitNotifyKey;
+
+import java.io.IOException;
+
+/**
+ * Sets the {@link MapEntries} of a single partition like
+ * {@link PutAllOperation} does, but sets each entry as if by a
+ * {@link SetOperation} of its own thread: the operation waits while any of
+ * the keys is locked by another owner, so none of the entries is set before
+ * all of them can be.
+ * <p>
+ * Used to run a micro-batch of client {@code setAsync} requests.
+ */
+public class SetAllWithThreadIdsOperation extends PutAllOperation implements BlockingOperation {
+
+    private long[] threadIds;
+
+    private transient Data lockedKey;
+
+    public SetAllWithThreadIdsOperation() {
+    }
+
+    public SetAllWithThreadIdsOperation(String name, MapEntries mapEntries, long[] threadIds) {
+        super(name, mapEntries, false);
+        this.threadIds = threadIds;
+    }
+
+    @Override
+    public boolean shouldWait() {
+        MapEntries mapEntries = getMapEntries();
+        for (int i = 0; i < mapEntries.size(); i++) {
+            Data key = mapEntries.getKey(i);
+            if (!recordStore.canAcquireLock(key, getCallerUuid(), threadIds[i])) {
+                lockedKey = key;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public WaitNotifyKey getWaitKey() {
+        return new LockWaitNotifyKey(getServiceNamespace(), lockedKey);
+    }
+
+    @Override
+    public void onWaitExpire() {
+        // like a SetOperation, which responds with null
+        sendResponse(null);
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeLongArray(threadIds);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        threadIds = in.readLongArray();
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.SET_ALL_WITH_THREAD_IDS;
+    }
+}
@@ -88,6 +88,7 @@ import java.util.function.Function;
 
 import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
 import static com.hazelcast.internal.util.MapUtil.createHashMap;
+import static com.hazelcast.internal.util.Preconditions.checkFalse;
 import static com.hazelcast.internal.util.Preconditions.checkNoNullInside;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 import static com.hazelcast.internal.util.Preconditions.checkPositive;
@@ -521,6 +522,37 @@ public class MapProxyImpl<K, V> extends MapProxySupport<K, V> implements EventJo
         return future;
     }
 
+    /**
+     * Asynchronously loads the given entries into this map, bypassing the
+     * per-entry put path.
+     * <p>
+     * The entries are grouped per partition and applied in chunks like
+     * {@link #putTransient} applies them: previous values are not loaded and
+     * listeners receive {@link com.hazelcast.core.EntryEventType#ADDED} or
+     * {@link com.hazelcast.core.EntryEventType#UPDATED} events. Entries are
+     * subject to eviction as usual and keys locked by another owner are
+     * written once they are unlocked. Storage, indexes and events are
+     * updated per entry, just like by {@link #putAllAsync(Map)}; the saving
+     * is in the skipped old-value lookup and per-entry responses.
+     * <p>
+     * Bulk-loaded entries would never reach a {@link com.hazelcast.map.MapStore},
+     * so maps with an enabled MapStore are rejected.
+     * <p>
+     * This method is available only on member-side proxies.
+     *
+     * @param map entries to load
+     * @return a future completed when all entries have been loaded
+     * @throws IllegalArgumentException if the map has an enabled MapStore
+     * @since 6.0
+     */
+    public InternalCompletableFuture<Void> bulkLoadAsync(@Nonnull Map<? extends K, ? extends V> map) {
+        checkNotNull(map, "Null argument map is not allowed");
+        checkFalse(isMapStoreEnabled(), "Bulk load is not supported for maps with a MapStore");
+        InternalCompletableFuture<Void> future = new InternalCompletableFuture<>();
+        bulkLoadInternal(map, future);
+        return future;
+    }
+
     @Override
     public boolean tryLock(@Nonnull K key) {
         checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
@@ -118,6 +118,7 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 
 import static com.hazelcast.core.EntryEventType.CLEAR_ALL;
+import static com.hazelcast.internal.cluster.Versions.V6_0;
 import static com.hazelcast.internal.util.CollectionUtil.asIntegerList;
 import static com.hazelcast.internal.util.ConcurrencyUtil.CALLER_RUNS;
 import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
@@ -134,11 +135,13 @@ import static com.hazelcast.map.impl.EntryRemovingProcessor.ENTRY_REMOVING_PROCE
 import static com.hazelcast.map.impl.MapOperationStatsUpdater.incrementOperationStats;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static com.hazelcast.map.impl.query.Target.createPartitionTarget;
+import static com.hazelcast.map.impl.record.Record.UNSET;
 import static com.hazelcast.query.Predicates.alwaysFalse;
 import static com.hazelcast.spi.impl.InternalCompletableFuture.newCompletedFuture;
 import static com.hazelcast.spi.properties.ClusterProperty.FAIL_ON_INDETERMINATE_OPERATION_STATE;
 import static java.lang.Math.ceil;
 import static java.lang.Math.log10;
+import static java.lang.Math.max;
 import static java.lang.Math.min;
 import static java.util.Collections.singletonMap;
 
@@ -208,6 +211,19 @@ abstract class MapProxySupport<K, V>
     private static final HazelcastProperty MAP_PUT_ALL_INITIAL_SIZE_FACTOR
             = new HazelcastProperty("hazelcast.map.put.all.initial.size.factor", 0);
 
+    /**
+     * Defines the maximum number of entries sent in a single bulk-load
+     * operation to one partition, see {@link MapProxyImpl#bulkLoadAsync(Map)}.
+     * <p>
+     * Larger chunks amortize the invocation and backup costs over more
+     * entries, but hold the partition thread for longer and produce bigger
+     * backup operations.
+     *
+     * @since 6.0
+     */
+    private static final HazelcastProperty MAP_BULK_LOAD_CHUNK_SIZE
+            = new HazelcastProperty("hazelcast.map.bulk.load.chunk.size", 1000);
+
     protected final String name;
     protected final LocalMapStatsImpl localMapStats;
     protected final LockProxySupport lockSupport;
@@ -228,6 +244,7 @@ abstract class MapProxySupport<K, V>
 
     private final int putAllBatchSize;
     private final float putAllInitialSizeFactor;
+    private final int bulkLoadChunkSize;
 
     protected MapProxySupport(String name, MapService service, NodeEngine nodeEngine, MapConfig mapConfig) {
         super(nodeEngine, service);
@@ -251,6 +268,7 @@ abstract class MapProxySupport<K, V>
 
         this.putAllBatchSize = properties.getInteger(MAP_PUT_ALL_BATCH_SIZE);
         this.putAllInitialSizeFactor = properties.getFloat(MAP_PUT_ALL_INITIAL_SIZE_FACTOR);
+        this.bulkLoadChunkSize = max(1, properties.getInteger(MAP_BULK_LOAD_CHUNK_SIZE));
         // default value the same as in OperationService
         this.failOnIndeterminateOperationState = properties.getBoolean(FAIL_ON_INDETERMINATE_OPERATION_STATE);
     }
@@ -899,14 +917,18 @@ abstract class MapProxySupport<K, V>
         if (dataKeys.isEmpty()) {
             toDataCollectionWithNonNullKeyValidation(keys, dataKeys);
         }
-        Collection<Integer> partitions = getPartitionsForKeys(dataKeys);
-        Map<Integer, Object> responses;
         try {
-            OperationFactory operationFactory = operationProvider.createGetAllOperationFactory(name, dataKeys);
             long startTimeNanos = Timer.nanos();
-
-            responses = operationService.invokeOnPartitions(SERVICE_NAME, operationFactory, partitions);
-            for (Object response : responses.values()) {
+            Collection<Object> responses;
+            // RU_COMPAT_5_5
+            if (getNodeEngine().getClusterService().getClusterVersion().isGreaterOrEqual(V6_0)) {
+                responses = invokeGetAllPerMember(dataKeys);
+            } else {
+                OperationFactory operationFactory = operationProvider.createGetAllOperationFactory(name, dataKeys);
+                Collection<Integer> partitions = getPartitionsForKeys(dataKeys);
+                responses = operationService.invokeOnPartitions(SERVICE_NAME, operationFactory, partitions).values();
+            }
+            for (Object response : responses) {
                 MapEntries entries = toObject(response);
                 for (int i = 0; i < entries.size(); i++) {
                     resultingKeyValuePairs.add(entries.getKey(i));
@@ -919,6 +941,56 @@ abstract class MapProxySupport<K, V>
         }
     }
 
+    /**
+     * Groups the keys per partition and sends a single operation to every
+     * member owning some of the keys. The operation only carries the keys of
+     * the partitions owned by its target member, which reads them on its
+     * partition threads.
+     */
+    @SuppressWarnings("unchecked")
+    private Collection<Object> invokeGetAllPerMember(List<Data> dataKeys) throws Exception {
+        List<Data>[] keysPerPartition = new List[partitionService.getPartitionCount()];
+        for (Data key : dataKeys) {
+            int partitionId = partitionService.getPartitionId(key);
+            List<Data> partitionKeys = keysPerPartition[partitionId];
+            if (partitionKeys == null) {
+                partitionKeys = new ArrayList<>();
+                keysPerPartition[partitionId] = partitionKeys;
+            }
+            partitionKeys.add(key);
+        }
+
+        Map<Address, List<Integer>> memberPartitionsMap = partitionService.getMemberPartitionsMap();
+        List<CompletableFuture<Map<Integer, Object>>> futures = new ArrayList<>(memberPartitionsMap.size());
+        for (Entry<Address, List<Integer>> entry : memberPartitionsMap.entrySet()) {
+            int[] partitions = new int[entry.getValue().size()];
+            int size = 0;
+            for (int partitionId : entry.getValue()) {
+                if (keysPerPartition[partitionId] != null) {
+                    partitions[size++] = partitionId;
+                }
+            }
+            if (size == 0) {
+                continue;
+            }
+            partitions = Arrays.copyOf(partitions, size);
+            List<Data>[] keys = new List[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = keysPerPartition[partitions[i]];
+            }
+
+            OperationFactory factory = operationProvider.createGetAllOperationFactory(name, partitions, keys);
+            futures.add(operationService.invokeOnPartitionsAsync(SERVICE_NAME, factory,
+                    singletonMap(entry.getKey(), asIntegerList(partitions))));
+        }
+
+        List<Object> responses = new ArrayList<>();
+        for (CompletableFuture<Map<Integer, Object>> future : futures) {
+            responses.addAll(future.get().values());
+        }
+        return responses;
+    }
+
     private Collection<Integer> getPartitionsForKeys(Collection<Data> keys) {
         int partitions = partitionService.getPartitionCount();
         // TODO: is there better way to estimate the size?
@@ -1131,9 +1203,129 @@ abstract class MapProxySupport<K, V>
         return resultFuture;
     }
 
+    /**
+     * Loads the given entries by sending {@code PutTransientAllOperation}s
+     * directly to the owning partitions, one per chunk of up to
+     * {@code hazelcast.map.bulk.load.chunk.size} entries of a partition.
+     * <p>
+     * Entries are stored like {@link com.hazelcast.map.IMap#putTransient}
+     * stores them: the values are not written to a configured
+     * {@link com.hazelcast.map.MapStore}, old values are neither loaded nor
+     * returned and entry listeners are notified with
+     * {@link com.hazelcast.core.EntryEventType#ADDED} or
+     * {@link com.hazelcast.core.EntryEventType#UPDATED} events. Entries
+     * locked by another owner are put one by one after the lock is
+     * released. Each chunk is replicated to the backups as a single
+     * operation.
+     *
+     * @param future completed when all chunks have been applied
+     */
+    protected void bulkLoadInternal(Map<? extends K, ? extends V> map, InternalCompletableFuture<Void> future) {
+        try {
+            if (map.isEmpty()) {
+                future.complete(null);
+                return;
+            }
+
+            int partitionCount = partitionService.getPartitionCount();
+            MapEntries[] entriesPerPartition = new MapEntries[partitionCount];
+            List<MapEntries> chunks = new ArrayList<>();
+            List<Integer> chunkPartitions = new ArrayList<>();
+            for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+                checkNotNull(entry.getKey(), NULL_KEY_IS_NOT_ALLOWED);
+                checkNotNull(entry.getValue(), NULL_VALUE_IS_NOT_ALLOWED);
+
+                Data keyData = toDataWithStrategy(entry.getKey());
+                int partitionId = partitionService.getPartitionId(keyData);
+                MapEntries entries = entriesPerPartition[partitionId];
+                if (entries == null) {
+                    entries = new MapEntries();
+                    entriesPerPartition[partitionId] = entries;
+                }
+                entries.add(keyData, toData(entry.getValue()));
+                if (entries.size() == bulkLoadChunkSize) {
+                    chunks.add(entries);
+                    chunkPartitions.add(partitionId);
+                    entriesPerPartition[partitionId] = null;
+                }
+            }
+            for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+                MapEntries entries = entriesPerPartition[partitionId];
+                if (entries != null) {
+                    chunks.add(entries);
+                    chunkPartitions.add(partitionId);
+                }
+            }
+
+            int entryCount = map.size();
+            long threadId = getThreadId();
+            long startTimeNanos = Timer.nanos();
+            AtomicInteger remaining = new AtomicInteger(chunks.size());
+            BiConsumer<Object, Throwable> callback = (response, t) -> {
+                if (t != null) {
+                    future.completeExceptionally(t);
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    try {
+                        finalizePutAll(map);
+                    } catch (Throwable e) {
+                        future.completeExceptionally(e);
+                        return;
+                    }
+                    localMapStats.incrementPutLatencyNanos(entryCount, Timer.nanosElapsed(startTimeNanos));
+                    if (!future.isDone()) {
+                        future.complete(null);
+                    }
+                }
+            };
+            for (int i = 0; i < chunks.size(); i++) {
+                MapEntries entries = chunks.get(i);
+                bulkLoadChunk(entries, chunkPartitions.get(i), threadId)
+                        .whenCompleteAsync((response, t) -> {
+                            bulkLoadVisitSerializedKeys(entries);
+                            callback.accept(response, t);
+                        }, CALLER_RUNS);
+            }
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    private CompletableFuture<Void> bulkLoadChunk(MapEntries entries, int partitionId, long threadId) {
+        // RU_COMPAT_5_5
+        if (!getNodeEngine().getClusterService().getClusterVersion().isGreaterOrEqual(V6_0)) {
+            return putTransientOneByOne(entries, partitionId, threadId);
+        }
+        MapOperation operation = operationProvider.createPutTransientAllOperation(name, entries);
+        operation.setThreadId(threadId);
+        return operationService.invokeOnPartitionAsync(SERVICE_NAME, operation, partitionId)
+                .thenComposeAsync(response -> {
+                    MapEntries lockedEntries = toObject(response);
+                    return putTransientOneByOne(lockedEntries, partitionId, threadId);
+                }, CALLER_RUNS);
+    }
+
+    /**
+     * Puts the given entries with one lock-aware operation each, so every
+     * entry waits for its key to be unlocked.
+     */
+    private CompletableFuture<Void> putTransientOneByOne(MapEntries entries, int partitionId, long threadId) {
+        CompletableFuture<?>[] futures = new CompletableFuture[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            MapOperation operation = operationProvider.createPutTransientOperation(name,
+                    entries.getKey(i), entries.getValue(i), UNSET, UNSET);
+            operation.setThreadId(threadId);
+            futures[i] = operationService.invokeOnPartitionAsync(SERVICE_NAME, operation, partitionId);
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
     protected void putAllVisitSerializedKeys(MapEntries[] entries) {
     }
 
+    protected void bulkLoadVisitSerializedKeys(MapEntries entries) {
+    }
+
     protected void finalizePutAll(Map<?, ?> map) {
     }
 
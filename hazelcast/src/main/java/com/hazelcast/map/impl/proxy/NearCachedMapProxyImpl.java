@@ -518,6 +518,15 @@ public class NearCachedMapProxyImpl<K, V> extends MapProxyImpl<K, V> {
         }
     }
 
+    @Override
+    protected void bulkLoadVisitSerializedKeys(MapEntries entries) {
+        if (serializeKeys) {
+            for (int i = 0; i < entries.size(); i++) {
+                invalidateNearCache(entries.getKey(i));
+            }
+        }
+    }
+
     @Override
     protected void finalizePutAll(Map<?, ?> map) {
         if (!serializeKeys) {
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.internal.util.SortingUtil;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the first {@code limit} entries of a partition scan, in the order of
+ * a {@link PagingPredicateImpl paging predicate}, in a bounded heap.
+ * <p>
+ * The limit is the number of entries the paging predicate needs to build the
+ * requested page starting from its nearest anchor, so the memory used by a
+ * scan depends on the page size and not on the number of matching entries.
+ * The head of the heap is the last entry in the page order, so an entry which
+ * can't make it to the page is rejected with a single comparison.
+ */
+final class PagingTopEntries {
+
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+
+    private final Comparator<QueryableEntry> comparator;
+    private final PriorityQueue<QueryableEntry> heap;
+    private final int limit;
+
+    private PagingTopEntries(Comparator<QueryableEntry> comparator, int limit) {
+        this.comparator = comparator;
+        this.limit = limit;
+        this.heap = new PriorityQueue<>(Math.min(limit, MAX_INITIAL_CAPACITY), comparator.reversed());
+    }
+
+    /**
+     * Creates the top entries for the given paging predicate, or returns
+     * {@code null} if the number of entries needed for the page is not
+     * bounded by an {@code int}.
+     */
+    static PagingTopEntries of(PagingPredicateImpl pagingPredicate, Map.Entry<Integer, Map.Entry> nearestAnchorEntry) {
+        long limit = pagingPredicate.getPageSize() * ((long) pagingPredicate.getPage() - nearestAnchorEntry.getKey());
+        if (limit <= 0 || limit >= Integer.MAX_VALUE) {
+            return null;
+        }
+        return new PagingTopEntries(SortingUtil.newComparator(pagingPredicate), (int) limit);
+    }
+
+    /**
+     * Checks if the given entry would be kept if it was added. The entry is
+     * not retained, so a reused entry can be checked before it's copied.
+     */
+    boolean accepts(QueryableEntry entry) {
+        return heap.size() < limit || comparator.compare(entry, heap.peek()) < 0;
+    }
+
+    /**
+     * Adds the given entry, which must be {@link #accepts accepted}, evicting
+     * the last entry if the limit is exceeded.
+     */
+    void add(QueryableEntry entry) {
+        heap.offer(entry);
+        if (heap.size() > limit) {
+            heap.poll();
+        }
+    }
+
+    /**
+     * Adds the kept entries to the given result, in no particular order.
+     */
+    void drainTo(Result result) {
+        for (QueryableEntry entry : heap) {
+            result.add(entry);
+        }
+        heap.clear();
+    }
+}
@@ -57,6 +57,8 @@ public class ParallelPartitionScanExecutor implements PartitionScanExecutor {
     public void execute(String mapName, Predicate predicate, Collection<Integer> partitions, Result result) {
         runUsingPartitionScanWithoutPaging(mapName, predicate, partitions, result);
         if (predicate instanceof PagingPredicateImpl pagingPredicate) {
+            // every partition result is already ordered and limited to the
+            // entries needed for the page, so this merges the sorted runs
             Map.Entry<Integer, Map.Entry> nearestAnchorEntry = pagingPredicate.getNearestAnchorEntry();
             result.orderAndLimit(pagingPredicate, nearestAnchorEntry);
         }
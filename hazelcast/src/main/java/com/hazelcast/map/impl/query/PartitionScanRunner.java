@@ -87,6 +87,7 @@ public class PartitionScanRunner {
         Extractors extractors = mapServiceContext.getExtractors(mapName);
         Map.Entry<Integer, Map.Entry> nearestAnchorEntry =
                 pagingPredicate == null ? null : pagingPredicate.getNearestAnchorEntry();
+        PagingTopEntries topEntries = pagingPredicate == null ? null : PagingTopEntries.of(pagingPredicate, nearestAnchorEntry);
 
         recordStore.forEachAfterLoad(new BiConsumer<Data, Record>() {
             LazyMapEntry queryEntry = new LazyMapEntry();
@@ -105,10 +106,20 @@ public class PartitionScanRunner {
 
                 if (predicate.apply(queryEntry)
                         && compareAnchor(pagingPredicate, queryEntry, nearestAnchorEntry)) {
+                    // skip the entries which can't make it to the requested page
+                    // before copying them
+                    if (topEntries != null && !topEntries.accepts(queryEntry)) {
+                        return;
+                    }
 
                     // always copy key&value to heap if map is backed by native memory
                     value = nativeMemory ? toHeapData((Data) value) : value;
-                    result.add(queryEntry.init(ss, toHeapData(key), value, extractors));
+                    QueryableEntry entry = queryEntry.init(ss, toHeapData(key), value, extractors);
+                    if (topEntries != null) {
+                        topEntries.add(entry);
+                    } else {
+                        result.add(entry);
+                    }
 
                     // We can't reuse the existing entry after it was added to the
                     // result. Allocate the new one.
@@ -116,6 +127,9 @@ public class PartitionScanRunner {
                 }
             }
         }, false);
+        if (topEntries != null) {
+            topEntries.drainTo(result);
+        }
         result.orderAndLimit(pagingPredicate, nearestAnchorEntry);
     }
 
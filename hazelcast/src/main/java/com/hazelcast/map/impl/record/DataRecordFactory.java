@@ -64,7 +64,9 @@ public class DataRecordFactory implements RecordFactory<Data> {
             }
 
             if (mapConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.LFU) {
-                return new CachedSimpleRecordWithLFUEviction(valueData);
+                return mapContainer.getEvictor().tracksAccessFrequency()
+                        ? new CachedSimpleRecord(valueData)
+                        : new CachedSimpleRecordWithLFUEviction(valueData);
             }
 
             if (mapConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.RANDOM) {
@@ -89,7 +91,9 @@ public class DataRecordFactory implements RecordFactory<Data> {
             }
 
             if (mapConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.LFU) {
-                return new SimpleRecordWithLFUEviction<>(valueData);
+                return mapContainer.getEvictor().tracksAccessFrequency()
+                        ? new SimpleRecord<>(valueData)
+                        : new SimpleRecordWithLFUEviction<>(valueData);
             }
 
             if (mapConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.RANDOM) {
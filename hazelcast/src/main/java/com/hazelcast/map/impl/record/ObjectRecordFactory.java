@@ -61,7 +61,9 @@ public class ObjectRecordFactory implements RecordFactory<Object> {
             }
 
             if (mapConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.LFU) {
-                return new SimpleRecordWithLFUEviction<>(objectValue);
+                return mapContainer.getEvictor().tracksAccessFrequency()
+                        ? new SimpleRecord<>(objectValue)
+                        : new SimpleRecordWithLFUEviction<>(objectValue);
             }
 
             if (mapConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.RANDOM) {
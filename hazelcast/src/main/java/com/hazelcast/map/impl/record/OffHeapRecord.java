@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.util.TimeStripUtil.recomputeWithBaseTime;
+import static com.hazelcast.internal.util.TimeStripUtil.stripBaseTime;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.DATA_RECORD_WITH_STATS_READER_WRITER;
+
+/**
+ * Flyweight {@link Record} over a record block allocated in native memory.
+ * <p>
+ * The record block has a fixed size and keeps all per-entry statistics
+ * and a pointer to a separately allocated value block holding the
+ * serialized value bytes. Because the value lives in its own block, the
+ * address of a record block never changes during its lifetime, and
+ * updating the value of an entry only touches its value block.
+ * <p>
+ * Layout of a record block:
+ * <pre>
+ * +---------+------+------------+------------+----------+------------+-----------+----------------+---------------+
+ * | version | hits | lastAccess | lastUpdate | creation | lastStored | valueSize | valueCapacity  | valueAddress  |
+ * | int     | int  | int        | int        | int      | int        | int       | int            | long          |
+ * +---------+------+------------+------------+----------+------------+-----------+----------------+---------------+
+ * </pre>
+ * Time fields are kept in the same stripped-seconds format as in {@link AbstractRecord}.
+ * <p>
+ * {@link #getValue()} always returns an on-heap copy of the value, so
+ * callers never hold a reference into native memory. Instances of this
+ * class are not thread-safe and must only be used by the partition thread
+ * owning the record.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public final class OffHeapRecord implements Record<Data> {
+
+    /**
+     * Size of a record block in bytes.
+     */
+    public static final int SIZE = 40;
+
+    private static final int VERSION_OFFSET = 0;
+    private static final int HITS_OFFSET = 4;
+    private static final int LAST_ACCESS_TIME_OFFSET = 8;
+    private static final int LAST_UPDATE_TIME_OFFSET = 12;
+    private static final int CREATION_TIME_OFFSET = 16;
+    private static final int LAST_STORED_TIME_OFFSET = 20;
+    private static final int VALUE_SIZE_OFFSET = 24;
+    private static final int VALUE_CAPACITY_OFFSET = 28;
+    private static final int VALUE_ADDRESS_OFFSET = 32;
+
+    private static final int NULL_VALUE_SIZE = -1;
+
+    private final MemoryManager memoryManager;
+    private final MemoryAccessor mem;
+    private final long address;
+
+    OffHeapRecord(MemoryManager memoryManager, long address) {
+        assert address != NULL_ADDRESS;
+        this.memoryManager = memoryManager;
+        this.mem = memoryManager.getAccessor();
+        this.address = address;
+    }
+
+    /**
+     * Allocates a new record block and returns a flyweight over it.
+     *
+     * @param memoryManager memory manager to allocate record and value blocks from
+     * @param value         initial value of the record, can be {@code null}
+     * @return flyweight over the newly allocated record block
+     */
+    public static OffHeapRecord allocate(MemoryManager memoryManager, Data value) {
+        long address = memoryManager.getAllocator().allocate(SIZE);
+        MemoryAccessor mem = memoryManager.getAccessor();
+        mem.putInt(address + LAST_ACCESS_TIME_OFFSET, UNSET);
+        mem.putInt(address + LAST_UPDATE_TIME_OFFSET, UNSET);
+        mem.putInt(address + CREATION_TIME_OFFSET, UNSET);
+        mem.putInt(address + LAST_STORED_TIME_OFFSET, UNSET);
+        mem.putInt(address + VALUE_SIZE_OFFSET, NULL_VALUE_SIZE);
+
+        OffHeapRecord record = new OffHeapRecord(memoryManager, address);
+        try {
+            record.setValue(value);
+        } catch (Error e) {
+            record.dispose();
+            throw e;
+        }
+        return record;
+    }
+
+    /**
+     * Returns a flyweight over an already allocated record block.
+     */
+    public static OffHeapRecord wrap(MemoryManager memoryManager, long address) {
+        return new OffHeapRecord(memoryManager, address);
+    }
+
+    public long address() {
+        return address;
+    }
+
+    /**
+     * Frees the value block and the record block. The
+     * record must not be accessed after this call.
+     */
+    public void dispose() {
+        MemoryAllocator allocator = memoryManager.getAllocator();
+        allocator.free(valueAddress(), valueCapacity());
+        allocator.free(address, SIZE);
+    }
+
+    @Override
+    public Data getValue() {
+        int size = mem.getInt(address + VALUE_SIZE_OFFSET);
+        if (size == NULL_VALUE_SIZE) {
+            return null;
+        }
+        byte[] bytes = new byte[size];
+        if (size > 0) {
+            mem.copyToByteArray(valueAddress(), bytes, 0, size);
+        }
+        return new HeapData(bytes);
+    }
+
+    @Override
+    public void setValue(Data value) {
+        if (value == null) {
+            freeValueBlock();
+            mem.putInt(address + VALUE_SIZE_OFFSET, NULL_VALUE_SIZE);
+            return;
+        }
+
+        int size = value.totalSize();
+        if (size > valueCapacity()) {
+            long newValueAddress = memoryManager.getAllocator().allocate(size);
+            freeValueBlock();
+            mem.putLong(address + VALUE_ADDRESS_OFFSET, newValueAddress);
+            mem.putInt(address + VALUE_CAPACITY_OFFSET, size);
+        }
+        if (size > 0) {
+            mem.copyFromByteArray(value.toByteArray(), 0, valueAddress(), size);
+        }
+        mem.putInt(address + VALUE_SIZE_OFFSET, size);
+    }
+
+    private void freeValueBlock() {
+        long valueAddress = valueAddress();
+        if (valueAddress != NULL_ADDRESS) {
+            memoryManager.getAllocator().free(valueAddress, valueCapacity());
+            mem.putLong(address + VALUE_ADDRESS_OFFSET, NULL_ADDRESS);
+            mem.putInt(address + VALUE_CAPACITY_OFFSET, 0);
+        }
+    }
+
+    private long valueAddress() {
+        return mem.getLong(address + VALUE_ADDRESS_OFFSET);
+    }
+
+    private int valueCapacity() {
+        return mem.getInt(address + VALUE_CAPACITY_OFFSET);
+    }
+
+    /**
+     * @return native memory footprint of this record in bytes
+     */
+    @Override
+    public long getCost() {
+        return SIZE + valueCapacity();
+    }
+
+    @Override
+    public int getVersion() {
+        return mem.getInt(address + VERSION_OFFSET);
+    }
+
+    @Override
+    public void setVersion(int version) {
+        mem.putInt(address + VERSION_OFFSET, version);
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return recomputeWithBaseTime(getRawLastAccessTime());
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        setRawLastAccessTime(stripBaseTime(lastAccessTime));
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return recomputeWithBaseTime(getRawLastUpdateTime());
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        setRawLastUpdateTime(stripBaseTime(lastUpdateTime));
+    }
+
+    @Override
+    public long getCreationTime() {
+        return recomputeWithBaseTime(getRawCreationTime());
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        setRawCreationTime(stripBaseTime(creationTime));
+    }
+
+    @Override
+    public int getHits() {
+        return mem.getInt(address + HITS_OFFSET);
+    }
+
+    @Override
+    public void setHits(int hits) {
+        mem.putInt(address + HITS_OFFSET, hits);
+    }
+
+    @Override
+    public long getLastStoredTime() {
+        int lastStoredTime = getRawLastStoredTime();
+        if (lastStoredTime == UNSET) {
+            return 0L;
+        }
+        return recomputeWithBaseTime(lastStoredTime);
+    }
+
+    @Override
+    public void setLastStoredTime(long lastStoredTime) {
+        setRawLastStoredTime(stripBaseTime(lastStoredTime));
+    }
+
+    @Override
+    public RecordReaderWriter getMatchingRecordReaderWriter() {
+        return DATA_RECORD_WITH_STATS_READER_WRITER;
+    }
+
+    @Override
+    public int getRawCreationTime() {
+        return mem.getInt(address + CREATION_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawCreationTime(int creationTime) {
+        mem.putInt(address + CREATION_TIME_OFFSET, creationTime);
+    }
+
+    @Override
+    public int getRawLastAccessTime() {
+        return mem.getInt(address + LAST_ACCESS_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastAccessTime(int lastAccessTime) {
+        mem.putInt(address + LAST_ACCESS_TIME_OFFSET, lastAccessTime);
+    }
+
+    @Override
+    public int getRawLastUpdateTime() {
+        return mem.getInt(address + LAST_UPDATE_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastUpdateTime(int lastUpdateTime) {
+        mem.putInt(address + LAST_UPDATE_TIME_OFFSET, lastUpdateTime);
+    }
+
+    @Override
+    public int getRawLastStoredTime() {
+        return mem.getInt(address + LAST_STORED_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastStoredTime(int lastStoredTime) {
+        mem.putInt(address + LAST_STORED_TIME_OFFSET, lastStoredTime);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OffHeapRecord)) {
+            return false;
+        }
+        return address == ((OffHeapRecord) o).address;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(address);
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapRecord{"
+                + "address=" + address
+                + ", version=" + getVersion()
+                + ", hits=" + getHits()
+                + ", lastAccessTime=" + getRawLastAccessTime()
+                + ", lastUpdateTime=" + getRawLastUpdateTime()
+                + ", creationTime=" + getRawCreationTime()
+                + '}';
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates {@link OffHeapRecord}s for maps with
+ * {@link com.hazelcast.config.InMemoryFormat#NATIVE} in-memory format.
+ * <p>
+ * A record which is created but never put into the storage (e.g. because
+ * the map-store threw) would leak its native memory, so newly created
+ * records are tracked until the storage attaches them to a key and the
+ * remaining ones are freed by {@link #disposeUnattachedRecords()}.
+ */
+public class OffHeapRecordFactory implements RecordFactory<Data> {
+
+    private final MemoryManager memoryManager;
+    private final SerializationService ss;
+    private final List<OffHeapRecord> unattachedRecords = new ArrayList<>(1);
+
+    public OffHeapRecordFactory(MemoryManager memoryManager, SerializationService ss) {
+        this.memoryManager = memoryManager;
+        this.ss = ss;
+    }
+
+    @Override
+    public Record<Data> newRecord(Data key, Object value) {
+        OffHeapRecord record = OffHeapRecord.allocate(memoryManager, ss.toData(value));
+        unattachedRecords.add(record);
+        return record;
+    }
+
+    public MemoryManager getMemoryManager() {
+        return memoryManager;
+    }
+
+    /**
+     * Marks the given record as owned by the storage.
+     */
+    public void onAttached(OffHeapRecord record) {
+        if (!unattachedRecords.isEmpty()) {
+            unattachedRecords.remove(record);
+        }
+    }
+
+    /**
+     * Frees records which were created by this factory
+     * but have never been attached to the storage.
+     */
+    public void disposeUnattachedRecords() {
+        if (unattachedRecords.isEmpty()) {
+            return;
+        }
+        for (OffHeapRecord record : unattachedRecords) {
+            record.dispose();
+        }
+        unattachedRecords.clear();
+    }
+}
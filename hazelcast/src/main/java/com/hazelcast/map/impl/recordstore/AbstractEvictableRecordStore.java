@@ -21,6 +21,7 @@ import com.hazelcast.core.EntryEventType;
 import com.hazelcast.core.EntryView;
 import com.hazelcast.internal.eviction.ExpiredKey;
 import com.hazelcast.internal.nearcache.impl.invalidation.InvalidationQueue;
+import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.event.MapEventPublisher;
@@ -32,6 +33,7 @@ import com.hazelcast.map.impl.recordstore.expiry.ExpirySystemImpl;
 import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.eventservice.EventService;
+import com.hazelcast.spi.properties.ClusterProperty;
 import com.hazelcast.spi.merge.SplitBrainMergeTypes.MapMergeTypes;
 
 import javax.annotation.Nonnull;
@@ -40,6 +42,7 @@ import java.util.Queue;
 
 import static com.hazelcast.core.EntryEventType.EVICTED;
 import static com.hazelcast.core.EntryEventType.EXPIRED;
+import static com.hazelcast.internal.util.UuidUtil.NIL_UUID;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
 import static com.hazelcast.map.impl.recordstore.expiry.ExpiryReason.MAX_IDLE_SECONDS;
@@ -55,6 +58,9 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
     protected final MapEventPublisher mapEventPublisher;
     protected final ExpirySystem expirySystem;
 
+    private final IPartitionService partitionService;
+    private final boolean evictionInvalidationEnabled;
+
     protected AbstractEvictableRecordStore(MapContainer mapContainer, int partitionId) {
         super(mapContainer, partitionId);
         NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
@@ -62,6 +68,9 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         mapEventPublisher = mapServiceContext.getMapEventPublisher();
         thisAddress = nodeEngine.getThisAddress();
         expirySystem = createExpirySystem(mapContainer);
+        partitionService = nodeEngine.getPartitionService();
+        evictionInvalidationEnabled = nodeEngine.getProperties()
+                .getBoolean(ClusterProperty.MAP_EVICTION_INVALIDATION_ENABLED);
     }
 
     @Override
@@ -86,8 +95,13 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
 
     @Override
     public void evictEntries(Data excludedKey) {
+        Evictor evictor = mapContainer.getEvictor();
+        if (excludedKey != null) {
+            // the excluded key is the one that was just written
+            evictor.onAccess(this, excludedKey);
+        }
         if (shouldEvict()) {
-            mapContainer.getEvictor().evict(this, excludedKey);
+            evictor.evict(this, excludedKey);
         }
     }
 
@@ -165,6 +179,13 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
                     eventType, dataKey, value, null);
         }
 
+        // Invalidate Near Caches, so that neither they nor the query
+        // results cached by clients keep serving the removed entry
+        if (shouldInvalidateOnEviction()) {
+            mapServiceContext.getMapNearCacheManager().getInvalidator()
+                    .invalidateKey(dataKey, name, NIL_UUID);
+        }
+
         // Deal with idleness related expiry
         // of entries on backup replicas
         if (expiryReason == MAX_IDLE_SECONDS) {
@@ -174,6 +195,14 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         }
     }
 
+    // Replicas evict entries while a partition is replicated to them
+    // during migration, only the owner's invalidations reach the clients
+    private boolean shouldInvalidateOnEviction() {
+        return evictionInvalidationEnabled
+                && mapContainer.hasInvalidationListener()
+                && partitionService.isPartitionOwner(partitionId);
+    }
+
     @Override
     public InvalidationQueue<ExpiredKey> getExpiredKeysQueue() {
         return expirySystem.getExpiredKeys();
@@ -182,6 +211,7 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
     @Override
     public void accessRecord(Data dataKey, Record record, long now) {
         record.onAccess(now);
+        mapContainer.getEvictor().onAccess(this, dataKey);
         updateStatsOnGet(now);
         expirySystem.extendExpiryTime(dataKey, now);
     }
@@ -1612,6 +1612,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (removedKeyCount > 0) {
             updateStatsOnRemove(Clock.currentTimeMillis());
         }
+        mapContainer.getEvictor().onClear(this);
         return removedKeyCount;
     }
 
@@ -1629,6 +1630,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             mapDataStore.reset();
             expirySystem.clear();
             storage.clear(false);
+            mapContainer.getEvictor().onClear(this);
             stats.reset();
         }
     }
@@ -1667,6 +1669,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     public void destroyStorageImmediate(boolean isDuringShutdown,
                                         boolean internal) {
         mutationObserver.onDestroy(isDuringShutdown, internal);
+        mapContainer.getEvictor().onClear(this);
         expirySystem.destroy();
         destroyMetadataStore();
         // Destroy storage in the end
@@ -1692,6 +1695,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         } finally {
             expirySystem.clear();
             storage.clear(isDuringShutdown);
+            mapContainer.getEvictor().onClear(this);
         }
     }
 
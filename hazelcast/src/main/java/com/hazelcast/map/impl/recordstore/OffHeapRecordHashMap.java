@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import java.util.function.LongConsumer;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.serialization.impl.HeapData.TYPE_OFFSET;
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * Chained hash table living entirely in native memory which maps
+ * serialized keys to addresses of {@link com.hazelcast.map.impl.record.OffHeapRecord}
+ * blocks.
+ * <p>
+ * The bucket table is an array of entry addresses. Each entry block holds
+ * the address of the next entry in the same bucket, the record address,
+ * the hash and the serialized key bytes:
+ * <pre>
+ * +------+---------------+------+---------+-----------+
+ * | next | recordAddress | hash | keySize | key bytes |
+ * | long | long          | int  | int     | byte[]    |
+ * +------+---------------+------+---------+-----------+
+ * </pre>
+ * Keys are compared the same way {@link HeapData#equals(Object)} compares
+ * them, i.e. the partition hash is ignored.
+ * <p>
+ * Removed entries are not freed by this class; {@link #remove(Data)}
+ * returns the unlinked entry so that the caller can free it once no
+ * iteration can observe it anymore. The table is not thread-safe except
+ * {@link #size()}, which may be read from any thread.
+ */
+final class OffHeapRecordHashMap {
+
+    static final int NEXT_OFFSET = 0;
+    static final int RECORD_ADDRESS_OFFSET = 8;
+    static final int HASH_OFFSET = 16;
+    static final int KEY_SIZE_OFFSET = 20;
+    static final int KEY_OFFSET = 24;
+
+    private static final int MIN_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final MemoryAllocator malloc;
+    private final MemoryAccessor mem;
+    private final int initialCapacity;
+
+    private long table = NULL_ADDRESS;
+    private int capacity;
+    private int threshold;
+    private volatile int size;
+
+    OffHeapRecordHashMap(MemoryManager memoryManager, int initialCapacity) {
+        this.malloc = memoryManager.getAllocator();
+        this.mem = memoryManager.getAccessor();
+        this.initialCapacity = nextPowerOfTwo(Math.max(MIN_CAPACITY, initialCapacity));
+    }
+
+    static int hashOf(Data key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return number of buckets, {@code 0} if nothing has been put yet
+     */
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return native memory occupied by the bucket table in bytes
+     */
+    long tableCost() {
+        return (long) capacity * LONG_SIZE_IN_BYTES;
+    }
+
+    long bucketHead(int bucketIndex) {
+        return mem.getLong(table + (long) bucketIndex * LONG_SIZE_IN_BYTES);
+    }
+
+    int bucketIndex(int hash) {
+        return hash & (capacity - 1);
+    }
+
+    long next(long entry) {
+        return mem.getLong(entry + NEXT_OFFSET);
+    }
+
+    long recordAddress(long entry) {
+        return mem.getLong(entry + RECORD_ADDRESS_OFFSET);
+    }
+
+    int hash(long entry) {
+        return mem.getInt(entry + HASH_OFFSET);
+    }
+
+    /**
+     * @return native memory occupied by the entry block in bytes
+     */
+    long entryCost(long entry) {
+        return KEY_OFFSET + mem.getInt(entry + KEY_SIZE_OFFSET);
+    }
+
+    static long entryCost(Data key) {
+        return KEY_OFFSET + key.totalSize();
+    }
+
+    /**
+     * Copies the key of the given entry to heap.
+     */
+    Data key(long entry) {
+        int keySize = mem.getInt(entry + KEY_SIZE_OFFSET);
+        byte[] bytes = new byte[keySize];
+        if (keySize > 0) {
+            mem.copyToByteArray(entry + KEY_OFFSET, bytes, 0, keySize);
+        }
+        return new HeapData(bytes);
+    }
+
+    /**
+     * @return the entry of the given key or {@link MemoryAllocator#NULL_ADDRESS}
+     */
+    long getEntry(Data key) {
+        if (size == 0) {
+            return NULL_ADDRESS;
+        }
+        int hash = hashOf(key);
+        byte[] keyBytes = key.toByteArray();
+        int keySize = key.totalSize();
+        long entry = bucketHead(bucketIndex(hash));
+        while (entry != NULL_ADDRESS) {
+            if (matches(entry, hash, keyBytes, keySize)) {
+                return entry;
+            }
+            entry = next(entry);
+        }
+        return NULL_ADDRESS;
+    }
+
+    /**
+     * @return the record address mapped to the given key or {@link MemoryAllocator#NULL_ADDRESS}
+     */
+    long get(Data key) {
+        long entry = getEntry(key);
+        return entry == NULL_ADDRESS ? NULL_ADDRESS : recordAddress(entry);
+    }
+
+    /**
+     * Maps the given key to the given record address.
+     *
+     * @return the previously mapped record address or
+     * {@link MemoryAllocator#NULL_ADDRESS} if the key was not mapped
+     */
+    long put(Data key, long recordAddress) {
+        long existing = getEntry(key);
+        if (existing != NULL_ADDRESS) {
+            long oldRecordAddress = recordAddress(existing);
+            mem.putLong(existing + RECORD_ADDRESS_OFFSET, recordAddress);
+            return oldRecordAddress;
+        }
+
+        if (table == NULL_ADDRESS) {
+            allocateTable(initialCapacity);
+        }
+
+        int hash = hashOf(key);
+        int keySize = key.totalSize();
+        long entry = malloc.allocate(KEY_OFFSET + keySize);
+        mem.putLong(entry + RECORD_ADDRESS_OFFSET, recordAddress);
+        mem.putInt(entry + HASH_OFFSET, hash);
+        mem.putInt(entry + KEY_SIZE_OFFSET, keySize);
+        if (keySize > 0) {
+            mem.copyFromByteArray(key.toByteArray(), 0, entry + KEY_OFFSET, keySize);
+        }
+        link(table, bucketIndex(hash), entry);
+
+        if (++size > threshold) {
+            resize();
+        }
+        return NULL_ADDRESS;
+    }
+
+    /**
+     * Unlinks the entry of the given key. The entry block is not freed,
+     * see {@link #freeEntry(long)}.
+     *
+     * @return the unlinked entry or {@link MemoryAllocator#NULL_ADDRESS}
+     * if the key was not mapped
+     */
+    long remove(Data key) {
+        if (size == 0) {
+            return NULL_ADDRESS;
+        }
+        int hash = hashOf(key);
+        byte[] keyBytes = key.toByteArray();
+        int keySize = key.totalSize();
+        long slot = table + (long) bucketIndex(hash) * LONG_SIZE_IN_BYTES;
+        long previous = NULL_ADDRESS;
+        long entry = mem.getLong(slot);
+        while (entry != NULL_ADDRESS) {
+            if (matches(entry, hash, keyBytes, keySize)) {
+                long next = next(entry);
+                if (previous == NULL_ADDRESS) {
+                    mem.putLong(slot, next);
+                } else {
+                    mem.putLong(previous + NEXT_OFFSET, next);
+                }
+                size--;
+                return entry;
+            }
+            previous = entry;
+            entry = next(entry);
+        }
+        return NULL_ADDRESS;
+    }
+
+    void freeEntry(long entry) {
+        malloc.free(entry, entryCost(entry));
+    }
+
+    /**
+     * Frees all entries, passing the record address of each
+     * entry to the given disposer, and releases the table.
+     */
+    void clear(LongConsumer recordDisposer) {
+        if (table == NULL_ADDRESS) {
+            return;
+        }
+        for (int i = 0; i < capacity; i++) {
+            long entry = bucketHead(i);
+            while (entry != NULL_ADDRESS) {
+                long next = next(entry);
+                recordDisposer.accept(recordAddress(entry));
+                freeEntry(entry);
+                entry = next;
+            }
+        }
+        malloc.free(table, tableCost());
+        table = NULL_ADDRESS;
+        capacity = 0;
+        threshold = 0;
+        size = 0;
+    }
+
+    private boolean matches(long entry, int hash, byte[] keyBytes, int keySize) {
+        if (mem.getInt(entry + HASH_OFFSET) != hash
+                || mem.getInt(entry + KEY_SIZE_OFFSET) != keySize) {
+            return false;
+        }
+        long keyAddress = entry + KEY_OFFSET;
+        for (int i = keySize - 1; i >= TYPE_OFFSET; i--) {
+            if (mem.getByte(keyAddress + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void link(long table, int bucketIndex, long entry) {
+        long slot = table + (long) bucketIndex * LONG_SIZE_IN_BYTES;
+        mem.putLong(entry + NEXT_OFFSET, mem.getLong(slot));
+        mem.putLong(slot, entry);
+    }
+
+    private void allocateTable(int newCapacity) {
+        table = malloc.allocate((long) newCapacity * LONG_SIZE_IN_BYTES);
+        capacity = newCapacity;
+        threshold = (int) (newCapacity * LOAD_FACTOR);
+    }
+
+    private void resize() {
+        long oldTable = table;
+        int oldCapacity = capacity;
+        allocateTable(oldCapacity << 1);
+        for (int i = 0; i < oldCapacity; i++) {
+            long entry = mem.getLong(oldTable + (long) i * LONG_SIZE_IN_BYTES);
+            while (entry != NULL_ADDRESS) {
+                long next = next(entry);
+                link(table, bucketIndex(hash(entry)), entry);
+                entry = next;
+            }
+        }
+        malloc.free(oldTable, (long) oldCapacity * LONG_SIZE_IN_BYTES);
+    }
+}
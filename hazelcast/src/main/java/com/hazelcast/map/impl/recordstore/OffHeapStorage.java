@@ -0,0 +1,431 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.ThreadLocalRandomProvider;
+import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.OffHeapRecord;
+import com.hazelcast.map.impl.record.OffHeapRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.Records;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+
+/**
+ * {@link Storage} which keeps keys, values and record metadata of a
+ * partition in native memory, so that the entries of a map don't
+ * contribute to the Java heap and GC pauses.
+ * <p>
+ * Keys are stored in an {@link OffHeapRecordHashMap}, records are
+ * {@link OffHeapRecord}s created by an {@link OffHeapRecordFactory}.
+ * Every key and value handed out by this storage is an on-heap copy,
+ * only the records are flyweights over native memory.
+ * <p>
+ * Blocks of removed entries are not freed immediately since the caller
+ * may still access the removed record (e.g. to publish an event). They
+ * are freed in {@link #disposeDeferredBlocks()} which is called at the
+ * end of every map operation for {@code NATIVE} maps.
+ * <p>
+ * Iterators of this storage hold no native addresses between calls: they
+ * copy the keys of a bucket to heap and look each key up again when it is
+ * returned. Hence they tolerate any mutation of the storage, including
+ * removals and disposal of deferred blocks between two calls.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public class OffHeapStorage implements Storage<Data, Record> {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int INITIAL_DEFERRED_CAPACITY = 16;
+
+    private final MemoryManager memoryManager;
+    private final OffHeapRecordFactory recordFactory;
+    private final OffHeapRecordHashMap records;
+    private final ExpirySystem expirySystem;
+    private final SerializationService serializationService;
+
+    private long[] deferredEntries = new long[INITIAL_DEFERRED_CAPACITY];
+    private int deferredEntryCount;
+    private long[] deferredRecords = new long[INITIAL_DEFERRED_CAPACITY];
+    private int deferredRecordCount;
+
+    // not final for testing purposes.
+    private EntryCostEstimator entryCostEstimator = new NativeMemoryCostEstimator();
+
+    public OffHeapStorage(OffHeapRecordFactory recordFactory, ExpirySystem expirySystem,
+                          SerializationService serializationService) {
+        this.recordFactory = recordFactory;
+        this.memoryManager = recordFactory.getMemoryManager();
+        this.records = new OffHeapRecordHashMap(memoryManager, INITIAL_CAPACITY);
+        this.expirySystem = expirySystem;
+        this.serializationService = serializationService;
+    }
+
+    @Override
+    public void put(Data key, Record record) {
+        OffHeapRecord offHeapRecord = toOffHeapRecord(record);
+        recordFactory.onAttached(offHeapRecord);
+
+        long previousTableCost = records.tableCost();
+        long previousRecordAddress = records.put(key, offHeapRecord.address());
+        if (previousRecordAddress == NULL_ADDRESS) {
+            updateCostEstimate(OffHeapRecordHashMap.entryCost(key) + offHeapRecord.getCost());
+        } else if (previousRecordAddress != offHeapRecord.address()) {
+            updateCostEstimate(offHeapRecord.getCost() - wrap(previousRecordAddress).getCost());
+            deferRecord(previousRecordAddress);
+        }
+        updateCostEstimate(records.tableCost() - previousTableCost);
+    }
+
+    private OffHeapRecord toOffHeapRecord(Record record) {
+        if (record instanceof OffHeapRecord offHeapRecord) {
+            return offHeapRecord;
+        }
+        OffHeapRecord offHeapRecord = OffHeapRecord.allocate(memoryManager,
+                serializationService.toData(record.getValue()));
+        Records.copyMetadataFrom(record, offHeapRecord);
+        return offHeapRecord;
+    }
+
+    @Override
+    public Record updateRecordValue(Data key, Record record, Object value) {
+        long previousCost = record.getCost();
+        record.setValue(serializationService.toData(value));
+        updateCostEstimate(record.getCost() - previousCost);
+        return record;
+    }
+
+    @Override
+    public Record get(Data key) {
+        long recordAddress = records.get(key);
+        return recordAddress == NULL_ADDRESS ? null : wrap(recordAddress);
+    }
+
+    @Override
+    public Record getIfSameKey(Data key) {
+        throw new UnsupportedOperationException("OffHeapStorage#getIfSameKey");
+    }
+
+    @Override
+    public void removeRecord(Data dataKey, @Nonnull Record record) {
+        long entry = records.remove(dataKey);
+        if (entry == NULL_ADDRESS) {
+            return;
+        }
+        long recordAddress = records.recordAddress(entry);
+        updateCostEstimate(-(records.entryCost(entry) + wrap(recordAddress).getCost()));
+        deferEntry(entry);
+        deferRecord(recordAddress);
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return records.getEntry(key) != NULL_ADDRESS;
+    }
+
+    @Override
+    public Iterator<Map.Entry<Data, Record>> mutationTolerantIterator() {
+        return new KeyLookupIterator();
+    }
+
+    @Override
+    public int size() {
+        return records.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return records.size() == 0;
+    }
+
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        disposeDeferredBlocks();
+        records.clear(recordAddress -> wrap(recordAddress).dispose());
+        entryCostEstimator.reset();
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        clear(isDuringShutdown);
+    }
+
+    @Override
+    public EntryCostEstimator getEntryCostEstimator() {
+        return entryCostEstimator;
+    }
+
+    @Override
+    public void setEntryCostEstimator(EntryCostEstimator entryCostEstimator) {
+        this.entryCostEstimator = entryCostEstimator;
+    }
+
+    @Override
+    public void disposeDeferredBlocks() {
+        recordFactory.disposeUnattachedRecords();
+        for (int i = 0; i < deferredRecordCount; i++) {
+            wrap(deferredRecords[i]).dispose();
+        }
+        deferredRecordCount = 0;
+        for (int i = 0; i < deferredEntryCount; i++) {
+            records.freeEntry(deferredEntries[i]);
+        }
+        deferredEntryCount = 0;
+    }
+
+    @Override
+    public Iterable<EntryView> getRandomSamples(int sampleCount) {
+        if (sampleCount < 0) {
+            throw new IllegalArgumentException("Sample count cannot be a negative value.");
+        }
+        int capacity = records.capacity();
+        if (sampleCount == 0 || records.size() == 0) {
+            return Collections.emptyList();
+        }
+
+        List<EntryView> samples = new ArrayList<>(sampleCount);
+        int firstBucket = ThreadLocalRandomProvider.get().nextInt(capacity);
+        int bucket = firstBucket;
+        do {
+            long entry = records.bucketHead(bucket);
+            while (entry != NULL_ADDRESS && samples.size() < sampleCount) {
+                Data key = records.key(entry);
+                samples.add(new LazyEvictableEntryView<>(key, wrap(records.recordAddress(entry)),
+                        expirySystem.getExpiryMetadata(key), serializationService));
+                entry = records.next(entry);
+            }
+            bucket = (bucket + 1) & (capacity - 1);
+        } while (bucket != firstBucket && samples.size() < sampleCount);
+        return samples;
+    }
+
+    @Override
+    public MapKeysWithCursor fetchKeys(IterationPointer[] pointers, int size) {
+        List<Data> keys = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, (key, entry) -> keys.add(key));
+        return new MapKeysWithCursor(keys, newPointers);
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(IterationPointer[] pointers, int size) {
+        List<Map.Entry<Data, Data>> entries = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, (key, entry)
+                -> entries.add(new AbstractMap.SimpleEntry<>(key, wrap(records.recordAddress(entry)).getValue())));
+        return new MapEntriesWithCursor(entries, newPointers);
+    }
+
+    /**
+     * Walks the buckets from the highest index to the lowest, the same
+     * way {@link com.hazelcast.internal.util.SampleableConcurrentHashMap}
+     * does, so that the iteration state can be described by the same
+     * kind of {@link IterationPointer}s and survives table resizes.
+     */
+    private IterationPointer[] fetchNext(IterationPointer[] pointers, int size,
+                                         BiConsumer<Data, Long> entryConsumer) {
+        int capacity = records.capacity();
+        pointers = checkPointers(pointers, capacity);
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+
+        int nextBucket = lastPointer.getIndex() >= 0 && lastPointer.getIndex() < capacity
+                ? lastPointer.getIndex() : capacity - 1;
+        int counter = 0;
+        while (nextBucket >= 0 && counter < size) {
+            long entry = records.bucketHead(nextBucket--);
+            while (entry != NULL_ADDRESS) {
+                if (hasNotBeenObserved(records.hash(entry), pointers)) {
+                    entryConsumer.accept(records.key(entry), entry);
+                    counter++;
+                }
+                entry = records.next(entry);
+            }
+        }
+        lastPointer.setIndex(nextBucket);
+        return pointers;
+    }
+
+    private static IterationPointer[] checkPointers(IterationPointer[] pointers, int currentCapacity) {
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+        boolean iterationStarted = lastPointer.getSize() == -1;
+        boolean tableResized = lastPointer.getSize() != currentCapacity;
+        int newLength = !iterationStarted && tableResized ? pointers.length + 1 : pointers.length;
+
+        IterationPointer[] updatedPointers = new IterationPointer[newLength];
+        for (int i = 0; i < pointers.length; i++) {
+            updatedPointers[i] = new IterationPointer(pointers[i]);
+        }
+        if (iterationStarted || tableResized) {
+            updatedPointers[updatedPointers.length - 1] = new IterationPointer(Integer.MAX_VALUE, currentCapacity);
+        }
+        return updatedPointers;
+    }
+
+    private static boolean hasNotBeenObserved(int hash, IterationPointer[] pointers) {
+        for (int i = 0; i < pointers.length - 1; i++) {
+            IterationPointer pointer = pointers[i];
+            int capacity = pointer.getSize();
+            if (capacity > 0 && (hash & (capacity - 1)) > pointer.getIndex()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Data extractDataKeyFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getDataKey();
+    }
+
+    @Override
+    public Data toBackingDataKeyFormat(Data key) {
+        return key;
+    }
+
+    private OffHeapRecord wrap(long recordAddress) {
+        return OffHeapRecord.wrap(memoryManager, recordAddress);
+    }
+
+    private void updateCostEstimate(long entrySize) {
+        entryCostEstimator.adjustEstimateBy(entrySize);
+    }
+
+    private void deferEntry(long entry) {
+        if (deferredEntryCount == deferredEntries.length) {
+            deferredEntries = Arrays.copyOf(deferredEntries, deferredEntryCount << 1);
+        }
+        deferredEntries[deferredEntryCount++] = entry;
+    }
+
+    private void deferRecord(long recordAddress) {
+        if (deferredRecordCount == deferredRecords.length) {
+            deferredRecords = Arrays.copyOf(deferredRecords, deferredRecordCount << 1);
+        }
+        deferredRecords[deferredRecordCount++] = recordAddress;
+    }
+
+    /**
+     * Iterates buckets from the lowest index to the highest. The keys of
+     * the current bucket are copied to heap and each of them is looked up
+     * again before being returned, so that entries removed in the meantime
+     * are skipped and no native address outlives a single call.
+     */
+    private final class KeyLookupIterator implements Iterator<Map.Entry<Data, Record>> {
+
+        private final ArrayDeque<Data> bucketKeys = new ArrayDeque<>();
+        private int nextBucket;
+        private Map.Entry<Data, Record> nextEntry;
+
+        @Override
+        public boolean hasNext() {
+            if (nextEntry != null) {
+                return true;
+            }
+            for (;;) {
+                Data key = bucketKeys.poll();
+                if (key == null) {
+                    if (!loadNextBucket()) {
+                        return false;
+                    }
+                    continue;
+                }
+                long recordAddress = records.get(key);
+                if (recordAddress != NULL_ADDRESS) {
+                    nextEntry = new AbstractMap.SimpleImmutableEntry<>(key, wrap(recordAddress));
+                    return true;
+                }
+            }
+        }
+
+        private boolean loadNextBucket() {
+            int capacity = records.capacity();
+            while (nextBucket < capacity) {
+                long entry = records.bucketHead(nextBucket++);
+                while (entry != NULL_ADDRESS) {
+                    bucketKeys.add(records.key(entry));
+                    entry = records.next(entry);
+                }
+                if (!bucketKeys.isEmpty()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Map.Entry<Data, Record> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<Data, Record> entry = nextEntry;
+            nextEntry = null;
+            return entry;
+        }
+    }
+
+    /**
+     * Tracks the native memory occupied by the entries of this storage.
+     * Updated only by the partition thread, read by any thread.
+     */
+    private static final class NativeMemoryCostEstimator implements EntryCostEstimator<Data, Record> {
+
+        private volatile long estimate;
+
+        @Override
+        public long getEstimate() {
+            return estimate;
+        }
+
+        @Override
+        @SuppressWarnings("NonAtomicOperationOnVolatileField")
+        public void adjustEstimateBy(long adjustment) {
+            estimate += adjustment;
+        }
+
+        @Override
+        public long calculateValueCost(Record record) {
+            return record.getCost();
+        }
+
+        @Override
+        public long calculateEntryCost(Data key, Record record) {
+            return OffHeapRecordHashMap.entryCost(key) + record.getCost();
+        }
+
+        @Override
+        public void reset() {
+            estimate = 0;
+        }
+    }
+}
@@ -0,0 +1,1358 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.query.Predicate;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static com.hazelcast.query.impl.CompositeValue.NEGATIVE_INFINITY;
+import static com.hazelcast.query.impl.CompositeValue.POSITIVE_INFINITY;
+import static com.hazelcast.query.impl.OrderedIndexStore.DATA_COMPARATOR;
+import static java.util.Collections.emptyIterator;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+
+/**
+ * Sorted index store for attributes of a single primitive numeric type.
+ * <p>
+ * {@link OrderedIndexStore} keeps a skip list of boxed attribute values
+ * mapped to skip lists of entries. This store keeps the attribute values
+ * as primitive {@code long} keys in sorted chunks of at most
+ * {@value #MAX_CHUNK_SIZE} keys. Floating-point values are encoded so that
+ * the order of the keys matches {@link Double#compare}. The entries of a
+ * key are kept in a compact posting list: the entry itself if it is the
+ * only one, an array sorted by {@link OrderedIndexStore#DATA_COMPARATOR}
+ * if there are at most {@value Posting#MAX_ARRAY_SIZE} entries, and a
+ * skip list like the ones of {@link OrderedIndexStore} otherwise, so that
+ * updating the entries of a frequent value doesn't copy them.
+ * <p>
+ * Chunks and array posting lists are immutable. Writers replace them
+ * under the global write lock and modify skip list posting lists in place,
+ * following the {@link IndexCopyBehavior} like {@link OrderedIndexStore}.
+ * Iterators are weakly consistent.
+ * <p>
+ * The type of the attribute is detected from the first non-null value.
+ * Once a value of another type is inserted, the contents are moved to an
+ * {@link OrderedIndexStore} and all operations are delegated to it until
+ * the store is cleared.
+ */
+@SuppressWarnings({"rawtypes", "checkstyle:methodcount"})
+public class NumericOrderedIndexStore extends BaseSingleValueIndexStore {
+
+    static final int MAX_CHUNK_SIZE = 128;
+
+    private final IndexCopyBehavior copyOn;
+
+    /**
+     * Either {@link NumericPostings} or the {@link OrderedIndexStore}
+     * the store was inflated to.
+     */
+    private volatile Object storage;
+
+    public NumericOrderedIndexStore(IndexCopyBehavior copyOn) {
+        super(copyOn, true);
+        assert copyOn != null;
+        this.copyOn = copyOn;
+        this.storage = newPostings();
+    }
+
+    private NumericPostings newPostings() {
+        return new NumericPostings(copyOn == IndexCopyBehavior.COPY_ON_WRITE);
+    }
+
+    /**
+     * @return {@code true} if the values are kept as primitive keys,
+     * {@code false} if the store was inflated to an {@link OrderedIndexStore}
+     */
+    boolean isPrimitive() {
+        return storage instanceof NumericPostings;
+    }
+
+    @Override
+    Object insertInternal(Comparable value, QueryableEntry record) {
+        Object storage = this.storage;
+        if (storage instanceof OrderedIndexStore fallback) {
+            return fallback.insertInternal(value, record);
+        }
+
+        NumericPostings postings = (NumericPostings) storage;
+        if (value == NULL) {
+            return postings.insertNull(record);
+        }
+        NumericType type = NumericType.of(value.getClass());
+        if (type == null || (postings.type != null && postings.type != type)) {
+            return inflate(postings).insertInternal(value, record);
+        }
+        if (postings.type == null) {
+            postings.type = type;
+        }
+        return postings.insert(type.toKey((Number) value), record);
+    }
+
+    @Override
+    Object removeInternal(Comparable value, Data recordKey) {
+        Object storage = this.storage;
+        if (storage instanceof OrderedIndexStore fallback) {
+            return fallback.removeInternal(value, recordKey);
+        }
+
+        NumericPostings postings = (NumericPostings) storage;
+        if (value == NULL) {
+            return postings.removeNull(recordKey);
+        }
+        NumericType type = NumericType.of(value.getClass());
+        if (type == null || type != postings.type) {
+            // never inserted, otherwise the store would have been inflated
+            return null;
+        }
+        return postings.remove(type.toKey((Number) value), recordKey);
+    }
+
+    private OrderedIndexStore inflate(NumericPostings postings) {
+        OrderedIndexStore fallback = new OrderedIndexStore(copyOn);
+        postings.forEach(fallback::insertInternal);
+        storage = fallback;
+        return fallback;
+    }
+
+    @Override
+    public Comparable canonicalizeQueryArgumentScalar(Comparable value) {
+        // same as for OrderedIndexStore, needed to support InPredicate queries
+        return Comparables.canonicalizeForHashLookup(value);
+    }
+
+    @Override
+    public Comparable canonicalizeScalarForStorage(Comparable value) {
+        return value;
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            Object storage = this.storage;
+            if (storage instanceof OrderedIndexStore fallback) {
+                fallback.clear();
+            }
+            this.storage = newPostings();
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public boolean isEvaluateOnly() {
+        return false;
+    }
+
+    @Override
+    public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
+        return false;
+    }
+
+    @Override
+    public Set<QueryableEntry> evaluate(Predicate predicate, TypeConverter converter) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(boolean descending) {
+        return new OrderedIndexStore.IteratorFromBatch(getSqlRecordIteratorBatch(descending));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(@Nonnull Comparable value) {
+        return new OrderedIndexStore.IteratorFromBatch(getSqlRecordIteratorBatch(value, false));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(Comparison comparison, Comparable searchedValue, boolean descending) {
+        return new OrderedIndexStore.IteratorFromBatch(getSqlRecordIteratorBatch(comparison, searchedValue, descending));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(
+            Comparable from,
+            boolean fromInclusive,
+            Comparable to,
+            boolean toInclusive,
+            boolean descending
+    ) {
+        return new OrderedIndexStore.IteratorFromBatch(
+                getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending));
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(@Nonnull Comparable value, boolean descending) {
+        return getSqlRecordIteratorBatch(value, descending, null);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparable value,
+            boolean descending,
+            Data lastEntryKeyData
+    ) {
+        Object storage = this.storage;
+        if (storage instanceof OrderedIndexStore fallback) {
+            return fallback.getSqlRecordIteratorBatch(value, descending, lastEntryKeyData);
+        }
+
+        NumericPostings postings = (NumericPostings) storage;
+        Object posting = postings.get(value);
+        if (posting == null) {
+            return emptyIterator();
+        }
+        Iterator<QueryableEntry> entries = Posting.iterator(posting, descending, lastEntryKeyData);
+        return singleton(new IndexKeyEntries(value, entries)).iterator();
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(boolean descending) {
+        Object storage = this.storage;
+        if (storage instanceof OrderedIndexStore fallback) {
+            return fallback.getSqlRecordIteratorBatch(descending);
+        }
+
+        NumericPostings postings = (NumericPostings) storage;
+        return new RangeIterator(postings, Range.all(postings.type), descending, null);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparison comparison,
+            @Nonnull Comparable searchedValue,
+            boolean descending
+    ) {
+        return getSqlRecordIteratorBatch(comparison, searchedValue, descending, null);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparison comparison,
+            @Nonnull Comparable searchedValue,
+            boolean descending,
+            Data lastEntryKeyData
+    ) {
+        switch (comparison) {
+            case LESS:
+                return getSqlRecordIteratorBatch(NULL, false, searchedValue, false, descending, lastEntryKeyData);
+            case LESS_OR_EQUAL:
+                return getSqlRecordIteratorBatch(NULL, false, searchedValue, true, descending, lastEntryKeyData);
+            case GREATER:
+                return getSqlRecordIteratorBatch(searchedValue, false, POSITIVE_INFINITY, true, descending, lastEntryKeyData);
+            case GREATER_OR_EQUAL:
+                return getSqlRecordIteratorBatch(searchedValue, true, POSITIVE_INFINITY, true, descending, lastEntryKeyData);
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparable from,
+            boolean fromInclusive,
+            @Nonnull Comparable to,
+            boolean toInclusive,
+            boolean descending
+    ) {
+        return getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending, null);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:NPathComplexity")
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparable from,
+            boolean fromInclusive,
+            @Nonnull Comparable to,
+            boolean toInclusive,
+            boolean descending,
+            Data lastEntryKeyData
+    ) {
+        Object storage = this.storage;
+        if (storage instanceof OrderedIndexStore fallback) {
+            return fallback.getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending, lastEntryKeyData);
+        }
+
+        boolean useCursor = lastEntryKeyData != null;
+        if (useCursor && !descending && !fromInclusive) {
+            throw new IllegalArgumentException("If `lastEntryKeyData` is not null then `from` must be inclusive");
+        }
+        if (useCursor && descending && !toInclusive) {
+            throw new IllegalArgumentException("If `lastEntryKeyData` is not null then `to` must be inclusive");
+        }
+
+        int order = OrderedIndexStore.SPECIAL_AWARE_COMPARATOR.compare(from, to);
+        if (order == 0) {
+            if (!fromInclusive || !toInclusive) {
+                return emptyIterator();
+            }
+            return getSqlRecordIteratorBatch(from, descending, lastEntryKeyData);
+        } else if (order > 0) {
+            return emptyIterator();
+        }
+
+        NumericPostings postings = (NumericPostings) storage;
+        Range range = Range.of(postings.type, from, fromInclusive, to, toInclusive);
+        return new RangeIterator(postings, range, descending, lastEntryKeyData);
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        Object storage = this.storage;
+        if (storage instanceof OrderedIndexStore fallback) {
+            return fallback.getRecords(value);
+        }
+
+        Object posting = ((NumericPostings) storage).get(value);
+        if (posting == null) {
+            return emptySet();
+        }
+        return Posting.isSkipList(posting)
+                ? toSingleResultSet(Posting.skipList(posting))
+                : new SingleResultSet(new PostingMap(posting));
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        Object storage = this.storage;
+        if (storage instanceof OrderedIndexStore fallback) {
+            return fallback.getRecords(values);
+        }
+
+        NumericPostings postings = (NumericPostings) storage;
+        MultiResultSet results = createMultiResultSet();
+        for (Comparable value : values) {
+            Object posting = postings.get(value);
+            if (posting != null) {
+                addResultSet(results, posting);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparison comparison, Comparable searchedValue) {
+        switch (comparison) {
+            case LESS:
+                return getRecords(NULL, false, searchedValue, false);
+            case LESS_OR_EQUAL:
+                return getRecords(NULL, false, searchedValue, true);
+            case GREATER:
+                return getRecords(searchedValue, false, POSITIVE_INFINITY, true);
+            case GREATER_OR_EQUAL:
+                return getRecords(searchedValue, true, POSITIVE_INFINITY, true);
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        Object storage = this.storage;
+        if (storage instanceof OrderedIndexStore fallback) {
+            return fallback.getRecords(from, fromInclusive, to, toInclusive);
+        }
+
+        int order = OrderedIndexStore.SPECIAL_AWARE_COMPARATOR.compare(from, to);
+        if (order == 0) {
+            return fromInclusive && toInclusive ? getRecords(from) : emptySet();
+        } else if (order > 0) {
+            return emptySet();
+        }
+
+        NumericPostings postings = (NumericPostings) storage;
+        Range range = Range.of(postings.type, from, fromInclusive, to, toInclusive);
+        MultiResultSet results = createMultiResultSet();
+        if (range.includeNull && postings.nullPosting != null) {
+            addResultSet(results, postings.nullPosting);
+        }
+        if (range.hasKeys) {
+            Chunk[] chunks = postings.chunks;
+            for (int i = postings.chunkIndex(chunks, range.from); i < chunks.length; i++) {
+                Chunk chunk = chunks[i];
+                int start = chunk.ceilingIndex(range.from);
+                for (int j = start; j < chunk.keys.length; j++) {
+                    if (chunk.keys[j] > range.to) {
+                        return results;
+                    }
+                    addResultSet(results, chunk.postings[j]);
+                }
+            }
+        }
+        return results;
+    }
+
+    private void addResultSet(MultiResultSet results, Object posting) {
+        if (Posting.isSkipList(posting)) {
+            copyToMultiResultSet(results, Posting.skipList(posting));
+        } else {
+            results.addResultSet(new PostingMap(posting));
+        }
+    }
+
+    /**
+     * Primitive numeric types supported by this store. Floating-point
+     * values are mapped to {@code long} keys preserving the order of
+     * {@link Double#compare}.
+     */
+    enum NumericType {
+        BYTE(false) {
+            @Override
+            Comparable toValue(long key) {
+                return (byte) key;
+            }
+        },
+        SHORT(false) {
+            @Override
+            Comparable toValue(long key) {
+                return (short) key;
+            }
+        },
+        INT(false) {
+            @Override
+            Comparable toValue(long key) {
+                return (int) key;
+            }
+        },
+        LONG(false) {
+            @Override
+            Comparable toValue(long key) {
+                return key;
+            }
+        },
+        FLOAT(true) {
+            @Override
+            Comparable toValue(long key) {
+                return (float) decode(key);
+            }
+        },
+        DOUBLE(true) {
+            @Override
+            Comparable toValue(long key) {
+                return decode(key);
+            }
+        };
+
+        private final boolean floatingPoint;
+
+        NumericType(boolean floatingPoint) {
+            this.floatingPoint = floatingPoint;
+        }
+
+        boolean isFloatingPoint() {
+            return floatingPoint;
+        }
+
+        abstract Comparable toValue(long key);
+
+        long toKey(Number value) {
+            return floatingPoint ? encode(value.doubleValue()) : value.longValue();
+        }
+
+        static NumericType of(Class<?> clazz) {
+            if (clazz == Long.class) {
+                return LONG;
+            } else if (clazz == Integer.class) {
+                return INT;
+            } else if (clazz == Double.class) {
+                return DOUBLE;
+            } else if (clazz == Float.class) {
+                return FLOAT;
+            } else if (clazz == Short.class) {
+                return SHORT;
+            } else if (clazz == Byte.class) {
+                return BYTE;
+            }
+            return null;
+        }
+
+        static long encode(double value) {
+            long bits = Double.doubleToLongBits(value);
+            return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+        }
+
+        static double decode(long key) {
+            return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+        }
+    }
+
+    /**
+     * Range of primitive keys matching a query range, resolved following
+     * the numeric comparison rules of {@link Numbers#compare}.
+     */
+    @SuppressWarnings("checkstyle:magicnumber")
+    static final class Range {
+
+        private static final long NEGATIVE_ZERO_BITS = Double.doubleToLongBits(-0.0d);
+
+        boolean includeNull;
+        boolean hasKeys;
+        long from = Long.MIN_VALUE;
+        long to = Long.MAX_VALUE;
+
+        // whether the bounds are equal to the keys they were resolved to,
+        // cursors apply only to the entries of such keys
+        boolean nullFrom;
+        boolean exactFrom;
+        boolean exactTo;
+
+        static Range all(NumericType type) {
+            Range range = new Range();
+            range.includeNull = true;
+            range.hasKeys = type != null;
+            return range;
+        }
+
+        static Range of(NumericType type, Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+            Range range = new Range();
+            boolean fromHasKeys;
+            if (from == NEGATIVE_INFINITY) {
+                range.includeNull = true;
+                fromHasKeys = true;
+            } else if (from == NULL) {
+                range.includeNull = fromInclusive;
+                range.nullFrom = fromInclusive;
+                fromHasKeys = true;
+            } else if (from == POSITIVE_INFINITY) {
+                fromHasKeys = false;
+            } else {
+                fromHasKeys = type != null && range.lowerBound(type, toNumber(from), fromInclusive);
+            }
+
+            boolean toHasKeys;
+            if (to == POSITIVE_INFINITY) {
+                toHasKeys = true;
+            } else if (to == NULL) {
+                range.includeNull &= toInclusive;
+                toHasKeys = false;
+            } else if (to == NEGATIVE_INFINITY) {
+                range.includeNull = false;
+                toHasKeys = false;
+            } else {
+                toHasKeys = type != null && range.upperBound(type, toNumber(to), toInclusive);
+            }
+
+            range.hasKeys = type != null && fromHasKeys && toHasKeys && range.from <= range.to;
+            return range;
+        }
+
+        /**
+         * @return the key exactly matching the given value or {@code null}
+         * if no value of the given type can be equal to it
+         */
+        static Long exactKey(NumericType type, Comparable value) {
+            Number number = toNumber(value);
+            if (type.isFloatingPoint() || isLongRepresentable(number)) {
+                return type.toKey(number);
+            }
+            double d = number.doubleValue();
+            if (d != Math.rint(d) || d <= -0x1p63 || d >= 0x1p63
+                    || Double.doubleToLongBits(d) == NEGATIVE_ZERO_BITS) {
+                return null;
+            }
+            return (long) d;
+        }
+
+        private boolean lowerBound(NumericType type, Number value, boolean inclusive) {
+            if (type.isFloatingPoint()) {
+                long key = encode(value);
+                if (inclusive) {
+                    from = key;
+                    exactFrom = true;
+                    return true;
+                }
+                if (key == Long.MAX_VALUE) {
+                    return false;
+                }
+                from = key + 1;
+                return true;
+            }
+
+            if (isLongRepresentable(value)) {
+                long key = value.longValue();
+                if (!inclusive && key == Long.MAX_VALUE) {
+                    return false;
+                }
+                from = inclusive ? key : key + 1;
+                exactFrom = inclusive;
+                return true;
+            }
+
+            double d = value.doubleValue();
+            if (Double.isNaN(d) || d >= 0x1p63) {
+                return false;
+            }
+            if (Double.doubleToLongBits(d) == NEGATIVE_ZERO_BITS) {
+                // -0.0 is less than 0L
+                from = 0;
+                return true;
+            }
+            double ceil = Math.ceil(d);
+            if (ceil < -0x1p63) {
+                from = Long.MIN_VALUE;
+                return true;
+            }
+            long key = (long) ceil;
+            if (!inclusive && ceil == d) {
+                if (key == Long.MAX_VALUE) {
+                    return false;
+                }
+                key++;
+            }
+            from = key;
+            exactFrom = inclusive && ceil == d;
+            return true;
+        }
+
+        private boolean upperBound(NumericType type, Number value, boolean inclusive) {
+            if (type.isFloatingPoint()) {
+                long key = encode(value);
+                if (inclusive) {
+                    to = key;
+                    exactTo = true;
+                    return true;
+                }
+                if (key == Long.MIN_VALUE) {
+                    return false;
+                }
+                to = key - 1;
+                return true;
+            }
+
+            if (isLongRepresentable(value)) {
+                long key = value.longValue();
+                if (!inclusive && key == Long.MIN_VALUE) {
+                    return false;
+                }
+                to = inclusive ? key : key - 1;
+                exactTo = inclusive;
+                return true;
+            }
+
+            double d = value.doubleValue();
+            if (Double.isNaN(d) || d >= 0x1p63) {
+                // NaN is greater than any number
+                to = Long.MAX_VALUE;
+                return true;
+            }
+            if (Double.doubleToLongBits(d) == NEGATIVE_ZERO_BITS) {
+                to = -1;
+                return true;
+            }
+            double floor = Math.floor(d);
+            if (floor < -0x1p63) {
+                return false;
+            }
+            long key = (long) floor;
+            if (!inclusive && floor == d) {
+                if (key == Long.MIN_VALUE) {
+                    return false;
+                }
+                key--;
+            }
+            to = key;
+            exactTo = inclusive && floor == d;
+            return true;
+        }
+
+        private static long encode(Number value) {
+            return NumericType.encode(value.doubleValue());
+        }
+
+        private static boolean isLongRepresentable(Number value) {
+            Class clazz = value.getClass();
+            return clazz == Long.class || clazz == Integer.class || clazz == Short.class || clazz == Byte.class;
+        }
+
+        private static Number toNumber(Comparable value) {
+            if (value instanceof Number number) {
+                return number;
+            }
+            throw new IllegalArgumentException("Cannot compare numeric index values with " + value.getClass().getName());
+        }
+    }
+
+    /**
+     * Sorted keys and their posting lists, replaced as a whole on every
+     * modification except for changes of skip list posting lists.
+     */
+    static final class Chunk {
+
+        final long[] keys;
+        final Object[] postings;
+
+        Chunk(long[] keys, Object[] postings) {
+            assert keys.length == postings.length && keys.length > 0;
+            this.keys = keys;
+            this.postings = postings;
+        }
+
+        long firstKey() {
+            return keys[0];
+        }
+
+        /**
+         * @return the index of the first key greater than or equal to the
+         * given key, {@code keys.length} if there is no such key
+         */
+        int ceilingIndex(long key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        /**
+         * @return the index of the last key less than or equal to the
+         * given key, {@code -1} if there is no such key
+         */
+        int floorIndex(long key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? index : -index - 2;
+        }
+
+        Chunk withPosting(int index, Object posting) {
+            Object[] newPostings = postings.clone();
+            newPostings[index] = posting;
+            return new Chunk(keys, newPostings);
+        }
+
+        Chunk withKey(int index, long key, Object posting) {
+            int size = keys.length;
+            long[] newKeys = new long[size + 1];
+            Object[] newPostings = new Object[size + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(postings, 0, newPostings, 0, index);
+            newKeys[index] = key;
+            newPostings[index] = posting;
+            System.arraycopy(keys, index, newKeys, index + 1, size - index);
+            System.arraycopy(postings, index, newPostings, index + 1, size - index);
+            return new Chunk(newKeys, newPostings);
+        }
+
+        /**
+         * @return the chunk without the key at the given index or
+         * {@code null} if it was the only key
+         */
+        Chunk withoutKey(int index) {
+            int size = keys.length;
+            if (size == 1) {
+                return null;
+            }
+            long[] newKeys = new long[size - 1];
+            Object[] newPostings = new Object[size - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(postings, 0, newPostings, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, size - index - 1);
+            System.arraycopy(postings, index + 1, newPostings, index, size - index - 1);
+            return new Chunk(newKeys, newPostings);
+        }
+
+        Chunk slice(int from, int to) {
+            return new Chunk(Arrays.copyOfRange(keys, from, to), Arrays.copyOfRange(postings, from, to));
+        }
+    }
+
+    /**
+     * Mutable state of the primitive store. Modified only under the write
+     * lock, all fields read by queries are published through volatile
+     * writes.
+     */
+    static final class NumericPostings {
+
+        private static final Chunk[] EMPTY_CHUNKS = new Chunk[0];
+
+        volatile NumericType type;
+        volatile Chunk[] chunks = EMPTY_CHUNKS;
+        volatile Object nullPosting;
+
+        private final boolean copyOnWrite;
+
+        NumericPostings(boolean copyOnWrite) {
+            this.copyOnWrite = copyOnWrite;
+        }
+
+        Object get(Comparable value) {
+            if (value == NULL) {
+                return nullPosting;
+            }
+            NumericType type = this.type;
+            if (type == null) {
+                return null;
+            }
+            Long key = Range.exactKey(type, value);
+            return key == null ? null : get(key);
+        }
+
+        Object get(long key) {
+            Chunk[] chunks = this.chunks;
+            int chunkIndex = chunkIndex(chunks, key);
+            if (chunkIndex >= chunks.length) {
+                return null;
+            }
+            Chunk chunk = chunks[chunkIndex];
+            int index = Arrays.binarySearch(chunk.keys, key);
+            return index >= 0 ? chunk.postings[index] : null;
+        }
+
+        QueryableEntry insertNull(QueryableEntry entry) {
+            Object posting = nullPosting;
+            QueryableEntry previous = Posting.find(posting, entry.getKeyData());
+            Object newPosting = Posting.with(posting, entry, copyOnWrite);
+            if (newPosting != posting) {
+                nullPosting = newPosting;
+            }
+            return previous;
+        }
+
+        QueryableEntry removeNull(Data recordKey) {
+            Object posting = nullPosting;
+            QueryableEntry previous = Posting.find(posting, recordKey);
+            if (previous != null) {
+                Object newPosting = Posting.without(posting, recordKey, copyOnWrite);
+                if (newPosting != posting) {
+                    nullPosting = newPosting;
+                }
+            }
+            return previous;
+        }
+
+        QueryableEntry insert(long key, QueryableEntry entry) {
+            Chunk[] chunks = this.chunks;
+            if (chunks.length == 0) {
+                this.chunks = new Chunk[]{new Chunk(new long[]{key}, new Object[]{entry})};
+                return null;
+            }
+
+            int chunkIndex = Math.min(chunkIndex(chunks, key), chunks.length - 1);
+            Chunk chunk = chunks[chunkIndex];
+            int index = Arrays.binarySearch(chunk.keys, key);
+            if (index >= 0) {
+                Object posting = chunk.postings[index];
+                QueryableEntry previous = Posting.find(posting, entry.getKeyData());
+                Object newPosting = Posting.with(posting, entry, copyOnWrite);
+                if (newPosting != posting) {
+                    replace(chunks, chunkIndex, chunk.withPosting(index, newPosting));
+                }
+                return previous;
+            }
+
+            Chunk newChunk = chunk.withKey(-index - 1, key, entry);
+            if (newChunk.keys.length <= MAX_CHUNK_SIZE) {
+                replace(chunks, chunkIndex, newChunk);
+            } else {
+                int half = newChunk.keys.length >>> 1;
+                Chunk[] newChunks = new Chunk[chunks.length + 1];
+                System.arraycopy(chunks, 0, newChunks, 0, chunkIndex);
+                newChunks[chunkIndex] = newChunk.slice(0, half);
+                newChunks[chunkIndex + 1] = newChunk.slice(half, newChunk.keys.length);
+                System.arraycopy(chunks, chunkIndex + 1, newChunks, chunkIndex + 2, chunks.length - chunkIndex - 1);
+                this.chunks = newChunks;
+            }
+            return null;
+        }
+
+        QueryableEntry remove(long key, Data recordKey) {
+            Chunk[] chunks = this.chunks;
+            int chunkIndex = chunkIndex(chunks, key);
+            if (chunkIndex >= chunks.length) {
+                return null;
+            }
+            Chunk chunk = chunks[chunkIndex];
+            int index = Arrays.binarySearch(chunk.keys, key);
+            if (index < 0) {
+                return null;
+            }
+            Object posting = chunk.postings[index];
+            QueryableEntry previous = Posting.find(posting, recordKey);
+            if (previous == null) {
+                return null;
+            }
+
+            Object newPosting = Posting.without(posting, recordKey, copyOnWrite);
+            if (newPosting != null) {
+                if (newPosting != posting) {
+                    replace(chunks, chunkIndex, chunk.withPosting(index, newPosting));
+                }
+                return previous;
+            }
+
+            Chunk newChunk = chunk.withoutKey(index);
+            if (newChunk != null) {
+                replace(chunks, chunkIndex, newChunk);
+            } else {
+                Chunk[] newChunks = new Chunk[chunks.length - 1];
+                System.arraycopy(chunks, 0, newChunks, 0, chunkIndex);
+                System.arraycopy(chunks, chunkIndex + 1, newChunks, chunkIndex, chunks.length - chunkIndex - 1);
+                this.chunks = newChunks;
+            }
+            return previous;
+        }
+
+        /**
+         * Replaces a chunk in place. Chunks are immutable and safely
+         * published through their final fields, so concurrent readers see
+         * either the old or the new chunk; the volatile write makes the
+         * change visible to readers which start afterward.
+         */
+        private void replace(Chunk[] chunks, int chunkIndex, Chunk chunk) {
+            chunks[chunkIndex] = chunk;
+            this.chunks = chunks;
+        }
+
+        /**
+         * @return the index of the chunk which may contain the given key, or
+         * the index of the first chunk with greater keys if no chunk may
+         * contain it; {@code chunks.length} if all keys are smaller
+         */
+        int chunkIndex(Chunk[] chunks, long key) {
+            int low = 0;
+            int high = chunks.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (chunks[mid].firstKey() <= key) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            // high is the last chunk starting at or before the key
+            if (high < 0) {
+                return 0;
+            }
+            Chunk chunk = chunks[high];
+            return chunk.keys[chunk.keys.length - 1] >= key ? high : high + 1;
+        }
+
+        void forEach(PostingConsumer consumer) {
+            forEachEntry(nullPosting, entry -> consumer.accept(NULL, entry));
+            NumericType type = this.type;
+            for (Chunk chunk : chunks) {
+                for (int i = 0; i < chunk.keys.length; i++) {
+                    Comparable value = type.toValue(chunk.keys[i]);
+                    forEachEntry(chunk.postings[i], entry -> consumer.accept(value, entry));
+                }
+            }
+        }
+
+        private static void forEachEntry(Object posting, Consumer<QueryableEntry> action) {
+            if (posting instanceof QueryableEntry entry) {
+                action.accept(entry);
+            } else if (posting instanceof QueryableEntry[] entries) {
+                for (QueryableEntry entry : entries) {
+                    action.accept(entry);
+                }
+            } else if (posting != null) {
+                Posting.skipList(posting).values().forEach(action);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface PostingConsumer {
+        void accept(Comparable value, QueryableEntry entry);
+    }
+
+    /**
+     * Operations on posting lists: a single {@link QueryableEntry}, an
+     * immutable array of up to {@value #MAX_ARRAY_SIZE} entries sorted by
+     * their keys, or a {@link ConcurrentSkipListMap} of the entries by their
+     * keys for larger lists.
+     */
+    static final class Posting {
+
+        /**
+         * The maximum number of entries of an array posting list, larger
+         * lists are kept in a skip list to make updates cheap.
+         */
+        static final int MAX_ARRAY_SIZE = 16;
+
+        private Posting() {
+        }
+
+        static QueryableEntry find(Object posting, Data keyData) {
+            if (posting == null) {
+                return null;
+            } else if (posting instanceof QueryableEntry entry) {
+                return DATA_COMPARATOR.compare(entry.getKeyData(), keyData) == 0 ? entry : null;
+            } else if (posting instanceof QueryableEntry[] entries) {
+                int index = indexOf(entries, keyData);
+                return index >= 0 ? entries[index] : null;
+            }
+            return skipList(posting).get(keyData);
+        }
+
+        /**
+         * @return the posting with the given entry added or replaced; a
+         * skip list posting is modified in place unless {@code copyOnWrite}
+         */
+        static Object with(Object posting, QueryableEntry entry, boolean copyOnWrite) {
+            if (posting == null) {
+                return entry;
+            }
+            if (isSkipList(posting)) {
+                ConcurrentSkipListMap<Data, QueryableEntry> map = copyOnWrite
+                        ? skipList(posting).clone() : skipList(posting);
+                map.put(entry.getKeyData(), entry);
+                return map;
+            }
+            QueryableEntry[] entries = toArray(posting);
+            int index = indexOf(entries, entry.getKeyData());
+            if (index >= 0) {
+                if (entries.length == 1) {
+                    return entry;
+                }
+                QueryableEntry[] newEntries = entries.clone();
+                newEntries[index] = entry;
+                return newEntries;
+            }
+            if (entries.length == MAX_ARRAY_SIZE) {
+                ConcurrentSkipListMap<Data, QueryableEntry> map = new ConcurrentSkipListMap<>(DATA_COMPARATOR);
+                for (QueryableEntry existing : entries) {
+                    map.put(existing.getKeyData(), existing);
+                }
+                map.put(entry.getKeyData(), entry);
+                return map;
+            }
+            int insertionPoint = -index - 1;
+            QueryableEntry[] newEntries = new QueryableEntry[entries.length + 1];
+            System.arraycopy(entries, 0, newEntries, 0, insertionPoint);
+            newEntries[insertionPoint] = entry;
+            System.arraycopy(entries, insertionPoint, newEntries, insertionPoint + 1, entries.length - insertionPoint);
+            return newEntries;
+        }
+
+        /**
+         * @return the posting without the entry of the given key,
+         * {@code null} if it becomes empty; a skip list posting is
+         * modified in place unless {@code copyOnWrite}
+         */
+        static Object without(Object posting, Data keyData, boolean copyOnWrite) {
+            if (posting instanceof QueryableEntry) {
+                return null;
+            }
+            if (isSkipList(posting)) {
+                ConcurrentSkipListMap<Data, QueryableEntry> map = copyOnWrite
+                        ? skipList(posting).clone() : skipList(posting);
+                map.remove(keyData);
+                return map.isEmpty() ? null : map;
+            }
+            QueryableEntry[] entries = (QueryableEntry[]) posting;
+            int index = indexOf(entries, keyData);
+            if (entries.length == 2) {
+                return entries[1 - index];
+            }
+            QueryableEntry[] newEntries = new QueryableEntry[entries.length - 1];
+            System.arraycopy(entries, 0, newEntries, 0, index);
+            System.arraycopy(entries, index + 1, newEntries, index, entries.length - index - 1);
+            return newEntries;
+        }
+
+        static boolean isSkipList(Object posting) {
+            return posting instanceof ConcurrentSkipListMap;
+        }
+
+        @SuppressWarnings("unchecked")
+        static ConcurrentSkipListMap<Data, QueryableEntry> skipList(Object posting) {
+            return (ConcurrentSkipListMap<Data, QueryableEntry>) posting;
+        }
+
+        static QueryableEntry[] toArray(Object posting) {
+            return posting instanceof QueryableEntry entry ? new QueryableEntry[]{entry} : (QueryableEntry[]) posting;
+        }
+
+        static int indexOf(QueryableEntry[] entries, Data keyData) {
+            int low = 0;
+            int high = entries.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = DATA_COMPARATOR.compare(entries[mid].getKeyData(), keyData);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        /**
+         * @param lastEntryKeyData if not {@code null}, only entries after the
+         *                         entry with this key in iteration order are returned
+         */
+        static Iterator<QueryableEntry> iterator(Object posting, boolean descending, Data lastEntryKeyData) {
+            if (isSkipList(posting)) {
+                NavigableMap<Data, QueryableEntry> map = skipList(posting);
+                if (lastEntryKeyData != null) {
+                    map = descending ? map.headMap(lastEntryKeyData, false) : map.tailMap(lastEntryKeyData, false);
+                }
+                return (descending ? map.descendingMap() : map).values().iterator();
+            }
+            QueryableEntry[] entries = toArray(posting);
+            int from = 0;
+            int to = entries.length;
+            if (lastEntryKeyData != null) {
+                int index = indexOf(entries, lastEntryKeyData);
+                if (descending) {
+                    to = index >= 0 ? index : -index - 1;
+                } else {
+                    from = index >= 0 ? index + 1 : -index - 1;
+                }
+            }
+            return new ArrayIterator(entries, from, to, descending);
+        }
+    }
+
+    private static final class ArrayIterator implements Iterator<QueryableEntry> {
+
+        private final QueryableEntry[] entries;
+        private final int end;
+        private final int step;
+        private int index;
+
+        ArrayIterator(QueryableEntry[] entries, int from, int to, boolean descending) {
+            this.entries = entries;
+            this.index = descending ? to - 1 : from;
+            this.end = descending ? from - 1 : to;
+            this.step = descending ? -1 : 1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index != end;
+        }
+
+        @Override
+        public QueryableEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            QueryableEntry entry = entries[index];
+            index += step;
+            return entry;
+        }
+    }
+
+    /**
+     * Read-only {@link Map} view of an immutable single entry or array
+     * posting list.
+     */
+    private static final class PostingMap extends AbstractMap<Data, QueryableEntry> {
+
+        private final QueryableEntry[] entries;
+
+        PostingMap(Object posting) {
+            this.entries = Posting.toArray(posting);
+        }
+
+        @Override
+        public int size() {
+            return entries.length;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Data keyData && Posting.indexOf(entries, keyData) >= 0;
+        }
+
+        @Override
+        public QueryableEntry get(Object key) {
+            if (!(key instanceof Data keyData)) {
+                return null;
+            }
+            int index = Posting.indexOf(entries, keyData);
+            return index >= 0 ? entries[index] : null;
+        }
+
+        @Override
+        public Collection<QueryableEntry> values() {
+            return new AbstractCollection<>() {
+                @Override
+                public Iterator<QueryableEntry> iterator() {
+                    return new ArrayIterator(entries, 0, entries.length, false);
+                }
+
+                @Override
+                public int size() {
+                    return entries.length;
+                }
+            };
+        }
+
+        @Override
+        public Set<Entry<Data, QueryableEntry>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Data, QueryableEntry>> iterator() {
+                    Iterator<QueryableEntry> iterator = values().iterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public Entry<Data, QueryableEntry> next() {
+                            QueryableEntry entry = iterator.next();
+                            return new SimpleImmutableEntry<>(entry.getKeyData(), entry);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return entries.length;
+                }
+            };
+        }
+    }
+
+    /**
+     * Iterates over the posting lists of a key range, chunk by chunk,
+     * including the posting list of {@link AbstractIndex#NULL} if the
+     * range contains it.
+     */
+    private static final class RangeIterator implements Iterator<IndexKeyEntries> {
+
+        private final NumericType type;
+        private final Chunk[] chunks;
+        private final Range range;
+        private final boolean descending;
+        private final Data keyCursor;
+        private final Data nullCursor;
+        private final long cursorKey;
+
+        private Object nullPosting;
+        private int chunkIndex;
+        private int index;
+        private IndexKeyEntries next;
+
+        RangeIterator(NumericPostings postings, Range range, boolean descending, Data lastEntryKeyData) {
+            this.type = postings.type;
+            this.chunks = postings.chunks;
+            this.range = range;
+            this.descending = descending;
+            // the cursor applies to the entries of the first bound in iteration order
+            boolean exactBound = descending ? range.exactTo : range.exactFrom;
+            this.keyCursor = exactBound ? lastEntryKeyData : null;
+            this.nullCursor = !descending && range.nullFrom ? lastEntryKeyData : null;
+            this.cursorKey = descending ? range.to : range.from;
+            this.nullPosting = range.includeNull ? postings.nullPosting : null;
+
+            if (!range.hasKeys) {
+                chunkIndex = descending ? -1 : chunks.length;
+            } else if (descending) {
+                chunkIndex = Math.min(postings.chunkIndex(chunks, range.to), chunks.length - 1);
+                index = chunkIndex >= 0 ? chunks[chunkIndex].floorIndex(range.to) : -1;
+            } else {
+                chunkIndex = postings.chunkIndex(chunks, range.from);
+                index = chunkIndex < chunks.length ? chunks[chunkIndex].ceilingIndex(range.from) : 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = advance();
+            }
+            return next != null;
+        }
+
+        @Override
+        public IndexKeyEntries next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            IndexKeyEntries result = next;
+            next = null;
+            return result;
+        }
+
+        private IndexKeyEntries advance() {
+            if (!descending && nullPosting != null) {
+                return nullEntries();
+            }
+            IndexKeyEntries entries = descending ? advanceDescending() : advanceAscending();
+            if (entries == null && descending && nullPosting != null) {
+                return nullEntries();
+            }
+            return entries;
+        }
+
+        private IndexKeyEntries nullEntries() {
+            Object posting = nullPosting;
+            nullPosting = null;
+            return new IndexKeyEntries(NULL, Posting.iterator(posting, descending, nullCursor));
+        }
+
+        private IndexKeyEntries advanceAscending() {
+            while (chunkIndex < chunks.length) {
+                Chunk chunk = chunks[chunkIndex];
+                if (index < chunk.keys.length) {
+                    long key = chunk.keys[index];
+                    if (key > range.to) {
+                        chunkIndex = chunks.length;
+                        return null;
+                    }
+                    return entries(key, chunk.postings[index++]);
+                }
+                chunkIndex++;
+                index = 0;
+            }
+            return null;
+        }
+
+        private IndexKeyEntries advanceDescending() {
+            while (chunkIndex >= 0) {
+                Chunk chunk = chunks[chunkIndex];
+                if (index >= 0) {
+                    long key = chunk.keys[index];
+                    if (key < range.from) {
+                        chunkIndex = -1;
+                        return null;
+                    }
+                    return entries(key, chunk.postings[index--]);
+                }
+                if (--chunkIndex >= 0) {
+                    index = chunks[chunkIndex].keys.length - 1;
+                }
+            }
+            return null;
+        }
+
+        private IndexKeyEntries entries(long key, Object posting) {
+            Data cursor = keyCursor != null && key == cursorKey ? keyCursor : null;
+            return new IndexKeyEntries(type.toValue(key), Posting.iterator(posting, descending, cursor));
+        }
+    }
+}
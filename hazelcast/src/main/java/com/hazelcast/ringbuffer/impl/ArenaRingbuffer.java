@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.ringbuffer.StaleSequenceException;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * A {@link Ringbuffer} for serialized items which keeps the bytes of all
+ * items contiguously in a single byte array (the arena) instead of keeping
+ * one {@link Data} object per slot like the {@link ArrayRingbuffer}. The
+ * slots only hold the offset and the length of their item in the arena.
+ * <p>
+ * Items are always appended to the end of the arena. Once there is no room
+ * left, the arena is compacted: the items between the head and the tail
+ * are copied in sequence order into a new arena which is twice as large as
+ * the live items, so the bytes of overwritten, expired and cleared items
+ * are reclaimed and the cost of compacting is amortized over the appends.
+ * <p>
+ * Reading an item returns an on-heap copy of its bytes. Like the
+ * {@link ArrayRingbuffer}, this ringbuffer is only accessed by the
+ * partition thread, so no thread safety is needed.
+ */
+public class ArenaRingbuffer implements Ringbuffer<Data> {
+
+    static final int MIN_ARENA_SIZE = 1024;
+
+    private static final int NULL_ITEM = -1;
+    private static final int MAX_ARENA_SIZE = Integer.MAX_VALUE - 8;
+
+    private final int capacity;
+    private final int[] offsets;
+    private final int[] lengths;
+    private byte[] arena;
+    private int writePosition;
+    private long tailSequence = -1;
+    private long headSequence = tailSequence + 1;
+
+    public ArenaRingbuffer(int capacity) {
+        this.capacity = capacity;
+        this.offsets = new int[capacity];
+        this.lengths = new int[capacity];
+        Arrays.fill(lengths, NULL_ITEM);
+    }
+
+    @Override
+    public long tailSequence() {
+        return tailSequence;
+    }
+
+    @Override
+    public long peekNextTailSequence() {
+        return tailSequence + 1;
+    }
+
+    @Override
+    public void setTailSequence(long sequence) {
+        this.tailSequence = sequence;
+    }
+
+    @Override
+    public long headSequence() {
+        return headSequence;
+    }
+
+    @Override
+    public void setHeadSequence(long sequence) {
+        this.headSequence = sequence;
+    }
+
+    @Override
+    public long getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public long size() {
+        return tailSequence - headSequence + 1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public long add(Data item) {
+        tailSequence++;
+
+        if (tailSequence - capacity == headSequence) {
+            headSequence++;
+        }
+
+        set(tailSequence, item);
+
+        return tailSequence;
+    }
+
+    @Override
+    public Data read(long sequence) {
+        checkReadSequence(sequence);
+        return readSlot(toIndex(sequence));
+    }
+
+    @Override
+    public void checkBlockableReadSequence(long readSequence) {
+        if (readSequence > tailSequence + 1) {
+            throw new IllegalArgumentException("sequence:" + readSequence
+                    + " is too large. The current tailSequence is:" + tailSequence);
+        }
+
+        if (readSequence < headSequence) {
+            throw new StaleSequenceException("sequence:" + readSequence
+                    + " is too small. The current headSequence is:" + headSequence
+                    + " tailSequence is:" + tailSequence, headSequence);
+        }
+    }
+
+    @Override
+    public void checkReadSequence(long sequence) {
+        if (sequence > tailSequence) {
+            throw new IllegalArgumentException("sequence:" + sequence
+                    + " is too large. The current tailSequence is:" + tailSequence);
+        }
+
+        if (sequence < headSequence) {
+            throw new StaleSequenceException("sequence:" + sequence
+                    + " is too small. The current headSequence is:" + headSequence
+                    + " tailSequence is:" + tailSequence, headSequence);
+        }
+    }
+
+    @Override
+    public void set(long seq, Data data) {
+        int index = toIndex(seq);
+        // the previous item of the slot becomes garbage which is dropped by the next compaction
+        lengths[index] = NULL_ITEM;
+
+        byte[] bytes = data != null ? data.toByteArray() : null;
+        if (bytes == null) {
+            return;
+        }
+        ensureRemaining(bytes.length);
+        System.arraycopy(bytes, 0, arena, writePosition, bytes.length);
+        offsets[index] = writePosition;
+        lengths[index] = bytes.length;
+        writePosition += bytes.length;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(lengths, NULL_ITEM);
+        arena = null;
+        writePosition = 0;
+        tailSequence = -1;
+        headSequence = tailSequence + 1;
+    }
+
+    @Override
+    public Iterator<Data> iterator() {
+        return new ReadOnlyRingbufferIterator<>(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The items are not kept as objects by this ringbuffer, so the returned
+     * array is a copy which is created on every call.
+     */
+    @Override
+    public Data[] getItems() {
+        Data[] items = new Data[capacity];
+        for (long seq = Math.max(headSequence, tailSequence - capacity + 1); seq <= tailSequence; seq++) {
+            int index = toIndex(seq);
+            items[index] = readSlot(index);
+        }
+        return items;
+    }
+
+    /**
+     * Returns the size of the arena in bytes.
+     */
+    int getArenaSize() {
+        return arena != null ? arena.length : 0;
+    }
+
+    private Data readSlot(int index) {
+        int length = lengths[index];
+        if (length == NULL_ITEM) {
+            return null;
+        }
+        int offset = offsets[index];
+        return new HeapData(Arrays.copyOfRange(arena, offset, offset + length));
+    }
+
+    private int toIndex(long sequence) {
+        return (int) (sequence % capacity);
+    }
+
+    private void ensureRemaining(int length) {
+        if (arena != null && arena.length - writePosition >= length) {
+            return;
+        }
+        compact(length);
+    }
+
+    /**
+     * Copies the items between the head and the tail into a new arena with
+     * enough room for {@code length} more bytes and drops all other items.
+     */
+    private void compact(int length) {
+        long firstSequence = Math.max(headSequence, tailSequence - capacity + 1);
+        long liveBytes = 0;
+        for (long seq = firstSequence; seq <= tailSequence; seq++) {
+            int itemLength = lengths[toIndex(seq)];
+            if (itemLength != NULL_ITEM) {
+                liveBytes += itemLength;
+            }
+        }
+
+        long requiredSize = liveBytes + length;
+        if (requiredSize > MAX_ARENA_SIZE) {
+            throw new IllegalStateException("Ringbuffer items of " + requiredSize
+                    + " bytes exceed the maximum arena size of " + MAX_ARENA_SIZE + " bytes");
+        }
+        byte[] newArena = new byte[(int) Math.min(Math.max(2 * requiredSize, MIN_ARENA_SIZE), MAX_ARENA_SIZE)];
+
+        int position = 0;
+        long liveSlots = Math.max(tailSequence - firstSequence + 1, 0);
+        for (long seq = firstSequence; seq <= tailSequence; seq++) {
+            int index = toIndex(seq);
+            int itemLength = lengths[index];
+            if (itemLength != NULL_ITEM) {
+                System.arraycopy(arena, offsets[index], newArena, position, itemLength);
+                offsets[index] = position;
+                position += itemLength;
+            }
+        }
+        // the slots outside the head and the tail point to the old arena
+        for (long i = 0; i < capacity - liveSlots; i++) {
+            lengths[toIndex(tailSequence + 1 + i)] = NULL_ITEM;
+        }
+
+        arena = newArena;
+        writePosition = position;
+    }
+}
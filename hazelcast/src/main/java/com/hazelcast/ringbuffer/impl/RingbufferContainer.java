@@ -32,6 +32,7 @@ import com.hazelcast.spi.impl.operationservice.Notifier;
 import com.hazelcast.internal.services.ObjectNamespace;
 import com.hazelcast.spi.impl.operationservice.WaitNotifyKey;
 import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.spi.properties.ClusterProperty;
 
 import java.io.IOException;
 
@@ -113,6 +114,7 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
      * @param config     the configuration of the ring buffer
      * @param nodeEngine the NodeEngine
      */
+    @SuppressWarnings("unchecked")
     public RingbufferContainer(ObjectNamespace namespace,
                                RingbufferConfig config,
                                NodeEngine nodeEngine,
@@ -120,7 +122,9 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
         this(namespace, partitionId);
 
         this.inMemoryFormat = config.getInMemoryFormat();
-        this.ringbuffer = new ArrayRingbuffer<>(config.getCapacity());
+        this.ringbuffer = isArenaStorageEnabled(nodeEngine)
+                ? (Ringbuffer<E>) new ArenaRingbuffer(config.getCapacity())
+                : new ArrayRingbuffer<>(config.getCapacity());
 
         final long ttlMs = SECONDS.toMillis(config.getTimeToLiveSeconds());
         if (ttlMs != TTL_DISABLED) {
@@ -142,9 +146,34 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
     public void init(RingbufferConfig config, NodeEngine nodeEngine) {
         this.config = config;
         this.serializationService = nodeEngine.getSerializationService();
+        initArenaStorage(nodeEngine);
         initRingbufferStore(NamespaceUtil.getClassLoaderForNamespace(nodeEngine, config.getUserCodeNamespace()), nodeEngine);
     }
 
+    /**
+     * Moves the items of a ringbuffer which was created by
+     * {@link #readData(ObjectDataInput)} into an {@link ArenaRingbuffer}
+     * if the arena storage is enabled on this member.
+     */
+    @SuppressWarnings("unchecked")
+    private void initArenaStorage(NodeEngine nodeEngine) {
+        if (ringbuffer instanceof ArenaRingbuffer || !isArenaStorageEnabled(nodeEngine)) {
+            return;
+        }
+        ArenaRingbuffer arenaRingbuffer = new ArenaRingbuffer((int) ringbuffer.getCapacity());
+        arenaRingbuffer.setTailSequence(ringbuffer.tailSequence());
+        arenaRingbuffer.setHeadSequence(ringbuffer.headSequence());
+        for (long seq = ringbuffer.headSequence(); seq <= ringbuffer.tailSequence(); seq++) {
+            arenaRingbuffer.set(seq, (Data) ringbuffer.read(seq));
+        }
+        ringbuffer = (Ringbuffer<E>) arenaRingbuffer;
+    }
+
+    private boolean isArenaStorageEnabled(NodeEngine nodeEngine) {
+        return inMemoryFormat == BINARY
+                && nodeEngine.getProperties().getBoolean(ClusterProperty.RINGBUFFER_ARENA_STORAGE_ENABLED);
+    }
+
     private void initRingbufferStore(ClassLoader classLoader, NodeEngine nodeEngine) {
         this.store = RingbufferStoreWrapper.create(objectNamespace,
                 config.getRingbufferStoreConfig(),
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.eventservice;
+
+/**
+ * An event which can be coalesced with other events of the same key when it
+ * is delivered to a listener registered with {@link EventBatching#isCoalescing()
+ * coalescing} enabled.
+ */
+public interface CoalescableEvent {
+
+    /**
+     * Returns the key of the entry the event belongs to, e.g. the serialized
+     * key of a map entry. Events without a key are never coalesced.
+     *
+     * @return the coalescing key or {@code null}
+     */
+    Object getCoalescingKey();
+
+    /**
+     * Returns {@code true} if this event may replace an earlier, still
+     * buffered coalescable event of the same key. An event which is not
+     * coalescable is never replaced, and no event published before it is
+     * replaced by an event published after it.
+     *
+     * @return {@code true} if this event may replace an earlier event of the same key
+     */
+    boolean isCoalescable();
+}
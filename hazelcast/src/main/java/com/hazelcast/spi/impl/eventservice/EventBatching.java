@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.eventservice;
+
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+
+/**
+ * Options of the batched delivery of the events of a listener registration.
+ * <p>
+ * The events published on a member for a listener registered on another
+ * member are buffered per registration and sent to the subscriber in a
+ * single packet once {@link #getMaxBatchSize()} events are buffered or the
+ * first buffered event waited {@link #getMaxDelayMillis()} milliseconds,
+ * whichever comes first. The subscriber dispatches the events of a batch
+ * in publication order on a single event thread.
+ * <p>
+ * When coalescing is enabled, a buffered {@link CoalescableEvent} is
+ * replaced by a newer coalescable event with the same coalescing key, so
+ * the listener only observes the latest of repeated updates of an entry
+ * within a batch.
+ * <p>
+ * Batched delivery can be requested only by services registering
+ * listeners through the {@link EventService}. It is not exposed in the
+ * listener or data structure configuration yet.
+ *
+ * @see EventService#registerListenerAsync(String, String, EventFilter, Object, EventBatching)
+ */
+public final class EventBatching {
+
+    private final int maxBatchSize;
+    private final long maxDelayMillis;
+    private final boolean coalescing;
+
+    /**
+     * @param maxBatchSize   the maximum number of events sent in one batch
+     * @param maxDelayMillis the maximum time in milliseconds an event is buffered
+     * @param coalescing     {@code true} to coalesce repeated updates with the same key
+     * @throws IllegalArgumentException if {@code maxBatchSize} or {@code maxDelayMillis} is not positive
+     */
+    public EventBatching(int maxBatchSize, long maxDelayMillis, boolean coalescing) {
+        this.maxBatchSize = checkPositive("maxBatchSize", maxBatchSize);
+        this.maxDelayMillis = checkPositive("maxDelayMillis", maxDelayMillis);
+        this.coalescing = coalescing;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+
+    @Override
+    public String toString() {
+        return "EventBatching{"
+                + "maxBatchSize=" + maxBatchSize
+                + ", maxDelayMillis=" + maxDelayMillis
+                + ", coalescing=" + coalescing
+                + '}';
+    }
+}
@@ -140,6 +140,44 @@ public interface EventService extends Consumer<Packet>, PreJoinAwareService<OnJo
                                                                @Nonnull EventFilter filter,
                                                                @Nonnull Object listener);
 
+    /**
+     * Registers a listener on all cluster nodes with an event filter whose
+     * remote events are delivered in batches.
+     *
+     * @param serviceName service name
+     * @param topic       topic name
+     * @param filter      event filter
+     * @param listener    listener instance
+     * @param batching    the batched delivery options
+     * @return event registration
+     * @throws IllegalArgumentException if the listener, filter or batching is {@code null}
+     * @see EventBatching
+     */
+    EventRegistration registerListener(@Nonnull String serviceName,
+                                       @Nonnull String topic,
+                                       @Nonnull EventFilter filter,
+                                       @Nonnull Object listener,
+                                       @Nonnull EventBatching batching);
+
+    /**
+     * Registers a listener on all cluster nodes with an event filter whose
+     * remote events are delivered in batches.
+     *
+     * @param serviceName service name
+     * @param topic       topic name
+     * @param filter      event filter
+     * @param listener    listener instance
+     * @param batching    the batched delivery options
+     * @return event registration future
+     * @throws IllegalArgumentException if the listener, filter or batching is {@code null}
+     * @see EventBatching
+     */
+    CompletableFuture<EventRegistration> registerListenerAsync(@Nonnull String serviceName,
+                                                               @Nonnull String topic,
+                                                               @Nonnull EventFilter filter,
+                                                               @Nonnull Object listener,
+                                                               @Nonnull EventBatching batching);
+
     /**
      * Deregisters a listener with the given registration ID.
      *
@@ -34,6 +34,7 @@ import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.internal.util.executor.StripedExecutor;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.eventservice.EventBatching;
 import com.hazelcast.spi.impl.eventservice.EventFilter;
 import com.hazelcast.spi.impl.eventservice.EventRegistration;
 import com.hazelcast.spi.impl.eventservice.EventService;
@@ -95,6 +96,9 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
  * and don't wait for the response. The exception to this is that every {@link #eventSyncFrequency} remote
  * event is sent as an operation, and we wait for it to be submitted to the remote queue.
  * <p>
+ * The remote events of registrations with {@link EventBatching batched delivery} are buffered per
+ * registration by the {@link RemoteEventBatcher} and sent in batches, which are never sent synchronously.
+ * <p>
  * This implementation keeps registrations grouped into {@link EventServiceSegment}s. Each segment is
  * responsible for a single service (e.g. map service, cluster service, proxy service).
  * <p>
@@ -184,6 +188,9 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
 
     private final ConcurrentMap<UUID, Object> listenerCache = new ConcurrentHashMap<>();
 
+    /** Buffers the remote events of the registrations with batched delivery */
+    private final RemoteEventBatcher eventBatcher;
+
     public EventServiceImpl(NodeEngineImpl nodeEngine) {
         this.nodeEngine = nodeEngine;
         this.serializationService = (InternalSerializationService) nodeEngine.getSerializationService();
@@ -201,6 +208,7 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
                 eventThreadCount,
                 eventQueueCapacity);
         this.segments = new ConcurrentHashMap<>();
+        this.eventBatcher = new RemoteEventBatcher(this, serializationService);
     }
 
 
@@ -219,6 +227,7 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
     @Override
     public void provideStaticMetrics(MetricsRegistry registry) {
         registry.registerStaticMetrics(this, EVENT_PREFIX);
+        registry.registerStaticMetrics(eventBatcher, EVENT_PREFIX);
     }
 
     @Override
@@ -268,7 +277,7 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
     @Override
     public EventRegistration registerLocalListener(@Nonnull String serviceName, @Nonnull String topic,
                                                    @Nonnull EventFilter filter, @Nonnull Object listener) {
-        return registerListener0(serviceName, topic, filter, listener, true);
+        return registerListener0(serviceName, topic, filter, listener, true, null);
     }
 
      /**
@@ -278,17 +287,19 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
      * @param topic       the event topic for which we are registering
      * @param filter      the filter for the listened events
      * @param listener    the event listener
+     * @param batching    the batched delivery options or {@code null} to deliver events one by one
      * @return the event registration
      * @throws IllegalArgumentException if the listener or filter is null
      */
     private EventRegistration registerListener0(@Nonnull String serviceName, @Nonnull String topic,
                                                 @Nonnull EventFilter filter, @Nonnull Object listener,
-                                                boolean isLocal) {
+                                                boolean isLocal, EventBatching batching) {
         checkNotNull(listener, "Null listener is not allowed!");
         checkNotNull(filter, "Null filter is not allowed!");
         EventServiceSegment segment = getSegment(serviceName, true);
         UUID id = UuidUtil.newUnsecureUUID();
-        final Registration reg = new Registration(id, serviceName, topic, filter, nodeEngine.getThisAddress(), listener, isLocal);
+        final Registration reg = new Registration(id, serviceName, topic, filter, nodeEngine.getThisAddress(), listener,
+                isLocal, batching);
         if (!segment.addRegistration(topic, reg)) {
             // This can only happen if Registration#equals ignores the ID and in the current implementation,
             // it only compares IDs. That's why we don't specify @Nonnull/@Nullable for the return value.
@@ -313,6 +324,15 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
         return getValue(registerListenerAsync(serviceName, topic, filter, listener));
     }
 
+    @Override
+    public EventRegistration registerListener(@Nonnull String serviceName,
+                                              @Nonnull String topic,
+                                              @Nonnull EventFilter filter,
+                                              @Nonnull Object listener,
+                                              @Nonnull EventBatching batching) {
+        return getValue(registerListenerAsync(serviceName, topic, filter, listener, batching));
+    }
+
     /**
      * Registers the listener for events matching the service name, topic and filter.
      * It will register only for events published on this node and then the registration is sent to other nodes and the listener
@@ -343,7 +363,33 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
     @Override
     public CompletableFuture<EventRegistration> registerListenerAsync(@Nonnull String serviceName, @Nonnull String topic,
                                                                           @Nonnull EventFilter filter, @Nonnull Object listener) {
-        Registration registration = (Registration) registerListener0(serviceName, topic, filter, listener, false);
+        return registerListenerAsync0(serviceName, topic, filter, listener, null);
+    }
+
+    /**
+     * Registers the listener for events matching the service name, topic and filter like
+     * {@link #registerListenerAsync(String, String, EventFilter, Object)}. The events published
+     * on other nodes are buffered and sent to this node in batches.
+     *
+     * @param serviceName the service name for which we are registering
+     * @param topic       the event topic for which we are registering
+     * @param filter      the filter for the listened events
+     * @param listener    the event listener
+     * @param batching    the batched delivery options
+     * @return the event registration future
+     * @see RemoteEventBatcher
+     */
+    @Override
+    public CompletableFuture<EventRegistration> registerListenerAsync(@Nonnull String serviceName, @Nonnull String topic,
+                                                                      @Nonnull EventFilter filter, @Nonnull Object listener,
+                                                                      @Nonnull EventBatching batching) {
+        checkNotNull(batching, "Null batching is not allowed!");
+        return registerListenerAsync0(serviceName, topic, filter, listener, batching);
+    }
+
+    private CompletableFuture<EventRegistration> registerListenerAsync0(String serviceName, String topic, EventFilter filter,
+                                                                        Object listener, EventBatching batching) {
+        Registration registration = (Registration) registerListener0(serviceName, topic, filter, listener, false, batching);
 
         if (registration == null) {
             newCompletedFuture(null);
@@ -532,8 +578,7 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
         if (isLocal(registration)) {
             executeLocal(serviceName, event, registration, orderKey);
         } else {
-            EventEnvelope eventEnvelope = new EventEnvelope(registration.getId(), serviceName, event);
-            sendEvent(registration.getSubscriber(), eventEnvelope, orderKey);
+            publishRemote(serviceName, (Registration) registration, event, null, orderKey);
         }
     }
 
@@ -552,8 +597,7 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
             if (eventData == null) {
                 eventData = serializationService.toData(event);
             }
-            EventEnvelope eventEnvelope = new EventEnvelope(registration.getId(), serviceName, eventData);
-            sendEvent(registration.getSubscriber(), eventEnvelope, orderKey);
+            publishRemote(serviceName, (Registration) registration, event, eventData, orderKey);
         }
     }
 
@@ -579,11 +623,27 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
             if (isLocal(registration)) {
                 continue;
             }
-            EventEnvelope eventEnvelope = new EventEnvelope(registration.getId(), serviceName, eventData);
-            sendEvent(registration.getSubscriber(), eventEnvelope, orderKey);
+            publishRemote(serviceName, (Registration) registration, event, eventData, orderKey);
         }
     }
 
+    /**
+     * Publishes the event to a remote subscriber. The event is sent right away
+     * or buffered by the {@link RemoteEventBatcher} if the registration has
+     * batched delivery.
+     *
+     * @param eventData the serialized event or {@code null} if it is not serialized yet
+     */
+    private void publishRemote(String serviceName, Registration registration, Object event, Data eventData, int orderKey) {
+        if (registration.getBatching() != null) {
+            getSegment(serviceName, true).incrementPublish();
+            eventBatcher.offer(registration, event, eventData != null ? eventData : serializationService.toData(event));
+            return;
+        }
+        EventEnvelope eventEnvelope = new EventEnvelope(registration.getId(), serviceName, eventData != null ? eventData : event);
+        sendEvent(registration.getSubscriber(), eventEnvelope, orderKey);
+    }
+
     /**
      * Processes the {@code event} on this node. If the event is not accepted to the executor
      * in {@link #eventQueueTimeoutMs}, it will be rejected and not processed. This means that we increase the
@@ -648,12 +708,18 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
         } else {
             Packet packet = new Packet(serializationService.toBytes(eventEnvelope), orderKey)
                     .setPacketType(Packet.Type.EVENT);
+            sendPacket(subscriber, packet);
+        }
+    }
 
-            ServerConnectionManager cm = nodeEngine.getNode().getServer().getConnectionManager(MEMBER);
-            if (!cm.transmit(packet, subscriber)) {
-                if (nodeEngine.isRunning()) {
-                    logFailure("Failed to send event packet to: %s, connection might not be alive.", subscriber);
-                }
+    /**
+     * Sends an event packet to the {@code subscriber} asynchronously and logs the failure if it could not be sent.
+     */
+    void sendPacket(Address subscriber, Packet packet) {
+        ServerConnectionManager cm = nodeEngine.getNode().getServer().getConnectionManager(MEMBER);
+        if (!cm.transmit(packet, subscriber)) {
+            if (nodeEngine.isRunning()) {
+                logFailure("Failed to send event packet to: %s, connection might not be alive.", subscriber);
             }
         }
     }
@@ -791,6 +857,7 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
     public void shutdown() {
         logger.finest("Stopping event executor...");
         eventExecutor.shutdown();
+        eventBatcher.clear();
         for (EventServiceSegment segment : segments.values()) {
             segment.clear();
         }
@@ -23,6 +23,7 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.impl.Versioned;
 import com.hazelcast.spi.impl.SpiDataSerializerHook;
+import com.hazelcast.spi.impl.eventservice.EventBatching;
 import com.hazelcast.spi.impl.eventservice.EventFilter;
 import com.hazelcast.spi.impl.eventservice.EventRegistration;
 
@@ -31,6 +32,7 @@ import java.io.IOException;
 import java.util.UUID;
 
 import static com.hazelcast.internal.cluster.Versions.V5_3;
+import static com.hazelcast.internal.cluster.Versions.V6_0;
 
 public class Registration implements EventRegistration, Versioned {
 
@@ -40,7 +42,9 @@ public class Registration implements EventRegistration, Versioned {
     private EventFilter filter;
     private Address subscriber;
     private boolean localOnly;
+    private EventBatching batching;
     private transient Object listener;
+    private final transient Object batchMutex = new Object();
 
     public Registration() {
     }
@@ -56,6 +60,12 @@ public class Registration implements EventRegistration, Versioned {
         this.localOnly = localOnly;
     }
 
+    public Registration(@Nonnull UUID id, String serviceName, String topic, EventFilter filter,
+                        Address subscriber, Object listener, boolean localOnly, EventBatching batching) {
+        this(id, serviceName, topic, filter, subscriber, listener, localOnly);
+        this.batching = batching;
+    }
+
     public String getServiceName() {
         return serviceName;
     }
@@ -84,6 +94,22 @@ public class Registration implements EventRegistration, Versioned {
         return localOnly;
     }
 
+    /**
+     * Returns the batched delivery options of this registration or
+     * {@code null} if its events are delivered one by one.
+     */
+    public EventBatching getBatching() {
+        return batching;
+    }
+
+    /**
+     * Returns the mutex which orders the batched remote events of this
+     * registration, see {@link RemoteEventBatcher}.
+     */
+    Object getBatchMutex() {
+        return batchMutex;
+    }
+
     public Object getListener() {
         return listener;
     }
@@ -120,6 +146,14 @@ public class Registration implements EventRegistration, Versioned {
         if (out.getVersion().isGreaterOrEqual(V5_3)) {
             out.writeBoolean(localOnly);
         }
+        if (out.getVersion().isGreaterOrEqual(V6_0)) {
+            out.writeBoolean(batching != null);
+            if (batching != null) {
+                out.writeInt(batching.getMaxBatchSize());
+                out.writeLong(batching.getMaxDelayMillis());
+                out.writeBoolean(batching.isCoalescing());
+            }
+        }
     }
 
     @Override
@@ -132,6 +166,9 @@ public class Registration implements EventRegistration, Versioned {
         if (in.getVersion().isGreaterOrEqual(V5_3)) {
             localOnly = in.readBoolean();
         }
+        if (in.getVersion().isGreaterOrEqual(V6_0) && in.readBoolean()) {
+            batching = new EventBatching(in.readInt(), in.readLong(), in.readBoolean());
+        }
     }
 
     @Override
@@ -143,6 +180,7 @@ public class Registration implements EventRegistration, Versioned {
                 + ", subscriber=" + subscriber
                 + ", listener=" + listener
                 + ", localOnly=" + localOnly
+                + ", batching=" + batching
                 + '}';
     }
 
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.spi.impl.eventservice.CoalescableEvent;
+import com.hazelcast.spi.impl.eventservice.EventBatching;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.EVENT_METRIC_EVENT_SERVICE_BATCHED_EVENT_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.EVENT_METRIC_EVENT_SERVICE_BATCH_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.EVENT_METRIC_EVENT_SERVICE_COALESCED_EVENT_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.EVENT_METRIC_EVENT_SERVICE_MAX_BATCH_LATENCY;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.EVENT_METRIC_EVENT_SERVICE_TOTAL_BATCH_LATENCY;
+import static com.hazelcast.internal.metrics.ProbeUnit.MS;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Buffers the remote events of the listener registrations with
+ * {@link EventBatching batched delivery} and sends them as
+ * {@link EventEnvelopeBatch}es.
+ * <p>
+ * A batch is opened by the first event of a registration and is sent either
+ * by the publisher which fills it up or by a task scheduled for the maximum
+ * delay of the registration. A sent batch is closed and removed, so the next
+ * event opens a new batch. Events are added and batches are closed and
+ * sent while holding the {@link Registration#getBatchMutex() batch mutex}
+ * of the registration, so the batches leave this member in order. They are
+ * sent with the same order key, so the subscriber processes them in order
+ * on a single event thread.
+ *
+ * @see EventBatching
+ */
+final class RemoteEventBatcher {
+
+    private final EventServiceImpl eventService;
+    private final InternalSerializationService serializationService;
+    private final ConcurrentMap<UUID, Batch> batches = new ConcurrentHashMap<>();
+
+    @Probe(name = EVENT_METRIC_EVENT_SERVICE_BATCH_COUNT)
+    private final MwCounter batchCount = newMwCounter();
+    @Probe(name = EVENT_METRIC_EVENT_SERVICE_BATCHED_EVENT_COUNT)
+    private final MwCounter batchedEventCount = newMwCounter();
+    @Probe(name = EVENT_METRIC_EVENT_SERVICE_COALESCED_EVENT_COUNT)
+    private final MwCounter coalescedEventCount = newMwCounter();
+    @Probe(name = EVENT_METRIC_EVENT_SERVICE_TOTAL_BATCH_LATENCY, unit = MS)
+    private final MwCounter totalBatchLatency = newMwCounter();
+    @Probe(name = EVENT_METRIC_EVENT_SERVICE_MAX_BATCH_LATENCY, unit = MS)
+    private final LongAccumulator maxBatchLatency = new LongAccumulator(Math::max, 0);
+
+    RemoteEventBatcher(EventServiceImpl eventService, InternalSerializationService serializationService) {
+        this.eventService = eventService;
+        this.serializationService = serializationService;
+    }
+
+    /**
+     * Adds the event to the open batch of the registration.
+     *
+     * @param registration the registration of a remote listener with batched delivery
+     * @param event        the published event, used to find its coalescing key
+     * @param eventData    the serialized event
+     */
+    void offer(Registration registration, Object event, Data eventData) {
+        EventBatching batching = registration.getBatching();
+        Object coalescingKey = null;
+        boolean coalescable = false;
+        if (batching.isCoalescing() && event instanceof CoalescableEvent coalescableEvent) {
+            coalescingKey = coalescableEvent.getCoalescingKey();
+            coalescable = coalescableEvent.isCoalescable();
+        }
+
+        Batch batch;
+        boolean opened;
+        synchronized (registration.getBatchMutex()) {
+            // a batch is removed only while holding the mutex, so the batch found here is open
+            batch = batches.computeIfAbsent(registration.getId(), id -> new Batch(registration));
+            opened = batch.events.isEmpty();
+            if (batch.add(eventData, coalescingKey, coalescable)) {
+                coalescedEventCount.inc();
+            }
+            if (batch.events.size() >= batching.getMaxBatchSize()) {
+                send(registration, close(batch));
+                return;
+            }
+        }
+        if (opened) {
+            eventService.nodeEngine.getExecutionService()
+                    .schedule(() -> flush(batch), batching.getMaxDelayMillis(), MILLISECONDS);
+        }
+    }
+
+    /**
+     * Drops the open batches, e.g. on shutdown.
+     */
+    void clear() {
+        batches.clear();
+    }
+
+    private void flush(Batch batch) {
+        Registration registration = batch.registration;
+        synchronized (registration.getBatchMutex()) {
+            if (batch.closed) {
+                return;
+            }
+            send(registration, close(batch));
+        }
+    }
+
+    // must be called while holding the batch mutex of the registration
+    private EventEnvelopeBatch close(Batch batch) {
+        batch.closed = true;
+        batches.remove(batch.registration.getId(), batch);
+
+        long latencyMs = NANOSECONDS.toMillis(System.nanoTime() - batch.openedNanos);
+        batchCount.inc();
+        batchedEventCount.inc(batch.events.size());
+        totalBatchLatency.inc(latencyMs);
+        maxBatchLatency.accumulate(latencyMs);
+
+        Registration registration = batch.registration;
+        return new EventEnvelopeBatch(registration.getId(), registration.getServiceName(), batch.events);
+    }
+
+    // must be called while holding the batch mutex of the registration
+    private void send(Registration registration, EventEnvelopeBatch envelopeBatch) {
+        if (!eventService.nodeEngine.isRunning()) {
+            return;
+        }
+        // all batches of a registration share the order key to be processed in order by the subscriber
+        Packet packet = new Packet(serializationService.toBytes(envelopeBatch), registration.getId().hashCode())
+                .setPacketType(Packet.Type.EVENT);
+        eventService.sendPacket(registration.getSubscriber(), packet);
+    }
+
+    /**
+     * The open batch of a registration.
+     */
+    private static final class Batch {
+
+        private final Registration registration;
+        private final long openedNanos = System.nanoTime();
+        private final List<Data> events = new ArrayList<>();
+        // coalescing key -> index of the last coalescable event of the key which can still be replaced
+        private Map<Object, Integer> coalescableIndexes;
+        private boolean closed;
+
+        Batch(Registration registration) {
+            this.registration = registration;
+        }
+
+        /**
+         * @return {@code true} if the event replaced an earlier event of the batch
+         */
+        boolean add(Data eventData, Object coalescingKey, boolean coalescable) {
+            if (coalescingKey != null) {
+                if (coalescableIndexes == null) {
+                    coalescableIndexes = new HashMap<>();
+                }
+                if (coalescable) {
+                    Integer index = coalescableIndexes.get(coalescingKey);
+                    if (index != null) {
+                        events.set(index, eventData);
+                        return true;
+                    }
+                    coalescableIndexes.put(coalescingKey, events.size());
+                } else {
+                    coalescableIndexes.remove(coalescingKey);
+                }
+            }
+            events.add(eventData);
+            return false;
+        }
+    }
+}
@@ -27,6 +27,7 @@ import static com.hazelcast.internal.util.EmptyStatement.ignore;
  * An extension of the {@link EventProcessor} which logs and swallows any exception while processing the event.
  * The {@link #orderKey} for this processor is equal to the packet partition ID. This means that when running
  * inside a {@link com.hazelcast.internal.util.executor.StripedExecutor}, all events for the same partition ID will be ordered.
+ * A packet may also carry an {@link EventEnvelopeBatch}, whose events are processed one after the other.
  *
  * @see EventServiceImpl#sendEvent(Address, EventEnvelope, int)
  */
@@ -43,8 +44,24 @@ public class RemoteEventProcessor extends EventProcessor implements StripedRunna
 
     @Override
     public void run() {
+        Object envelope;
+        try {
+            envelope = eventService.nodeEngine.toObject(packet);
+        } catch (Exception e) {
+            eventService.logger.warning("Error while logging processing event", e);
+            return;
+        }
+        if (envelope instanceof EventEnvelopeBatch batch) {
+            for (EventEnvelope eventEnvelope : batch.getEnvelopes()) {
+                processQuietly(eventEnvelope);
+            }
+        } else {
+            processQuietly((EventEnvelope) envelope);
+        }
+    }
+
+    private void processQuietly(EventEnvelope eventEnvelope) {
         try {
-            EventEnvelope eventEnvelope = eventService.nodeEngine.toObject(packet);
             process(eventEnvelope);
         } catch (ReplicatedMapCantBeCreatedOnLiteMemberException e) {
             // this happens when there is a lite member in the cluster
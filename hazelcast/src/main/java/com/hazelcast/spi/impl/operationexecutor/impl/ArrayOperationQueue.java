@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.internal.util.concurrent.ManyToOneConcurrentArrayQueue;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+
+/**
+ * An {@link OperationQueue} for a single consumer, e.g. a {@link PartitionOperationThread},
+ * based on a lock-free {@link ManyToOneConcurrentArrayQueue}.
+ * <p>
+ * Producers claim a slot in the array with a single CAS. The consumer drains
+ * up to {@code batchSize} normal items at once into a thread-confined buffer
+ * and hands them out one by one, so it touches the shared array only once per
+ * batch. Priority items are checked before every normal item is returned.
+ * <p>
+ * The array is bounded; when it is full, normal items are added to an
+ * unbounded overflow queue. Once a producer used the overflow queue, all
+ * producers keep using it until the consumer has taken every overflowed item,
+ * which preserves the FIFO order of the items of every producer.
+ * <p>
+ * When there is nothing to take, the consumer spins, then yields and finally
+ * parks. Producers only unpark the consumer when it announced that it is
+ * about to park, so a busy consumer is never woken up needlessly.
+ * <p>
+ * Only a single thread may call {@link #take(boolean)} and {@link #poll()}.
+ */
+public final class ArrayOperationQueue implements OperationQueue {
+
+    private final ManyToOneConcurrentArrayQueue<Object> normalQueue;
+    private final Queue<Object> overflowQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger overflowSize = new AtomicInteger();
+    private final Queue<Object> priorityQueue = new ConcurrentLinkedQueue<>();
+    private final int maxSpins;
+    private final int maxYields;
+
+    // the batch is only accessed by the consumer; batchRemaining is only written by it
+    private final Object[] batch;
+    private int batchIndex;
+    private int batchLength;
+    private volatile int batchRemaining;
+
+    private volatile Thread parkedConsumer;
+
+    /**
+     * @param capacity  the capacity of the array queue, rounded up to the next power of two
+     * @param batchSize the maximum number of normal items drained at once
+     * @param maxSpins  the number of empty polls before the consumer starts yielding
+     * @param maxYields the number of yields before the consumer parks
+     */
+    public ArrayOperationQueue(int capacity, int batchSize, int maxSpins, int maxYields) {
+        this.normalQueue = new ManyToOneConcurrentArrayQueue<>(checkPositive("capacity", capacity));
+        this.batch = new Object[checkPositive("batchSize", batchSize)];
+        this.maxSpins = maxSpins;
+        this.maxYields = maxYields;
+    }
+
+    @Override
+    public void add(Object task, boolean priority) {
+        checkNotNull(task, "task can't be null");
+
+        if (priority) {
+            priorityQueue.add(task);
+        } else if (overflowSize.get() > 0 || !normalQueue.offer(task)) {
+            overflowSize.incrementAndGet();
+            overflowQueue.add(task);
+        }
+
+        Thread consumer = parkedConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    @Override
+    public Object poll() {
+        Object priorityItem = priorityQueue.poll();
+        if (priorityItem != null) {
+            return priorityItem;
+        }
+
+        if (batchIndex == batchLength && !fillBatch()) {
+            Object overflowItem = overflowQueue.poll();
+            if (overflowItem != null) {
+                overflowSize.decrementAndGet();
+            }
+            return overflowItem;
+        }
+
+        Object item = batch[batchIndex];
+        batch[batchIndex++] = null;
+        batchRemaining = batchLength - batchIndex;
+        return item;
+    }
+
+    private boolean fillBatch() {
+        batchIndex = 0;
+        batchLength = 0;
+        normalQueue.drain(this::addToBatch);
+        batchRemaining = batchLength;
+        return batchLength > 0;
+    }
+
+    private boolean addToBatch(Object item) {
+        batch[batchLength++] = item;
+        return batchLength < batch.length;
+    }
+
+    @Override
+    public Object take(boolean priorityOnly) throws InterruptedException {
+        for (long idleCount = 0; ; idleCount++) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+
+            Object item = priorityOnly ? priorityQueue.poll() : poll();
+            if (item != null) {
+                return item;
+            }
+
+            idle(idleCount, priorityOnly);
+        }
+    }
+
+    private void idle(long idleCount, boolean priorityOnly) {
+        if (idleCount < maxSpins) {
+            Thread.onSpinWait();
+        } else if (idleCount < maxSpins + maxYields) {
+            Thread.yield();
+        } else {
+            parkedConsumer = Thread.currentThread();
+            try {
+                // the producers read parkedConsumer after publishing an item,
+                // so re-checking after the write makes a lost wake-up impossible
+                if (priorityOnly ? priorityQueue.isEmpty() : isEmpty()) {
+                    LockSupport.park(this);
+                }
+            } finally {
+                parkedConsumer = null;
+            }
+        }
+    }
+
+    @Override
+    public int normalSize() {
+        return normalQueue.size() + overflowSize.get() + batchRemaining;
+    }
+
+    @Override
+    public int prioritySize() {
+        return priorityQueue.size();
+    }
+
+    @Override
+    public int size() {
+        return normalSize() + prioritySize();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return normalQueue.size() == 0
+                && overflowSize.get() == 0
+                && batchRemaining == 0
+                && priorityQueue.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "ArrayOperationQueue{"
+                + "capacity=" + normalQueue.capacity()
+                + ", normalSize=" + normalSize()
+                + ", prioritySize=" + prioritySize()
+                + '}';
+    }
+}
@@ -46,6 +46,7 @@ import com.hazelcast.spi.impl.operationservice.OperationService;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.concurrent.locks.LockSupport;
 import java.util.function.Function;
@@ -363,6 +364,20 @@ public final class ClusterProperty {
     public static final HazelcastProperty IO_WRITE_THROUGH_ENABLED
             = new HazelcastProperty("hazelcast.io.write.through", true);
 
+    /**
+     * The minimum payload size in bytes of a member-to-member packet that is
+     * written to the socket directly from its serialized byte array instead of
+     * being copied into the socket send buffer first. Such payloads are written
+     * together with the other pending packets using a single gathering write,
+     * which saves copying and system calls for large packets.
+     * <p>
+     * A value smaller than 1 disables gathering writes. It is disabled by
+     * default. Gathering writes are only used when no other handler, e.g. TLS,
+     * processes the encoded packets.
+     */
+    public static final HazelcastProperty IO_GATHERING_WRITE_THRESHOLD
+            = new HazelcastProperty("hazelcast.io.gathering.write.threshold", -1);
+
     /**
      * Property needed for concurrency detection so that write through can be
      * done correctly.
@@ -1281,6 +1296,19 @@ public final class ClusterProperty {
     public static final HazelcastProperty MAP_EVICTION_BATCH_SIZE
             = new HazelcastProperty("hazelcast.map.eviction.batch.size", 1);
 
+    /**
+     * Enables a TinyLFU style eviction for IMaps configured with the LFU
+     * eviction policy and without per-entry stats. Instead of counting the hits
+     * in every record, a compact frequency sketch per partition estimates how
+     * often each key is accessed. The sampled entry with the lowest estimate is
+     * evicted, unless the just added entry is accessed less often; then the
+     * just added entry is evicted instead.
+     * <p>
+     * Default: false
+     */
+    public static final HazelcastProperty MAP_EVICTION_FREQUENCY_SKETCH_ENABLED
+            = new HazelcastProperty("hazelcast.map.eviction.frequency.sketch.enabled", false);
+
     /**
      * Defines Near Cache invalidation event batch sending is enabled or not.
      */
@@ -1305,6 +1333,70 @@ public final class ClusterProperty {
     public static final HazelcastProperty MAP_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS
             = new HazelcastProperty("hazelcast.map.invalidation.batchfrequency.seconds", 10, SECONDS);
 
+    /**
+     * Enables adaptive batching of Near Cache invalidation events.
+     * <p>
+     * When enabled, invalidation batches are flushed once their oldest event
+     * waited for the flush delay, which starts at
+     * {@link #MAP_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_MIN_DELAY_MILLIS} and
+     * backs off up to {@link #MAP_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS}
+     * while the event queues are backlogged. The batch size grows with the
+     * observed invalidation rate, starting from
+     * {@link #MAP_INVALIDATION_MESSAGE_BATCH_SIZE}, so that high invalidation
+     * rates are sent in fewer and larger batches.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty MAP_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_ENABLED
+            = new HazelcastProperty("hazelcast.map.invalidation.batch.adaptive.enabled", false);
+
+    /**
+     * Defines the minimum flush delay of adaptive Near Cache invalidation batching
+     * in milliseconds. Only used when
+     * {@link #MAP_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_ENABLED} is set.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty MAP_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_MIN_DELAY_MILLIS
+            = new HazelcastProperty("hazelcast.map.invalidation.batch.adaptive.min.delay.millis", 100, MILLISECONDS);
+
+    /**
+     * Enables Near Cache invalidation of map entries removed by expiry or
+     * eviction.
+     * <p>
+     * By default only explicit changes invalidate the Near Caches, expired
+     * and evicted entries are removed from them by their own time-to-live and
+     * max-idle. Set this property on the members if clients cache query
+     * results with {@code hazelcast.client.map.query.result.cache.size}, so
+     * that cached results don't keep returning the removed entries. Only the
+     * partition owner sends the invalidations, entries evicted while a
+     * partition is being replicated to a member are not invalidated.
+     * <p>
+     * Default: false
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty MAP_EVICTION_INVALIDATION_ENABLED
+            = new HazelcastProperty("hazelcast.map.eviction.invalidation.enabled", false);
+
+    /**
+     * Enables the arena storage of ringbuffers with
+     * {@link com.hazelcast.config.InMemoryFormat#BINARY} in-memory-format.
+     * <p>
+     * Instead of keeping one serialized object per slot, the serialized items
+     * of a ringbuffer are kept contiguously in a single byte array which is
+     * addressed by an offset index. This removes the per-item heap objects of
+     * large ringbuffers. When enabled, the map and cache event journals are
+     * kept in binary format too, so they are backed by the arena storage as
+     * well, at the cost of serializing every journal event once on write.
+     * <p>
+     * Default: false
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty RINGBUFFER_ARENA_STORAGE_ENABLED
+            = new HazelcastProperty("hazelcast.ringbuffer.arena.storage.enabled", false);
+
     /**
      * Setting this capacity is valid if you set {@code writeCoalescing} to {@code false}
      * (see {@link com.hazelcast.config.MapStoreConfig#setWriteCoalescing(boolean)}).
@@ -1527,6 +1619,33 @@ public final class ClusterProperty {
     public static final HazelcastProperty CACHE_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS
             = new HazelcastProperty("hazelcast.cache.invalidation.batchfrequency.seconds", 10, SECONDS);
 
+    /**
+     * Enables adaptive batching of cache invalidation events.
+     * <p>
+     * When enabled, invalidation batches are flushed once their oldest event
+     * waited for the flush delay, which starts at
+     * {@link #CACHE_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_MIN_DELAY_MILLIS} and
+     * backs off up to {@link #CACHE_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS}
+     * while the event queues are backlogged. The batch size grows with the
+     * observed invalidation rate, starting from
+     * {@link #CACHE_INVALIDATION_MESSAGE_BATCH_SIZE}, so that high invalidation
+     * rates are sent in fewer and larger batches.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty CACHE_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_ENABLED
+            = new HazelcastProperty("hazelcast.cache.invalidation.batch.adaptive.enabled", false);
+
+    /**
+     * Defines the minimum flush delay of adaptive cache invalidation batching
+     * in milliseconds. Only used when
+     * {@link #CACHE_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_ENABLED} is set.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty CACHE_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_MIN_DELAY_MILLIS
+            = new HazelcastProperty("hazelcast.cache.invalidation.batch.adaptive.min.delay.millis", 100, MILLISECONDS);
+
     /**
      * Forces the JCache provider, which can have values client or server, to
      * force the provider type. If not provided, the provider will be client or
@@ -1865,6 +1984,77 @@ public final class ClusterProperty {
             = new HazelcastProperty("hazelcast.jet.idle.noncooperative.max.microseconds", 5000, MICROSECONDS)
             .setDeprecatedName("jet.idle.noncooperative.max.microseconds");
 
+    /**
+     * Enables rebalancing of cooperative tasklets between Jet's cooperative
+     * worker threads.
+     * <p>
+     * Cooperative tasklets are assigned to the worker threads round-robin
+     * when a job starts. With this property enabled, a worker which has made
+     * no progress for a while advertises itself as idle and a worker running
+     * at least two tasklets that keep making progress hands one of them over
+     * to it. A tasklet is always moved between its calls, so it never runs
+     * on two threads at once. This evens out the load of jobs where a few
+     * vertices, such as skewed keyed aggregations, are much busier than
+     * others. The {@code busyTimeNanos} metric of each worker shows its
+     * utilization. It's measured when this property is enabled or when
+     * debug-level metrics are collected.
+     * <p>
+     * The default value is {@code false}.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty JET_COOPERATIVE_WORK_STEALING_ENABLED
+            = new HazelcastProperty("hazelcast.jet.cooperative.work.stealing.enabled", false);
+
+    /**
+     * The local directory to which Jet's grouping and sorting processors
+     * spill their state once they reach the {@linkplain
+     * com.hazelcast.jet.config.InstanceConfig#setMaxProcessorAccumulatedRecords
+     * maximum number of accumulated records}.
+     * <p>
+     * When set, such a processor writes its state as a sorted run to a file
+     * in this directory and continues with empty state. On completion, the
+     * runs are merged with the state left in memory, so large batch
+     * aggregations and sorts complete within a fixed memory budget. The
+     * accumulators of a grouping aggregation are spilled only if they can be
+     * combined, otherwise the job fails as if spilling was disabled. At most
+     * 32 runs are merged at once, more runs are merged in several passes. The
+     * files are deleted when the processor completes or is closed. Files left
+     * behind by a member which crashed are deleted when the directory is used
+     * again.
+     * <p>
+     * Writing and merging the runs is blocking I/O, so when this property is
+     * set, the grouping and sorting processors of pipelines and SQL queries
+     * run non-cooperatively, each on its own thread. Processors created
+     * directly from {@link com.hazelcast.jet.core.processor.Processors} in a
+     * Core API DAG stay cooperative and don't spill.
+     * <p>
+     * By default it is not set, the processors fail when they reach the limit.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty JET_SPILL_DIRECTORY
+            = new HazelcastProperty("hazelcast.jet.spill.directory");
+
+    /**
+     * Enables compression of the chunks Jet writes to the snapshot {@code
+     * IMap}.
+     * <p>
+     * Each chunk of processor state is compressed with a fast Deflate level
+     * before it is put to the map, which reduces the network traffic and the
+     * memory used by snapshots of jobs with large state at the cost of some
+     * CPU time. Chunks which don't get smaller are stored uncompressed.
+     * Snapshots written with either setting can be restored regardless of
+     * the current value. During a rolling upgrade, chunks are compressed
+     * only after the cluster version is upgraded to 6.0.
+     * <p>
+     * Disabled by default.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty JET_SNAPSHOT_COMPRESSION_ENABLED
+            = new HazelcastProperty("hazelcast.jet.snapshot.compression.enabled", false);
+
     /**
      * The directory containing jars, that can be used to specify custom classpath for
      * a stage in a pipeline.
@@ -1993,6 +2183,60 @@ public final class ClusterProperty {
     public static final HazelcastProperty DEMOTE_MAX_WAIT
             = new HazelcastProperty("hazelcast.member.demote.max.wait", 600, SECONDS);
 
+    /**
+     * Enables the shared memory transport for clients running on the same host
+     * as this member.
+     * <p>
+     * When enabled, the member accepts client connections through memory-mapped
+     * files in {@link #SHARED_MEMORY_DIRECTORY}, in addition to TCP. Clients
+     * which enabled the shared memory transport as well use it instead of the
+     * loopback TCP stack. The transport is not used when SSL/TLS or a socket
+     * interceptor is configured for client connections, or when security or
+     * Management Center trusted interfaces are configured, since shared memory
+     * connections don't carry the address of the client.
+     * <p>
+     * The endpoint of a member is identified by the address and port it
+     * advertises to clients, so a client uses the transport only for
+     * connections to that address.
+     * <p>
+     * The default value is {@code false}.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty SHARED_MEMORY_CLIENT_TRANSPORT_ENABLED
+            = new HazelcastProperty("hazelcast.shared.memory.client.transport.enabled", false);
+
+    /**
+     * The directory of the memory-mapped files used by the shared memory transport.
+     * Has to be the same directory clients are configured with and should be
+     * on a memory-backed file system, e.g. {@code /dev/shm}.
+     * <p>
+     * The directories and files created in it are accessible only by the user
+     * running the process, so clients have to run as the same user as the
+     * member.
+     * <p>
+     * The default value is the {@code hazelcast-shm-<user.name>} directory in
+     * {@code java.io.tmpdir}.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty SHARED_MEMORY_DIRECTORY
+            = new HazelcastProperty("hazelcast.shared.memory.directory",
+            Path.of(System.getProperty("java.io.tmpdir"), "hazelcast-shm-" + System.getProperty("user.name")).toString());
+
+    /**
+     * The idle strategy of the io threads of shared memory connections, in the
+     * {@code backoff,maxSpins,maxYields,minParkNanos,maxParkNanos} format. The
+     * maximum park period bounds the latency of the first message after the
+     * connection went idle.
+     * <p>
+     * The default value is {@code backoff,1000,100,1000,100000}.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty SHARED_MEMORY_IDLE_STRATEGY
+            = new HazelcastProperty("hazelcast.shared.memory.idle.strategy", "backoff,1000,100,1000,100000");
+
     private ClusterProperty() {
     }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.topic;
+
+import com.hazelcast.cluster.Member;
+
+/**
+ * A batch of messages read from a reliable topic in a single ringbuffer
+ * read, delivered to a {@link ReliableMessageBatchListener}.
+ * <p>
+ * The batch is a view over the serialized messages: a message payload is
+ * only deserialized when {@link #getMessageObject(int)} or
+ * {@link #getMessage(int)} is called for its index, so listeners which
+ * skip messages or only need some of them don't pay for the others.
+ * A batch must not be used after the listener call it was passed to returned.
+ *
+ * @param <E> message type
+ * @since 6.0
+ */
+public interface MessageBatch<E> {
+
+    /**
+     * @return the name of the topic the messages were published to
+     */
+    String getTopicName();
+
+    /**
+     * @return the number of messages in this batch
+     */
+    int size();
+
+    /**
+     * Returns the ringbuffer sequence of the message at the given index.
+     *
+     * @param index index of the message in this batch
+     * @return the sequence of the message
+     * @throws IllegalArgumentException if the index is out of bounds
+     */
+    long getSequence(int index);
+
+    /**
+     * Returns the deserialized payload of the message at the given index.
+     * The payload is deserialized on the first call for an index.
+     *
+     * @param index index of the message in this batch
+     * @return the published object
+     * @throws IllegalArgumentException if the index is out of bounds
+     */
+    E getMessageObject(int index);
+
+    /**
+     * Returns the time the message at the given index was published.
+     *
+     * @param index index of the message in this batch
+     * @return the publish time in milliseconds
+     * @throws IllegalArgumentException if the index is out of bounds
+     */
+    long getPublishTime(int index);
+
+    /**
+     * Returns the member which published the message at the given index.
+     *
+     * @param index index of the message in this batch
+     * @return the publishing member or {@code null} if it is no longer
+     * a member of the cluster or the message was published by a client
+     * @throws IllegalArgumentException if the index is out of bounds
+     */
+    Member getPublishingMember(int index);
+
+    /**
+     * Returns the message at the given index as a {@link Message}.
+     * Prefer the other accessors of the batch when processing many messages,
+     * they don't create an object per message.
+     *
+     * @param index index of the message in this batch
+     * @return the message
+     * @throws IllegalArgumentException if the index is out of bounds
+     */
+    Message<E> getMessage(int index);
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.topic;
+
+import com.hazelcast.core.IFunction;
+
+/**
+ * A {@link ReliableMessageListener} which receives the messages of a reliable
+ * topic in batches instead of one by one.
+ * <p>
+ * Every ringbuffer read of the listener is delivered as a single
+ * {@link MessageBatch}, which deserializes message payloads only on access.
+ * This avoids creating a {@link Message} and deserializing every payload on
+ * the listener thread, which dominates the cost of consuming high-throughput
+ * topics. The size of a batch is bounded by the read batch size of
+ * {@link com.hazelcast.config.ReliableTopicConfig} on members and of
+ * {@link com.hazelcast.client.config.ClientReliableTopicConfig} on clients.
+ * <p>
+ * Before a batch is delivered, {@link #storeSequence(long)} is called with
+ * the sequence of the last message read by the batch, so a durable
+ * subscriber resumes after the batch. If {@link #onMessageBatch(MessageBatch)}
+ * throws an exception, {@link #isTerminal(Throwable)} decides whether the
+ * listener continues with the next batch.
+ * <p>
+ * Optionally, a filter can be returned by {@link #getMessageFilter()}. It is
+ * evaluated by the members owning the ringbuffer when the messages are read,
+ * so messages which don't pass the filter are never sent to the listener.
+ *
+ * @param <E> message type
+ * @since 6.0
+ */
+public interface ReliableMessageBatchListener<E> extends ReliableMessageListener<E> {
+
+    /**
+     * Invoked with the messages read from the topic by a single ringbuffer
+     * read. Empty batches, e.g. when all messages were filtered out, are not
+     * delivered.
+     *
+     * @param batch the messages, only valid during this call
+     */
+    void onMessageBatch(MessageBatch<E> batch);
+
+    /**
+     * Returns the filter to evaluate on the members when the messages are read.
+     * The filter receives the message payload and must be serializable and
+     * available on the classpath of the members.
+     *
+     * @return the filter or {@code null} to receive all messages
+     */
+    default IFunction<E, Boolean> getMessageFilter() {
+        return null;
+    }
+
+    /**
+     * Not used, the messages are delivered by {@link #onMessageBatch(MessageBatch)}.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    default void onMessage(Message<E> message) {
+        throw new UnsupportedOperationException("Messages are delivered in batches to " + getClass().getName());
+    }
+}
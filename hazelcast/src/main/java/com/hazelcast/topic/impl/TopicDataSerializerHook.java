@@ -20,6 +20,7 @@ import com.hazelcast.internal.serialization.DataSerializerHook;
 import com.hazelcast.internal.serialization.impl.FactoryIdHelper;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
 import com.hazelcast.topic.impl.reliable.ReliableTopicMessage;
+import com.hazelcast.topic.impl.reliable.ReliableTopicMessageFilter;
 
 import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.TOPIC_DS_FACTORY;
 import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.TOPIC_DS_FACTORY_ID;
@@ -32,6 +33,7 @@ public final class TopicDataSerializerHook implements DataSerializerHook {
     public static final int TOPIC_EVENT = 1;
     public static final int RELIABLE_TOPIC_MESSAGE = 2;
     public static final int PUBLISH_ALL = 3;
+    public static final int RELIABLE_TOPIC_MESSAGE_FILTER = 4;
 
     @Override
     public int getFactoryId() {
@@ -45,6 +47,7 @@ public final class TopicDataSerializerHook implements DataSerializerHook {
             case TOPIC_EVENT -> new TopicEvent();
             case RELIABLE_TOPIC_MESSAGE -> new ReliableTopicMessage();
             case PUBLISH_ALL -> new PublishAllOperation();
+            case RELIABLE_TOPIC_MESSAGE_FILTER -> new ReliableTopicMessageFilter<>();
             default -> null;
         };
     }
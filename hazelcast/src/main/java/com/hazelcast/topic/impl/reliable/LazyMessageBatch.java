@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.ringbuffer.ReadResultSet;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.MessageBatch;
+
+import java.util.function.Function;
+
+/**
+ * {@link MessageBatch} view over a {@link ReadResultSet} of a reliable topic.
+ * <p>
+ * Nothing is deserialized up front: the {@link ReliableTopicMessage} envelope
+ * of an index is deserialized on its first access and its payload only when
+ * it is requested. Both are cached, so repeated accesses to an index are free.
+ * Not thread-safe, a batch is only used by the listener thread it is passed to.
+ *
+ * @param <E> message type
+ */
+class LazyMessageBatch<E> implements MessageBatch<E> {
+
+    private final String topicName;
+    private final ReadResultSet<ReliableTopicMessage> resultSet;
+    private final SerializationService serializationService;
+    private final Function<ReliableTopicMessage, Member> memberResolver;
+
+    private ReliableTopicMessage[] envelopes;
+    private Object[] payloads;
+
+    LazyMessageBatch(String topicName, ReadResultSet<ReliableTopicMessage> resultSet,
+                     SerializationService serializationService,
+                     Function<ReliableTopicMessage, Member> memberResolver) {
+        this.topicName = topicName;
+        this.resultSet = resultSet;
+        this.serializationService = serializationService;
+        this.memberResolver = memberResolver;
+    }
+
+    @Override
+    public String getTopicName() {
+        return topicName;
+    }
+
+    @Override
+    public int size() {
+        return resultSet.size();
+    }
+
+    @Override
+    public long getSequence(int index) {
+        return resultSet.getSequence(index);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E getMessageObject(int index) {
+        ReliableTopicMessage envelope = envelope(index);
+        if (payloads == null) {
+            payloads = new Object[size()];
+        }
+        Object payload = payloads[index];
+        if (payload == null) {
+            payload = serializationService.toObject(envelope.getPayload());
+            payloads[index] = payload;
+        }
+        return (E) payload;
+    }
+
+    @Override
+    public long getPublishTime(int index) {
+        return envelope(index).getPublishTime();
+    }
+
+    @Override
+    public Member getPublishingMember(int index) {
+        return memberResolver.apply(envelope(index));
+    }
+
+    @Override
+    public Message<E> getMessage(int index) {
+        return new Message<>(topicName, getMessageObject(index), getPublishTime(index), getPublishingMember(index));
+    }
+
+    private ReliableTopicMessage envelope(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IllegalArgumentException("index=" + index + ", size=" + size());
+        }
+        if (envelopes == null) {
+            envelopes = new ReliableTopicMessage[size()];
+        }
+        ReliableTopicMessage envelope = envelopes[index];
+        if (envelope == null) {
+            // ReadResultSet#get deserializes the stored item on every call
+            envelope = resultSet.get(index);
+            envelopes[index] = envelope;
+        }
+        return envelope;
+    }
+
+    @Override
+    public String toString() {
+        return "LazyMessageBatch{"
+                + "topicName='" + topicName + '\''
+                + ", size=" + size()
+                + '}';
+    }
+}
@@ -18,6 +18,7 @@ package com.hazelcast.topic.impl.reliable;
 
 import com.hazelcast.cluster.Member;
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
+import com.hazelcast.core.IFunction;
 import com.hazelcast.core.OperationTimeoutException;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.logging.ILogger;
@@ -26,6 +27,7 @@ import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.spi.exception.DistributedObjectDestroyedException;
 import com.hazelcast.topic.Message;
 import com.hazelcast.topic.MessageListener;
+import com.hazelcast.topic.ReliableMessageBatchListener;
 import com.hazelcast.topic.ReliableMessageListener;
 
 import java.util.UUID;
@@ -54,6 +56,8 @@ public abstract class MessageRunner<E> implements BiConsumer<ReadResultSet<Relia
     private final UUID id;
     private final Executor executor;
     private final int batchSize;
+    private final ReliableMessageBatchListener<E> batchListener;
+    private final IFunction<ReliableTopicMessage, Boolean> filter;
     private volatile boolean cancelled;
     // The future to be able to cancel readManyAsync() call on ringBuffer, when listener is removed
     private CompletionStage<ReadResultSet<ReliableTopicMessage>> readRingBufferCompletionStage;
@@ -76,6 +80,8 @@ public abstract class MessageRunner<E> implements BiConsumer<ReadResultSet<Relia
         this.batchSize = batchSize;
         this.executor = executor;
         this.runnersMap = runnersMap;
+        this.batchListener = listener instanceof ReliableMessageBatchListener<E> batching ? batching : null;
+        this.filter = createFilter(this.batchListener, serializationService);
 
         // we are going to listen to next publication. We don't care about what already has been published.
         long initialSequence = listener.retrieveInitialSequence();
@@ -90,7 +96,7 @@ public abstract class MessageRunner<E> implements BiConsumer<ReadResultSet<Relia
             return;
         }
         // Save the Future so that we can cancel readManyAsync()
-        readRingBufferCompletionStage = ringbuffer.readManyAsync(sequence, 1, batchSize, null);
+        readRingBufferCompletionStage = ringbuffer.readManyAsync(sequence, 1, batchSize, filter);
         readRingBufferCompletionStage
                 .whenCompleteAsync(this, executor);
     }
@@ -111,20 +117,11 @@ public abstract class MessageRunner<E> implements BiConsumer<ReadResultSet<Relia
                 return;
             }
 
-            runWithNamespaceAwareness(() -> {
-                for (int i = 0; i < result.size(); i++) {
-                    ReliableTopicMessage message = result.get(i);
-                    try {
-                        listener.storeSequence(result.getSequence(i));
-                        listener.onMessage(toMessage(message));
-                    } catch (Throwable t) {
-                        if (terminate(t)) {
-                            cancel();
-                            return;
-                        }
-                    }
-                }
-            });
+            if (batchListener != null) {
+                runWithNamespaceAwareness(() -> deliverBatch(result));
+            } else {
+                runWithNamespaceAwareness(() -> deliverMessages(result));
+            }
 
             sequence = result.getNextSequenceToReadFrom();
             next();
@@ -138,6 +135,44 @@ public abstract class MessageRunner<E> implements BiConsumer<ReadResultSet<Relia
         }
     }
 
+    private void deliverMessages(ReadResultSet<ReliableTopicMessage> result) {
+        for (int i = 0; i < result.size(); i++) {
+            ReliableTopicMessage message = result.get(i);
+            try {
+                listener.storeSequence(result.getSequence(i));
+                listener.onMessage(toMessage(message));
+            } catch (Throwable t) {
+                if (terminate(t)) {
+                    cancel();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void deliverBatch(ReadResultSet<ReliableTopicMessage> result) {
+        if (result.readCount() == 0) {
+            return;
+        }
+        try {
+            // messages skipped by the filter are acknowledged too
+            batchListener.storeSequence(result.getNextSequenceToReadFrom() - 1);
+            if (result.size() > 0) {
+                batchListener.onMessageBatch(new LazyMessageBatch<>(topicName, result, serializationService, this::getMember));
+            }
+        } catch (Throwable t) {
+            if (terminate(t)) {
+                cancel();
+            }
+        }
+    }
+
+    private static <E> IFunction<ReliableTopicMessage, Boolean> createFilter(ReliableMessageBatchListener<E> batchListener,
+                                                                             SerializationService serializationService) {
+        IFunction<E, Boolean> messageFilter = batchListener != null ? batchListener.getMessageFilter() : null;
+        return messageFilter != null ? new ReliableTopicMessageFilter<>(messageFilter, serializationService) : null;
+    }
+
     protected abstract void runWithNamespaceAwareness(Runnable runnable);
 
     private Message<E> toMessage(ReliableTopicMessage m) {
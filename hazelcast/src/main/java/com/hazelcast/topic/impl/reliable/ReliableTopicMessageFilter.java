@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceAware;
+import com.hazelcast.core.IFunction;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.impl.SerializationServiceSupport;
+import com.hazelcast.topic.impl.TopicDataSerializerHook;
+
+import java.io.IOException;
+
+/**
+ * Ringbuffer read filter of a reliable topic, which applies a user filter
+ * of a {@link com.hazelcast.topic.ReliableMessageBatchListener} to the
+ * payloads of the {@link ReliableTopicMessage}s read on a member.
+ *
+ * @param <E> message type
+ */
+public class ReliableTopicMessageFilter<E>
+        implements IFunction<ReliableTopicMessage, Boolean>, IdentifiedDataSerializable, HazelcastInstanceAware {
+
+    private IFunction<E, Boolean> filter;
+    private transient SerializationService serializationService;
+
+    public ReliableTopicMessageFilter() {
+    }
+
+    /**
+     * @param filter               the user filter
+     * @param serializationService used when the filter is applied without being
+     *                             serialized, e.g. by an operation running locally
+     */
+    public ReliableTopicMessageFilter(IFunction<E, Boolean> filter, SerializationService serializationService) {
+        this.filter = filter;
+        this.serializationService = serializationService;
+    }
+
+    @Override
+    public void setHazelcastInstance(HazelcastInstance hazelcastInstance) {
+        this.serializationService = ((SerializationServiceSupport) hazelcastInstance).getSerializationService();
+    }
+
+    @Override
+    public Boolean apply(ReliableTopicMessage message) {
+        E payload = serializationService.toObject(message.getPayload());
+        return Boolean.TRUE.equals(filter.apply(payload));
+    }
+
+    @Override
+    public int getFactoryId() {
+        return TopicDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return TopicDataSerializerHook.RELIABLE_TOPIC_MESSAGE_FILTER;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(filter);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        filter = in.readObject();
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.properties.ClientProperty;
+import com.hazelcast.cluster.Address;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.EndpointQualifier;
+import com.hazelcast.internal.networking.shm.SharedMemoryChannel;
+import com.hazelcast.internal.server.ServerConnection;
+import com.hazelcast.internal.server.tcp.TcpServerConnection;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.hazelcast.test.Accessors.getNode;
+import static com.hazelcast.test.HazelcastTestSupport.assertInstanceOf;
+import static com.hazelcast.test.HazelcastTestSupport.assertTrueEventually;
+import static com.hazelcast.test.HazelcastTestSupport.randomString;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Runs map operations of a client connected to a member of the same
+ * process over the shared memory transport.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class})
+public class ClientSharedMemoryTransportTest {
+
+    // smaller than the large values, so they have to be written in several steps
+    private static final int RING_CAPACITY = 4096;
+    private static final int ENTRY_COUNT = 100;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private HazelcastInstance member;
+    private HazelcastInstance client;
+
+    @Before
+    public void setup() {
+        String clusterName = randomString();
+        String directory = temporaryFolder.getRoot().getAbsolutePath();
+
+        Config config = new Config();
+        config.setClusterName(clusterName);
+        config.setProperty(ClusterProperty.SHARED_MEMORY_CLIENT_TRANSPORT_ENABLED.getName(), "true");
+        config.setProperty(ClusterProperty.SHARED_MEMORY_DIRECTORY.getName(), directory);
+        // the client has to connect to the address the member advertises
+        config.getNetworkConfig().getInterfaces().setEnabled(true).addInterface("127.0.0.1");
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getAutoDetectionConfig().setEnabled(false);
+        member = Hazelcast.newHazelcastInstance(config);
+        Address memberAddress = member.getCluster().getLocalMember().getAddress();
+
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.setClusterName(clusterName);
+        clientConfig.setProperty(ClientProperty.SHARED_MEMORY_TRANSPORT_ENABLED.getName(), "true");
+        clientConfig.setProperty(ClientProperty.SHARED_MEMORY_DIRECTORY.getName(), directory);
+        clientConfig.setProperty(ClientProperty.SHARED_MEMORY_RING_CAPACITY.getName(), Integer.toString(RING_CAPACITY));
+        clientConfig.getNetworkConfig().addAddress(memberAddress.getHost() + ":" + memberAddress.getPort());
+        client = HazelcastClient.newHazelcastClient(clientConfig);
+    }
+
+    @After
+    public void cleanUp() {
+        HazelcastClient.shutdownAll();
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void clientConnectsOverSharedMemory() {
+        assertTrueEventually(() -> {
+            List<ServerConnection> clientConnections = clientConnections();
+            assertEquals(1, clientConnections.size());
+            TcpServerConnection connection = assertInstanceOf(TcpServerConnection.class, clientConnections.get(0));
+            assertInstanceOf(SharedMemoryChannel.class, connection.getChannel());
+        });
+    }
+
+    @Test
+    public void mapOperations() {
+        IMap<Integer, String> map = client.getMap(randomString());
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+        assertEquals(ENTRY_COUNT, map.size());
+        assertEquals("value-42", map.get(42));
+        assertEquals("value-42", map.remove(42));
+        assertNull(map.get(42));
+        assertEquals(ENTRY_COUNT - 1, member.getMap(map.getName()).size());
+
+        assertEquals(Map.of(1, "value-1", 2, "value-2"), map.getAll(Set.of(1, 2)));
+        assertEquals(Set.of(7, 17, 27), map.keySet(Predicates.in("this", "value-7", "value-17", "value-27")));
+    }
+
+    @Test
+    public void putAllAndGetAll() {
+        IMap<Integer, Integer> map = client.getMap(randomString());
+        Map<Integer, Integer> entries = new HashMap<>();
+        IntStream.range(0, ENTRY_COUNT).forEach(i -> entries.put(i, i * i));
+
+        map.putAll(entries);
+
+        assertEquals(entries, map.getAll(entries.keySet()));
+    }
+
+    @Test
+    public void valuesLargerThanTheRing() {
+        IMap<Integer, byte[]> map = client.getMap(randomString());
+        byte[] value = new byte[RING_CAPACITY * 16];
+        for (int i = 0; i < value.length; i++) {
+            value[i] = (byte) i;
+        }
+
+        map.put(1, value);
+
+        assertArrayEquals(value, map.get(1));
+        assertArrayEquals(value, (byte[]) member.getMap(map.getName()).get(1));
+    }
+
+    @Test
+    public void clientReconnectsOverSharedMemory_whenConnectionClosed() {
+        IMap<Integer, Integer> map = client.getMap(randomString());
+        map.put(1, 1);
+        assertTrueEventually(() -> assertFalse(clientConnections().isEmpty()));
+
+        clientConnections().forEach(connection -> connection.close("test", null));
+
+        assertTrueEventually(() -> {
+            assertEquals(1, (int) map.get(1));
+            List<ServerConnection> clientConnections = clientConnections();
+            assertEquals(1, clientConnections.size());
+            TcpServerConnection connection = assertInstanceOf(TcpServerConnection.class, clientConnections.get(0));
+            assertInstanceOf(SharedMemoryChannel.class, connection.getChannel());
+        });
+    }
+
+    private List<ServerConnection> clientConnections() {
+        return getNode(member).getServer().getConnectionManager(EndpointQualifier.CLIENT).getConnections().stream()
+                .filter(ServerConnection::isClient)
+                .filter(ServerConnection::isAlive)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.protocol.util;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Round-trip checks of the hand-written codecs of the micro-batched map
+ * messages.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapWithThreadIdsCodecTest {
+
+    private InternalSerializationService serializationService;
+
+    @Before
+    public void before() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+    }
+
+    @Test
+    public void getAllWithThreadIds_request() {
+        List<Data> keys = Arrays.asList(toData("a"), toData("b"), toData("c"));
+        List<Long> threadIds = Arrays.asList(1L, 2L, 1L);
+
+        ClientMessage message = MapGetAllWithThreadIdsCodec.encodeRequest("map", keys, threadIds);
+        MapGetAllWithThreadIdsCodec.RequestParameters parameters =
+                MapGetAllWithThreadIdsCodec.decodeRequest(sent(message));
+
+        assertEquals(MapGetAllWithThreadIdsCodec.REQUEST_MESSAGE_TYPE, message.getMessageType());
+        assertTrue(message.isRetryable());
+        assertEquals("map", parameters.name);
+        assertEquals(keys, parameters.keys);
+        assertEquals(threadIds, parameters.threadIds);
+    }
+
+    @Test
+    public void getAllWithThreadIds_response_withMissingValues() {
+        List<Data> values = Arrays.asList(toData(1), null, toData(3));
+
+        ClientMessage message = MapGetAllWithThreadIdsCodec.encodeResponse(values);
+
+        assertEquals(MapGetAllWithThreadIdsCodec.RESPONSE_MESSAGE_TYPE, message.getMessageType());
+        assertEquals(values, MapGetAllWithThreadIdsCodec.decodeResponse(sent(message)));
+    }
+
+    @Test
+    public void setAllWithThreadIds_request() {
+        List<Map.Entry<Data, Data>> entries = Arrays.asList(
+                new SimpleImmutableEntry<>(toData("a"), toData(1)),
+                new SimpleImmutableEntry<>(toData("b"), toData(2)));
+        List<Long> threadIds = Arrays.asList(5L, 6L);
+
+        ClientMessage message = MapSetAllWithThreadIdsCodec.encodeRequest("map", entries, threadIds);
+        MapSetAllWithThreadIdsCodec.RequestParameters parameters =
+                MapSetAllWithThreadIdsCodec.decodeRequest(sent(message));
+
+        assertEquals(MapSetAllWithThreadIdsCodec.REQUEST_MESSAGE_TYPE, message.getMessageType());
+        assertFalse(message.isRetryable());
+        assertEquals("map", parameters.name);
+        assertEquals(entries, parameters.entries);
+        assertEquals(threadIds, parameters.threadIds);
+    }
+
+    @Test
+    public void setAllWithThreadIds_response() {
+        ClientMessage message = MapSetAllWithThreadIdsCodec.encodeResponse();
+
+        assertEquals(MapSetAllWithThreadIdsCodec.RESPONSE_MESSAGE_TYPE, message.getMessageType());
+    }
+
+    private Data toData(Object object) {
+        return serializationService.toData(object);
+    }
+
+    private static ClientMessage sent(ClientMessage message) {
+        return ClientMessage.createForDecode(message.copyWithNewCorrelationId(1).getStartFrame());
+    }
+}
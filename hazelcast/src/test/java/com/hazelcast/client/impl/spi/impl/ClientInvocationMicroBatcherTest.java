@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.spi.impl;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.impl.clientside.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.spi.ClientClusterService;
+import com.hazelcast.client.test.ClientTestSupport;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.cluster.Versions;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.transaction.TransactionContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.client.properties.ClientProperty.INVOCATION_MICRO_BATCH_MAX_SIZE;
+import static com.hazelcast.client.properties.ClientProperty.INVOCATION_MICRO_BATCH_WINDOW_MICROS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientInvocationMicroBatcherTest extends ClientTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+    private HazelcastInstance member;
+    private IMap<Integer, String> map;
+
+    @After
+    public void cleanup() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Before
+    public void setUp() {
+        member = hazelcastFactory.newHazelcastInstance();
+        ClientConfig clientConfig = new ClientConfig()
+                .setProperty(INVOCATION_MICRO_BATCH_WINDOW_MICROS.getName(), "5000")
+                .setProperty(INVOCATION_MICRO_BATCH_MAX_SIZE.getName(), "16");
+        map = hazelcastFactory.newHazelcastClient(clientConfig).getMap(randomMapName());
+    }
+
+    @Test
+    public void testSetAsyncAndGetAsync() throws Exception {
+        List<CompletableFuture<Void>> setFutures = new ArrayList<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            setFutures.add(map.setAsync(i, "value-" + i).toCompletableFuture());
+        }
+        CompletableFuture.allOf(setFutures.toArray(new CompletableFuture[0]))
+                .get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, TimeUnit.SECONDS);
+
+        List<CompletableFuture<String>> getFutures = new ArrayList<>();
+        for (int i = 0; i < 2 * ENTRY_COUNT; i++) {
+            getFutures.add(map.getAsync(i).toCompletableFuture());
+        }
+        for (int i = 0; i < 2 * ENTRY_COUNT; i++) {
+            String value = getFutures.get(i).get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, TimeUnit.SECONDS);
+            if (i < ENTRY_COUNT) {
+                assertEquals("value-" + i, value);
+            } else {
+                assertNull(value);
+            }
+        }
+        assertEquals(ENTRY_COUNT, map.size());
+    }
+
+    @Test
+    public void testGetAsync_seesPrecedingSetAsyncOfSameKey() throws Exception {
+        List<CompletableFuture<String>> getFutures = new ArrayList<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.setAsync(0, "value-" + i);
+            getFutures.add(map.getAsync(0).toCompletableFuture());
+        }
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("value-" + i, getFutures.get(i).get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testSingleRequest_whenIdle() throws Exception {
+        map.put(1, "value");
+
+        assertEquals("value", map.getAsync(1).toCompletableFuture().get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, TimeUnit.SECONDS));
+        assertNull(map.getAsync(2).toCompletableFuture().get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSetAsync_withTtl_isNotBatched() throws Exception {
+        map.setAsync(1, "value", 1, TimeUnit.HOURS).toCompletableFuture().get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, TimeUnit.SECONDS);
+
+        assertEquals("value", map.get(1));
+        assertEquals(TimeUnit.HOURS.toMillis(1), map.getEntryView(1).getTtl());
+    }
+
+    @Test
+    public void testRemoveAsync_afterSetAsyncOfSameKey() throws Exception {
+        List<CompletableFuture<String>> removeFutures = new ArrayList<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.setAsync(i, "value-" + i);
+            // not batched, has to be sent after the set
+            removeFutures.add(map.removeAsync(i).toCompletableFuture());
+        }
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("value-" + i, removeFutures.get(i).get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, TimeUnit.SECONDS));
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testBatchedSetAsync_waitsForLockOfOtherThread() throws Exception {
+        int lockedKey = 0;
+        int otherKey = keyOfSamePartition(lockedKey);
+        IMap<Integer, String> memberMap = member.getMap(map.getName());
+        memberMap.lock(lockedKey);
+
+        CompletableFuture<Void> lockedFuture = map.setAsync(lockedKey, "value").toCompletableFuture();
+        CompletableFuture<Void> otherFuture = map.setAsync(otherKey, "value").toCompletableFuture();
+
+        // the batch waits until all of its keys can be set
+        assertTrueAllTheTime(() -> {
+            assertFalse(lockedFuture.isDone());
+            assertFalse(otherFuture.isDone());
+        }, 3);
+        assertNull(memberMap.get(lockedKey));
+        assertNull(memberMap.get(otherKey));
+
+        memberMap.unlock(lockedKey);
+        lockedFuture.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, TimeUnit.SECONDS);
+        otherFuture.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, TimeUnit.SECONDS);
+        assertEquals("value", map.get(lockedKey));
+        assertEquals("value", map.get(otherKey));
+    }
+
+    @Test
+    public void testBatchedGetAsync_waitsForTransactionalLockOfOtherThread() throws Exception {
+        int lockedKey = 0;
+        int otherKey = keyOfSamePartition(lockedKey);
+        map.set(lockedKey, "old");
+        TransactionContext context = member.newTransactionContext();
+        context.beginTransaction();
+        context.getMap(map.getName()).put(lockedKey, "new");
+
+        CompletableFuture<String> lockedFuture = map.getAsync(lockedKey).toCompletableFuture();
+        CompletableFuture<String> otherFuture = map.getAsync(otherKey).toCompletableFuture();
+
+        assertTrueAllTheTime(() -> assertFalse(lockedFuture.isDone()), 3);
+        context.commitTransaction();
+        assertEquals("new", lockedFuture.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, TimeUnit.SECONDS));
+        assertNull(otherFuture.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testBatchedSetAsync_ofLockOwnerThread() throws Exception {
+        int lockedKey = 0;
+        int otherKey = keyOfSamePartition(lockedKey);
+        map.lock(lockedKey);
+
+        CompletableFuture<Void> lockedFuture = map.setAsync(lockedKey, "value").toCompletableFuture();
+        CompletableFuture<Void> otherFuture = map.setAsync(otherKey, "value").toCompletableFuture();
+
+        lockedFuture.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, TimeUnit.SECONDS);
+        otherFuture.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, TimeUnit.SECONDS);
+        assertEquals("value", map.get(lockedKey));
+        map.unlock(lockedKey);
+    }
+
+    @Test
+    public void testNotEnabled_whenClusterVersionIsBefore_6_0() {
+        HazelcastClientInstanceImpl client = mock(HazelcastClientInstanceImpl.class);
+        ClientClusterService clusterService = mock(ClientClusterService.class);
+        Properties properties = new Properties();
+        properties.setProperty(INVOCATION_MICRO_BATCH_WINDOW_MICROS.getName(), "5000");
+        when(client.getProperties()).thenReturn(new HazelcastProperties(properties));
+        when(client.getClientClusterService()).thenReturn(clusterService);
+        ClientInvocationMicroBatcher microBatcher = new ClientInvocationMicroBatcher(client);
+
+        when(clusterService.getClusterVersion()).thenReturn(Versions.V5_5);
+        assertFalse(microBatcher.isEnabled());
+
+        when(clusterService.getClusterVersion()).thenReturn(Versions.V6_0);
+        assertTrue(microBatcher.isEnabled());
+    }
+
+    private int keyOfSamePartition(int key) {
+        int partitionId = member.getPartitionService().getPartition(key).getPartitionId();
+        for (int other = key + 1; ; other++) {
+            if (member.getPartitionService().getPartition(other).getPartitionId() == partitionId) {
+                return other;
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.map.impl.nearcache;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.properties.ClientProperty;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientMapQueryResultCacheTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 100;
+
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+
+    private IMap<Integer, Integer> memberMap;
+    private IMap<Integer, Integer> clientMap;
+
+    @Before
+    public void setUp() {
+        String mapName = randomMapName();
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.MAP_EVICTION_INVALIDATION_ENABLED.getName(), "true");
+        HazelcastInstance member = hazelcastFactory.newHazelcastInstance(config);
+        ClientConfig clientConfig = new ClientConfig()
+                .setProperty(ClientProperty.MAP_QUERY_RESULT_CACHE_SIZE.getName(), "10")
+                .addNearCacheConfig(new NearCacheConfig(mapName).setInvalidateOnChange(true));
+        HazelcastInstance client = hazelcastFactory.newHazelcastClient(clientConfig);
+
+        memberMap = member.getMap(mapName);
+        clientMap = client.getMap(mapName);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            memberMap.put(i, i);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Test
+    public void testRepeatedQuery() {
+        Predicate<Integer, Integer> predicate = Predicates.lessThan("this", 10);
+
+        assertThat(clientMap.keySet(predicate)).containsExactlyInAnyOrderElementsOf(range(0, 10));
+        assertThat(clientMap.keySet(predicate)).containsExactlyInAnyOrderElementsOf(range(0, 10));
+        assertThat(clientMap.values(predicate)).containsExactlyInAnyOrderElementsOf(range(0, 10));
+        assertThat(clientMap.entrySet(predicate)).hasSize(10);
+    }
+
+    @Test
+    public void testQuery_afterMemberUpdate() {
+        Predicate<Integer, Integer> predicate = Predicates.lessThan("this", 10);
+        assertThat(clientMap.values(predicate)).hasSize(10);
+
+        memberMap.put(50, 5);
+        memberMap.remove(0);
+
+        Set<Integer> expected = range(1, 10);
+        expected.add(5);
+        assertTrueEventually(() -> assertThat(clientMap.values(predicate)).containsExactlyInAnyOrderElementsOf(expected));
+    }
+
+    @Test
+    public void testQuery_afterClientUpdate() {
+        Predicate<Integer, Integer> predicate = Predicates.lessThan("this", 10);
+        assertThat(clientMap.keySet(predicate)).hasSize(10);
+
+        clientMap.put(50, 5);
+
+        Set<Integer> expected = range(0, 10);
+        expected.add(50);
+        assertThat(clientMap.keySet(predicate)).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    public void testQuery_afterClear() {
+        Predicate<Integer, Integer> predicate = Predicates.lessThan("this", 10);
+        assertThat(clientMap.keySet(predicate)).hasSize(10);
+
+        memberMap.clear();
+
+        assertTrueEventually(() -> assertThat(clientMap.keySet(predicate)).isEmpty());
+    }
+
+    @Test
+    public void testQuery_afterMemberEntryExpired() {
+        Predicate<Integer, Integer> predicate = Predicates.lessThan("this", 10);
+        memberMap.put(0, 0, 1, SECONDS);
+        assertThat(clientMap.keySet(predicate)).hasSize(10);
+
+        assertTrueEventually(() -> assertThat(clientMap.keySet(predicate))
+                .containsExactlyInAnyOrderElementsOf(range(1, 10)));
+    }
+
+    private static Set<Integer> range(int from, int to) {
+        Set<Integer> set = new HashSet<>();
+        for (int i = from; i < to; i++) {
+            set.add(i);
+        }
+        return set;
+    }
+}
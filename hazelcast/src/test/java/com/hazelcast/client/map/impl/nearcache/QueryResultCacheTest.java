@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.map.impl.nearcache;
+
+import com.hazelcast.client.impl.spi.ClientPartitionService;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.util.IterationType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class QueryResultCacheTest {
+
+    private static final QueryResultCache.Key KEY = new QueryResultCache.Key(IterationType.KEY, null);
+
+    @Test
+    public void testGet_expiresAfterTimeToLive() {
+        QueryResultCache cache = newCache(new NearCacheConfig().setTimeToLiveSeconds(10));
+        cache.put(KEY, newResult(0));
+
+        assertNotNull(cache.get(KEY, 9_999));
+        assertNull(cache.get(KEY, 10_000));
+        assertNull(cache.get(KEY, 0));
+    }
+
+    @Test
+    public void testGet_expiresAfterMaxIdle() {
+        QueryResultCache cache = newCache(new NearCacheConfig().setMaxIdleSeconds(10));
+        cache.put(KEY, newResult(0));
+
+        assertNotNull(cache.get(KEY, 9_999));
+        assertNotNull(cache.get(KEY, 19_998));
+        assertNull(cache.get(KEY, 29_998));
+    }
+
+    @Test
+    public void testGet_neverExpiresByDefault() {
+        QueryResultCache cache = newCache(new NearCacheConfig());
+        cache.put(KEY, newResult(0));
+
+        assertNotNull(cache.get(KEY, Long.MAX_VALUE));
+    }
+
+    private static QueryResultCache newCache(NearCacheConfig nearCacheConfig) {
+        ClientPartitionService partitionService = mock(ClientPartitionService.class);
+        when(partitionService.getPartitionCount()).thenReturn(1);
+        return new QueryResultCache(10, partitionService, nearCacheConfig);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static QueryResultCache.Result newResult(long creationTime) {
+        QueryResultCache.Snapshot snapshot = new QueryResultCache.Snapshot(new UUID[1], new long[1], new long[1]);
+        return new QueryResultCache.Result(snapshot, new List[1], creationTime, creationTime);
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.collection.impl.queue;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class QueueItemArrayDequeTest {
+
+    private final QueueItemArrayDeque deque = new QueueItemArrayDeque();
+
+    @Test
+    public void offerAndPoll_keepFifoOrder_whenWrappingAndGrowing() {
+        // move the head so the array wraps around before it grows
+        for (int i = 0; i < 10; i++) {
+            deque.offer(item(-1));
+            deque.poll();
+        }
+        for (int i = 0; i < 100; i++) {
+            deque.offer(item(i));
+        }
+
+        assertEquals(100, deque.size());
+        assertEquals(99, deque.peekLast().getItemId());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, deque.poll().getItemId());
+        }
+        assertNull(deque.poll());
+        assertNull(deque.peek());
+        assertTrue(deque.isEmpty());
+    }
+
+    @Test
+    public void offerFirst() {
+        deque.offer(item(2));
+        deque.offerFirst(item(1));
+
+        assertEquals(List.of(1L, 2L), itemIds());
+    }
+
+    @Test
+    public void addOrdered() {
+        deque.offer(item(2));
+        deque.offer(item(5));
+        deque.offer(item(7));
+
+        deque.addOrdered(item(1));
+        deque.addOrdered(item(6));
+        deque.addOrdered(item(9));
+
+        assertEquals(List.of(1L, 2L, 5L, 6L, 7L, 9L), itemIds());
+    }
+
+    @Test
+    public void iteratorRemove_nearHeadAndTail() {
+        for (int i = 0; i < 20; i++) {
+            deque.offer(item(i));
+        }
+
+        Iterator<QueueItem> iterator = deque.iterator();
+        while (iterator.hasNext()) {
+            long itemId = iterator.next().getItemId();
+            if (itemId == 1 || itemId == 2 || itemId == 18) {
+                iterator.remove();
+            }
+        }
+
+        List<Long> expected = new ArrayList<>();
+        for (long i = 0; i < 20; i++) {
+            if (i != 1 && i != 2 && i != 18) {
+                expected.add(i);
+            }
+        }
+        assertEquals(expected, itemIds());
+        assertEquals(0, deque.peek().getItemId());
+        assertEquals(19, deque.peekLast().getItemId());
+    }
+
+    @Test
+    public void iteratorRemove_allItems() {
+        for (int i = 0; i < 100; i++) {
+            deque.offer(item(i));
+        }
+
+        Iterator<QueueItem> iterator = deque.iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+
+        assertTrue(deque.isEmpty());
+        deque.offer(item(100));
+        assertEquals(List.of(100L), itemIds());
+    }
+
+    @Test
+    public void iteratorRemove_thenIterationAbandoned() {
+        for (int i = 0; i < 10; i++) {
+            deque.offer(item(i));
+        }
+
+        Iterator<QueueItem> iterator = deque.iterator();
+        for (int i = 0; i < 5; i++) {
+            iterator.next();
+            if (i % 2 == 1) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(8, deque.size());
+        assertEquals(0, deque.peek().getItemId());
+        assertEquals(9, deque.peekLast().getItemId());
+        deque.offer(item(10));
+        assertEquals(0, deque.poll().getItemId());
+        assertEquals(List.of(2L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), itemIds());
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void iterator_failsOnModificationAfterRemove() {
+        for (int i = 0; i < 3; i++) {
+            deque.offer(item(i));
+        }
+
+        Iterator<QueueItem> iterator = deque.iterator();
+        iterator.next();
+        iterator.remove();
+        deque.offer(item(3));
+        iterator.next();
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void iterator_failsOnConcurrentModification() {
+        deque.offer(item(1));
+        deque.offer(item(2));
+
+        Iterator<QueueItem> iterator = deque.iterator();
+        iterator.next();
+        deque.poll();
+        iterator.next();
+    }
+
+    @Test
+    public void clear() {
+        deque.offer(item(1));
+        deque.offer(item(2));
+
+        deque.clear();
+
+        assertTrue(deque.isEmpty());
+        deque.offer(item(3));
+        assertEquals(List.of(3L), itemIds());
+    }
+
+    private List<Long> itemIds() {
+        List<Long> itemIds = new ArrayList<>();
+        deque.forEach(item -> itemIds.add(item.getItemId()));
+        return itemIds;
+    }
+
+    private static QueueItem item(long itemId) {
+        return new QueueItem(null, itemId, null);
+    }
+}
@@ -1447,7 +1447,8 @@ public class ConfigXmlGeneratorTest extends HazelcastTestSupport {
         jetConfig.getDefaultEdgeConfig()
                 .setReceiveWindowMultiplier(123)
                 .setPacketSizeLimit(123)
-                .setQueueSize(123);
+                .setQueueSize(123)
+                .setCompressionEnabled(true);
 
         Config newConfig = getNewConfigViaXMLGenerator(config);
         assertEquals(jetConfig, newConfig.getJetConfig());
@@ -19,6 +19,7 @@ package com.hazelcast.config.jet;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.XmlConfigBuilder;
 import com.hazelcast.config.YamlConfigBuilder;
+import com.hazelcast.jet.config.EdgeConfig;
 import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
 import com.hazelcast.test.HazelcastParametrizedRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
@@ -33,6 +34,8 @@ import java.util.Arrays;
 import java.util.Collection;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParametrizedRunner.class)
 @Parameterized.UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
@@ -63,6 +66,24 @@ public class InstanceConfigBuilderTest {
         assertEquals(5, config.getJetConfig().getInstanceConfig().getBackupCount());
     }
 
+    @Test
+    public void whenEdgeDefaultsConfigured_thenParsed() {
+        Config config = getConfig("edge-defaults");
+
+        EdgeConfig edgeConfig = config.getJetConfig().getDefaultEdgeConfig();
+        assertEquals(8, edgeConfig.getQueueSize());
+        assertEquals(16384, edgeConfig.getPacketSizeLimit());
+        assertEquals(10, edgeConfig.getReceiveWindowMultiplier());
+        assertTrue(edgeConfig.isCompressionEnabled());
+    }
+
+    @Test
+    public void whenEdgeDefaultsNotConfigured_thenCompressionDisabled() {
+        Config config = getConfig("just-instance-config");
+
+        assertFalse(config.getJetConfig().getDefaultEdgeConfig().isCompressionEnabled());
+    }
+
     private Config getConfig(String fileName) {
         InputStream inputStream = getClass().getResourceAsStream(fileName + "." + extension);
         if (extension.equals("xml")) {
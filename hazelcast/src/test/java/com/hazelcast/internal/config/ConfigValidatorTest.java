@@ -85,13 +85,21 @@ public class ConfigValidatorTest extends HazelcastTestSupport {
     }
 
     /**
-     * Not supported in open source version, so test is expected to throw exception.
+     * NATIVE in-memory-format requires native memory to be enabled.
      */
     @Test(expected = InvalidConfigurationException.class)
     public void checkMapConfig_NATIVE() {
         checkMapConfig(new Config(), getMapConfig(NATIVE), splitBrainMergePolicyProvider);
     }
 
+    @Test
+    public void checkMapConfig_NATIVE_withNativeMemoryEnabled() {
+        Config config = new Config();
+        config.getNativeMemoryConfig().setEnabled(true);
+
+        checkMapConfig(config, getMapConfig(NATIVE), splitBrainMergePolicyProvider);
+    }
+
     /**
      * Not supported in open source version, so test is expected to throw exception.
      */
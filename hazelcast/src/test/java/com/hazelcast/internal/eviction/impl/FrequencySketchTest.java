@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.eviction.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.eviction.impl.FrequencySketch.MAX_FREQUENCY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class FrequencySketchTest {
+
+    private final FrequencySketch sketch = new FrequencySketch(512);
+
+    @Test
+    public void frequency_whenNotIncremented() {
+        assertEquals(0, sketch.frequency(42));
+    }
+
+    @Test
+    public void increment_isCappedAtMaxFrequency() {
+        for (int i = 1; i <= MAX_FREQUENCY; i++) {
+            sketch.increment(42);
+            assertEquals(i, sketch.frequency(42));
+        }
+
+        sketch.increment(42);
+        assertEquals(MAX_FREQUENCY, sketch.frequency(42));
+    }
+
+    @Test
+    public void frequency_isNeverUnderestimated() {
+        for (int key = 0; key < 512; key++) {
+            for (int i = 0; i < key % 4; i++) {
+                sketch.increment(key);
+            }
+        }
+
+        for (int key = 0; key < 512; key++) {
+            assertTrue(sketch.frequency(key) >= key % 4);
+        }
+    }
+
+    @Test
+    public void ensureCapacity_retainsFrequencies() {
+        sketch.increment(1);
+        sketch.increment(2);
+        sketch.increment(2);
+
+        sketch.ensureCapacity(10 * sketch.capacity());
+
+        assertTrue(sketch.capacity() >= 5120);
+        assertEquals(1, sketch.frequency(1));
+        assertEquals(2, sketch.frequency(2));
+    }
+
+    @Test
+    public void increment_agesFrequencies_afterSampleSize() {
+        for (int i = 0; i < MAX_FREQUENCY; i++) {
+            sketch.increment(-1);
+        }
+
+        // the sample size is 10 times the capacity; most of these increments hit a new key
+        for (int key = 0; key < 10 * sketch.capacity(); key++) {
+            sketch.increment(key);
+        }
+
+        assertTrue(sketch.frequency(-1) < MAX_FREQUENCY);
+    }
+}
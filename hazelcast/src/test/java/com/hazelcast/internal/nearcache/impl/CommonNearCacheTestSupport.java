@@ -18,8 +18,10 @@ package com.hazelcast.internal.nearcache.impl;
 
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
 import com.hazelcast.internal.nearcache.NearCacheRecordStore;
 import com.hazelcast.internal.nearcache.impl.store.NearCacheDataRecordStore;
+import com.hazelcast.internal.nearcache.impl.store.NearCacheNativeRecordStore;
 import com.hazelcast.internal.nearcache.impl.store.NearCacheObjectRecordStore;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.SerializationService;
@@ -38,10 +40,12 @@ public abstract class CommonNearCacheTestSupport extends HazelcastTestSupport {
 
     static final int DEFAULT_RECORD_COUNT = 100;
     static final String DEFAULT_NEAR_CACHE_NAME = "TestNearCache";
+    static final long DEFAULT_NATIVE_MEMORY_CAPACITY = 32L << 20;
 
     private List<ScheduledExecutorService> scheduledExecutorServices = new ArrayList<>();
     private SerializationService ss = new DefaultSerializationServiceBuilder()
             .setVersion(InternalSerializationService.VERSION_1).build();
+    private UnsafeMallocMemoryManager nativeMemoryManager;
 
     @After
     public final void shutdownExecutorServices() {
@@ -51,6 +55,14 @@ public abstract class CommonNearCacheTestSupport extends HazelcastTestSupport {
         scheduledExecutorServices.clear();
     }
 
+    @After
+    public final void disposeNativeMemoryManager() {
+        if (nativeMemoryManager != null) {
+            nativeMemoryManager.dispose();
+            nativeMemoryManager = null;
+        }
+    }
+
     NearCacheConfig createNearCacheConfig(String name, InMemoryFormat inMemoryFormat) {
         return new NearCacheConfig()
                 .setName(name)
@@ -66,6 +78,10 @@ public abstract class CommonNearCacheTestSupport extends HazelcastTestSupport {
             case OBJECT:
                 recordStore = new NearCacheObjectRecordStore<>(DEFAULT_NEAR_CACHE_NAME, nearCacheConfig, ss, null);
                 break;
+            case NATIVE:
+                recordStore = new NearCacheNativeRecordStore<>(DEFAULT_NEAR_CACHE_NAME, nearCacheConfig, ss, null,
+                        getNativeMemoryManager());
+                break;
             default:
                 throw new IllegalArgumentException("Unsupported in-memory format: " + inMemoryFormat);
         }
@@ -73,6 +89,13 @@ public abstract class CommonNearCacheTestSupport extends HazelcastTestSupport {
         return recordStore;
     }
 
+    UnsafeMallocMemoryManager getNativeMemoryManager() {
+        if (nativeMemoryManager == null) {
+            nativeMemoryManager = new UnsafeMallocMemoryManager(DEFAULT_NATIVE_MEMORY_CAPACITY);
+        }
+        return nativeMemoryManager;
+    }
+
     @SuppressWarnings("unused")
     TaskScheduler createTaskScheduler() {
         ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(1);
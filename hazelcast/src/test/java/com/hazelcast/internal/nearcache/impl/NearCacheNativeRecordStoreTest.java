@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.nearcache.impl;
+
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.nearcache.NearCacheRecordStore;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NearCacheNativeRecordStoreTest extends NearCacheRecordStoreTestSupport {
+
+    private static final int VALUE_SIZE = 64 * 1024;
+
+    @Test
+    public void putAndGetRecord() {
+        putAndGetRecord(NATIVE);
+    }
+
+    @Test
+    public void putAndRemoveRecord() {
+        putAndRemoveRecord(NATIVE);
+    }
+
+    @Test
+    public void clearRecords() {
+        clearRecordsOrDestroyStore(NATIVE, false);
+    }
+
+    @Test
+    public void destroyStore() {
+        clearRecordsOrDestroyStore(NATIVE, true);
+    }
+
+    @Test
+    public void statsCalculated() {
+        assertTrueEventually(() -> statsCalculated(NATIVE));
+    }
+
+    @Test
+    public void ttlEvaluated() {
+        ttlEvaluated(NATIVE);
+    }
+
+    @Test
+    public void maxIdleTimeEvaluatedSuccessfully() {
+        maxIdleTimeEvaluatedSuccessfully(NATIVE);
+    }
+
+    @Test
+    public void expiredRecordsCleanedUpSuccessfullyBecauseOfTTL() {
+        expiredRecordsCleanedUpSuccessfully(NATIVE, false);
+    }
+
+    @Test
+    public void canCreateWithNativeMaxSizePolicies() {
+        createNearCacheWithMaxSizePolicy(NATIVE, MaxSizePolicy.ENTRY_COUNT, 1000);
+        createNearCacheWithMaxSizePolicy(NATIVE, MaxSizePolicy.USED_NATIVE_MEMORY_SIZE, 1);
+        createNearCacheWithMaxSizePolicy(NATIVE, MaxSizePolicy.FREE_NATIVE_MEMORY_SIZE, 1);
+        createNearCacheWithMaxSizePolicy(NATIVE, MaxSizePolicy.USED_NATIVE_MEMORY_PERCENTAGE, 99);
+        createNearCacheWithMaxSizePolicy(NATIVE, MaxSizePolicy.FREE_NATIVE_MEMORY_PERCENTAGE, 1);
+    }
+
+    @Test
+    public void valuesAreKeptInNativeMemory() {
+        NearCacheRecordStore<Integer, byte[]> store = createStore(null);
+
+        for (int i = 0; i < DEFAULT_RECORD_COUNT; i++) {
+            store.put(i, null, newValue(i), null);
+        }
+
+        assertTrue(getNativeMemoryManager().getUsedMemory() >= (long) DEFAULT_RECORD_COUNT * VALUE_SIZE);
+        for (int i = 0; i < DEFAULT_RECORD_COUNT; i++) {
+            byte[] value = store.get(i);
+            assertEquals(VALUE_SIZE, value.length);
+            assertEquals((byte) i, value[0]);
+        }
+    }
+
+    @Test
+    public void nativeMemoryReleased_whenRecordsAreInvalidated() {
+        NearCacheRecordStore<Integer, byte[]> store = createStore(null);
+
+        for (int i = 0; i < DEFAULT_RECORD_COUNT; i++) {
+            store.put(i, null, newValue(i), null);
+        }
+        for (int i = 0; i < DEFAULT_RECORD_COUNT; i++) {
+            store.invalidate(i);
+            assertNull(store.get(i));
+        }
+
+        assertEquals(0, getNativeMemoryManager().getUsedMemory());
+    }
+
+    @Test
+    public void nativeMemoryReleased_whenRecordsAreUpdated() {
+        NearCacheRecordStore<Integer, byte[]> store = createStore(null);
+
+        store.put(1, null, newValue(1), null);
+        long usedMemory = getNativeMemoryManager().getUsedMemory();
+        store.invalidate(1);
+        store.put(1, null, newValue(2), null);
+
+        assertEquals(usedMemory, getNativeMemoryManager().getUsedMemory());
+        assertEquals((byte) 2, store.get(1)[0]);
+    }
+
+    @Test
+    public void nativeMemoryReleased_whenStoreIsDestroyed() {
+        NearCacheRecordStore<Integer, byte[]> store = createStore(null);
+
+        for (int i = 0; i < DEFAULT_RECORD_COUNT; i++) {
+            store.put(i, null, newValue(i), null);
+        }
+        store.destroy();
+
+        assertEquals(0, getNativeMemoryManager().getUsedMemory());
+    }
+
+    @Test
+    public void evictionTriggered_withUsedNativeMemorySizeMaxSizePolicy() {
+        int maxSizeInMegaBytes = 1;
+        EvictionConfig evictionConfig = new EvictionConfig()
+                .setMaxSizePolicy(MaxSizePolicy.USED_NATIVE_MEMORY_SIZE)
+                .setSize(maxSizeInMegaBytes)
+                .setEvictionPolicy(EvictionPolicy.LRU);
+        NearCacheRecordStore<Integer, byte[]> store = createStore(evictionConfig);
+
+        for (int i = 0; i < DEFAULT_RECORD_COUNT; i++) {
+            store.doEviction(false);
+            store.put(i, null, newValue(i), null);
+        }
+
+        long maxUsedMemory = (maxSizeInMegaBytes << 20) + VALUE_SIZE;
+        assertTrue(store.size() < DEFAULT_RECORD_COUNT);
+        assertTrue(getNativeMemoryManager().getUsedMemory() <= maxUsedMemory);
+        assertEquals(store.size(), store.getNearCacheStats().getOwnedEntryCount());
+    }
+
+    @Test
+    public void evictionTriggered_withEntryCountMaxSizePolicy() {
+        int maxSize = DEFAULT_RECORD_COUNT / 2;
+        EvictionConfig evictionConfig = new EvictionConfig()
+                .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                .setSize(maxSize);
+        NearCacheRecordStore<Integer, byte[]> store = createStore(evictionConfig);
+
+        for (int i = 0; i < DEFAULT_RECORD_COUNT; i++) {
+            store.put(i, null, newValue(i), null);
+            store.doEviction(false);
+            assertTrue(maxSize >= store.size());
+        }
+        assertTrue(getNativeMemoryManager().getUsedMemory() <= (long) maxSize * (VALUE_SIZE + 64));
+    }
+
+    private NearCacheRecordStore<Integer, byte[]> createStore(EvictionConfig evictionConfig) {
+        NearCacheConfig nearCacheConfig = createNearCacheConfig(DEFAULT_NEAR_CACHE_NAME, NATIVE);
+        if (evictionConfig != null) {
+            nearCacheConfig.setEvictionConfig(evictionConfig);
+        }
+        return createNearCacheRecordStore(nearCacheConfig, NATIVE);
+    }
+
+    private static byte[] newValue(int seed) {
+        byte[] value = new byte[VALUE_SIZE];
+        Arrays.fill(value, (byte) seed);
+        return value;
+    }
+}
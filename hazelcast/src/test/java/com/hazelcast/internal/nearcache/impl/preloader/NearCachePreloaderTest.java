@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.nearcache.impl.preloader;
+
+import com.hazelcast.config.NearCachePreloaderConfig;
+import com.hazelcast.internal.adapter.DataStructureAdapter;
+import com.hazelcast.internal.monitor.impl.NearCacheStatsImpl;
+import com.hazelcast.internal.nearcache.NearCacheRecord;
+import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataContainer;
+import com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector;
+import com.hazelcast.internal.nearcache.impl.record.NearCacheDataRecord;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.hazelcast.internal.nearcache.NearCacheRecord.READ_PERMITTED;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.TIME_NOT_SET;
+import static com.hazelcast.internal.nio.IOUtil.delete;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NearCachePreloaderTest extends HazelcastTestSupport {
+
+    private static final UUID PARTITION_UUID = UUID.randomUUID();
+
+    private final SerializationService ss = new DefaultSerializationServiceBuilder().build();
+    private final Map<Integer, MetaDataContainer> metaData = new HashMap<>();
+    private final Set<Object> fetchedKeys = new HashSet<>();
+
+    private File directory;
+    private NearCacheStatsImpl stats;
+    private NearCachePreloader<Integer> preloader;
+    private StaleReadDetector staleReadDetector;
+    private DataStructureAdapter<Object, Object> adapter;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        directory = new File(randomName());
+        assertTrue(directory.mkdirs());
+        stats = new NearCacheStatsImpl();
+        preloader = new NearCachePreloader<>("nearCache", new NearCachePreloaderConfig(true, directory.getAbsolutePath()),
+                stats, ss);
+
+        staleReadDetector = mock(StaleReadDetector.class);
+        when(staleReadDetector.getMetaDataContainer(anyInt())).then(invocation -> metaData(invocation.getArgument(0)));
+
+        adapter = mock(DataStructureAdapter.class);
+        when(adapter.getAll(any())).then(invocation -> {
+            fetchedKeys.addAll(invocation.getArgument(0));
+            return null;
+        });
+    }
+
+    @After
+    public void tearDown() {
+        preloader.destroy();
+        delete(directory);
+    }
+
+    @Test
+    public void testStoreEntries_thenLoadUpToDateEntries() {
+        Map<Integer, NearCacheRecord> records = new LinkedHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            records.put(i, record("value-" + i, i % 2, 5));
+        }
+        metaData(0).setSequence(5);
+        metaData(1).setSequence(5);
+
+        preloader.storeEntries(records.entrySet().iterator(), staleReadDetector);
+        assertEquals(10, stats.getLastPersistenceKeyCount());
+
+        // an invalidation for partition 1 was received after the entries were stored
+        Map<Object, Object> loaded = new HashMap<>();
+        preloader.loadKeys(adapter, (key, value, partitionId, partitionUuid, partitionSequence) -> {
+            if (partitionId == 1 && partitionSequence == 5) {
+                return false;
+            }
+            assertEquals(PARTITION_UUID, partitionUuid);
+            loaded.put(ss.toObject(key), ss.toObject(value));
+            return true;
+        });
+
+        assertEquals(Map.of(0, "value-0", 2, "value-2", 4, "value-4", 6, "value-6", 8, "value-8"), loaded);
+        assertEquals(Set.of(1, 3, 5, 7, 9), fetchedKeys);
+    }
+
+    @Test
+    public void testStoreEntries_skipsUnreadableAndStaleRecords() {
+        NearCacheRecord reserved = record("reserved", 0, 5);
+        reserved.setReservationId(1);
+        NearCacheRecord stale = record("stale", 0, 5);
+        when(staleReadDetector.isStaleRead(2, stale)).thenReturn(true);
+
+        Map<Integer, NearCacheRecord> records = new LinkedHashMap<>();
+        records.put(0, record("value", 0, 5));
+        records.put(1, reserved);
+        records.put(2, stale);
+        preloader.storeEntries(records.entrySet().iterator(), staleReadDetector);
+
+        Set<Object> loadedKeys = new HashSet<>();
+        preloader.loadKeys(adapter,
+                (key, value, partitionId, partitionUuid, partitionSequence) -> loadedKeys.add(ss.toObject(key)));
+
+        assertEquals(Set.of(0), loadedKeys);
+        assertTrue(fetchedKeys.isEmpty());
+    }
+
+    @Test
+    public void testLoadEntries_withoutEntryLoader_fetchesAllKeys() {
+        Map<Integer, NearCacheRecord> records = new LinkedHashMap<>();
+        for (int i = 0; i < 250; i++) {
+            records.put(i, record(i, 0, 1));
+        }
+        preloader.storeEntries(records.entrySet().iterator(), staleReadDetector);
+
+        preloader.loadKeys(adapter);
+
+        assertEquals(records.keySet(), fetchedKeys);
+    }
+
+    @Test
+    public void testStoreKeys_thenLoadKeys() {
+        preloader.storeKeys(Set.of(1, 2, 3).iterator());
+
+        preloader.loadKeys(adapter, (key, value, partitionId, partitionUuid, partitionSequence) -> true);
+
+        assertEquals(Set.of(1, 2, 3), fetchedKeys);
+    }
+
+    @Test
+    public void testStoreEntries_withoutRecords_deletesFile() {
+        preloader.storeKeys(Set.of(1).iterator());
+        preloader.storeEntries(new HashMap<Integer, NearCacheRecord>().entrySet().iterator(), staleReadDetector);
+
+        assertFalse(new File(directory, "nearCache-nearCache.store").exists());
+    }
+
+    private MetaDataContainer metaData(int partitionId) {
+        return metaData.computeIfAbsent(partitionId, id -> {
+            MetaDataContainer container = new MetaDataContainer();
+            container.setUuid(PARTITION_UUID);
+            return container;
+        });
+    }
+
+    private NearCacheRecord record(Object value, int partitionId, long sequence) {
+        Data valueData = ss.toData(value);
+        NearCacheRecord record = new NearCacheDataRecord(valueData, System.currentTimeMillis(), TIME_NOT_SET);
+        record.setReservationId(READ_PERMITTED);
+        record.setPartitionId(partitionId);
+        record.setUuid(PARTITION_UUID);
+        record.setInvalidationSequence(sequence);
+        return record;
+    }
+}
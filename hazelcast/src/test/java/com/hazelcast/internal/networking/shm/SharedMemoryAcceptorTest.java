@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.shm;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.attribute.PosixFilePermissions.asFileAttribute;
+import static java.nio.file.attribute.PosixFilePermissions.fromString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SharedMemoryAcceptorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path baseDirectory;
+
+    @Before
+    public void setup() {
+        baseDirectory = temporaryFolder.getRoot().toPath();
+        assumeTrue("Requires POSIX file permissions", SharedMemoryAcceptor.isPosix(baseDirectory));
+    }
+
+    @Test
+    public void whenDirectoryCreated_thenOnlyOwnerHasAccess() throws IOException {
+        Path directory = baseDirectory.resolve("base").resolve("5701");
+
+        SharedMemoryAcceptor.createPrivateDirectory(directory);
+
+        assertEquals(fromString("rwx------"), Files.getPosixFilePermissions(directory));
+        assertEquals(fromString("rwx------"), Files.getPosixFilePermissions(directory.getParent()));
+        assertTrue(SharedMemoryAcceptor.isPrivateDirectory(directory));
+    }
+
+    @Test
+    public void whenPrivateDirectoryExists_thenAccepted() throws IOException {
+        Path directory = Files.createDirectory(baseDirectory.resolve("5701"), asFileAttribute(fromString("rwx------")));
+
+        SharedMemoryAcceptor.createPrivateDirectory(directory);
+
+        assertTrue(SharedMemoryAcceptor.isPrivateDirectory(directory));
+    }
+
+    @Test(expected = IOException.class)
+    public void whenExistingDirectoryWritableByOthers_thenFail() throws IOException {
+        Path directory = Files.createDirectory(baseDirectory.resolve("5701"));
+        Files.setPosixFilePermissions(directory, fromString("rwxrwxrwx"));
+
+        SharedMemoryAcceptor.createPrivateDirectory(directory);
+    }
+
+    @Test
+    public void whenDirectoryIsSymbolicLink_thenNotPrivate() throws IOException {
+        Path target = Files.createDirectory(baseDirectory.resolve("target"), asFileAttribute(fromString("rwx------")));
+        Path link = Files.createSymbolicLink(baseDirectory.resolve("5701"), target);
+
+        assertFalse(SharedMemoryAcceptor.isPrivateDirectory(link));
+    }
+
+    @Test
+    public void whenSamePortOnDifferentAddresses_thenDifferentEndpointDirectories() throws IOException {
+        InetAddress loopback = InetAddress.getByName("127.0.0.1");
+        InetAddress otherLoopback = InetAddress.getByName("127.0.0.2");
+
+        Path directory = SharedMemoryAcceptor.endpointDirectory(baseDirectory, new InetSocketAddress(loopback, 5701));
+        Path otherDirectory = SharedMemoryAcceptor.endpointDirectory(baseDirectory, new InetSocketAddress(otherLoopback, 5701));
+
+        assertNotEquals(directory, otherDirectory);
+        assertEquals(directory, SharedMemoryAcceptor.endpointDirectory(baseDirectory, new InetSocketAddress(loopback, 5701)));
+    }
+
+    @Test
+    public void whenIpv6Address_thenEndpointDirectoryIsDirectChild() throws IOException {
+        InetAddress address = InetAddress.getByName("::1");
+
+        Path directory = SharedMemoryAcceptor.endpointDirectory(baseDirectory, new InetSocketAddress(address, 5701));
+
+        assertEquals(baseDirectory, directory.getParent());
+        assertFalse(directory.getFileName().toString().contains(":"));
+    }
+
+    @Test
+    public void whenChannelFileCreated_thenOnlyOwnerHasAccess() throws IOException {
+        Path file = baseDirectory.resolve("channel" + SharedMemoryAcceptor.REQUEST_SUFFIX);
+
+        SharedMemoryChannel.createFile(file, 64);
+
+        assertEquals(fromString("rw-------"), Files.getPosixFilePermissions(file));
+    }
+}
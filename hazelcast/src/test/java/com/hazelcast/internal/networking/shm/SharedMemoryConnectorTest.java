@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.shm;
+
+import com.hazelcast.internal.networking.ChannelErrorHandler;
+import com.hazelcast.internal.networking.ChannelInitializer;
+import com.hazelcast.internal.util.concurrent.BackoffIdleStrategy;
+import com.hazelcast.internal.util.concurrent.IdleStrategy;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+import static com.hazelcast.test.HazelcastTestSupport.assertTrueEventually;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SharedMemoryConnectorTest {
+
+    private static final int RING_CAPACITY = 1024;
+    private static final long CONNECT_TIMEOUT_MILLIS = 2000;
+    private static final long ASSERT_TIMEOUT_SECONDS = 30;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final IdleStrategy idleStrategy = new BackoffIdleStrategy(0, 0, MICROSECONDS.toNanos(10), MILLISECONDS.toNanos(1));
+    private final ChannelInitializer noopInitializer = channel -> { };
+    private final CompletableFuture<Throwable> acceptedChannelError = new CompletableFuture<>();
+    private final ChannelErrorHandler errorHandler = (channel, error) -> acceptedChannelError.complete(error);
+    private final InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 5701);
+
+    private Path endpointDirectory;
+    private SharedMemoryAcceptor acceptor;
+
+    @Before
+    public void setup() {
+        Path baseDirectory = temporaryFolder.getRoot().toPath();
+        assumeTrue("Requires POSIX file permissions", SharedMemoryAcceptor.isPosix(baseDirectory));
+        endpointDirectory = SharedMemoryAcceptor.endpointDirectory(baseDirectory, address);
+    }
+
+    @After
+    public void tearDown() {
+        if (acceptor != null) {
+            acceptor.shutdown();
+        }
+    }
+
+    @Test
+    public void whenAcceptorAccepts_thenChannelConnected() throws IOException {
+        startAcceptor(SharedMemoryChannel::start);
+
+        SharedMemoryChannel channel = connect(CONNECT_TIMEOUT_MILLIS);
+
+        assertNotNull(channel);
+        channel.start();
+        channel.close();
+    }
+
+    @Test
+    public void whenNoAcceptor_thenNotConnected() throws IOException {
+        assertNull(connect(CONNECT_TIMEOUT_MILLIS));
+    }
+
+    @Test
+    public void whenConnectorTimesOutWhileAccepting_thenAcceptedChannelSeesClosedPeer() throws Exception {
+        CompletableFuture<SharedMemoryChannel> accepted = new CompletableFuture<>();
+        CountDownLatch connectorGaveUp = new CountDownLatch(1);
+        startAcceptor(channel -> {
+            accepted.complete(channel);
+            try {
+                connectorGaveUp.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            channel.start();
+        });
+
+        SharedMemoryChannel channel = connect(CONNECT_TIMEOUT_MILLIS);
+        connectorGaveUp.countDown();
+
+        assertNull(channel);
+        assertTrue("The acceptor didn't pick the request up before the timeout", accepted.isDone());
+        assertTrue(acceptedChannelError.get(ASSERT_TIMEOUT_SECONDS, SECONDS) instanceof EOFException);
+        assertTrueEventually(() -> assertFalse(hasRequestFiles()));
+        accepted.get().close();
+    }
+
+    private void startAcceptor(Consumer<SharedMemoryChannel> channelConsumer) throws IOException {
+        acceptor = new SharedMemoryAcceptor(endpointDirectory, noopInitializer, errorHandler, idleStrategy, address,
+                channelConsumer, "shm-test-", Logger.getLogger(SharedMemoryConnectorTest.class)).start();
+    }
+
+    private SharedMemoryChannel connect(long timeoutMillis) throws IOException {
+        return SharedMemoryConnector.connect(endpointDirectory, RING_CAPACITY, timeoutMillis, noopInitializer,
+                (channel, error) -> { }, idleStrategy, address, "shm-test-client");
+    }
+
+    private boolean hasRequestFiles() throws IOException {
+        try (DirectoryStream<Path> requests = Files.newDirectoryStream(endpointDirectory,
+                "*" + SharedMemoryAcceptor.REQUEST_SUFFIX)) {
+            return requests.iterator().hasNext();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.networking.shm;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SharedMemoryRingTest {
+
+    private static final int CAPACITY = 16;
+
+    private SharedMemoryRing producer;
+    private SharedMemoryRing consumer;
+
+    @Before
+    public void setup() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(SharedMemoryRing.sizeOf(CAPACITY));
+        // both sides map the same memory
+        producer = new SharedMemoryRing(buffer, 0, CAPACITY);
+        consumer = new SharedMemoryRing(buffer, 0, CAPACITY);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenCapacityNotPowerOfTwo_thenFail() {
+        new SharedMemoryRing(ByteBuffer.allocateDirect(SharedMemoryRing.sizeOf(CAPACITY)), 0, CAPACITY - 1);
+    }
+
+    @Test
+    public void whenEmpty_thenNothingRead() {
+        ByteBuffer dst = ByteBuffer.allocate(CAPACITY);
+
+        assertEquals(0, consumer.read(dst));
+        assertEquals(0, dst.position());
+    }
+
+    @Test
+    public void whenWritten_thenRead() {
+        assertEquals(3, producer.write(ByteBuffer.wrap(new byte[]{1, 2, 3})));
+        assertEquals(3, consumer.size());
+
+        ByteBuffer dst = ByteBuffer.allocate(CAPACITY);
+        assertEquals(3, consumer.read(dst));
+        assertArrayEquals(new byte[]{1, 2, 3}, bytes(dst));
+        assertEquals(0, consumer.size());
+    }
+
+    @Test
+    public void whenFull_thenWritePartially() {
+        ByteBuffer src = ByteBuffer.wrap(new byte[CAPACITY + 4]);
+
+        assertEquals(CAPACITY, producer.write(src));
+        assertEquals(4, src.remaining());
+        assertEquals(0, producer.write(src));
+
+        consumer.read(ByteBuffer.allocate(4));
+        assertEquals(4, producer.write(src));
+        assertFalse(src.hasRemaining());
+    }
+
+    @Test
+    public void whenWrappingAround_thenBytesInOrder() {
+        byte next = 0;
+        byte expected = 0;
+        for (int round = 0; round < 10; round++) {
+            ByteBuffer src = ByteBuffer.allocate(CAPACITY - 3);
+            while (src.hasRemaining()) {
+                src.put(next++);
+            }
+            src.flip();
+            assertEquals(CAPACITY - 3, producer.write(src));
+
+            ByteBuffer dst = ByteBuffer.allocate(CAPACITY);
+            assertEquals(CAPACITY - 3, consumer.read(dst));
+            for (byte b : bytes(dst)) {
+                assertEquals(expected++, b);
+            }
+        }
+    }
+
+    @Test
+    public void whenClosed_thenWrittenBytesStillReadable() {
+        producer.write(ByteBuffer.wrap(new byte[]{1, 2}));
+        producer.close();
+
+        assertTrue(consumer.isClosed());
+        assertEquals(2, consumer.read(ByteBuffer.allocate(CAPACITY)));
+        assertEquals(0, consumer.size());
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        buffer.flip();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createSerializationService;
+import static com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder.compact;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SpecializedCompactSerializerTest {
+
+    private final SerializationService serializationService = createSerializationService();
+
+    @Test
+    public void testRoundTrip() {
+        PrimitivesDTO object = PrimitivesDTO.create();
+
+        Data data = serializationService.toData(object);
+        assertTrue(data.isCompact());
+
+        PrimitivesDTO deserialized = serializationService.toObject(data);
+        assertEquals(object.toString(), deserialized.toString());
+        // serialize again after the schema is bound
+        assertEquals(object.toString(), serializationService.toObject(serializationService.toData(deserialized)).toString());
+    }
+
+    @Test
+    public void testReadWithDifferentSchemas() {
+        GenericRecord oldRecord = compact(PrimitivesDTO.class.getName())
+                .setInt32("i", 42)
+                .setNullableInt64("l", 7L)
+                .setString("s", "old")
+                .build();
+        Data oldData = serializationService.toData(oldRecord);
+        Data newData = serializationService.toData(PrimitivesDTO.create());
+
+        for (int i = 0; i < 2; i++) {
+            PrimitivesDTO fromOld = serializationService.toObject(oldData);
+            assertEquals(42, fromOld.i);
+            assertEquals(7L, fromOld.l);
+            assertEquals("old", fromOld.s);
+            assertEquals(0, fromOld.b);
+            assertEquals(0, fromOld.inherited);
+
+            PrimitivesDTO fromNew = serializationService.toObject(newData);
+            assertEquals(PrimitivesDTO.create().toString(), fromNew.toString());
+        }
+    }
+
+    @Test
+    public void testReadNullValueIntoPrimitiveField() {
+        GenericRecord record = compact(PrimitivesDTO.class.getName())
+                .setNullableInt64("l", null)
+                .build();
+        Data data = serializationService.toData(record);
+
+        assertThrows(HazelcastSerializationException.class, () -> serializationService.toObject(data));
+    }
+
+    public static class BaseDTO {
+        int inherited;
+    }
+
+    public static class PrimitivesDTO extends BaseDTO {
+        boolean bool;
+        boolean bool2;
+        byte b;
+        char c;
+        short sh;
+        int i;
+        long l;
+        float f;
+        double d;
+        String s;
+
+        static PrimitivesDTO create() {
+            PrimitivesDTO object = new PrimitivesDTO();
+            object.inherited = 13;
+            object.bool = true;
+            object.b = -3;
+            object.c = 'x';
+            object.sh = 1234;
+            object.i = Integer.MIN_VALUE;
+            object.l = Long.MAX_VALUE;
+            object.f = 1.5f;
+            object.d = -2.25d;
+            object.s = "value";
+            return object;
+        }
+
+        @Override
+        public String toString() {
+            return "PrimitivesDTO{inherited=" + inherited + ", bool=" + bool + ", bool2=" + bool2 + ", b=" + b
+                    + ", c=" + c + ", sh=" + sh + ", i=" + i + ", l=" + l + ", f=" + f + ", d=" + d + ", s=" + s + '}';
+        }
+    }
+}
@@ -31,6 +31,8 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Supplier;
@@ -38,6 +40,10 @@ import java.util.function.Supplier;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -90,6 +96,108 @@ public class PacketEncoderTest extends HazelcastTestSupport {
         assertEquals(DIRTY, result);
     }
 
+    @Test
+    public void whenGathering_thenLargePayloadNotCopied() {
+        Packet small1 = new Packet(serializationService.toBytes("foo"));
+        Packet large = new Packet(serializationService.toBytes(new byte[2000]));
+        Packet small2 = new Packet(serializationService.toBytes("bar"));
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(small1);
+        src.queue.add(large);
+        src.queue.add(small2);
+
+        PacketEncoder gatheringEncoder = newGatheringEncoder(src, 1000);
+        HandlerStatus result = gatheringEncoder.onWrite();
+
+        assertEquals(CLEAN, result);
+        assertEquals(3, gatheringEncoder.gatheredCount());
+        ByteBuffer payload = gatheringEncoder.gatheredBuffers()[1];
+        assertSame(large.toByteArray(), payload.array());
+
+        ByteBuffer written = drainGathered(gatheringEncoder);
+        PacketIOHelper reader = new PacketIOHelper();
+        assertEquals(small1, reader.readFrom(written));
+        assertEquals(large, reader.readFrom(written));
+        assertEquals(small2, reader.readFrom(written));
+    }
+
+    @Test
+    public void whenGathering_andBuffersNotWritten_thenDirty() {
+        Packet large1 = new Packet(serializationService.toBytes(new byte[2000]));
+        Packet large2 = new Packet(serializationService.toBytes(new byte[3000]));
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(large1);
+
+        PacketEncoder gatheringEncoder = newGatheringEncoder(src, 1000);
+        assertEquals(CLEAN, gatheringEncoder.onWrite());
+
+        // nothing got written to the socket yet, so the next packet has to wait
+        src.queue.add(large2);
+        assertEquals(DIRTY, gatheringEncoder.onWrite());
+        assertEquals(1, src.queue.size());
+
+        ByteBuffer written = drainGathered(gatheringEncoder);
+        assertEquals(CLEAN, gatheringEncoder.onWrite());
+        assertNull(src.queue.poll());
+
+        PacketIOHelper reader = new PacketIOHelper();
+        assertEquals(large1, reader.readFrom(written));
+        written = drainGathered(gatheringEncoder);
+        assertEquals(large2, reader.readFrom(written));
+    }
+
+    @Test
+    public void whenGathering_andManyLargePackets_thenRemainderCopied() {
+        PacketSupplier src = new PacketSupplier();
+        List<Packet> packets = new ArrayList<>();
+        for (int k = 0; k < PacketEncoder.MAX_GATHERED_BUFFERS; k++) {
+            Packet packet = new Packet(serializationService.toBytes(new byte[200]));
+            packets.add(packet);
+            src.queue.add(packet);
+        }
+
+        PacketEncoder gatheringEncoder = newGatheringEncoder(src, 100_000);
+        assertEquals(CLEAN, gatheringEncoder.onWrite());
+        assertEquals(PacketEncoder.MAX_GATHERED_BUFFERS - 1, gatheringEncoder.gatheredCount());
+
+        ByteBuffer written = drainGathered(gatheringEncoder);
+        PacketIOHelper reader = new PacketIOHelper();
+        for (Packet packet : packets) {
+            assertEquals(packet, reader.readFrom(written));
+        }
+    }
+
+    @Test
+    public void setGatheringEnabled_whenNoThreshold_thenIgnored() {
+        PacketEncoder gatheringEncoder = new PacketEncoder(100);
+        assertFalse(gatheringEncoder.isGatheringEnabled());
+        gatheringEncoder.setGatheringEnabled(true);
+        assertTrue(gatheringEncoder.isGatheringEnabled());
+
+        encoder.setGatheringEnabled(true);
+        assertFalse(encoder.isGatheringEnabled());
+    }
+
+    private PacketEncoder newGatheringEncoder(PacketSupplier src, int dstSize) {
+        PacketEncoder gatheringEncoder = new PacketEncoder(100);
+        ByteBuffer dst = ByteBuffer.allocate(dstSize);
+        dst.flip();
+        gatheringEncoder.dst(dst);
+        gatheringEncoder.src(src);
+        gatheringEncoder.setGatheringEnabled(true);
+        return gatheringEncoder;
+    }
+
+    // simulates a gathering write that writes everything
+    private static ByteBuffer drainGathered(PacketEncoder encoder) {
+        ByteBuffer written = ByteBuffer.allocate(100_000);
+        for (int k = 0; k < encoder.gatheredCount(); k++) {
+            written.put(encoder.gatheredBuffers()[k]);
+        }
+        written.flip();
+        return written;
+    }
+
     static class PacketSupplier implements Supplier<Packet> {
         Queue<Packet> queue = new LinkedBlockingQueue<>();
 
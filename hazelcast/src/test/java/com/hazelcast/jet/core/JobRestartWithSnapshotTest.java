@@ -32,6 +32,7 @@ import com.hazelcast.jet.datamodel.KeyedWindowResult;
 import com.hazelcast.jet.impl.JobExecutionRecord;
 import com.hazelcast.jet.impl.JobRepository;
 import com.hazelcast.jet.impl.execution.init.JetInitDataSerializerHook;
+import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.CompressedSnapshotChunk;
 import com.hazelcast.map.IMap;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
@@ -59,13 +60,18 @@ import static com.hazelcast.jet.config.ProcessingGuarantee.EXACTLY_ONCE;
 import static com.hazelcast.jet.core.BroadcastKey.broadcastKey;
 import static com.hazelcast.jet.core.Edge.between;
 import static com.hazelcast.jet.core.EventTimePolicy.eventTimePolicy;
+import static com.hazelcast.jet.core.JobAssertions.assertThat;
+import static com.hazelcast.jet.core.JobStatus.RUNNING;
+import static com.hazelcast.jet.core.JobStatus.SUSPENDED;
 import static com.hazelcast.jet.core.TestUtil.throttle;
 import static com.hazelcast.jet.core.WatermarkPolicy.limitingLag;
 import static com.hazelcast.jet.core.processor.Processors.combineToSlidingWindowP;
 import static com.hazelcast.jet.core.processor.Processors.insertWatermarksP;
 import static com.hazelcast.jet.core.processor.Processors.mapP;
 import static com.hazelcast.jet.core.processor.SinkProcessors.writeListP;
+import static com.hazelcast.jet.impl.JobRepository.snapshotDataMapName;
 import static com.hazelcast.jet.impl.util.Util.arrayIndexOf;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_SNAPSHOT_COMPRESSION_ENABLED;
 import static com.hazelcast.test.PacketFiltersUtil.delayOperationsFrom;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
@@ -317,6 +323,47 @@ public class JobRestartWithSnapshotTest extends JetTestSupport {
         assertEquals(expected, new HashSet<>(sinkList));
     }
 
+    @Test
+    public void when_snapshotCompressed_then_jobRestoresFromIt() {
+        Config config = smallInstanceConfig();
+        config.setClusterName(randomName());
+        config.setProperty(JET_SNAPSHOT_COMPRESSION_ENABLED.getName(), "true");
+        HazelcastInstance instance = createHazelcastInstance(config);
+
+        DAG dag = new DAG();
+        Vertex source = dag.newVertex("source", CompressibleStateP::new).localParallelism(1);
+        Vertex sink = dag.newVertex("sink", writeListP("sink")).localParallelism(1);
+        dag.edge(between(source, sink));
+
+        JobConfig jobConfig = new JobConfig();
+        jobConfig.setProcessingGuarantee(EXACTLY_ONCE);
+        jobConfig.setSnapshotIntervalMillis(3600_000);
+        Job job = instance.getJet().newJob(dag, jobConfig);
+        assertThat(job).eventuallyHasStatus(RUNNING);
+
+        // When - suspending takes a terminal snapshot
+        job.suspend();
+        assertThat(job).eventuallyHasStatus(SUSPENDED);
+
+        // Then - the snapshot chunks are compressed
+        JobExecutionRecord record = new JobRepository(instance).getJobExecutionRecord(job.getId());
+        IMap<Object, Object> snapshotMap = instance.getMap(snapshotDataMapName(job.getId(), record.dataMapIndex()));
+        assertTrue("no compressed chunk in " + snapshotMap.values(),
+                snapshotMap.values().stream().anyMatch(CompressedSnapshotChunk.class::isInstance));
+
+        // When - resuming restores the state through ExplodeSnapshotP
+        job.resume();
+        job.join();
+
+        // Then
+        List<Entry<Integer, String>> sinkList = instance.getList("sink");
+        Set<Entry<Integer, String>> expected = IntStream.range(0, CompressibleStateP.STATE_SIZE)
+                .mapToObj(i -> entry(i, CompressibleStateP.value(i)))
+                .collect(Collectors.toSet());
+        assertEquals(CompressibleStateP.STATE_SIZE, sinkList.size());
+        assertEquals(expected, new HashSet<>(sinkList));
+    }
+
     /**
      * A source, that will generate integer sequences from 0..ELEMENTS_IN_PARTITION,
      * one sequence for each partition.
@@ -471,4 +518,61 @@ public class JobRestartWithSnapshotTest extends JetTestSupport {
             }
         }
     }
+
+    /**
+     * A streaming source with a large, well-compressible state. It emits the
+     * state only after it was restored from a snapshot and then completes.
+     */
+    private static final class CompressibleStateP extends AbstractProcessor {
+        static final int STATE_SIZE = 1000;
+
+        private final Map<Integer, String> state = new HashMap<>();
+        private Traverser<Entry<Integer, String>> snapshotTraverser;
+        private Traverser<Entry<Integer, String>> outputTraverser;
+        private boolean restored;
+
+        static String value(int i) {
+            return "value-" + i + "-" + "x".repeat(100);
+        }
+
+        @Override
+        public boolean complete() {
+            if (!restored) {
+                initState();
+                return false;
+            }
+            if (outputTraverser == null) {
+                outputTraverser = Traversers.traverseIterable(state.entrySet())
+                                            .map(e -> entry(e.getKey(), e.getValue()));
+            }
+            return emitFromTraverser(outputTraverser);
+        }
+
+        @Override
+        public boolean saveToSnapshot() {
+            initState();
+            if (snapshotTraverser == null) {
+                snapshotTraverser = Traversers.traverseIterable(state.entrySet())
+                                              .onFirstNull(() -> snapshotTraverser = null);
+            }
+            return emitFromTraverserToSnapshot(snapshotTraverser);
+        }
+
+        @Override
+        protected void restoreFromSnapshot(@Nonnull Object key, @Nonnull Object value) {
+            state.put((Integer) key, (String) value);
+        }
+
+        @Override
+        public boolean finishSnapshotRestore() {
+            restored = true;
+            return true;
+        }
+
+        private void initState() {
+            if (!restored && state.isEmpty()) {
+                IntStream.range(0, STATE_SIZE).forEach(i -> state.put(i, value(i)));
+            }
+        }
+    }
 }
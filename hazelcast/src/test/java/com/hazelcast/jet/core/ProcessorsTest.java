@@ -19,6 +19,7 @@ package com.hazelcast.jet.core;
 import com.hazelcast.function.FunctionEx;
 import com.hazelcast.jet.SimpleTestInClusterSupport;
 import com.hazelcast.jet.Util;
+import com.hazelcast.jet.accumulator.DoubleAccumulator;
 import com.hazelcast.jet.aggregate.AggregateOperation;
 import com.hazelcast.jet.aggregate.AggregateOperation1;
 import com.hazelcast.jet.core.processor.Processors;
@@ -39,6 +40,8 @@ import java.util.stream.Stream;
 import static com.hazelcast.jet.Traversers.traverseItems;
 import static com.hazelcast.jet.Traversers.traverseIterable;
 import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.aggregate.AggregateOperations.counting;
+import static com.hazelcast.jet.aggregate.AggregateOperations.summingDouble;
 import static com.hazelcast.jet.core.processor.Processors.aggregateByKeyP;
 import static com.hazelcast.jet.core.processor.Processors.combineByKeyP;
 import static com.hazelcast.jet.core.processor.Processors.combineP;
@@ -250,6 +253,50 @@ public class ProcessorsTest extends SimpleTestInClusterSupport {
                 ));
     }
 
+    @Test
+    public void aggregateByKey_countingWithLongKeys() {
+        FunctionEx<Long, Long> keyFn = FunctionEx.identity();
+        TestSupport
+                .verifyProcessor(aggregateByKeyP(singletonList(keyFn), counting(), Util::entry))
+                .disableSnapshots()
+                .outputChecker(TestSupport.SAME_ITEMS_ANY_ORDER)
+                .input(asList(1L, 0L, 1L, Long.MIN_VALUE, 1L))
+                .expectOutput(asList(
+                        entry(0L, 1L),
+                        entry(1L, 3L),
+                        entry(Long.MIN_VALUE, 1L)
+                ));
+    }
+
+    @Test
+    public void accumulateByKey_summingDoubleWithIntegerKeys() {
+        FunctionEx<Integer, Integer> keyFn = i -> i % 2;
+        TestSupport
+                .verifyProcessor(Processors.accumulateByKeyP(singletonList(keyFn), summingDouble((Integer i) -> i / 2.0)))
+                .disableSnapshots()
+                .outputChecker(TestSupport.SAME_ITEMS_ANY_ORDER)
+                .input(asList(1, 2, 3, 4))
+                .expectOutput(asList(
+                        entry(0, new DoubleAccumulator(3.0)),
+                        entry(1, new DoubleAccumulator(2.0))
+                ));
+    }
+
+    @Test
+    public void aggregateByKey_countingWithMixedKeys() {
+        FunctionEx<Object, Object> keyFn = FunctionEx.identity();
+        TestSupport
+                .verifyProcessor(aggregateByKeyP(singletonList(keyFn), counting(), Util::entry))
+                .disableSnapshots()
+                .outputChecker(TestSupport.SAME_ITEMS_ANY_ORDER)
+                .input(asList(1L, 1L, 1, "a", 1L))
+                .expectOutput(asList(
+                        entry(1L, 3L),
+                        entry(1, 1L),
+                        entry("a", 1L)
+                ));
+    }
+
     @Test
     public void combineByKey() {
         TestSupport
@@ -17,10 +17,15 @@
 package com.hazelcast.jet.impl.execution;
 
 import com.hazelcast.cluster.Address;
+import com.hazelcast.internal.nio.BufferObjectDataInput;
 import com.hazelcast.internal.nio.BufferObjectDataOutput;
+import com.hazelcast.internal.nio.Connection;
+import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.jet.impl.util.ProgressState;
 import com.hazelcast.logging.LoggingService;
+import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -31,11 +36,22 @@ import org.junit.runner.RunWith;
 
 import java.io.IOException;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Queue;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
 
+import static com.hazelcast.jet.impl.Networking.PACKET_HEADER_SIZE;
 import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @RunWith(HazelcastSerialClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -50,9 +66,7 @@ public class ReceiverTaskletTest {
     public void before() {
         collector = new MockOutboundCollector(2);
         serService = new DefaultSerializationServiceBuilder().build();
-        t = new ReceiverTasklet(collector, serService, 3, 100, mock(LoggingService.class),
-                new Address(), 0, "", null, "");
-        t.initIncomingQueue(queue);
+        t = createTasklet(false);
     }
 
     @Test
@@ -62,6 +76,154 @@ public class ReceiverTaskletTest {
         assertEquals(asList(1, 2), collector.getBuffer());
     }
 
+    @Test
+    public void when_compressionEnabledAndReceiveCompressedPacket_then_emitObjects() throws IOException {
+        t = createTasklet(true);
+        pushCompressedObjects(true, "a", "b", "a");
+        t.call();
+        assertEquals(asList("a", "b", "a"), collector.getBuffer());
+    }
+
+    @Test
+    public void when_compressionEnabledAndReceiveUncompressedPacket_then_emitObjects() throws IOException {
+        t = createTasklet(true);
+        pushCompressedObjects(false, 1, 2);
+        t.call();
+        assertEquals(asList(1, 2), collector.getBuffer());
+    }
+
+    @Test
+    public void when_senderCompressesPackets_then_receiverEmitsObjects() throws IOException {
+        List<Object> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add("item-" + i % 10);
+        }
+
+        List<byte[]> packets = sendAll(items, 1 << 10);
+
+        assertTrue(uncompressedLengthField(packets.get(0)) > 0);
+        assertEquals(items, receiveAll(packets, items.size()));
+    }
+
+    @Test
+    public void when_packetDoesNotCompress_then_senderSendsItUncompressed() throws IOException {
+        Random random = new Random(42);
+        List<Object> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            byte[] bytes = new byte[64];
+            random.nextBytes(bytes);
+            items.add(bytes);
+        }
+
+        List<byte[]> packets = sendAll(items, 1 << 10);
+
+        assertEquals(-1, uncompressedLengthField(packets.get(0)));
+        List<Object> received = receiveAll(packets, items.size());
+        assertEquals(items.size(), received.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertArrayEquals((byte[]) items.get(i), (byte[]) received.get(i));
+        }
+    }
+
+    @Test
+    public void when_compressionEnabledAndReceiveWindowLarge_then_packetsExceedSizeLimit() throws IOException {
+        int packetSizeLimit = 100;
+        List<Object> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add("item-" + i % 10);
+        }
+
+        List<byte[]> packets = sendAll(items, packetSizeLimit);
+
+        assertTrue(uncompressedLengthField(packets.get(0)) > packetSizeLimit);
+        assertEquals(items, receiveAll(packets, items.size()));
+    }
+
+    /**
+     * Sends the items through a compressing {@link SenderTasklet} with a
+     * large receive window and returns the sent packets.
+     */
+    private List<byte[]> sendAll(List<Object> items, int packetSizeLimit) {
+        Queue<Object> pending = new ArrayDeque<>(items);
+        InboundEdgeStream inboundEdgeStream = mock(InboundEdgeStream.class);
+        when(inboundEdgeStream.drainTo(any())).thenAnswer(invocation -> {
+            Consumer<Object> dest = invocation.getArgument(0);
+            pending.forEach(dest);
+            pending.clear();
+            return ProgressState.DONE;
+        });
+        NodeEngine nodeEngine = mock(NodeEngine.class);
+        when(nodeEngine.getSerializationService()).thenReturn(serService);
+        List<byte[]> packets = new ArrayList<>();
+        Connection connection = mock(Connection.class);
+        when(connection.write(any())).thenAnswer(invocation -> {
+            packets.add(((Packet) invocation.getArgument(0)).toByteArray());
+            return true;
+        });
+
+        SenderTasklet sender = new SenderTasklet(inboundEdgeStream, nodeEngine, new Address(), connection,
+                0, packetSizeLimit, true, 0, "", 0, serService);
+        sender.setSendSeqLimitCompressed(Integer.MAX_VALUE / 2);
+        for (int i = 0; i < 100 && !sender.call().isDone(); i++) {
+            // keep sending until the DONE_ITEM is sent
+        }
+        sender.close();
+        return packets;
+    }
+
+    private List<Object> receiveAll(List<byte[]> packets, int itemCount) {
+        collector = new MockOutboundCollector(itemCount);
+        t = createTasklet(true);
+        queue.addAll(packets);
+        for (int i = 0; i < 100 && collector.getBuffer().size() < itemCount; i++) {
+            t.call();
+        }
+        return collector.getBuffer();
+    }
+
+    private int uncompressedLengthField(byte[] packet) throws IOException {
+        BufferObjectDataInput in = serService.createObjectDataInput(packet);
+        in.position(PACKET_HEADER_SIZE);
+        return in.readInt();
+    }
+
+    private ReceiverTasklet createTasklet(boolean compressionEnabled) {
+        ReceiverTasklet tasklet = new ReceiverTasklet(collector, serService, 3, 100, compressionEnabled,
+                mock(LoggingService.class), new Address(), 0, "", null, "");
+        tasklet.initIncomingQueue(queue);
+        return tasklet;
+    }
+
+    private void pushCompressedObjects(boolean compress, Object... objs) throws IOException {
+        final BufferObjectDataOutput body = serService.createObjectDataOutput();
+        body.writeInt(objs.length);
+        for (Object obj : objs) {
+            body.writeObject(obj);
+            body.writeInt(Math.abs(obj.hashCode())); // partition id
+        }
+        byte[] bodyBytes = body.toByteArray();
+
+        final BufferObjectDataOutput out = serService.createObjectDataOutput();
+        // packet header
+        out.writeLong(0);
+        out.writeInt(0);
+        out.writeInt(0);
+        if (compress) {
+            Deflater deflater = new Deflater();
+            deflater.setInput(bodyBytes);
+            deflater.finish();
+            byte[] compressed = new byte[bodyBytes.length + 64];
+            int compressedLength = deflater.deflate(compressed);
+            deflater.end();
+            out.writeInt(bodyBytes.length);
+            out.write(Arrays.copyOf(compressed, compressedLength));
+        } else {
+            out.writeInt(-1);
+            out.write(bodyBytes);
+        }
+        queue.add(out.toByteArray());
+    }
+
     private void pushObjects(Object... objs) throws IOException {
         final BufferObjectDataOutput out = serService.createObjectDataOutput();
         // packet header
@@ -16,6 +16,7 @@
 
 package com.hazelcast.jet.impl.execution;
 
+import com.hazelcast.config.Config;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.internal.metrics.ProbeLevel;
 import com.hazelcast.internal.metrics.impl.MetricsRegistryImpl;
@@ -27,6 +28,7 @@ import com.hazelcast.logging.Logger;
 import com.hazelcast.logging.LoggingService;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.executionservice.ExecutionService;
+import com.hazelcast.spi.properties.ClusterProperty;
 import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
@@ -38,11 +40,15 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -85,7 +91,12 @@ public class TaskletExecutionServiceTest extends JetTestSupport {
     @Before
     public void before() {
         executor = Executors.newCachedThreadPool();
+        tes = newTaskletExecutionService(new HazelcastProperties(new Properties()));
+    }
+
+    private TaskletExecutionService newTaskletExecutionService(HazelcastProperties properties) {
         NodeEngine neMock = mock(NodeEngine.class);
+        when(neMock.getConfig()).thenReturn(new Config());
 
         HazelcastInstance hzMock = mock(HazelcastInstance.class);
         when(neMock.getHazelcastInstance()).thenReturn(hzMock);
@@ -104,8 +115,7 @@ public class TaskletExecutionServiceTest extends JetTestSupport {
         MetricsRegistryImpl metricsRegistry = new MetricsRegistryImpl(mock(ILogger.class), ProbeLevel.INFO);
         when(neMock.getMetricsRegistry()).thenReturn(metricsRegistry);
 
-        HazelcastProperties properties = new HazelcastProperties(new Properties());
-        tes = new TaskletExecutionService(neMock, THREAD_COUNT, properties);
+        return new TaskletExecutionService(neMock, THREAD_COUNT, properties);
     }
 
     @After
@@ -241,6 +251,35 @@ public class TaskletExecutionServiceTest extends JetTestSupport {
         tasklets.forEach(MockTasklet::assertDone);
     }
 
+    @Test
+    public void when_workStealingEnabledAndWorkerHasTwoBusyTasklets_then_oneMovesToIdleWorker() {
+        Properties props = new Properties();
+        props.setProperty(ClusterProperty.JET_COOPERATIVE_WORK_STEALING_ENABLED.getName(), "true");
+        TaskletExecutionService stealingTes = newTaskletExecutionService(new HazelcastProperties(props));
+        try {
+            // Given
+            // tasklets are assigned round-robin: the first worker gets both busy tasklets
+            ThreadRecordingTasklet busy1 = new ThreadRecordingTasklet(200_000);
+            ThreadRecordingTasklet busy2 = new ThreadRecordingTasklet(200_000);
+            List<Tasklet> tasklets = new ArrayList<>();
+            tasklets.add(busy1);
+            for (int i = 1; i < THREAD_COUNT; i++) {
+                tasklets.add(new MockTasklet().callsBeforeDone(0));
+            }
+            tasklets.add(busy2);
+
+            // When
+            stealingTes.beginExecute(tasklets, cancellationFuture, classLoader).join();
+
+            // Then
+            Set<Thread> threads = new HashSet<>(busy1.threads);
+            threads.addAll(busy2.threads);
+            assertTrue("Busy tasklets were not spread over workers", threads.size() > 1);
+        } finally {
+            stealingTes.shutdown();
+        }
+    }
+
     @Test
     public void when_nonBlockingTaskletIsCancelled_then_completesEarly() {
         // Given
@@ -491,6 +530,23 @@ public class TaskletExecutionServiceTest extends JetTestSupport {
         }
     }
 
+    private static class ThreadRecordingTasklet implements Tasklet {
+
+        private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        private int callsBeforeDone;
+
+        ThreadRecordingTasklet(int callsBeforeDone) {
+            this.callsBeforeDone = callsBeforeDone;
+        }
+
+        @Nonnull
+        @Override
+        public ProgressState call() {
+            threads.add(Thread.currentThread());
+            return callsBeforeDone-- == 0 ? DONE : MADE_PROGRESS;
+        }
+    }
+
     private static class TaskletAssertingThreadLocal implements Tasklet {
 
         private static final ThreadLocal<Integer> threadLocal = ThreadLocal.withInitial(() -> 0);
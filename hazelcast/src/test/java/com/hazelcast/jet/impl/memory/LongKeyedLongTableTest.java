@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class LongKeyedLongTableTest {
+
+    private final LongKeyedLongTable table = new LongKeyedLongTable();
+
+    @Test
+    public void when_newKey_then_insertedWithZeroValue() {
+        int slot = table.slotOf(42);
+
+        assertEquals(0, table.value(slot));
+        assertEquals(1, table.size());
+        assertTrue(table.containsKey(42));
+        assertFalse(table.containsKey(43));
+    }
+
+    @Test
+    public void when_existingKey_then_sameSlot() {
+        int slot = table.slotOf(42);
+        table.setValue(slot, 5);
+
+        assertEquals(slot, table.slotOf(42));
+        assertEquals(5, table.value(table.slotOf(42)));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    public void when_zeroKeyAndZeroValue_then_supported() {
+        assertFalse(table.containsKey(0));
+        table.setValue(table.slotOf(0), -1);
+        table.setValue(table.slotOf(-1), 0);
+
+        assertTrue(table.containsKey(0));
+        assertEquals(-1, table.value(table.slotOf(0)));
+        assertEquals(0, table.value(table.slotOf(-1)));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    public void when_manyKeys_then_resizedAndCursorVisitsAll() {
+        Map<Long, Long> expected = new HashMap<>();
+        for (long key = -1000; key < 1000; key++) {
+            table.setValue(table.slotOf(key * 31), key);
+            expected.put(key * 31, key);
+        }
+
+        Map<Long, Long> actual = new HashMap<>();
+        for (LongKeyedLongTable.Cursor cursor = table.cursor(); cursor.advance(); ) {
+            assertThat(actual.put(cursor.key(), cursor.value())).isNull();
+        }
+        assertEquals(expected, actual);
+        assertEquals(expected.size(), table.size());
+    }
+
+    @Test
+    public void when_cleared_then_empty() {
+        table.slotOf(0);
+        table.slotOf(1);
+        table.clear();
+
+        assertEquals(0, table.size());
+        assertFalse(table.containsKey(0));
+        assertFalse(table.containsKey(1));
+        assertFalse(table.cursor().advance());
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.jet.SimpleTestInClusterSupport;
+import com.hazelcast.jet.Util;
+import com.hazelcast.jet.accumulator.LongAccumulator;
+import com.hazelcast.jet.aggregate.AggregateOperation;
+import com.hazelcast.jet.aggregate.AggregateOperation1;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.core.test.TestProcessorSupplierContext;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.test.TestSources;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.hazelcast.function.Functions.wholeItem;
+import static com.hazelcast.internal.nio.IOUtil.delete;
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.aggregate.AggregateOperations.counting;
+import static com.hazelcast.jet.core.processor.Processors.aggregateByKeyP;
+import static com.hazelcast.jet.core.processor.Processors.sortP;
+import static com.hazelcast.jet.impl.processor.SpillingProcessorSupplier.spillingSupplier;
+import static com.hazelcast.jet.pipeline.test.AssertionSinks.assertAnyOrder;
+import static com.hazelcast.jet.pipeline.test.AssertionSinks.assertOrdered;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_SPILL_DIRECTORY;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SpillToDiskTest extends SimpleTestInClusterSupport {
+    private static final int MAX_PROCESSOR_ACCUMULATED_RECORDS = 10;
+    private static final int ITEM_COUNT = 1_000;
+
+    private static Path spillDirectory;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        spillDirectory = Files.createTempDirectory("jet-spill-test");
+        Config config = smallInstanceConfig();
+        config.setProperty(JET_SPILL_DIRECTORY.getName(), spillDirectory.toString());
+        config.getJetConfig()
+                .setCooperativeThreadCount(1)
+                .setMaxProcessorAccumulatedRecords(MAX_PROCESSOR_ACCUMULATED_RECORDS);
+
+        initialize(1, config);
+    }
+
+    @AfterClass
+    public static void deleteSpillDirectory() {
+        delete(spillDirectory);
+    }
+
+    @Test
+    public void when_sortExceedsLimit_then_spillsAndProducesSortedOutput() throws IOException {
+        List<Integer> items = IntStream.range(0, ITEM_COUNT).boxed().collect(toList());
+        List<Integer> shuffled = new ArrayList<>(items);
+        Collections.shuffle(shuffled, new Random(42));
+
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(TestSources.items(shuffled))
+                .sort()
+                .writeTo(assertOrdered(items));
+
+        instance().getJet().newJob(pipeline).join();
+        assertNoSpillFilesLeft();
+    }
+
+    @Test
+    public void when_groupingExceedsLimit_then_spillsAndCombinesAccumulators() throws IOException {
+        // every key occurs three times, so the accumulators of most keys end up in several runs
+        List<Integer> items = IntStream.range(0, 3 * ITEM_COUNT).map(i -> i % ITEM_COUNT).boxed().collect(toList());
+        List<Entry<Integer, Long>> expected = IntStream.range(0, ITEM_COUNT)
+                .mapToObj(i -> entry(i, 3L)).collect(toList());
+
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(TestSources.items(items))
+                .groupingKey(wholeItem())
+                .aggregate(counting())
+                .writeTo(assertAnyOrder(expected));
+
+        instance().getJet().newJob(pipeline).join();
+        assertNoSpillFilesLeft();
+    }
+
+    @Test
+    public void when_groupingExceedsLimitWithCollidingKeyHashes_then_combinesOnlyEqualKeys() throws IOException {
+        // only three distinct hash codes, so the merged runs contain long streaks of different keys with equal hashes
+        List<CollidingKey> items = IntStream.range(0, 3 * ITEM_COUNT)
+                .mapToObj(i -> new CollidingKey(i % ITEM_COUNT)).collect(toList());
+        List<Entry<CollidingKey, Long>> expected = IntStream.range(0, ITEM_COUNT)
+                .mapToObj(i -> entry(new CollidingKey(i), 3L)).collect(toList());
+
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(TestSources.items(items))
+                .groupingKey(wholeItem())
+                .aggregate(counting())
+                .writeTo(assertAnyOrder(expected));
+
+        instance().getJet().newJob(pipeline).join();
+        assertNoSpillFilesLeft();
+    }
+
+    @Test
+    public void when_spillDirectoryConfigured_then_spillingProcessorsAreNotCooperative() throws Exception {
+        ProcessorSupplier supplier = spillingSupplier(sortP(null));
+        supplier.init(new TestProcessorSupplierContext().setHazelcastInstance(instance()));
+
+        assertThat(supplier.get(2)).noneMatch(Processor::isCooperative);
+    }
+
+    @Test
+    public void when_aggregateOperationCannotCombine_then_groupingProcessorStaysCooperative() throws Exception {
+        AggregateOperation1<Object, LongAccumulator, Long> countingWithoutCombine = AggregateOperation
+                .withCreate(LongAccumulator::new)
+                .andAccumulate((LongAccumulator acc, Object item) -> acc.add(1))
+                .andExportFinish(LongAccumulator::get);
+        ProcessorSupplier supplier = spillingSupplier(
+                aggregateByKeyP(List.of(wholeItem()), countingWithoutCombine, Util::entry));
+        supplier.init(new TestProcessorSupplierContext().setHazelcastInstance(instance()));
+
+        assertThat(supplier.get(1)).allMatch(Processor::isCooperative);
+    }
+
+    @Test
+    public void when_processorNotCreatedBySpillingSupplier_then_staysCooperative() {
+        assertThat(sortP(null).get().isCooperative()).isTrue();
+    }
+
+    private static void assertNoSpillFilesLeft() throws IOException {
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private record CollidingKey(int id) implements Serializable {
+        @Override
+        public int hashCode() {
+            return id % 3;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.hazelcast.internal.nio.IOUtil.delete;
+import static com.hazelcast.jet.Traversers.traverseIterable;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SpilledRunsTest {
+
+    private static final int MAX_FAN_IN = 3;
+    private static final int RUN_COUNT = 50;
+    private static final int RUN_SIZE = 4;
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final Set<SpillRun> openRuns = new HashSet<>();
+    private int maxOpenRuns;
+    private Path directory;
+    private SpilledRuns<Integer> spilledRuns;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("jet-spilled-runs-test");
+        spilledRuns = new SpilledRuns<>(directory,
+                (run, item) -> run.write(serializationService.toData(item)),
+                this::read,
+                Comparator.naturalOrder(),
+                UnaryOperator.identity(),
+                MAX_FAN_IN);
+    }
+
+    @After
+    public void tearDown() {
+        spilledRuns.deleteAll();
+        delete(directory);
+    }
+
+    @Test
+    public void when_manyRunsSpilled_then_mergedWithBoundedFanIn() throws IOException {
+        List<Integer> shuffled = IntStream.range(0, RUN_COUNT * RUN_SIZE).boxed().collect(toList());
+        Collections.shuffle(shuffled, new Random(42));
+        for (int i = 0; i < RUN_COUNT; i++) {
+            List<Integer> run = new ArrayList<>(shuffled.subList(i * RUN_SIZE, (i + 1) * RUN_SIZE));
+            run.sort(null);
+            spilledRuns.spill(traverseIterable(run));
+        }
+        List<Integer> inMemory = List.of(-2, -1, RUN_COUNT * RUN_SIZE);
+
+        List<Integer> result = drain(spilledRuns.merge(traverseIterable(inMemory)));
+
+        List<Integer> expected = IntStream.range(-2, RUN_COUNT * RUN_SIZE + 1).boxed().collect(toList());
+        assertThat(result).isEqualTo(expected);
+        assertThat(maxOpenRuns).isLessThanOrEqualTo(MAX_FAN_IN);
+        assertNoFilesLeft();
+    }
+
+    @Test
+    public void when_fewRunsSpilled_then_mergedInSinglePass() throws IOException {
+        spilledRuns.spill(traverseIterable(List.of(1, 4)));
+        spilledRuns.spill(traverseIterable(List.of(2, 3)));
+
+        List<Integer> result = drain(spilledRuns.merge(traverseIterable(List.of(0, 5))));
+
+        assertThat(result).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(spilledRuns.runCount()).isEqualTo(2);
+        assertNoFilesLeft();
+    }
+
+    @Test
+    public void when_deleteAll_then_noFilesLeft() throws IOException {
+        for (int i = 0; i < RUN_COUNT; i++) {
+            spilledRuns.spill(traverseIterable(List.of(i)));
+        }
+
+        spilledRuns.deleteAll();
+
+        assertNoFilesLeft();
+    }
+
+    @Test
+    public void when_deleteStaleFiles_then_onlyFilesOfDeadProcessesDeleted() throws IOException {
+        Path deadProcessFile = Files.createFile(directory.resolve("jet-spill-" + Long.MAX_VALUE + "-1.run"));
+        Path liveProcessFile = Files.createFile(directory.resolve("jet-spill-" + ProcessHandle.current().pid() + "-2.run"));
+        Path otherFile = Files.createFile(directory.resolve("jet-spill-other.run"));
+
+        SpillRun.deleteStaleFiles(directory);
+
+        assertThat(deadProcessFile).doesNotExist();
+        assertThat(liveProcessFile).exists();
+        assertThat(otherFile).exists();
+    }
+
+    private Integer read(SpillRun run) {
+        openRuns.add(run);
+        maxOpenRuns = Math.max(maxOpenRuns, openRuns.size());
+        Integer item = serializationService.toObject(run.read());
+        if (item == null) {
+            openRuns.remove(run);
+        }
+        return item;
+    }
+
+    private static List<Integer> drain(Traverser<Integer> traverser) {
+        List<Integer> list = new ArrayList<>();
+        for (Integer item; (item = traverser.next()) != null; ) {
+            list.add(item);
+        }
+        return list;
+    }
+
+    private void assertNoFilesLeft() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+}
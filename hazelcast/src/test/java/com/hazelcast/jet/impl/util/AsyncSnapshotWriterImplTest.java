@@ -28,12 +28,15 @@ import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.jet.core.JetTestSupport;
 import com.hazelcast.jet.impl.JetServiceBackend;
 import com.hazelcast.jet.impl.execution.MockSnapshotContext;
+import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.CompressedSnapshotChunk;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.CustomByteArrayOutputStream;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataKey;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataValueTerminator;
 import com.hazelcast.map.IMap;
+import com.hazelcast.version.MemberVersion;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.TestClusterUpgradeUtils;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
 import org.junit.After;
@@ -50,6 +53,7 @@ import java.util.stream.Stream;
 
 import static com.hazelcast.jet.Util.entry;
 import static com.hazelcast.jet.impl.util.Util.uncheckCall;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_SNAPSHOT_COMPRESSION_ENABLED;
 import static java.util.Collections.nCopies;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Stream.generate;
@@ -99,6 +103,7 @@ public class AsyncSnapshotWriterImplTest extends JetTestSupport {
         assertTrue(writer.flushAndResetMap());
         assertTrueEventually(() -> assertFalse(uncheckCall(() -> writer.hasPendingAsyncOps())));
         assertTrue(writer.isEmpty());
+        writer.close();
     }
 
     @Test
@@ -204,6 +209,76 @@ public class AsyncSnapshotWriterImplTest extends JetTestSupport {
         assertEquals(SnapshotDataValueTerminator.INSTANCE, serializationService.readObject(in, true));
     }
 
+    @Test
+    public void when_compressionEnabled_then_chunkCompressedAndDecompressesCorrectly() {
+        // Given
+        Config config = new Config();
+        config.setClusterName(randomName());
+        config.setProperty(JET_SNAPSHOT_COMPRESSION_ENABLED.getName(), "true");
+        config.getJetConfig().setEnabled(true);
+        HazelcastInstance instance = createHazelcastInstance(config);
+        NodeEngineImpl compressingNodeEngine = Util.getNodeEngine(instance);
+        MockSnapshotContext context = new MockSnapshotContext();
+        context.setCurrentMapName("compressed");
+        context.setCurrentSnapshotId(1L);
+        AsyncSnapshotWriterImpl compressingWriter = new AsyncSnapshotWriterImpl(128, compressingNodeEngine, context,
+                "vertex", 0, 1, (InternalSerializationService) compressingNodeEngine.getSerializationService());
+
+        // When
+        String key = "k";
+        String value = generate(() -> "a").limit(1000).collect(joining());
+        Entry<Data, Data> entry = entry(serialize(key), serialize(value));
+        assertTrue(compressingWriter.offer(entry));
+
+        // Then
+        assertEquals(1, compressingWriter.getTotalChunks());
+        assertTrue("chunk not compressed, size=" + compressingWriter.getTotalPayloadBytes(),
+                compressingWriter.getTotalPayloadBytes() < serializedLength(entry));
+        int partitionKey = compressingWriter.partitionKey(
+                compressingNodeEngine.getPartitionService().getPartitionId(key));
+        IMap<SnapshotDataKey, Object> compressedMap = instance.getMap("compressed");
+        SnapshotDataKey mapKey = new SnapshotDataKey(partitionKey, 1, "vertex", 0);
+        assertTrueEventually(() -> assertTrue(compressedMap.containsKey(mapKey)));
+        Object chunk = compressedMap.get(mapKey);
+        assertThat(chunk).isInstanceOf(CompressedSnapshotChunk.class);
+        BufferObjectDataInput in = serializationService.createObjectDataInput(((CompressedSnapshotChunk) chunk).decompress());
+        assertEquals(key, serializationService.readObject(in, true));
+        assertEquals(value, serializationService.readObject(in, true));
+        assertEquals(SnapshotDataValueTerminator.INSTANCE, serializationService.readObject(in, true));
+        compressingWriter.close();
+    }
+
+    @Test
+    public void when_compressionEnabledAndClusterVersionBefore6_0_then_chunkNotCompressed() {
+        // Given
+        Config config = new Config();
+        config.setClusterName(randomName());
+        config.setProperty(JET_SNAPSHOT_COMPRESSION_ENABLED.getName(), "true");
+        config.getJetConfig().setEnabled(true);
+        HazelcastInstance instance = TestClusterUpgradeUtils.newHazelcastInstance(createHazelcastInstanceFactory(1),
+                MemberVersion.of(5, 5, 0), config);
+        NodeEngineImpl oldNodeEngine = Util.getNodeEngine(instance);
+        MockSnapshotContext context = new MockSnapshotContext();
+        context.setCurrentMapName("uncompressed");
+        context.setCurrentSnapshotId(1L);
+        AsyncSnapshotWriterImpl oldWriter = new AsyncSnapshotWriterImpl(128, oldNodeEngine, context,
+                "vertex", 0, 1, (InternalSerializationService) oldNodeEngine.getSerializationService());
+
+        // When
+        String key = "k";
+        String value = generate(() -> "a").limit(1000).collect(joining());
+        Entry<Data, Data> entry = entry(serialize(key), serialize(value));
+        assertTrue(oldWriter.offer(entry));
+
+        // Then
+        int partitionKey = oldWriter.partitionKey(oldNodeEngine.getPartitionService().getPartitionId(key));
+        IMap<SnapshotDataKey, Object> uncompressedMap = instance.getMap("uncompressed");
+        SnapshotDataKey mapKey = new SnapshotDataKey(partitionKey, 1, "vertex", 0);
+        assertTrueEventually(() -> assertTrue(uncompressedMap.containsKey(mapKey)));
+        assertThat(uncompressedMap.get(mapKey)).isInstanceOf(byte[].class);
+        oldWriter.close();
+    }
+
     @Test
     public void when_cannotAutoFlush_then_offerReturnsFalse() {
         // When
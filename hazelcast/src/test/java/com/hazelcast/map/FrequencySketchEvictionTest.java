@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.eviction.Evictor;
+import com.hazelcast.map.impl.eviction.FrequencySketchEvictor;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class FrequencySketchEvictionTest extends HazelcastTestSupport {
+
+    private static final int MAX_SIZE = 1000;
+
+    @Test
+    public void frequentlyUsedEntries_surviveScan() {
+        String mapName = randomMapName();
+        HazelcastInstance node = createHazelcastInstance(newConfig(mapName, EvictionPolicy.LFU));
+        IMap<Integer, Integer> map = node.getMap(mapName);
+
+        assertTrue(getEvictor(node, mapName) instanceof FrequencySketchEvictor);
+
+        int hotCount = MAX_SIZE / 10;
+        for (int i = 0; i < hotCount; i++) {
+            map.put(i, i);
+        }
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < hotCount; i++) {
+                map.get(i);
+            }
+        }
+
+        // a scan of entries that are used only once
+        for (int i = hotCount; i < 10 * MAX_SIZE; i++) {
+            map.put(i, i);
+        }
+
+        assertTrue(map.size() <= MAX_SIZE);
+        for (int i = 0; i < hotCount; i++) {
+            assertTrue("Hot entry " + i + " got evicted", map.containsKey(i));
+        }
+    }
+
+    @Test
+    public void notUsed_withLruEvictionPolicy() {
+        String mapName = randomMapName();
+        HazelcastInstance node = createHazelcastInstance(newConfig(mapName, EvictionPolicy.LRU));
+        node.getMap(mapName);
+
+        assertFalse(getEvictor(node, mapName) instanceof FrequencySketchEvictor);
+    }
+
+    private Config newConfig(String mapName, EvictionPolicy evictionPolicy) {
+        MapConfig mapConfig = new MapConfig(mapName);
+        mapConfig.getEvictionConfig()
+                .setEvictionPolicy(evictionPolicy)
+                .setMaxSizePolicy(MaxSizePolicy.PER_NODE)
+                .setSize(MAX_SIZE);
+
+        return smallInstanceConfig()
+                .setProperty(ClusterProperty.PARTITION_COUNT.getName(), "1")
+                .setProperty(ClusterProperty.MAP_EVICTION_FREQUENCY_SKETCH_ENABLED.getName(), "true")
+                .addMapConfig(mapConfig);
+    }
+
+    private static Evictor getEvictor(HazelcastInstance node, String mapName) {
+        MapService mapService = getNodeEngineImpl(node).getService(MapService.SERVICE_NAME);
+        return mapService.getMapServiceContext().getMapContainer(mapName).getEvictor();
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.valueOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapBulkLoadTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private HazelcastInstance[] instances;
+
+    @Before
+    public void setUp() {
+        Config config = getConfig()
+                .setProperty("hazelcast.map.bulk.load.chunk.size", valueOf(7));
+        config.getMapConfig("default")
+                .setBackupCount(1);
+        config.getMapConfig("evicting*")
+                .getEvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setMaxSizePolicy(MaxSizePolicy.PER_PARTITION)
+                .setSize(1);
+        config.getMapConfig("mapStore*")
+                .getMapStoreConfig()
+                .setEnabled(true)
+                .setImplementation(new MapStoreAdapter<>());
+        instances = createHazelcastInstanceFactory(2).newInstances(config);
+        warmUpPartitions(instances);
+    }
+
+    @Test
+    public void testBulkLoad() {
+        String mapName = randomMapName();
+        MapProxyImpl<Integer, Integer> map = proxy(mapName);
+
+        map.bulkLoadAsync(entries()).join();
+
+        IMap<Integer, Integer> other = instances[1].getMap(mapName);
+        assertEquals(ENTRY_COUNT, other.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i * 2, (int) other.get(i));
+        }
+    }
+
+    @Test
+    public void testBulkLoad_firesAddedAndUpdatedEvents() {
+        String mapName = randomMapName();
+        MapProxyImpl<Integer, Integer> map = proxy(mapName);
+        AtomicInteger added = new AtomicInteger();
+        AtomicInteger updated = new AtomicInteger();
+        map.addEntryListener(new CountingListener(added, updated), false);
+
+        map.bulkLoadAsync(entries()).join();
+        map.bulkLoadAsync(entries()).join();
+
+        assertTrueEventually(() -> {
+            assertEquals(ENTRY_COUNT, added.get());
+            assertEquals(ENTRY_COUNT, updated.get());
+        });
+    }
+
+    @Test
+    public void testBulkLoad_evictsInsteadOfDroppingEntries() {
+        String mapName = "evicting" + randomMapName();
+        MapProxyImpl<Integer, Integer> map = proxy(mapName);
+        map.bulkLoadAsync(entries()).join();
+
+        Map<Integer, Integer> newEntries = new HashMap<>();
+        newEntries.put(ENTRY_COUNT, 1);
+        map.bulkLoadAsync(newEntries).join();
+
+        assertEquals(1, (int) map.get(ENTRY_COUNT));
+    }
+
+    @Test
+    public void testBulkLoad_waitsForKeyLockedByOtherOwner() {
+        String mapName = randomMapName();
+        MapProxyImpl<Integer, Integer> map = proxy(mapName);
+        IMap<Integer, Integer> other = instances[1].getMap(mapName);
+        other.lock(0);
+
+        CompletableFuture<Void> future = map.bulkLoadAsync(entries());
+
+        assertTrueEventually(() -> assertEquals(ENTRY_COUNT - 1, map.size()));
+        assertFalse(map.containsKey(0));
+        assertFalse(future.isDone());
+
+        other.unlock(0);
+        future.join();
+        assertEquals(0, (int) map.get(0));
+    }
+
+    @Test
+    public void testBulkLoad_writesKeyLockedByCaller() {
+        MapProxyImpl<Integer, Integer> map = proxy(randomMapName());
+        map.lock(0);
+
+        map.bulkLoadAsync(entries()).join();
+
+        assertTrue(map.isLocked(0));
+        assertEquals(0, (int) map.get(0));
+    }
+
+    @Test
+    public void testBulkLoad_emptyMap() {
+        MapProxyImpl<Integer, Integer> map = proxy(randomMapName());
+
+        map.bulkLoadAsync(new HashMap<>()).join();
+
+        assertEquals(0, map.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBulkLoad_rejectsMapWithMapStore() {
+        MapProxyImpl<Integer, Integer> map = proxy("mapStore" + randomMapName());
+
+        map.bulkLoadAsync(entries());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testBulkLoad_nullValue() {
+        MapProxyImpl<Integer, Integer> map = proxy(randomMapName());
+        Map<Integer, Integer> entries = new HashMap<>();
+        entries.put(1, null);
+
+        map.bulkLoadAsync(entries);
+    }
+
+    private MapProxyImpl<Integer, Integer> proxy(String mapName) {
+        return (MapProxyImpl<Integer, Integer>) instances[0].<Integer, Integer>getMap(mapName);
+    }
+
+    private static Map<Integer, Integer> entries() {
+        Map<Integer, Integer> entries = new HashMap<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            entries.put(i, i * 2);
+        }
+        return entries;
+    }
+
+    private record CountingListener(AtomicInteger added, AtomicInteger updated)
+            implements EntryAddedListener<Integer, Integer>, EntryUpdatedListener<Integer, Integer> {
+
+        @Override
+        public void entryAdded(EntryEvent<Integer, Integer> event) {
+            added.incrementAndGet();
+        }
+
+        @Override
+        public void entryUpdated(EntryEvent<Integer, Integer> event) {
+            updated.incrementAndGet();
+        }
+    }
+}
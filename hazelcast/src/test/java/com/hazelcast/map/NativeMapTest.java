@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.memory.Capacity;
+import com.hazelcast.memory.MemoryUnit;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Runs map operations on {@link InMemoryFormat#NATIVE} maps of members,
+ * which store their entries with the open-source off-heap storage.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NativeMapTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+    private static final int MAX_SIZE = 100;
+
+    private String mapName;
+
+    @Before
+    public void setUp() {
+        assumeTrue(UnsafeMallocMemoryManager.isAvailable());
+        mapName = randomMapName();
+    }
+
+    @Test
+    public void putGetRemove() {
+        HazelcastInstance instance = createHazelcastInstance(newConfig(new MapConfig(mapName)));
+        IMap<Integer, String> map = instance.getMap(mapName);
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertNull(map.put(i, "value-" + i));
+        }
+        assertEquals(ENTRY_COUNT, map.size());
+        assertEquals("value-1", map.put(1, "updated"));
+        assertEquals("updated", map.get(1));
+        assertEquals("value-2", map.remove(2));
+        assertNull(map.get(2));
+        assertEquals(ENTRY_COUNT - 1, map.size());
+        assertTrue(nativeMemoryManager(instance).getUsedMemory() > 0);
+
+        map.clear();
+
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void destroy_freesNativeMemory() {
+        HazelcastInstance instance = createHazelcastInstance(newConfig(new MapConfig(mapName)));
+        IMap<Integer, String> map = instance.getMap(mapName);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+
+        map.destroy();
+
+        UnsafeMallocMemoryManager memoryManager = nativeMemoryManager(instance);
+        assertTrueEventually(() -> assertEquals(0, memoryManager.getUsedMemory()));
+    }
+
+    @Test
+    public void eviction_whenMaxSizeReached() {
+        MapConfig mapConfig = new MapConfig(mapName);
+        mapConfig.getEvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setMaxSizePolicy(MaxSizePolicy.PER_NODE)
+                .setSize(MAX_SIZE);
+        Config config = newConfig(mapConfig)
+                .setProperty(ClusterProperty.PARTITION_COUNT.getName(), "1");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, String> map = instance.getMap(mapName);
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+
+        assertTrue("size=" + map.size(), map.size() <= MAX_SIZE);
+        assertEquals("value-" + (ENTRY_COUNT - 1), map.get(ENTRY_COUNT - 1));
+    }
+
+    @Test
+    public void eviction_whenUsedNativeMemoryReached() {
+        MapConfig mapConfig = new MapConfig(mapName);
+        mapConfig.getEvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setMaxSizePolicy(MaxSizePolicy.USED_NATIVE_MEMORY_SIZE)
+                .setSize(1);
+        HazelcastInstance instance = createHazelcastInstance(newConfig(mapConfig));
+        IMap<Integer, byte[]> map = instance.getMap(mapName);
+
+        // 4 MiB in total, 4 times the limit
+        for (int i = 0; i < 4 * 1024; i++) {
+            map.put(i, new byte[1024]);
+        }
+
+        assertTrue("size=" + map.size(), map.size() < 4 * 1024);
+        assertTrue(nativeMemoryManager(instance).getUsedMemory() < MemoryUnit.MEGABYTES.toBytes(3));
+    }
+
+    @Test
+    public void migration_whenMemberJoinsAndLeaves() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        Config config = newConfig(new MapConfig(mapName).setBackupCount(1));
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        IMap<Integer, String> map = instance1.getMap(mapName);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+
+        // partitions and their backups migrate to the new member
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        waitAllForSafeState(instance1, instance2);
+        assertEntries(instance2.getMap(mapName));
+        assertTrue(nativeMemoryManager(instance2).getUsedMemory() > 0);
+
+        // the backups of the partitions of the first member are promoted
+        instance1.getLifecycleService().terminate();
+        waitAllForSafeState(instance2);
+        assertEntries(instance2.getMap(mapName));
+    }
+
+    private static void assertEntries(IMap<Integer, String> map) {
+        assertEquals(ENTRY_COUNT, map.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("value-" + i, map.get(i));
+        }
+    }
+
+    private static Config newConfig(MapConfig mapConfig) {
+        Config config = smallInstanceConfig();
+        config.getNativeMemoryConfig()
+                .setEnabled(true)
+                .setCapacity(new Capacity(64, MemoryUnit.MEGABYTES));
+        return config.addMapConfig(mapConfig.setInMemoryFormat(InMemoryFormat.NATIVE));
+    }
+
+    private static UnsafeMallocMemoryManager nativeMemoryManager(HazelcastInstance instance) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        return mapService.getMapServiceContext().getNativeMemoryManager();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.eviction;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.partition.InternalPartitionService;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static com.hazelcast.test.Accessors.getPartitionService;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class FrequencySketchEvictorTest extends HazelcastTestSupport {
+
+    private static final int PARTITION_COUNT = 11;
+    private static final int ENTRY_COUNT = 1000;
+
+    private final String mapName = randomMapName();
+
+    @Test
+    public void sketchDropped_whenMapCleared() {
+        HazelcastInstance instance = createHazelcastInstance(newConfig(1));
+        IMap<Integer, Integer> map = populate(instance);
+        FrequencySketchEvictor evictor = getEvictor(instance);
+        int partitionId = instance.getPartitionService().getPartition(0).getPartitionId();
+        assertTrue(evictor.hasSketch(partitionId));
+
+        map.clear();
+
+        assertFalse(evictor.hasSketch(partitionId));
+    }
+
+    @Test
+    public void sketchesDropped_whenMapDestroyed() {
+        HazelcastInstance instance = createHazelcastInstance(newConfig(1));
+        IMap<Integer, Integer> map = populate(instance);
+        FrequencySketchEvictor evictor = getEvictor(instance);
+
+        map.destroy();
+
+        assertTrueEventually(() -> {
+            for (int partitionId = 0; partitionId < PARTITION_COUNT; partitionId++) {
+                assertFalse("partitionId=" + partitionId, evictor.hasSketch(partitionId));
+            }
+        });
+    }
+
+    @Test
+    public void sketchesDropped_whenPartitionsMigrateAway() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        Config config = newConfig(0);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        populate(instance1);
+        FrequencySketchEvictor evictor = getEvictor(instance1);
+
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        waitAllForSafeState(instance1, instance2);
+
+        InternalPartitionService partitionService = getPartitionService(instance1);
+        int migratedAwayCount = 0;
+        for (int partitionId = 0; partitionId < PARTITION_COUNT; partitionId++) {
+            if (!partitionService.getPartition(partitionId).isLocal()) {
+                migratedAwayCount++;
+                int id = partitionId;
+                assertTrueEventually(() -> assertFalse("partitionId=" + id, evictor.hasSketch(id)));
+            }
+        }
+        assertTrue(migratedAwayCount > 0);
+    }
+
+    private IMap<Integer, Integer> populate(HazelcastInstance instance) {
+        IMap<Integer, Integer> map = instance.getMap(mapName);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+            map.get(i);
+        }
+        return map;
+    }
+
+    private Config newConfig(int backupCount) {
+        MapConfig mapConfig = new MapConfig(mapName).setBackupCount(backupCount);
+        mapConfig.getEvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LFU)
+                .setMaxSizePolicy(MaxSizePolicy.PER_NODE)
+                .setSize(10 * ENTRY_COUNT);
+
+        return smallInstanceConfig()
+                .setProperty(ClusterProperty.PARTITION_COUNT.getName(), Integer.toString(PARTITION_COUNT))
+                .setProperty(ClusterProperty.MAP_EVICTION_FREQUENCY_SKETCH_ENABLED.getName(), "true")
+                .addMapConfig(mapConfig);
+    }
+
+    private FrequencySketchEvictor getEvictor(HazelcastInstance instance) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        return (FrequencySketchEvictor) mapService.getMapServiceContext().getMapContainer(mapName).getEvictor();
+    }
+}
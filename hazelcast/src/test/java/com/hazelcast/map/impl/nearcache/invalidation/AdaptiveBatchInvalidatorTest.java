@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.nearcache.invalidation;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.nearcache.impl.invalidation.BatchInvalidator;
+import com.hazelcast.internal.nearcache.impl.invalidation.Invalidator;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.LatencyDistribution;
+import com.hazelcast.internal.util.UuidUtil;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.UUID;
+
+import static com.hazelcast.internal.nearcache.impl.NearCacheTestUtils.getBaseConfig;
+import static com.hazelcast.internal.nearcache.impl.invalidation.InvalidationUtils.TRUE_FILTER;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AdaptiveBatchInvalidatorTest extends AbstractInvalidatorTest {
+
+    private static final int BATCH_SIZE = 10;
+    private static final int BATCH_FREQUENCY_SECONDS = 30;
+    private static final long MIN_FLUSH_DELAY_MILLIS = 50;
+
+    private final UUID sourceUuid = UuidUtil.newUnsecureUUID();
+
+    @Override
+    public Invalidator createInvalidator(NodeEngineImpl nodeEngine) {
+        return newAdaptiveInvalidator(nodeEngine);
+    }
+
+    @Test
+    public void testFlushDelay_startsAtMinimum() {
+        BatchInvalidator invalidator = newAdaptiveInvalidator(newNodeEngine());
+
+        assertEquals(MIN_FLUSH_DELAY_MILLIS, invalidator.getFlushDelayMillis());
+    }
+
+    @Test
+    public void testInvalidations_sentAfterMinFlushDelay() {
+        NodeEngineImpl nodeEngine = newNodeEngine();
+        BatchInvalidator invalidator = newAdaptiveInvalidator(nodeEngine);
+
+        invalidator.invalidateKey(toData(nodeEngine, 1), "mapName", sourceUuid);
+
+        LatencyDistribution latency = invalidator.getInvalidationLatencyDistribution();
+        assertTrueEventually(() -> assertEquals(1, latency.count()));
+        assertTrue("max latency " + latency.maxMicros() + "us",
+                latency.maxMicros() < SECONDS.toMicros(BATCH_FREQUENCY_SECONDS));
+    }
+
+    @Test
+    public void testInvalidations_sentWhenBatchIsFull() {
+        NodeEngineImpl nodeEngine = newNodeEngine();
+        BatchInvalidator invalidator = new BatchInvalidator(MapService.SERVICE_NAME, BATCH_SIZE,
+                BATCH_FREQUENCY_SECONDS, TRUE_FILTER, nodeEngine);
+
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            invalidator.invalidateKey(toData(nodeEngine, i), "mapName", sourceUuid);
+        }
+
+        assertEquals(1, invalidator.getInvalidationLatencyDistribution().count());
+        assertEquals(SECONDS.toMillis(BATCH_FREQUENCY_SECONDS), invalidator.getFlushDelayMillis());
+    }
+
+    private NodeEngineImpl newNodeEngine() {
+        HazelcastInstance hz = createHazelcastInstance(getBaseConfig());
+        return getNodeEngineImpl(hz);
+    }
+
+    private static BatchInvalidator newAdaptiveInvalidator(NodeEngineImpl nodeEngine) {
+        return new BatchInvalidator(MapService.SERVICE_NAME, BATCH_SIZE, BATCH_FREQUENCY_SECONDS,
+                MIN_FLUSH_DELAY_MILLIS, TRUE_FILTER, nodeEngine);
+    }
+
+    private static Data toData(NodeEngineImpl nodeEngine, int key) {
+        return nodeEngine.getSerializationService().toData(key);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.nearcache.invalidation;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataGenerator;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_EVICTION_INVALIDATION_ENABLED;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapEvictionInvalidationTest extends HazelcastTestSupport {
+
+    private static final String MAP_NAME = "MapEvictionInvalidationTest";
+
+    @Test
+    public void expiry_doesNotInvalidate_byDefault() {
+        HazelcastInstance member = createHazelcastInstance(getConfig(false));
+        IMap<Integer, Integer> map = member.getMap(MAP_NAME);
+        int partitionId = member.getPartitionService().getPartition(1).getPartitionId();
+        MetaDataGenerator metaDataGenerator = getMetaDataGenerator(member);
+
+        map.put(1, 1, 1, SECONDS);
+        long sequenceAfterPut = metaDataGenerator.currentSequence(MAP_NAME, partitionId);
+
+        assertTrueEventually(() -> assertNull(map.get(1)));
+        assertEquals(sequenceAfterPut, metaDataGenerator.currentSequence(MAP_NAME, partitionId));
+    }
+
+    @Test
+    public void expiry_invalidates_whenEnabled() {
+        HazelcastInstance member = createHazelcastInstance(getConfig(true));
+        IMap<Integer, Integer> map = member.getMap(MAP_NAME);
+        int partitionId = member.getPartitionService().getPartition(1).getPartitionId();
+        MetaDataGenerator metaDataGenerator = getMetaDataGenerator(member);
+
+        map.put(1, 1, 1, SECONDS);
+        long sequenceAfterPut = metaDataGenerator.currentSequence(MAP_NAME, partitionId);
+
+        assertTrueEventually(() -> assertNull(map.get(1)));
+        assertTrue(metaDataGenerator.currentSequence(MAP_NAME, partitionId) > sequenceAfterPut);
+    }
+
+    private Config getConfig(boolean evictionInvalidationEnabled) {
+        // the member-side Near Cache registers the invalidation listener
+        MapConfig mapConfig = new MapConfig(MAP_NAME)
+                .setNearCacheConfig(new NearCacheConfig(MAP_NAME).setInvalidateOnChange(true));
+        return smallInstanceConfig()
+                .setProperty(MAP_EVICTION_INVALIDATION_ENABLED.getName(), String.valueOf(evictionInvalidationEnabled))
+                .addMapConfig(mapConfig);
+    }
+
+    private static MetaDataGenerator getMetaDataGenerator(HazelcastInstance member) {
+        MapService mapService = getNodeEngineImpl(member).getService(SERVICE_NAME);
+        return mapService.getMapServiceContext().getMapNearCacheManager().getInvalidator().getMetaDataGenerator();
+    }
+}
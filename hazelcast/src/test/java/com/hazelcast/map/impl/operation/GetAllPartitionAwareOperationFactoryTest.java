@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class GetAllPartitionAwareOperationFactoryTest extends HazelcastTestSupport {
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCreateOperation() {
+        newFactory(new int[0]).createOperation();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreatePartitionOperation_whenUnknownPartition() {
+        newFactory(new int[0]).createPartitionOperation(0);
+    }
+
+    @Test
+    public void testCreatePartitionOperation() {
+        GetAllPartitionAwareOperationFactory factory = newFactory(new int[]{3, 7});
+
+        assertTrue(factory.createPartitionOperation(7) instanceof GetAllOperation);
+    }
+
+    @Test
+    public void testSerialization() {
+        GetAllPartitionAwareOperationFactory factory = newFactory(new int[]{3, 7});
+
+        GetAllPartitionAwareOperationFactory deserialized = ss.toObject(ss.toData(factory));
+
+        assertEquals(factory.name, deserialized.name);
+        assertTrue(deserialized.createPartitionOperation(3) instanceof GetAllOperation);
+        assertTrue(deserialized.createPartitionOperation(7) instanceof GetAllOperation);
+        assertArrayEquals(factory.keys, deserialized.keys);
+    }
+
+    @SuppressWarnings("unchecked")
+    private GetAllPartitionAwareOperationFactory newFactory(int[] partitions) {
+        List<Data>[] keys = new List[partitions.length];
+        for (int i = 0; i < partitions.length; i++) {
+            keys[i] = List.of(ss.toData("key-" + i + "-0"), ss.toData("key-" + i + "-1"));
+        }
+        return new GetAllPartitionAwareOperationFactory(randomMapName(), partitions, keys);
+    }
+}
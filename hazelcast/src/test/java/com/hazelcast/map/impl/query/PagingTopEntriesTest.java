@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PagingTopEntriesTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+    private static final int PAGE_SIZE = 7;
+
+    @Test
+    public void testPages_withCallerRunsScan() {
+        testPages(false);
+    }
+
+    @Test
+    public void testPages_withParallelScan() {
+        testPages(true);
+    }
+
+    @Test
+    public void testJumpToPage_withoutAnchors() {
+        IMap<Integer, Integer> map = populatedMap(false);
+        PagingPredicate<Integer, Integer> predicate = Predicates.pagingPredicate(new DescendingValueComparator(), PAGE_SIZE);
+        predicate.setPage(20);
+
+        assertEquals(expectedPage(20, false), new ArrayList<>(map.values(predicate)));
+    }
+
+    private void testPages(boolean parallel) {
+        IMap<Integer, Integer> map = populatedMap(parallel);
+        PagingPredicate<Integer, Integer> predicate = Predicates.pagingPredicate(Predicates.lessThan("this", 500),
+                new DescendingValueComparator(), PAGE_SIZE);
+
+        for (int page = 0; page < 5; page++) {
+            assertEquals(expectedPage(page, true), new ArrayList<>(map.values(predicate)));
+            predicate.nextPage();
+        }
+    }
+
+    private IMap<Integer, Integer> populatedMap(boolean parallel) {
+        Config config = smallInstanceConfig();
+        config.setProperty(ClusterProperty.QUERY_PREDICATE_PARALLEL_EVALUATION.getName(), String.valueOf(parallel));
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+        return map;
+    }
+
+    private static List<Integer> expectedPage(int page, boolean filtered) {
+        List<Integer> values = new ArrayList<>();
+        for (int i = ENTRY_COUNT - 1; i >= 0; i--) {
+            if (!filtered || i < 500) {
+                values.add(i);
+            }
+        }
+        return values.subList(page * PAGE_SIZE, (page + 1) * PAGE_SIZE);
+    }
+
+    private static class DescendingValueComparator implements Comparator<Map.Entry<Integer, Integer>>, Serializable {
+        @Override
+        public int compare(Map.Entry<Integer, Integer> o1, Map.Entry<Integer, Integer> o2) {
+            return Integer.compare(o2.getValue(), o1.getValue());
+        }
+    }
+}
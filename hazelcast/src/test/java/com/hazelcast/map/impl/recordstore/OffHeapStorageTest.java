@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.record.OffHeapRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OffHeapStorageTest {
+
+    private static final long CAPACITY = 16L << 20;
+
+    private SerializationService ss;
+    private UnsafeMallocMemoryManager memoryManager;
+    private OffHeapRecordFactory recordFactory;
+    private OffHeapStorage storage;
+
+    @Before
+    public void setUp() {
+        assumeTrue(UnsafeMallocMemoryManager.isAvailable());
+
+        ss = new DefaultSerializationServiceBuilder().build();
+        memoryManager = new UnsafeMallocMemoryManager(CAPACITY);
+        recordFactory = new OffHeapRecordFactory(memoryManager, ss);
+        storage = new OffHeapStorage(recordFactory, mock(ExpirySystem.class), ss);
+    }
+
+    @After
+    public void tearDown() {
+        if (storage != null) {
+            storage.destroy(false);
+        }
+    }
+
+    @Test
+    public void put_then_get_returnsValue() {
+        Data key = ss.toData(1);
+        storage.put(key, recordFactory.newRecord(key, "value"));
+
+        Record record = storage.get(key);
+        assertEquals("value", ss.toObject(record.getValue()));
+        assertTrue(storage.containsKey(key));
+        assertEquals(1, storage.size());
+    }
+
+    @Test
+    public void get_returnsNull_whenKeyIsMissing() {
+        assertNull(storage.get(ss.toData(1)));
+        assertFalse(storage.containsKey(ss.toData(1)));
+    }
+
+    @Test
+    public void updateRecordValue_growsValueBlock() {
+        Data key = ss.toData(1);
+        storage.put(key, recordFactory.newRecord(key, "a"));
+
+        String largerValue = "a much larger value than the initial one";
+        storage.updateRecordValue(key, storage.get(key), largerValue);
+
+        assertEquals(largerValue, ss.toObject(storage.get(key).getValue()));
+        assertEquals(memoryManager.getUsedMemory(), storage.getEntryCostEstimator().getEstimate());
+    }
+
+    @Test
+    public void put_withExistingKey_replacesRecord() {
+        Data key = ss.toData(1);
+        storage.put(key, recordFactory.newRecord(key, "first"));
+        storage.put(key, recordFactory.newRecord(key, "second"));
+        storage.disposeDeferredBlocks();
+
+        assertEquals(1, storage.size());
+        assertEquals("second", ss.toObject(storage.get(key).getValue()));
+        assertEquals(memoryManager.getUsedMemory(), storage.getEntryCostEstimator().getEstimate());
+    }
+
+    @Test
+    public void removeRecord_releasesMemory_afterDeferredBlocksDisposed() {
+        Data key = ss.toData(1);
+        storage.put(key, recordFactory.newRecord(key, "value"));
+        long usedWithTable = memoryManager.getUsedMemory();
+
+        storage.removeRecord(key, storage.get(key));
+        assertNull(storage.get(key));
+        assertEquals(usedWithTable, memoryManager.getUsedMemory());
+
+        storage.disposeDeferredBlocks();
+        assertEquals(0, storage.size());
+        assertEquals(memoryManager.getUsedMemory(), storage.getEntryCostEstimator().getEstimate());
+    }
+
+    @Test
+    public void unattachedRecords_areFreed() {
+        recordFactory.newRecord(ss.toData(1), "value");
+        assertTrue(memoryManager.getUsedMemory() > 0);
+
+        storage.disposeDeferredBlocks();
+        assertEquals(0, memoryManager.getUsedMemory());
+    }
+
+    @Test
+    public void manyEntries_survivesResize() {
+        int count = 10_000;
+        for (int i = 0; i < count; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+        }
+
+        assertEquals(count, storage.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, (int) ss.toObject(storage.get(ss.toData(i)).getValue()));
+        }
+        assertEquals(memoryManager.getUsedMemory(), storage.getEntryCostEstimator().getEstimate());
+    }
+
+    @Test
+    public void mutationTolerantIterator_allowsRemovalDuringIteration() {
+        int count = 100;
+        for (int i = 0; i < count; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        Iterator<Map.Entry<Data, Record>> iterator = storage.mutationTolerantIterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Data, Record> entry = iterator.next();
+            seen.add(ss.toObject(entry.getKey()));
+            storage.removeRecord(entry.getKey(), entry.getValue());
+        }
+        storage.disposeDeferredBlocks();
+
+        assertEquals(count, seen.size());
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    public void clear_releasesAllMemory() {
+        for (int i = 0; i < 100; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+        }
+
+        storage.clear(false);
+
+        assertTrue(storage.isEmpty());
+        assertEquals(0, memoryManager.getUsedMemory());
+        assertEquals(0, storage.getEntryCostEstimator().getEstimate());
+    }
+
+    @Test(expected = NativeOutOfMemoryError.class)
+    public void put_throwsNativeOutOfMemoryError_whenCapacityExceeded() {
+        UnsafeMallocMemoryManager smallMemoryManager = new UnsafeMallocMemoryManager(64);
+        OffHeapRecordFactory smallRecordFactory = new OffHeapRecordFactory(smallMemoryManager, ss);
+
+        smallRecordFactory.newRecord(ss.toData(1), new byte[1024]);
+    }
+}
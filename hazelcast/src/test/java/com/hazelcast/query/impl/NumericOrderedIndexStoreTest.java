@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class NumericOrderedIndexStoreTest {
+
+    NumericOrderedIndexStore store = new NumericOrderedIndexStore(IndexCopyBehavior.COPY_ON_READ);
+
+    @Test
+    public void getSqlRecordIteratorBatch_matchesOrderedIndexStore() {
+        OrderedIndexStore expected = new OrderedIndexStore(IndexCopyBehavior.COPY_ON_READ);
+        range(0, 9).forEach(i -> {
+            expected.insertInternal(i % 3, new DummyEntry(i));
+            store.insertInternal(i % 3, new DummyEntry(i));
+        });
+
+        for (boolean descending : new boolean[]{false, true}) {
+            assertSameKeys(expected.getSqlRecordIteratorBatch(descending), store.getSqlRecordIteratorBatch(descending));
+            assertSameKeys(expected.getSqlRecordIteratorBatch(1, descending), store.getSqlRecordIteratorBatch(1, descending));
+            assertSameKeys(expected.getSqlRecordIteratorBatch(0, true, 1, true, descending),
+                    store.getSqlRecordIteratorBatch(0, true, 1, true, descending));
+            assertSameKeys(expected.getSqlRecordIteratorBatch(0, false, 2, false, descending),
+                    store.getSqlRecordIteratorBatch(0, false, 2, false, descending));
+            assertSameKeys(expected.getSqlRecordIteratorBatch(Comparison.GREATER, 0, descending),
+                    store.getSqlRecordIteratorBatch(Comparison.GREATER, 0, descending));
+            assertSameKeys(expected.getSqlRecordIteratorBatch(Comparison.LESS_OR_EQUAL, 1, descending),
+                    store.getSqlRecordIteratorBatch(Comparison.LESS_OR_EQUAL, 1, descending));
+        }
+        assertTrue(store.isPrimitive());
+    }
+
+    @Test
+    public void getSqlRecordIteratorBatch_withCursor() {
+        range(0, 9).forEach(i -> store.insertInternal(i % 3, new DummyEntry(i)));
+
+        assertKeys(List.of(6, 1, 4, 7), store.getSqlRecordIteratorBatch(0, true, 1, true, false, keyData(3)));
+        assertKeys(List.of(1, 6, 3, 0), store.getSqlRecordIteratorBatch(0, true, 1, true, true, keyData(4)));
+        assertKeys(List.of(7), store.getSqlRecordIteratorBatch(1, false, keyData(4)));
+    }
+
+    @Test
+    public void getRecords_rangeWithManyKeys() {
+        int count = NumericOrderedIndexStore.MAX_CHUNK_SIZE * 10;
+        for (int i = count - 1; i >= 0; i--) {
+            store.insertInternal((long) i, new DummyEntry(i));
+        }
+
+        assertEquals(count, store.getRecords(NULL, false, CompositeValue.POSITIVE_INFINITY, true).size());
+        assertEquals(101, store.getRecords(100L, true, 200L, true).size());
+        assertEquals(99, store.getRecords(100L, false, 200L, false).size());
+        assertEquals(1, store.getRecords(500L).size());
+        assertEquals(0, store.getRecords(500.5d).size());
+        assertEquals(1, store.getRecords(500.0d).size());
+
+        for (int i = 0; i < count; i += 2) {
+            assertTrue(store.removeInternal((long) i, keyData(i)) != null);
+        }
+        assertEquals(count / 2, store.getRecords(Comparison.GREATER_OR_EQUAL, 0L).size());
+        assertEquals(50, store.getRecords(100L, true, 200L, false).size());
+    }
+
+    @Test
+    public void getRecords_withFractionalBounds() {
+        range(-5, 6).forEach(i -> store.insertInternal(i, new DummyEntry(i)));
+
+        assertEquals(List.of(-1, 0, 1), keysOf(store.getSqlRecordIteratorBatch(-1.5d, true, 1.5d, true, false)));
+        assertEquals(List.of(2, 3, 4, 5), keysOf(store.getSqlRecordIteratorBatch(Comparison.GREATER, 1.0d, false)));
+        assertEquals(List.of(0, 1), keysOf(store.getSqlRecordIteratorBatch(-0.0d, false, 1L, true, false)));
+    }
+
+    @Test
+    public void doubles_areOrderedAsDoubleCompare() {
+        double[] values = {3.5, -0.0, 0.0, -2.25, Double.NaN, Double.NEGATIVE_INFINITY, 1e300};
+        for (int i = 0; i < values.length; i++) {
+            store.insertInternal(values[i], new DummyEntry(i));
+        }
+
+        List<Comparable> indexKeys = new ArrayList<>();
+        store.getSqlRecordIteratorBatch(false).forEachRemaining(entries -> indexKeys.add(entries.getIndexKey()));
+        assertEquals(List.of(Double.NEGATIVE_INFINITY, -2.25, -0.0, 0.0, 3.5, 1e300, Double.NaN), indexKeys);
+        assertEquals(2, store.getRecords(-1.0d, true, 3.5d, false).size());
+    }
+
+    @Test
+    public void nullValues_areOrderedFirst() {
+        store.insertInternal(NULL, new DummyEntry(0));
+        store.insertInternal(1, new DummyEntry(1));
+
+        assertEquals(List.of(0, 1), keysOf(store.getSqlRecordIteratorBatch(false)));
+        assertEquals(List.of(1, 0), keysOf(store.getSqlRecordIteratorBatch(true)));
+        assertEquals(1, store.getRecords(NULL).size());
+        assertEquals(1, store.getRecords(Comparison.LESS, 5).size());
+        assertEquals(List.of(0, 1), keysOf(store.getSqlRecordIteratorBatch(NULL, true, 1, true, false)));
+    }
+
+    @Test
+    public void insertingOtherType_inflatesToOrderedIndexStore() {
+        store.insertInternal(1, new DummyEntry(1));
+        store.insertInternal(NULL, new DummyEntry(2));
+        store.insertInternal(3L, new DummyEntry(3));
+
+        assertFalse(store.isPrimitive());
+        assertEquals(1, store.getRecords(1).size());
+        assertEquals(1, store.getRecords(NULL).size());
+        assertEquals(1, store.getRecords(3L).size());
+        assertEquals(List.of(2, 1, 3), keysOf(store.getSqlRecordIteratorBatch(false)));
+
+        store.clear();
+        assertTrue(store.isPrimitive());
+        assertEquals(0, store.getRecords(1).size());
+    }
+
+    @Test
+    public void insert_returnsPreviousEntry() {
+        DummyEntry first = new DummyEntry(1);
+        assertNull(store.insertInternal(10, first));
+        assertEquals(first, store.insertInternal(10, new DummyEntry(1)));
+        assertNull(store.removeInternal(11, keyData(1)));
+        assertTrue(store.removeInternal(10, keyData(1)) != null);
+
+        Set<QueryableEntry> records = store.getRecords(10);
+        assertTrue(records.isEmpty());
+    }
+
+    @Test
+    public void manyEntriesWithOneValue_insertUpdateAndRemove() {
+        int count = NumericOrderedIndexStore.Posting.MAX_ARRAY_SIZE * 100;
+        range(0, count).forEach(i -> assertNull(store.insertInternal(7, new DummyEntry(i))));
+        store.insertInternal(8, new DummyEntry(count));
+
+        assertEquals(count, store.getRecords(7).size());
+        assertEquals(count + 1, store.getRecords(Comparison.GREATER_OR_EQUAL, 0).size());
+        List<Integer> sortedKeys = range(0, count).boxed()
+                .sorted(comparing(NumericOrderedIndexStoreTest::keyData, OrderedIndexStore.DATA_COMPARATOR))
+                .collect(toList());
+        assertEquals(sortedKeys, keysOf(store.getSqlRecordIteratorBatch(7, false)));
+        List<Integer> beforeCursor = new ArrayList<>(sortedKeys.subList(0, count / 2));
+        Collections.reverse(beforeCursor);
+        assertEquals(beforeCursor,
+                keysOf(store.getSqlRecordIteratorBatch(7, true, keyData(sortedKeys.get(count / 2)))));
+
+        // update in place
+        DummyEntry updated = new DummyEntry(5);
+        assertEquals(5, store.insertInternal(7, updated).getKey());
+        assertEquals(count, store.getRecords(7).size());
+        boolean found = false;
+        for (Iterator<QueryableEntry> it = store.getSqlRecordIterator(7); it.hasNext(); ) {
+            found |= it.next() == updated;
+        }
+        assertTrue(found);
+
+        // update to another value
+        assertTrue(store.removeInternal(7, keyData(6)) != null);
+        store.insertInternal(8, new DummyEntry(6));
+        assertEquals(count - 1, store.getRecords(7).size());
+        assertEquals(2, store.getRecords(8).size());
+
+        range(0, count).filter(i -> i != 6).forEach(i -> assertTrue(store.removeInternal(7, keyData(i)) != null));
+        assertNull(store.removeInternal(7, keyData(0)));
+        assertTrue(store.getRecords(7).isEmpty());
+        assertEquals(List.of(6, count), keysOf(store.getSqlRecordIteratorBatch(false)));
+        assertTrue(store.isPrimitive());
+    }
+
+    private static void assertSameKeys(Iterator<IndexKeyEntries> expected, Iterator<IndexKeyEntries> actual) {
+        assertEquals(keysOf(expected), keysOf(actual));
+    }
+
+    private static void assertKeys(List<Integer> expected, Iterator<IndexKeyEntries> actual) {
+        assertEquals(expected, keysOf(actual));
+    }
+
+    private static List<Object> keysOf(Iterator<IndexKeyEntries> batches) {
+        List<Object> keys = new ArrayList<>();
+        while (batches.hasNext()) {
+            batches.next().getEntries().forEachRemaining(entry -> keys.add(entry.getKey()));
+        }
+        return keys;
+    }
+
+    private static Data keyData(int key) {
+        return new HeapData(ByteBuffer.allocate(8).putInt(key).array());
+    }
+
+    private static class DummyEntry extends QueryEntry {
+        final Integer key;
+        final Data keyData;
+
+        DummyEntry(int key) {
+            this.key = key;
+            this.keyData = keyData(key);
+        }
+
+        @Override
+        public Data getKeyData() {
+            return keyData;
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return key;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.ringbuffer.StaleSequenceException;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ArenaRingbufferTest {
+
+    @Test(expected = StaleSequenceException.class)
+    public void testReadStaleSequenceThrowsException() {
+        final ArenaRingbuffer rb = fullRingbuffer();
+        rb.read(rb.headSequence() - 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReadFutureSequenceThrowsException() {
+        final ArenaRingbuffer rb = fullRingbuffer();
+        rb.read(rb.tailSequence() + 1);
+    }
+
+    @Test
+    public void testIsEmpty() {
+        final ArenaRingbuffer rb = new ArenaRingbuffer(5);
+        assertTrue(rb.isEmpty());
+        rb.add(data(1, 10));
+        assertFalse(rb.isEmpty());
+    }
+
+    @Test
+    public void testAddAndRead() {
+        final ArenaRingbuffer rb = new ArenaRingbuffer(5);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, rb.add(data(i, 10 + i)));
+        }
+        for (int i = 0; i < 5; i++) {
+            assertEquals(data(i, 10 + i), rb.read(i));
+        }
+    }
+
+    @Test
+    public void testAddOverwritesOldestItems() {
+        final ArenaRingbuffer rb = new ArenaRingbuffer(10);
+        for (int i = 0; i < 1000; i++) {
+            rb.add(data(i, 100));
+        }
+
+        assertEquals(990, rb.headSequence());
+        assertEquals(999, rb.tailSequence());
+        for (long seq = rb.headSequence(); seq <= rb.tailSequence(); seq++) {
+            assertEquals(data((int) seq, 100), rb.read(seq));
+        }
+        // overwritten items are dropped by the compaction, the arena stays bounded by the live items
+        assertTrue(rb.getArenaSize() <= Math.max(ArenaRingbuffer.MIN_ARENA_SIZE, 2 * 11 * (HeapData.HEAP_DATA_OVERHEAD + 100)));
+    }
+
+    @Test
+    public void testArenaGrowsForLargeItems() {
+        final ArenaRingbuffer rb = new ArenaRingbuffer(3);
+        rb.add(data(1, 10));
+        rb.add(data(2, 10_000));
+        rb.add(data(3, 50_000));
+
+        assertEquals(data(1, 10), rb.read(0));
+        assertEquals(data(2, 10_000), rb.read(1));
+        assertEquals(data(3, 50_000), rb.read(2));
+    }
+
+    @Test
+    public void testSetNullAndOutOfOrder() {
+        final ArenaRingbuffer rb = new ArenaRingbuffer(5);
+        for (int i = 0; i < 5; i++) {
+            rb.add(data(i, 10));
+        }
+
+        rb.set(1, null);
+        rb.set(3, data(33, 500));
+        rb.set(0, data(44, 2000));
+
+        assertEquals(data(44, 2000), rb.read(0));
+        assertNull(rb.read(1));
+        assertEquals(data(2, 10), rb.read(2));
+        assertEquals(data(33, 500), rb.read(3));
+        assertEquals(data(4, 10), rb.read(4));
+    }
+
+    @Test
+    public void testGetItems() {
+        final ArenaRingbuffer rb = new ArenaRingbuffer(3);
+        for (int i = 0; i < 4; i++) {
+            rb.add(data(i, 10));
+        }
+
+        Data[] items = rb.getItems();
+
+        assertArrayEquals(new Data[]{data(3, 10), data(1, 10), data(2, 10)}, items);
+    }
+
+    @Test
+    public void testClear() {
+        final ArenaRingbuffer rb = fullRingbuffer();
+
+        rb.clear();
+
+        assertTrue(rb.isEmpty());
+        assertEquals(-1, rb.tailSequence());
+        assertEquals(0, rb.getArenaSize());
+        rb.add(data(7, 10));
+        assertEquals(data(7, 10), rb.read(0));
+    }
+
+    @Test
+    public void testExpirationCleanup() {
+        final ArenaRingbuffer rb = new ArenaRingbuffer(5);
+        final RingbufferExpirationPolicy expirationPolicy = new RingbufferExpirationPolicy(rb.getCapacity(), 1000);
+        for (int i = 0; i < 5; i++) {
+            rb.add(data(i, 10));
+            expirationPolicy.setExpirationAt(i, i < 3 ? 0 : Long.MAX_VALUE);
+        }
+
+        expirationPolicy.cleanup(rb);
+
+        assertEquals(3, rb.headSequence());
+        assertEquals(4, rb.tailSequence());
+        assertEquals(data(3, 10), rb.read(3));
+        assertEquals(data(4, 10), rb.read(4));
+    }
+
+    @Test
+    public void testIterator() {
+        final ArenaRingbuffer rb = fullRingbuffer();
+        int count = 0;
+        for (Data item : rb) {
+            assertEquals(data(count, 10), item);
+            count++;
+        }
+        assertEquals(5, count);
+    }
+
+    private static ArenaRingbuffer fullRingbuffer() {
+        final ArenaRingbuffer rb = new ArenaRingbuffer(5);
+        for (int i = 0; i < rb.getCapacity(); i++) {
+            rb.add(data(i, 10));
+        }
+        return rb;
+    }
+
+    private static Data data(int value, int length) {
+        byte[] bytes = new byte[HeapData.HEAP_DATA_OVERHEAD + length];
+        Arrays.fill(bytes, HeapData.HEAP_DATA_OVERHEAD, bytes.length, (byte) value);
+        return new HeapData(bytes);
+    }
+}
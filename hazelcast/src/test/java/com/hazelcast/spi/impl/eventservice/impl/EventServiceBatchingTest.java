@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.ConfigAccessor;
+import com.hazelcast.config.ServiceConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.spi.impl.eventservice.CoalescableEvent;
+import com.hazelcast.spi.impl.eventservice.EventBatching;
+import com.hazelcast.spi.impl.eventservice.EventPublishingService;
+import com.hazelcast.spi.impl.eventservice.EventRegistration;
+import com.hazelcast.spi.impl.eventservice.EventService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static com.hazelcast.spi.impl.eventservice.impl.EventServiceTest.getEventService;
+import static com.hazelcast.spi.impl.eventservice.impl.TrueEventFilter.INSTANCE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class EventServiceBatchingTest extends HazelcastTestSupport {
+
+    private final String serviceName = "batching-service";
+    private final String topic = "batching-topic";
+
+    private HazelcastInstance publisher;
+    private HazelcastInstance subscriber;
+
+    @Before
+    public void setUp() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        publisher = factory.newHazelcastInstance(newConfigWithCollectingService());
+        subscriber = factory.newHazelcastInstance(newConfigWithCollectingService());
+    }
+
+    @Test
+    public void test_batchedEvents_areDeliveredInOrder() {
+        List<Object> received = new CopyOnWriteArrayList<>();
+        register(new EventBatching(10, 100, false), received);
+
+        List<Object> published = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            TestEvent event = new TestEvent("key-" + (i % 7), true, i);
+            published.add(event);
+            publish(event, i);
+        }
+
+        assertTrueEventually(() -> assertEquals(published, received));
+    }
+
+    @Test
+    public void test_partialBatch_isDeliveredAfterDelay() {
+        List<Object> received = new CopyOnWriteArrayList<>();
+        register(new EventBatching(1000, 50, false), received);
+
+        publish(new TestEvent("key", true, 1), 0);
+
+        assertTrueEventually(() -> assertEquals(List.of(new TestEvent("key", true, 1)), received));
+    }
+
+    @Test
+    public void test_coalescing_keepsLatestUpdate() {
+        List<Object> received = new CopyOnWriteArrayList<>();
+        register(new EventBatching(Integer.MAX_VALUE, 1000, true), received);
+
+        for (int i = 0; i < 1000; i++) {
+            publish(new TestEvent("key", true, i), 0);
+        }
+
+        assertTrueEventually(() -> {
+            assertThat(received).isNotEmpty();
+            assertEquals(new TestEvent("key", true, 999), received.get(received.size() - 1));
+        });
+        assertThat(received).hasSizeLessThan(1000);
+    }
+
+    @Test
+    public void test_coalescing_doesNotReorderAroundNonCoalescableEvents() {
+        List<Object> received = new CopyOnWriteArrayList<>();
+        register(new EventBatching(Integer.MAX_VALUE, 1000, true), received);
+
+        publish(new TestEvent("key", true, 1), 0);
+        publish(new TestEvent("key", false, 2), 0);
+        publish(new TestEvent("key", true, 3), 0);
+        publish(new TestEvent("other", true, 4), 0);
+        publish(new TestEvent("key", true, 5), 0);
+
+        assertTrueEventually(() -> assertEquals(List.of(
+                new TestEvent("key", true, 1),
+                new TestEvent("key", false, 2),
+                new TestEvent("key", true, 5),
+                new TestEvent("other", true, 4)), received));
+    }
+
+    private void register(EventBatching batching, List<Object> received) {
+        Consumer<Object> listener = received::add;
+        getEventService(subscriber).registerListener(serviceName, topic, INSTANCE, listener, batching);
+        assertTrueEventually(() -> assertThat(getEventService(publisher).getRegistrations(serviceName, topic)).hasSize(1));
+    }
+
+    private void publish(TestEvent event, int orderKey) {
+        EventService eventService = getEventService(publisher);
+        Collection<EventRegistration> registrations = eventService.getRegistrations(serviceName, topic);
+        eventService.publishEvent(serviceName, registrations, event, orderKey);
+    }
+
+    private Config newConfigWithCollectingService() {
+        Config config = smallInstanceConfig();
+        ServiceConfig serviceConfig = new ServiceConfig().setEnabled(true).setName(serviceName)
+                .setImplementation(new CollectingService());
+        ConfigAccessor.getServicesConfig(config).addServiceConfig(serviceConfig);
+        return config;
+    }
+
+    private static class CollectingService implements EventPublishingService<Object, Consumer<Object>> {
+
+        @Override
+        public void dispatchEvent(Object event, Consumer<Object> listener) {
+            listener.accept(event);
+        }
+    }
+
+    private record TestEvent(String key, boolean update, int value) implements CoalescableEvent, Serializable {
+
+        @Override
+        public Object getCoalescingKey() {
+            return key;
+        }
+
+        @Override
+        public boolean isCoalescable() {
+            return update;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ArrayOperationQueueTest extends HazelcastTestSupport {
+
+    private static final int CAPACITY = 4;
+    private static final int BATCH_SIZE = 2;
+
+    private ArrayOperationQueue operationQueue;
+
+    @Before
+    public void setup() {
+        operationQueue = new ArrayOperationQueue(CAPACITY, BATCH_SIZE, 10, 10);
+    }
+
+    // ================== add =====================
+
+    @Test(expected = NullPointerException.class)
+    public void add_whenNull() {
+        operationQueue.add(null, false);
+    }
+
+    @Test
+    public void add_whenPriority() {
+        operationQueue.add("task", true);
+
+        assertEquals(1, operationQueue.prioritySize());
+        assertEquals(0, operationQueue.normalSize());
+        assertEquals(1, operationQueue.size());
+    }
+
+    @Test
+    public void add_whenNormal() {
+        operationQueue.add("task", false);
+
+        assertEquals(0, operationQueue.prioritySize());
+        assertEquals(1, operationQueue.normalSize());
+        assertEquals(1, operationQueue.size());
+    }
+
+    @Test
+    public void add_whenArrayFull_thenOverflowKeepsOrder() {
+        int count = CAPACITY * 3;
+        for (int i = 0; i < count; i++) {
+            operationQueue.add(i, false);
+        }
+        assertEquals(count, operationQueue.normalSize());
+
+        // take a few items so the array has room again while the overflow is not yet drained
+        assertEquals(0, operationQueue.poll());
+        assertEquals(1, operationQueue.poll());
+        operationQueue.add(count, false);
+
+        for (int i = 2; i <= count; i++) {
+            assertEquals(i, operationQueue.poll());
+        }
+        assertNull(operationQueue.poll());
+        assertTrue(operationQueue.isEmpty());
+    }
+
+    // ================== poll =====================
+
+    @Test
+    public void poll_whenEmpty() {
+        assertNull(operationQueue.poll());
+    }
+
+    @Test
+    public void poll_priorityIsRetrievedBeforeBatchedItems() {
+        operationQueue.add("normal1", false);
+        operationQueue.add("normal2", false);
+        operationQueue.add("normal3", false);
+
+        // drains normal1 and normal2 into the batch
+        assertSame("normal1", operationQueue.poll());
+        assertEquals(2, operationQueue.normalSize());
+
+        operationQueue.add("priority", true);
+
+        assertSame("priority", operationQueue.poll());
+        assertSame("normal2", operationQueue.poll());
+        assertSame("normal3", operationQueue.poll());
+        assertEquals(0, operationQueue.size());
+    }
+
+    // ================== take =====================
+
+    @Test
+    public void take_priorityIsRetrievedFirst() throws InterruptedException {
+        operationQueue.add("priority1", true);
+        operationQueue.add("normal1", false);
+        operationQueue.add("normal2", false);
+        operationQueue.add("priority2", true);
+        operationQueue.add("normal3", false);
+
+        assertSame("priority1", operationQueue.take(false));
+        assertSame("priority2", operationQueue.take(false));
+        assertSame("normal1", operationQueue.take(false));
+        assertSame("normal2", operationQueue.take(false));
+        assertSame("normal3", operationQueue.take(false));
+        assertTrue(operationQueue.isEmpty());
+    }
+
+    @Test
+    public void take_whenPriorityOnly_thenNormalItemsAreIgnored() throws InterruptedException {
+        operationQueue.add("normal", false);
+        operationQueue.add("priority", true);
+
+        assertSame("priority", operationQueue.take(true));
+        assertEquals(0, operationQueue.prioritySize());
+        assertEquals(1, operationQueue.normalSize());
+    }
+
+    @Test
+    public void take_whenNoItemAvailable_thenBlockTillItemAvailable() throws Exception {
+        Future<Object> future = spawn(() -> operationQueue.take(false));
+
+        sleepMillis(500);
+        assertFalse(future.isDone());
+
+        operationQueue.add("task", false);
+        assertSame("task", future.get());
+    }
+
+    @Test
+    public void take_whenPriority_andNoItemAvailable_thenBlockTillItemAvailable() throws Exception {
+        operationQueue.add("normal", false);
+        Future<Object> future = spawn(() -> operationQueue.take(true));
+
+        sleepMillis(500);
+        operationQueue.add("priority", true);
+
+        assertSame("priority", future.get());
+        assertEquals(1, operationQueue.normalSize());
+    }
+
+    @Test
+    public void take_whenInterrupted() throws Exception {
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        Thread consumer = new Thread(() -> {
+            try {
+                operationQueue.take(false);
+            } catch (Throwable t) {
+                thrown.set(t);
+            }
+            completed.countDown();
+        });
+        consumer.start();
+
+        sleepMillis(500);
+        consumer.interrupt();
+
+        assertOpenEventually(completed);
+        assertTrue(thrown.get() instanceof InterruptedException);
+    }
+}
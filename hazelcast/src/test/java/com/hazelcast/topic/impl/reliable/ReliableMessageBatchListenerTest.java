@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IFunction;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.MessageBatch;
+import com.hazelcast.topic.ReliableMessageBatchListener;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ReliableMessageBatchListenerTest extends HazelcastTestSupport {
+
+    private static final int MESSAGE_COUNT = 100;
+
+    @Test
+    public void allMessagesDeliveredInBatches() throws Exception {
+        HazelcastInstance hz = createHazelcastInstance(smallInstanceConfig());
+        ITopic<Integer> topic = hz.getReliableTopic(randomName());
+        BatchListener<Integer> listener = new BatchListener<>(null);
+        topic.addMessageListener(listener);
+
+        topic.publishAll(range(MESSAGE_COUNT));
+
+        assertTrueEventually(() -> {
+            assertEquals(range(MESSAGE_COUNT), listener.objects);
+            assertEquals(MESSAGE_COUNT - 1, listener.sequence);
+        });
+        assertTrue(listener.batchCount.get() <= MESSAGE_COUNT);
+    }
+
+    @Test
+    public void filterEvaluatedOnMembers() throws Exception {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        Config config = smallInstanceConfig();
+        HazelcastInstance local = factory.newHazelcastInstance(config);
+        factory.newHazelcastInstance(config);
+        ITopic<Integer> topic = local.getReliableTopic(randomName());
+        BatchListener<Integer> listener = new BatchListener<>(value -> value % 2 == 0);
+        topic.addMessageListener(listener);
+
+        topic.publishAll(range(MESSAGE_COUNT));
+
+        assertTrueEventually(() -> {
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < MESSAGE_COUNT; i += 2) {
+                expected.add(i);
+            }
+            assertEquals(expected, listener.objects);
+            // messages skipped by the filter are acknowledged as well
+            assertEquals(MESSAGE_COUNT - 1, listener.sequence);
+        });
+    }
+
+    @Test
+    public void payloadsDeserializedOnlyOnAccess() {
+        HazelcastInstance hz = createHazelcastInstance(smallInstanceConfig());
+        ITopic<CountingPayload> topic = hz.getReliableTopic(randomName());
+        List<Long> sequences = new CopyOnWriteArrayList<>();
+        topic.addMessageListener(new BatchListener<>(null) {
+            @Override
+            public void onMessageBatch(MessageBatch<CountingPayload> batch) {
+                for (int i = 0; i < batch.size(); i++) {
+                    sequences.add(batch.getSequence(i));
+                    batch.getPublishTime(i);
+                }
+            }
+        });
+
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            topic.publish(new CountingPayload());
+        }
+
+        assertTrueEventually(() -> assertEquals(MESSAGE_COUNT, sequences.size()));
+        assertEquals(0, CountingPayload.DESERIALIZATIONS.get());
+    }
+
+    @Test
+    public void listenerContinues_whenBatchFailsWithNonTerminalException() {
+        HazelcastInstance hz = createHazelcastInstance(smallInstanceConfig());
+        ITopic<Integer> topic = hz.getReliableTopic(randomName());
+        AtomicInteger failures = new AtomicInteger();
+        BatchListener<Integer> listener = new BatchListener<>(null) {
+            @Override
+            public void onMessageBatch(MessageBatch<Integer> batch) {
+                if (batch.getMessageObject(0) == 0 && failures.getAndIncrement() == 0) {
+                    throw new IllegalStateException("expected");
+                }
+                super.onMessageBatch(batch);
+            }
+        };
+        topic.addMessageListener(listener);
+
+        topic.publish(0);
+        assertTrueEventually(() -> assertEquals(1, failures.get()));
+        topic.publish(1);
+
+        assertTrueEventually(() -> assertEquals(List.of(1), listener.objects));
+    }
+
+    private static List<Integer> range(int count) {
+        List<Integer> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(i);
+        }
+        return values;
+    }
+
+    static class BatchListener<E> implements ReliableMessageBatchListener<E> {
+
+        final List<E> objects = new CopyOnWriteArrayList<>();
+        final AtomicInteger batchCount = new AtomicInteger();
+        final IFunction<E, Boolean> filter;
+        volatile long sequence = -1;
+
+        BatchListener(IFunction<E, Boolean> filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        public void onMessageBatch(MessageBatch<E> batch) {
+            batchCount.incrementAndGet();
+            for (int i = 0; i < batch.size(); i++) {
+                objects.add(batch.getMessageObject(i));
+            }
+        }
+
+        @Override
+        public IFunction<E, Boolean> getMessageFilter() {
+            return filter;
+        }
+
+        @Override
+        public long retrieveInitialSequence() {
+            return -1;
+        }
+
+        @Override
+        public void storeSequence(long sequence) {
+            this.sequence = sequence;
+        }
+
+        @Override
+        public boolean isLossTolerant() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminal(Throwable failure) {
+            return false;
+        }
+    }
+
+    public static class CountingPayload implements DataSerializable {
+
+        static final AtomicInteger DESERIALIZATIONS = new AtomicInteger();
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            DESERIALIZATIONS.incrementAndGet();
+        }
+    }
+}